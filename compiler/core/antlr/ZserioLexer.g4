@@ -72,9 +72,11 @@ RETURN              : 'return' ;
 SERVICE             : 'service' ;
 SQL                 : 'sql' ;
 SQL_DATABASE        : 'sql_database' ;
+SQL_INDEX           : 'sql_index' ;
 SQL_TABLE           : 'sql_table' ;
 SQL_VIRTUAL         : 'sql_virtual' ;
 SQL_WITHOUT_ROWID   : 'sql_without_rowid' ;
+STREAM              : 'stream' ;
 STRING              : 'string' ;
 STRUCTURE           : 'struct' ;
 SUBSCRIBE           : 'subscribe' ;
@@ -191,6 +191,7 @@ sqlTableDeclaration
         LBRACE
         sqlTableFieldDefinition*
         sqlConstraintDefinition?
+        sqlIndexDefinition*
         sqlWithoutRowId?
         RBRACE
         SEMICOLON
@@ -208,6 +209,10 @@ sqlConstraint
     :   SQL expression // string expression
     ;
 
+sqlIndexDefinition
+    :   SQL_INDEX id LPAREN id (COMMA id)* RPAREN SEMICOLON
+    ;
+
 sqlWithoutRowId
     :   SQL_WITHOUT_ROWID SEMICOLON
     ;
@@ -239,7 +244,15 @@ serviceDefinition
     ;
 
 serviceMethodDefinition
-    :   typeReference id LPAREN typeReference RPAREN SEMICOLON
+    :   serviceMethodResponse id LPAREN serviceMethodRequest RPAREN SEMICOLON
+    ;
+
+serviceMethodResponse
+    :   STREAM? typeReference
+    ;
+
+serviceMethodRequest
+    :   STREAM? typeReference
     ;
 
 
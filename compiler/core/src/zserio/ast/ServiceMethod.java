@@ -11,17 +11,22 @@ public class ServiceMethod extends DocumentableAstNode
      * @param location              AST node location.
      * @param name                  Name of the service method.
      * @param responseTypeReference Reference to the response type.
+     * @param isResponseStreaming   Whether the method responds by a stream of responses.
      * @param requestTypeReference  Reference to the request type.
+     * @param isRequestStreaming    Whether the method is called by a stream of requests.
      * @param docComment            Documentation comment belonging to this node.
      */
     public ServiceMethod(AstLocation location, String name, TypeReference responseTypeReference,
-            TypeReference requestTypeReference, DocComment docComment)
+            boolean isResponseStreaming, TypeReference requestTypeReference, boolean isRequestStreaming,
+            DocComment docComment)
     {
         super(location, docComment);
 
         this.name = name;
         this.responseTypeReference = responseTypeReference;
+        this.isResponseStreaming = isResponseStreaming;
         this.requestTypeReference = requestTypeReference;
+        this.isRequestStreaming = isRequestStreaming;
     }
 
     @Override
@@ -69,6 +74,26 @@ public class ServiceMethod extends DocumentableAstNode
         return (CompoundType)responseTypeReference.getBaseTypeReference().getType();
     }
 
+    /**
+     * Checks if the method responds by a stream of responses.
+     *
+     * @return True if the response is streamed, false otherwise.
+     */
+    public boolean isResponseStreaming()
+    {
+        return isResponseStreaming;
+    }
+
+    /**
+     * Checks if the method is called by a stream of requests.
+     *
+     * @return True if the request is streamed, false otherwise.
+     */
+    public boolean isRequestStreaming()
+    {
+        return isRequestStreaming;
+    }
+
     /**
      * Checks the method's types.
      */
@@ -105,5 +130,7 @@ public class ServiceMethod extends DocumentableAstNode
 
     private final String name;
     private final TypeReference responseTypeReference;
+    private final boolean isResponseStreaming;
     private final TypeReference requestTypeReference;
+    private final boolean isRequestStreaming;
 }
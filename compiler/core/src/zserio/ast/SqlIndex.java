@@ -0,0 +1,108 @@
+package zserio.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AST node for secondary indexes defined in SQL tables.
+ */
+public class SqlIndex extends DocumentableAstNode
+{
+    /**
+     * Constructor.
+     *
+     * @param location    AST node location.
+     * @param name        Name of the SQL index.
+     * @param columnNames List of names of the indexed columns.
+     * @param docComment  Documentation comment belonging to this node.
+     */
+    public SqlIndex(AstLocation location, String name, List<String> columnNames, DocComment docComment)
+    {
+        super(location, docComment);
+
+        this.name = name;
+        this.columnNames = columnNames;
+    }
+
+    @Override
+    public void accept(ZserioAstVisitor visitor)
+    {
+        visitor.visitSqlIndex(this);
+    }
+
+    /**
+     * Gets the name of the SQL index.
+     *
+     * @return Name of the SQL index.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets the names of the indexed columns in the order given by the index definition.
+     *
+     * @return List of names of the indexed columns.
+     */
+    public List<String> getColumnNames()
+    {
+        return columnNames;
+    }
+
+    /**
+     * Gets the indexed table fields in the order given by the index definition.
+     *
+     * @return List of indexed table fields.
+     */
+    public List<Field> getFields()
+    {
+        return fields;
+    }
+
+    /**
+     * Instantiates the SQL index for the instantiated SQL table.
+     *
+     * @return New SQL index instantiation.
+     */
+    SqlIndex instantiate()
+    {
+        return new SqlIndex(getLocation(), name, columnNames, getDocComment());
+    }
+
+    /**
+     * Resolves the indexed columns to the fields of the SQL table.
+     *
+     * @param sqlTableType SQL table type which contains this index.
+     */
+    void resolveFields(SqlTableType sqlTableType)
+    {
+        fields.clear();
+        for (String columnName : columnNames)
+        {
+            Field foundField = null;
+            for (Field tableField : sqlTableType.getFields())
+            {
+                if (tableField.getName().equals(columnName))
+                {
+                    foundField = tableField;
+                    break;
+                }
+            }
+
+            if (foundField == null)
+                throw new ParserException(this, "Index column '" + columnName + "' not found in sql table '" +
+                        sqlTableType.getName() + "'!");
+
+            if (fields.contains(foundField))
+                throw new ParserException(this, "Duplicated column '" + columnName + "' in sql index '" +
+                        name + "'!");
+
+            fields.add(foundField);
+        }
+    }
+
+    private final String name;
+    private final List<String> columnNames;
+    private final List<Field> fields = new ArrayList<Field>();
+}
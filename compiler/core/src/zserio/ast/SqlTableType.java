@@ -27,18 +27,21 @@ public class SqlTableType extends CompoundType
      * @param sqlUsingId            SQL using id associated to the SQL table type.
      * @param fields                List of all fields of to the SQL table type.
      * @param sqlConstraint         SQL constraint of the SQL table type.
+     * @param sqlIndexes            List of SQL indexes defined in the SQL table type.
      * @param sqlWithoutRowId       SQL without row id associated to the SQL table type.
      * @param docComment            Documentation comment belonging to this node.
      */
     public SqlTableType(AstLocation location, Package pkg, String name,
             List<TemplateParameter> templateParameters, String sqlUsingId, List<Field> fields,
-            SqlConstraint sqlConstraint, boolean sqlWithoutRowId, DocComment docComment)
+            SqlConstraint sqlConstraint, List<SqlIndex> sqlIndexes, boolean sqlWithoutRowId,
+            DocComment docComment)
     {
         super(location, pkg, name, templateParameters, new ArrayList<Parameter>(), fields,
                 new ArrayList<Function>(), docComment);
 
         this.sqlUsingId = sqlUsingId;
         this.sqlConstraint = sqlConstraint;
+        this.sqlIndexes = sqlIndexes;
         this.sqlWithoutRowId = sqlWithoutRowId;
     }
 
@@ -55,6 +58,9 @@ public class SqlTableType extends CompoundType
 
         if (sqlConstraint != null)
             sqlConstraint.accept(visitor);
+
+        for (SqlIndex sqlIndex : sqlIndexes)
+            sqlIndex.accept(visitor);
     }
 
     @Override
@@ -64,9 +70,13 @@ public class SqlTableType extends CompoundType
         for (Field field : getFields())
             instantiatedFields.add(field.instantiate(getTemplateParameters(), templateArguments));
 
+        final List<SqlIndex> instantiatedSqlIndexes = new ArrayList<SqlIndex>();
+        for (SqlIndex sqlIndex : sqlIndexes)
+            instantiatedSqlIndexes.add(sqlIndex.instantiate());
+
         return new SqlTableType(getLocation(), instantiationPackage, getName(),
                 new ArrayList<TemplateParameter>(), sqlUsingId, instantiatedFields, getSqlConstraint(),
-                isWithoutRowId(), getDocComment());
+                instantiatedSqlIndexes, isWithoutRowId(), getDocComment());
     }
 
     /**
@@ -106,6 +116,16 @@ public class SqlTableType extends CompoundType
         return sqlConstraint;
     }
 
+    /**
+     * Gets SQL indexes defined in this SQL table.
+     *
+     * @return List of SQL indexes defined in this SQL table.
+     */
+    public List<SqlIndex> getSqlIndexes()
+    {
+        return sqlIndexes;
+    }
+
     /**
      * Checks if given field is primary key in the table.
      *
@@ -140,10 +160,12 @@ public class SqlTableType extends CompoundType
             checkOrdinaryTableFields();
             checkPrimaryKeyConstraint();
             checkUniqueConstraint();
+            checkIndexes();
         }
         else
         {
             checkVirtualTableFields();
+            checkVirtualTableIndexes();
         }
     }
 
@@ -153,6 +175,11 @@ public class SqlTableType extends CompoundType
         SqlIdentifierValidator validator = new SqlIdentifierValidator();
         for (Field tableField : getFields())
             validator.validateSymbol(tableField.getName(), tableField);
+
+        // index names are part of generated SQLite index names which are case insensitive
+        SqlIdentifierValidator indexValidator = new SqlIdentifierValidator();
+        for (SqlIndex sqlIndex : sqlIndexes)
+            indexValidator.validateSymbol(sqlIndex.getName(), sqlIndex);
     }
 
     private boolean isVirtual()
@@ -333,6 +360,26 @@ public class SqlTableType extends CompoundType
         }
     }
 
+    private void checkIndexes()
+    {
+        for (SqlIndex sqlIndex : sqlIndexes)
+        {
+            // generated lookup methods of indexes must not clash with the lookup by primary key
+            if (sqlIndex.getName().equalsIgnoreCase(PRIMARY_KEY_LOOKUP_NAME))
+                throw new ParserException(sqlIndex, "Sql index name '" + sqlIndex.getName() +
+                        "' is reserved for primary key lookup in sql table '" + getName() + "'!");
+
+            sqlIndex.resolveFields(this);
+        }
+    }
+
+    private void checkVirtualTableIndexes()
+    {
+        if (!sqlIndexes.isEmpty())
+            throw new ParserException(sqlIndexes.get(0), "Virtual table '" + getName() +
+                    "' cannot contain sql index '" + sqlIndexes.get(0).getName() + "'!");
+    }
+
     private void checkPrimaryKeyColumn(Field tableField)
     {
         sqlPrimaryKeyFields.add(tableField);
@@ -370,7 +417,10 @@ public class SqlTableType extends CompoundType
 
     private final String sqlUsingId;
     private final SqlConstraint sqlConstraint;
+    private final List<SqlIndex> sqlIndexes;
     private final boolean sqlWithoutRowId;
 
     private final Set<Field> sqlPrimaryKeyFields = new HashSet<Field>();
+
+    private static final String PRIMARY_KEY_LOOKUP_NAME = "primaryKey";
 }
@@ -419,12 +419,16 @@ public class ZserioAstBuilder extends ZserioParserBaseVisitor<Object>
             fields.add(visitSqlTableFieldDefinition(fieldCtx));
 
         final SqlConstraint sqlConstraint = visitSqlConstraintDefinition(ctx.sqlConstraintDefinition());
+        final List<SqlIndex> sqlIndexes = new ArrayList<SqlIndex>();
+        for (ZserioParser.SqlIndexDefinitionContext indexCtx : ctx.sqlIndexDefinition())
+            sqlIndexes.add(visitSqlIndexDefinition(indexCtx));
         final boolean sqlWithoutRowId = ctx.sqlWithoutRowId() != null;
 
         final DocComment docComment = docCommentManager.findDocComment(ctx);
 
         final SqlTableType sqlTableType = new SqlTableType(location, currentPackage, name,
-                templateParameters, sqlUsingId, fields, sqlConstraint, sqlWithoutRowId, docComment);
+                templateParameters, sqlUsingId, fields, sqlConstraint, sqlIndexes, sqlWithoutRowId,
+                docComment);
 
         return sqlTableType;
     }
@@ -464,6 +468,20 @@ public class ZserioAstBuilder extends ZserioParserBaseVisitor<Object>
         return new SqlConstraint(location, constraintExpr);
     }
 
+    @Override
+    public SqlIndex visitSqlIndexDefinition(ZserioParser.SqlIndexDefinitionContext ctx)
+    {
+        final AstLocation location = new AstLocation(ctx.id(0).getStart());
+        final String name = ctx.id(0).getText();
+        final List<String> columnNames = new ArrayList<String>();
+        for (int i = 1; i < ctx.id().size(); ++i)
+            columnNames.add(ctx.id(i).getText());
+
+        final DocComment docComment = docCommentManager.findDocComment(ctx);
+
+        return new SqlIndex(location, name, columnNames, docComment);
+    }
+
     @Override
     public SqlDatabaseType visitSqlDatabaseDefinition(ZserioParser.SqlDatabaseDefinitionContext ctx)
     {
@@ -515,15 +533,19 @@ public class ZserioAstBuilder extends ZserioParserBaseVisitor<Object>
     {
         final AstLocation location = new AstLocation(ctx.id().getStart());
 
-        final TypeReference responseTypeReference = visitTypeReference(ctx.typeReference(0));
+        final TypeReference responseTypeReference =
+                visitTypeReference(ctx.serviceMethodResponse().typeReference());
+        final boolean isResponseStreaming = ctx.serviceMethodResponse().STREAM() != null;
 
         final String name = ctx.id().getText();
 
-        final TypeReference requestTypeReference = visitTypeReference(ctx.typeReference(1));
+        final TypeReference requestTypeReference = visitTypeReference(ctx.serviceMethodRequest().typeReference());
+        final boolean isRequestStreaming = ctx.serviceMethodRequest().STREAM() != null;
 
         final DocComment docComment = docCommentManager.findDocComment(ctx);
 
-        return new ServiceMethod(location, name, responseTypeReference, requestTypeReference, docComment);
+        return new ServiceMethod(location, name, responseTypeReference, isResponseStreaming,
+                requestTypeReference, isRequestStreaming, docComment);
     }
 
     @Override
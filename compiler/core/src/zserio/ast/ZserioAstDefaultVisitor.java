@@ -91,6 +91,10 @@ public class ZserioAstDefaultVisitor implements ZserioAstVisitor
     public void visitSqlConstraint(SqlConstraint sqlConstraint)
     {}
 
+    @Override
+    public void visitSqlIndex(SqlIndex sqlIndex)
+    {}
+
     @Override
     public void visitServiceMethod(ServiceMethod serviceMethod)
     {}
@@ -152,6 +152,13 @@ public interface ZserioAstVisitor
      */
     void visitSqlConstraint(SqlConstraint sqlConstraint);
 
+    /**
+     * Visits SQL index definition.
+     *
+     * @param sqlIndex SQL index AST node.
+     */
+    void visitSqlIndex(SqlIndex sqlIndex);
+
     /**
      * Visits service method definition.
      *
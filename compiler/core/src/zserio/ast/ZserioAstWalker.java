@@ -134,6 +134,12 @@ public class ZserioAstWalker implements ZserioAstVisitor
         sqlConstraint.visitChildren(this);
     }
 
+    @Override
+    public void visitSqlIndex(SqlIndex sqlIndex)
+    {
+        sqlIndex.visitChildren(this);
+    }
+
     @Override
     public void visitServiceMethod(ServiceMethod serviceMethod)
     {
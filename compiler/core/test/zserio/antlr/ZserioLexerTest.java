@@ -124,6 +124,7 @@ public class ZserioLexerTest
                 "service " +
                 "sql " +
                 "sql_database " +
+                "sql_index " +
                 "sql_table " +
                 "sql_virtual " +
                 "sql_without_rowid " +
@@ -188,6 +189,7 @@ public class ZserioLexerTest
         checkToken(lexer, ZserioLexer.SERVICE);
         checkToken(lexer, ZserioLexer.SQL);
         checkToken(lexer, ZserioLexer.SQL_DATABASE);
+        checkToken(lexer, ZserioLexer.SQL_INDEX);
         checkToken(lexer, ZserioLexer.SQL_TABLE);
         checkToken(lexer, ZserioLexer.SQL_VIRTUAL);
         checkToken(lexer, ZserioLexer.SQL_WITHOUT_ROWID);
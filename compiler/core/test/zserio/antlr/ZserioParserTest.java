@@ -238,6 +238,16 @@ public class ZserioParserTest
                         "(expression (literal \"languageid='languageCode', notindexed='frequency'\"))) ;)");
     }
 
+    @Test
+    public void sqlIndexDefinition()
+    {
+        checkParseTree("sqlIndexDefinition", "sql_index byName(name);",
+                "(sqlIndexDefinition sql_index (id byName) ( (id name) ) ;)");
+
+        checkParseTree("sqlIndexDefinition", "sql_index byNameAndAge(name, age);",
+                "(sqlIndexDefinition sql_index (id byNameAndAge) ( (id name) , (id age) ) ;)");
+    }
+
     @Test
     public void sqlWithoutRowId()
     {
@@ -260,8 +270,14 @@ public class ZserioParserTest
     public void serviceMethodDefinition()
     {
         checkParseTree("serviceMethodDefinition", "Response method(Request);",
-                "(serviceMethodDefinition (typeReference (qualifiedName (id Response))) " +
-                        "(id method) ( (typeReference (qualifiedName (id Request))) ) ;)");
+                "(serviceMethodDefinition (serviceMethodResponse (typeReference (qualifiedName " +
+                        "(id Response)))) (id method) ( (serviceMethodRequest (typeReference " +
+                        "(qualifiedName (id Request)))) ) ;)");
+
+        checkParseTree("serviceMethodDefinition", "stream Response method(stream Request);",
+                "(serviceMethodDefinition (serviceMethodResponse stream (typeReference (qualifiedName " +
+                        "(id Response)))) (id method) ( (serviceMethodRequest stream (typeReference " +
+                        "(qualifiedName (id Request)))) ) ;)");
     }
 
     @Test
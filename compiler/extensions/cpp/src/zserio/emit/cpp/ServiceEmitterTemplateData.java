@@ -46,6 +46,12 @@ public class ServiceEmitterTemplateData extends UserTypeTemplateData
         public MethodTemplateData(CppNativeMapper typeMapper, ServiceMethod method)
                 throws ZserioEmitException
         {
+            if (method.isRequestStreaming() || method.isResponseStreaming())
+            {
+                throw new ZserioEmitException("Streaming service method '" + method.getName() +
+                        "' is not supported by C++ generator!");
+            }
+
             name = method.getName();
 
             final ZserioType responseType = method.getResponseType();
@@ -35,6 +35,12 @@ public class SqlTableEmitterTemplateData extends UserTypeTemplateData
     {
         super(context, tableType);
 
+        if (!tableType.getSqlIndexes().isEmpty())
+        {
+            throw new ZserioEmitException("Sql index '" + tableType.getSqlIndexes().get(0).getName() +
+                    "' in sql table '" + tableType.getName() + "' is not supported by C++ generator!");
+        }
+
         final CppNativeMapper cppNativeMapper = context.getCppNativeMapper();
         final ExpressionFormatter cppExpressionFormatter = context.getExpressionFormatter(this);
         final SqlConstraint tableSqlConstraint = tableType.getSqlConstraint();
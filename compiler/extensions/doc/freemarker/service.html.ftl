@@ -30,9 +30,9 @@
                 <tr><td>{</td></tr>
 <#list methodList as method>
                 <tr><td id="tabIndent">
-                    <@linkedtype method.responseType/> <#rt>
+                    <#if method.isResponseStreaming>stream </#if><@linkedtype method.responseType/> <#rt>
                     <a href="#${method.name}" class="fieldLink">${method.name}</a><#t>
-                    <#lt>(<@linkedtype method.requestType/>);
+                    <#lt>(<#if method.isRequestStreaming>stream </#if><@linkedtype method.requestType/>);
                 </td></tr>
 </#list>
                 <tr><td>};</td></tr>
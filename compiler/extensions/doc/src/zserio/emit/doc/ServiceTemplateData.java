@@ -55,6 +55,8 @@ public class ServiceTemplateData
             name = serviceMethod.getName();
             requestType = new LinkedType(serviceMethod.getRequestType());
             responseType = new LinkedType(serviceMethod.getResponseType());
+            isRequestStreaming = serviceMethod.isRequestStreaming();
+            isResponseStreaming = serviceMethod.isResponseStreaming();
             docComment = new DocCommentTemplateData(serviceMethod.getDocComment());
         }
 
@@ -73,6 +75,16 @@ public class ServiceTemplateData
             return responseType;
         }
 
+        public boolean getIsRequestStreaming()
+        {
+            return isRequestStreaming;
+        }
+
+        public boolean getIsResponseStreaming()
+        {
+            return isResponseStreaming;
+        }
+
         public DocCommentTemplateData getDocComment()
         {
             return docComment;
@@ -81,6 +93,8 @@ public class ServiceTemplateData
         private final String name;
         private final LinkedType requestType;
         private final LinkedType responseType;
+        private final boolean isRequestStreaming;
+        private final boolean isResponseStreaming;
         private final DocCommentTemplateData docComment;
     }
 
@@ -94,7 +94,11 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
 
 <#list values as value>
     <#if !value.isZero>
-        if (this.and(${name}.Values.${value.name}).equals(${name}.Values.${value.name}))
+        <#if isSimpleType>
+        if ((value & ${value.value}) == ${value.value})
+        <#else>
+        if (value.and(${name}.Values.${value.name}.value).equals(${name}.Values.${value.name}.value))
+        </#if>
             builder.append(builder.length() == 0 ? "${value.name}" : " | ${value.name}");
     <#else>
         <#assign zeroValueName=value.name/><#--  may be there only once -->
@@ -3,15 +3,20 @@
 <#include "CompoundParameter.inc.ftl">
 <#include "CompoundFunction.inc.ftl">
 <#include "CompoundField.inc.ftl">
+<#include "CompoundFreeze.inc.ftl">
 <#include "RangeCheck.inc.ftl">
 <@standard_header generatorDescription, packageName/>
 
-public class ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeOffsetsWriter, </#if>zserio.runtime.SizeOf
+public class ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeOffsetsWriter,
+        <#if isFreezable>zserio.runtime.Freezable, </#if></#if>zserio.runtime.SizeOf
 {
     <@compound_constructors compoundConstructorsData/>
     @Override
     public int bitSizeOf() throws zserio.runtime.ZserioError
     {
+<#if withWriterCode>
+        <@compound_frozen_bit_size/>
+</#if>
         return bitSizeOf(0);
     }
 
@@ -57,6 +62,24 @@ ${I}    break;
 ${I}    throw new zserio.runtime.ZserioError("No match in choice ${name}: " + ${selectorExpression} + "!");
             </#if>
         </#if>
+${I}}
+    <#elseif selectorTable??>
+${I}switch (findCaseIndex(${selectorExpression}))
+${I}{
+        <#list caseMemberList as caseMember>
+${I}case ${caseMember_index}:
+        <@.vars[memberActionMacroName] caseMember, indent + 1/>
+${I}    break;
+        </#list>
+        <#if !isDefaultUnreachable>
+${I}default:
+            <#if defaultMember??>
+        <@.vars[memberActionMacroName] defaultMember, indent + 1/>
+${I}    break;
+            <#else>
+${I}    throw new zserio.runtime.ZserioError("No match in choice ${name}: " + ${selectorExpression} + "!");
+            </#if>
+        </#if>
 ${I}}
     <#else>
         <#if isSelectorExpressionBoolean>
@@ -124,8 +147,10 @@ ${I}}
     <#if withWriterCode>
     public void ${field.setterName}(${field.javaTypeName} <@field_argument_name field/>)
     {
+        <@compound_freeze_check/>
         <@range_check field.rangeCheckData, name/>
         this.objectChoice = <@field_argument_name field/>;
+        this.objectChoiceFieldIndex = ${field?index};
     }
 
         <#if field.array?? && field.array.generateListSetter>
@@ -145,6 +170,9 @@ ${I}}
         {
             final ${name} that = (${name})obj;
 
+<#if withWriterCode>
+            <@compound_frozen_equals compoundParametersData/>
+</#if>
             return
 <#list compoundParametersData.list as parameter>
                     <@compound_compare_parameter parameter/> &&
@@ -161,6 +189,9 @@ ${I}}
     @Override
     public int hashCode()
     {
+<#if withWriterCode>
+        <@compound_frozen_hashcode/>
+</#if>
         int result = zserio.runtime.Util.HASH_SEED;
 
 <#list compoundParametersData.list as parameter>
@@ -172,12 +203,20 @@ ${I}}
         return result;
     }
 
+<#function choice_field_index field>
+    <#list fieldList as choiceField>
+        <#if choiceField.name == field.name>
+            <#return choiceField?index>
+        </#if>
+    </#list>
+</#function>
 <#macro choice_read_member member indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
     <#if member.compoundField??>
         <@compound_read_field member.compoundField, name, indent/>
         <@compound_check_constraint_field member.compoundField, name, indent/>
+${I}objectChoiceFieldIndex = ${choice_field_index(member.compoundField)};
     <#else>
-        <#local I>${""?left_pad(indent * 4)}</#local>
         <#lt>${I}// empty
     </#if>
 </#macro>
@@ -185,9 +224,37 @@ ${I}}
             throws java.io.IOException, zserio.runtime.ZserioError
     {
 <#if fieldList?has_content>
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
         <@choice_switch "choice_read_member", 2/>
 </#if>
     }
+
+<#macro choice_read_into_member member indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#if member.compoundField??>
+        <#local fieldIndex=choice_field_index(member.compoundField)/>
+        <@compound_read_into_field member.compoundField, name, indent, "objectChoiceFieldIndex == " + fieldIndex/>
+        <@compound_check_constraint_field member.compoundField, name, indent/>
+${I}objectChoiceFieldIndex = ${fieldIndex};
+    <#else>
+${I}this.objectChoice = null;
+${I}objectChoiceFieldIndex = UNDEFINED_FIELD_INDEX;
+    </#if>
+</#macro>
+    public void readInto(final zserio.runtime.io.BitStreamReader in)
+            throws java.io.IOException, zserio.runtime.ZserioError
+    {
+<#if fieldList?has_content>
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
+        <@choice_switch "choice_read_into_member", 2/>
+</#if>
+    }
 <#if withWriterCode>
 
 <#macro choice_initialize_offsets_member member indent>
@@ -257,11 +324,44 @@ ${I}// empty
         <@choice_switch "choice_write_member", 2/>
     </#if>
     }
+    <@compound_freeze_methods name/>
+</#if>
+<#if selectorTable??>
+    <#assign selectorJavaTypeName><#if isSelectorExpressionBigInteger>java.math.BigInteger<#else>long</#if></#assign>
+
+    private static int findCaseIndex(${selectorJavaTypeName} selector)
+    {
+        final int tableIndex = java.util.Arrays.binarySearch(CASE_SELECTORS, selector);
+
+        return (tableIndex < 0) ? -1 : CASE_INDICES[tableIndex];
+    }
 </#if>
 <#list fieldList as field>
     <@define_field_helper_classes name, field/>
 </#list>
 
+<#if selectorTable??>
+    private static final ${selectorJavaTypeName}[] CASE_SELECTORS = new ${selectorJavaTypeName}[]
+    {
+    <#list selectorTable as entry>
+        ${entry.selector}<#if entry_has_next>,</#if>
+    </#list>
+    };
+    private static final int[] CASE_INDICES = new int[]
+    {
+    <#list selectorTable as entry>
+        ${entry.caseIndex}<#if entry_has_next>,</#if>
+    </#list>
+    };
+
+</#if>
+    private static final int UNDEFINED_FIELD_INDEX = -1;
+
     <@compound_parameter_members compoundParametersData/>
     private java.lang.Object objectChoice;
+    // index of the field stored in objectChoice, readInto() can reuse the storage only of the same field
+    private int objectChoiceFieldIndex = UNDEFINED_FIELD_INDEX;
+<#if withWriterCode>
+<@compound_freeze_members/>
+</#if>
 }
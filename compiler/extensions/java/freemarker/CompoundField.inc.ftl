@@ -28,17 +28,18 @@ ${I}            in.getBytePosition() + " != " + <@compound_field_get_offset fiel
 ${I}}
 </#macro>
 
-<#macro compound_read_field_inner field compoundName indent>
-    <#local I>${""?left_pad(indent * 4)}</#local>
+<#macro compound_read_field_prologue field compoundName indent>
     <#if field.alignmentValue??>
-${I}in.alignTo(${field.alignmentValue});
+${""?left_pad(indent * 4)}in.alignTo(${field.alignmentValue});
     </#if>
     <#if field.offset?? && !field.offset.containsIndex>
         <@compound_read_field_offset_check field, compoundName, indent/>
     </#if>
-    <#local fieldMemberName>this.<#if field.usesObjectChoice>objectChoice<#else><@field_member_name field/></#if></#local>
-    <#if field.array??>
-${I}${fieldMemberName} = new ${field.javaTypeName}(in,
+</#macro>
+
+<#macro compound_read_field_array_arguments field indent withNullChecker>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+in,
         <#if field.array.length??>
 ${I}        (int)(${field.array.length})<#rt>
         <#elseif field.array.isImplicit>
@@ -55,8 +56,21 @@ ${I}        new <@element_factory_name field.name/>()<#rt>
         </#if>
         <#if field.offset?? && field.offset.containsIndex>
             , new <@offset_checker_name field.name/>()<#t>
+        <#elseif withNullChecker>
+            , null<#t>
         </#if>
-        <#lt>);
+</#macro>
+
+<#macro compound_read_field_inner field compoundName indent>
+    <@compound_read_field_prologue field, compoundName, indent/>
+    <@compound_read_field_value field, indent/>
+</#macro>
+
+<#macro compound_read_field_value field indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#local fieldMemberName>this.<#if field.usesObjectChoice>objectChoice<#else><@field_member_name field/></#if></#local>
+    <#if field.array??>
+${I}${fieldMemberName} = new ${field.javaTypeName}(<@compound_read_field_array_arguments field, indent, false/><#lt>);
     <#elseif field.runtimeFunction??>
 ${I}${fieldMemberName} = <#if field.runtimeFunction.javaReadTypeName??>(${field.runtimeFunction.javaReadTypeName})</#if><#rt>
         <#lt>in.read${field.runtimeFunction.suffix}(${field.runtimeFunction.arg!});
@@ -74,6 +88,66 @@ ${I}${fieldMemberName} = new ${field.javaTypeName}(${compoundArguments});
     </#if>
 </#macro>
 
+<#function is_field_reusable field>
+    <#if field.array??>
+        <#-- columns have fixed length, thus they are always read again -->
+        <#return !field.array.isColumnar>
+    </#if>
+    <#if !field.compound??>
+        <#return false>
+    </#if>
+    <#-- parameters of compounds are immutable, thus only compounds without parameters can be reused -->
+    <#local compoundParamsArguments><@compound_field_compound_ctor_params field.compound/></#local>
+    <#return !compoundParamsArguments?has_content>
+</#function>
+
+<#macro compound_read_into_field_value field indent reuseCondition>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#if is_field_reusable(field)>
+        <#if field.usesObjectChoice>
+        <#-- the same Java type (e.g. ObjectArray) can be used by several cases, thus the case must match -->
+${I}if (${reuseCondition} && this.objectChoice != null)
+        <#else>
+${I}if (this.<@field_member_name field/> != null)
+        </#if>
+${I}{
+        <#if field.array??>
+${I}    ${field.getterName}().readInto(<@compound_read_field_array_arguments field, indent + 1, true/><#lt>);
+        <#else>
+${I}    ${field.getterName}().readInto(in);
+        </#if>
+${I}}
+${I}else
+${I}{
+        <@compound_read_field_value field, indent + 1/>
+${I}}
+    <#else>
+        <@compound_read_field_value field, indent/>
+    </#if>
+</#macro>
+
+<#macro compound_read_into_field field compoundName indent reuseCondition="">
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#if field.optional??>
+        <#if field.optional.clause??>
+${I}if (${field.optional.clause})
+        <#else>
+${I}if (in.readBool())
+        </#if>
+${I}{
+        <@compound_read_field_prologue field, compoundName, indent + 1/>
+        <@compound_read_into_field_value field, indent + 1, reuseCondition/>
+${I}}
+${I}else
+${I}{
+${I}    this.<@field_member_name field/> = null;
+${I}}
+    <#else>
+        <@compound_read_field_prologue field, compoundName, indent/>
+        <@compound_read_into_field_value field, indent, reuseCondition/>
+    </#if>
+</#macro>
+
 <#macro compound_field_compound_ctor_params compound>
     <#list compound.instantiatedParameters as parameter>
         <#if parameter.isSimpleType>(${parameter.javaTypeName})(</#if>${parameter.expression}<#if parameter.isSimpleType>)</#if><#t>
@@ -97,6 +171,74 @@ ${I}}
     </#if>
 </#macro>
 
+<#macro field_index_name field>
+    FIELD_${field.name}<#t>
+</#macro>
+
+<#function is_field_skippable field>
+    <#if field.array??>
+        <#return field.array.elementBitSize.value?? && !(field.offset?? && field.offset.containsIndex)>
+    </#if>
+    <#return field.bitSize.value?? || field.runtimeFunction??>
+</#function>
+
+<#macro compound_skip_field_inner field compoundName indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#if field.alignmentValue??>
+${I}in.alignTo(${field.alignmentValue});
+    </#if>
+    <#if field.offset??>
+        <@compound_read_field_offset_check field, compoundName, indent/>
+    </#if>
+    <#if field.array??>
+        <#local elementBitSize>(${field.array.elementBitSize.value})</#local>
+        <#if field.array.length??>
+${I}zserio.runtime.io.BitStreamSkipper.skipBits(in, (long)(int)(${field.array.length}) * ${elementBitSize});
+        <#elseif field.array.isImplicit>
+${I}zserio.runtime.io.BitStreamSkipper.skipBits(in,
+${I}        (in.getBufferBitSize() - in.getBitPosition()) / ${elementBitSize} * ${elementBitSize});
+        <#else>
+${I}zserio.runtime.io.BitStreamSkipper.skipBits(in, (long)in.readVarSize() * ${elementBitSize});
+        </#if>
+    <#elseif field.bitSize.value??>
+${I}zserio.runtime.io.BitStreamSkipper.skipBits(in, ${field.bitSize.value});
+    <#else>
+${I}zserio.runtime.io.BitStreamSkipper.skip${field.runtimeFunction.suffix}(in<#if field.runtimeFunction.arg??>, ${field.runtimeFunction.arg}</#if>);
+    </#if>
+</#macro>
+
+<#macro compound_read_projected_field field compoundName indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#if field.isProjectionDependency || !is_field_skippable(field)>
+        <#-- dependencies and types without known bit size (compounds, enums, ...) are always read -->
+        <@compound_read_field field, compoundName, indent/>
+    <#else>
+        <#if field.optional??>
+            <#if field.optional.clause??>
+${I}if (${field.optional.clause})
+            <#else>
+${I}if (in.readBool())
+            </#if>
+${I}{
+            <#local innerIndent=indent + 1/>
+        <#else>
+            <#local innerIndent=indent/>
+        </#if>
+        <#local J>${""?left_pad(innerIndent * 4)}</#local>
+${J}if (projection.contains(<@field_index_name field/>))
+${J}{
+        <@compound_read_field_inner field, compoundName, innerIndent + 1/>
+${J}}
+${J}else
+${J}{
+        <@compound_skip_field_inner field, compoundName, innerIndent + 1/>
+${J}}
+        <#if field.optional??>
+${I}}
+        </#if>
+    </#if>
+</#macro>
+
 <#macro compound_write_field_offset_check field compoundName indent>
     <#local I>${""?left_pad(indent * 4)}</#local>
 ${I}out.alignTo(java.lang.Byte.SIZE);
@@ -204,7 +346,12 @@ this.<@field_member_name field/> == that.<@field_member_name field/><#rt>
 
 <#macro compound_bitsizeof_field field indent>
     <#local I>${""?left_pad(indent * 4)}</#local>
-    <#if field.array??>
+    <#if field.array?? && field.array.elementFixedBitSize?? && !(field.offset?? && field.offset.containsIndex)>
+        <#if !field.array.length?? && !field.array.isImplicit>
+${I}endBitPosition += zserio.runtime.BitSizeOfCalculator.getBitSizeOfVarSize(${field.getterName}().length());
+        </#if>
+${I}endBitPosition += (long)${field.getterName}().length() * ${field.array.elementFixedBitSize};
+    <#elseif field.array??>
 ${I}endBitPosition += ${field.getterName}().bitSizeOf<@array_runtime_function_name_postfix field/>(endBitPosition<#rt>
         <#if field.array.requiresElementBitSize>
             , ${field.array.elementBitSize.value}<#t>
@@ -319,8 +466,9 @@ ${I}        ((this.<@field_member_name field/> == null) ? 0 : this.<@field_membe
             <@compound_field_compound_ctor_params field.array.elementCompound/><#t>
         </#if>
     </#local>
+    <#local isElementReusable=field.array.elementCompound?? && !extraConstructorArguments?has_content>
     private <#if !field.array.requiresParentContext>static </#if>final class <@element_factory_name field.name/> <#rt>
-        <#lt>implements zserio.runtime.array.ElementFactory<${field.array.elementJavaTypeName}>
+        <#lt>implements zserio.runtime.array.<#if isElementReusable>Reusable</#if>ElementFactory<${field.array.elementJavaTypeName}>
     {
         @Override
         public ${field.array.elementJavaTypeName} create(zserio.runtime.io.BitStreamReader in, int index)
@@ -332,6 +480,16 @@ ${I}        ((this.<@field_member_name field/> == null) ? 0 : this.<@field_membe
             return new ${field.array.elementJavaTypeName}(in<#if extraConstructorArguments?has_content>, ${extraConstructorArguments}</#if>);
     </#if>
         }
+    <#if isElementReusable>
+
+        @Override
+        public ${field.array.elementJavaTypeName} readInto(zserio.runtime.io.BitStreamReader in, int index,
+                ${field.array.elementJavaTypeName} element) throws java.io.IOException, zserio.runtime.ZserioError
+        {
+            element.readInto(in);
+            return element;
+        }
+    </#if>
     }
 </#macro>
 
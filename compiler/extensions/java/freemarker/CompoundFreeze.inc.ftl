@@ -0,0 +1,85 @@
+<#macro compound_freeze_check>
+    <#if isFreezable>
+        checkNotFrozen();
+    </#if>
+</#macro>
+
+<#macro compound_frozen_bit_size>
+    <#if isFreezable>
+        if (this.frozenBytes != null)
+            return this.frozenBitSize;
+
+    </#if>
+</#macro>
+
+<#macro compound_frozen_hashcode>
+    <#if isFreezable>
+        if (this.frozenBytes != null)
+            return this.frozenHashCode;
+
+    </#if>
+</#macro>
+
+<#macro compound_frozen_equals compoundParametersData>
+    <#if isFreezable>
+            if (this.frozenBytes != null && that.frozenBytes != null)
+            {
+                return
+        <#list compoundParametersData.list as parameter>
+                        <@compound_compare_parameter parameter/> &&
+        </#list>
+                        this.frozenHashCode == that.frozenHashCode &&
+                        this.frozenBytes.equals(that.frozenBytes);
+            }
+
+    </#if>
+</#macro>
+
+<#macro compound_freeze_methods name>
+    <#if isFreezable>
+
+    @Override
+    public void freeze() throws zserio.runtime.ZserioError
+    {
+        if (this.frozenBytes != null)
+            return;
+
+        final zserio.runtime.io.FrozenBytes bytes = zserio.runtime.io.ZserioIO.writeFrozen(this);
+        this.frozenBitSize = bitSizeOf();
+        this.frozenHashCode = hashCode();
+        this.frozenBytes = bytes;
+    }
+
+    @Override
+    public boolean isFrozen()
+    {
+        return this.frozenBytes != null;
+    }
+
+    @Override
+    public byte[] getFrozenBytes()
+    {
+        return (this.frozenBytes != null) ? this.frozenBytes.toByteArray() : null;
+    }
+
+    @Override
+    public zserio.runtime.io.FrozenBytes getFrozenData()
+    {
+        return this.frozenBytes;
+    }
+
+    private void checkNotFrozen()
+    {
+        if (this.frozenBytes != null)
+            throw new java.lang.IllegalStateException("${name}: Object is frozen and cannot be modified!");
+    }
+    </#if>
+</#macro>
+
+<#macro compound_freeze_members>
+    <#if isFreezable>
+    private zserio.runtime.io.FrozenBytes frozenBytes;
+    private int frozenBitSize;
+    private int frozenHashCode;
+    </#if>
+</#macro>
@@ -69,16 +69,26 @@ public enum ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeO
 
     public static ${name} toEnum(${baseJavaTypeName} value)
     {
-<#if baseJavaTypeName == "long" || baseJavaTypeName == "java.math.BigInteger">
+<#if lookup??>
     <#-- can't use switch for long and for BigInteger -->
-    <#list items as item>
+    <#if lookup.isDense>
         <#if baseJavaTypeName == "java.math.BigInteger">
-        if (value.compareTo(${item.value}) == 0)
+        if (value.compareTo(LOOKUP_MIN_VALUE) >= 0 && value.compareTo(LOOKUP_MAX_VALUE) <= 0)
+        {
+            final ${name} item = LOOKUP_TABLE[value.subtract(LOOKUP_MIN_VALUE).intValue()];
         <#else>
-        if (value == ${item.value})
+        if (value >= LOOKUP_MIN_VALUE && value <= LOOKUP_MAX_VALUE)
+        {
+            final ${name} item = LOOKUP_TABLE[(int)(value - LOOKUP_MIN_VALUE)];
         </#if>
-            return ${item.name};
-    </#list>
+            if (item != null)
+                return item;
+        }
+    <#else>
+        final int index = java.util.Arrays.binarySearch(LOOKUP_VALUES, value);
+        if (index >= 0)
+            return LOOKUP_ITEMS[index];
+    </#if>
 
         throw new java.lang.IllegalArgumentException("Unknown value for enumeration ${name}: " + value + "!");
 <#else>
@@ -95,5 +105,36 @@ public enum ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeO
 </#if>
     }
 
+<#if lookup??>
+    <#if lookup.isDense>
+    private static final ${baseJavaTypeName} LOOKUP_MIN_VALUE = ${lookup.minValue};
+    private static final ${baseJavaTypeName} LOOKUP_MAX_VALUE = ${lookup.maxValue};
+    private static final ${name}[] LOOKUP_TABLE = new ${name}[${lookup.tableSize}];
+
+    static
+    {
+        for (${name} item : values())
+        <#if baseJavaTypeName == "java.math.BigInteger">
+            LOOKUP_TABLE[item.value.subtract(LOOKUP_MIN_VALUE).intValue()] = item;
+        <#else>
+            LOOKUP_TABLE[(int)(item.value - LOOKUP_MIN_VALUE)] = item;
+        </#if>
+    }
+    <#else>
+    private static final ${baseJavaTypeName}[] LOOKUP_VALUES = new ${baseJavaTypeName}[]
+    {
+        <#list lookup.values as value>
+        ${value}<#if value_has_next>,</#if>
+        </#list>
+    };
+    private static final ${name}[] LOOKUP_ITEMS = new ${name}[]
+    {
+        <#list lookup.itemNames as itemName>
+        ${itemName}<#if itemName_has_next>,</#if>
+        </#list>
+    };
+    </#if>
+
+</#if>
     private ${baseJavaTypeName} value;
 }
@@ -4,8 +4,28 @@
 public class ${name}
 {
     public ${name}(zserio.runtime.pubsub.PubsubInterface pubsub)
+    {
+        this(pubsub, false);
+    }
+
+    public ${name}(zserio.runtime.pubsub.PubsubInterface pubsub, boolean shareDecodedMessages)
+    {
+        this(pubsub, shareDecodedMessages, false);
+    }
+
+    public ${name}(zserio.runtime.pubsub.PubsubInterface pubsub, boolean shareDecodedMessages,
+            boolean withLocalMessages)
     {
         this.pubsub = pubsub;
+        localPubsub = (withLocalMessages && pubsub instanceof zserio.runtime.pubsub.LocalPubsubInterface) ?
+                (zserio.runtime.pubsub.LocalPubsubInterface)pubsub : null;
+<#list messageList as message>
+    <#if message.isSubscribed>
+        ${message.name}Decoder = shareDecodedMessages ?
+                new zserio.runtime.pubsub.SharedMessageDecoder<${message.typeFullName}>(
+                        ${message.typeFullName}.class) : null;
+    </#if>
+</#list>
     }
 <#list messageList as message>
     <#if message.isPublished>
@@ -33,6 +53,12 @@ public class ${name}
             zserio.runtime.pubsub.PubsubCallback<${message.typeFullName}> callback,
             java.lang.Object context)
     {
+        if (localPubsub != null)
+        {
+            return localPubsub.subscribeLocal(${message.topicDefinition}, ${message.typeFullName}.class,
+                    callback, context);
+        }
+
         final zserio.runtime.pubsub.PubsubInterface.Callback onRaw =
             new zserio.runtime.pubsub.PubsubInterface.Callback()
             {
@@ -59,9 +85,30 @@ public class ${name}
             zserio.runtime.pubsub.PubsubCallback<${message.typeFullName}> callback,
             java.lang.String topic, byte[] data)
     {
-        final ${message.typeFullName} message = zserio.runtime.io.ZserioIO.read(
-                ${message.typeFullName}.class, data);
-        callback.invoke(topic, message);
+        final zserio.runtime.pubsub.PubsubInstrumentation instrumentation =
+                zserio.runtime.pubsub.PubsubInstrumentationRegistry.get();
+        final ${message.typeFullName} message = (${message.name}Decoder != null) ?
+                ${message.name}Decoder.decode(instrumentation, PUBSUB_FULL_NAME, topic, data) :
+                zserio.runtime.pubsub.PubsubInstrumentationRegistry.readMessage(
+                        instrumentation, PUBSUB_FULL_NAME, topic, ${message.typeFullName}.class, data);
+        if (instrumentation == null)
+        {
+            callback.invoke(topic, message);
+            return;
+        }
+
+        final long startTime = java.lang.System.nanoTime();
+        boolean succeeded = false;
+        try
+        {
+            callback.invoke(topic, message);
+            succeeded = true;
+        }
+        finally
+        {
+            instrumentation.onMessageHandled(PUBSUB_FULL_NAME, topic, java.lang.System.nanoTime() - startTime,
+                    succeeded);
+        }
     }
         </#if>
     </#list>
@@ -71,10 +118,25 @@ public class ${name}
     private <MSG extends zserio.runtime.io.Writer> void publish(java.lang.String topic, MSG message,
             java.lang.Object context)
     {
-        final byte[] data = zserio.runtime.io.ZserioIO.write(message);
+        if (localPubsub != null)
+        {
+            localPubsub.publishLocal(topic, message, context);
+            return;
+        }
+
+        final byte[] data = zserio.runtime.pubsub.PubsubInstrumentationRegistry.writeMessage(
+                zserio.runtime.pubsub.PubsubInstrumentationRegistry.get(), PUBSUB_FULL_NAME, topic, message);
         pubsub.publish(topic, data, context);
     }
 </#if>
 
+    private static final java.lang.String PUBSUB_FULL_NAME = "${pubsubFullName}";
+
     private final zserio.runtime.pubsub.PubsubInterface pubsub;
+    private final zserio.runtime.pubsub.LocalPubsubInterface localPubsub;
+<#list messageList as message>
+    <#if message.isSubscribed>
+    private final zserio.runtime.pubsub.SharedMessageDecoder<${message.typeFullName}> ${message.name}Decoder;
+    </#if>
+</#list>
 }
@@ -1,27 +1,28 @@
 <#include "CompoundField.inc.ftl">
 
-<#macro range_check rangeCheckData compoundName>
+<#macro range_check rangeCheckData compoundName indent=2>
     <#if rangeCheckData.setterRangeData??>
         <#local rangeData=rangeCheckData.setterRangeData>
-        // check range
+        <#local I>${""?left_pad(indent * 4)}</#local>
+${I}// check range
         <#if rangeData.bitFieldWithExpression??>
-        final int length = ${rangeData.bitFieldWithExpression.lengthExpression};
-        final long lowerBound = zserio.runtime.Util.getBitFieldLowerBound(
-                length, ${rangeData.bitFieldWithExpression.isSignedBitFieldStr});
-        final long upperBound = zserio.runtime.Util.getBitFieldUpperBound(
-                length, ${rangeData.bitFieldWithExpression.isSignedBitFieldStr});
+${I}final int length = ${rangeData.bitFieldWithExpression.lengthExpression};
+${I}final long lowerBound = zserio.runtime.Util.getBitFieldLowerBound(
+${I}        length, ${rangeData.bitFieldWithExpression.isSignedBitFieldStr});
+${I}final long upperBound = zserio.runtime.Util.getBitFieldUpperBound(
+${I}        length, ${rangeData.bitFieldWithExpression.isSignedBitFieldStr});
         <#else>
-        final ${rangeData.javaTypeName} lowerBound = ${rangeData.lowerBound};
-        final ${rangeData.javaTypeName} upperBound = ${rangeData.upperBound};
+${I}final ${rangeData.javaTypeName} lowerBound = ${rangeData.lowerBound};
+${I}final ${rangeData.javaTypeName} upperBound = ${rangeData.upperBound};
         </#if>
-        if <#if rangeData.isTypeNullable>(<@field_member_name rangeData.field/> != null && </#if><#rt>
+${I}if <#if rangeData.isTypeNullable>(<@field_member_name rangeData.field/> != null && </#if><#rt>
             (<@field_member_name rangeData.field/> < lowerBound<#if rangeData.checkUpperBound> || <@field_member_name rangeData.field/> > upperBound</#if>)<#t>
             <#if rangeData.isTypeNullable>)</#if><#lt>
-        {
-            throw new zserio.runtime.ZserioError("Value " + <@field_member_name rangeData.field/> +
-                    " of ${compoundName}.${rangeData.field.name} exceeds the range of <" +
-                    lowerBound + ".." + upperBound + ">!");
-        }
+${I}{
+${I}    throw new zserio.runtime.ZserioError("Value " + <@field_member_name rangeData.field/> +
+${I}            " of ${compoundName}.${rangeData.field.name} exceeds the range of <" +
+${I}            lowerBound + ".." + upperBound + ">!");
+${I}}
 
     </#if>
 </#macro>
@@ -1,39 +1,160 @@
 <#include "FileHeader.inc.ftl">
 <@standard_header generatorDescription, packageName/>
+<#assign hasStreamingMethods=false/>
+<#list methodList as method>
+    <#if method.isStreaming>
+        <#assign hasStreamingMethods=true/>
+    </#if>
+</#list>
+<#macro response_type method>
+    <#if method.isResponseStreaming>java.util.Iterator<${method.responseTypeFullName}><#else>${method.responseTypeFullName}</#if><#t>
+</#macro>
+<#macro request_argument method>
+    <#if method.isRequestStreaming>java.util.Iterator<${method.requestTypeFullName}> requests<#else>${method.requestTypeFullName} request</#if><#t>
+</#macro>
+<#macro streaming_method_cases>
+    <#list methodList as method>
+        <#if method.isStreaming>
+            case METHOD_ID_${method.name}:
+        </#if>
+    </#list>
+</#macro>
 
 public final class ${name}
 {
-    public static abstract class ${name}Service implements zserio.runtime.service.ServiceInterface
+    public static abstract class ${name}Service implements zserio.runtime.service.MethodIdServiceInterface,
+            zserio.runtime.service.StreamingServiceInterface, zserio.runtime.service.LocalServiceInterface,
+            zserio.runtime.service.AsyncMethodIdServiceInterface
     {
         public ${name}Service()
         {
-            methodMap = new java.util.HashMap<java.lang.String, Method>();
-<#list methodList as method>
-            methodMap.put("${method.name}",
-                new Method()
-                {
-                    @Override
-                    public byte[] invoke(byte[] requestData, java.lang.Object context)
-                            throws zserio.runtime.ZserioError
-                    {
-                        return ${method.name}Method(requestData, context);
-                    }
-                }
-            );
-</#list>
+            this(null);
+        }
+
+        public ${name}Service(java.util.concurrent.Executor executor)
+        {
+            this.executor = executor;
         }
 
         @Override
         public byte[] callMethod(java.lang.String methodName, byte[] requestData, java.lang.Object context)
                 throws zserio.runtime.ZserioError
         {
-            final Method method = methodMap.get(methodName);
-            if (method == null)
+            final int methodId = methodId(methodName);
+            if (methodId == UNDEFINED_METHOD_ID)
             {
                 throw new zserio.runtime.service.ServiceException(
                         "${serviceFullName}: Method '" + methodName + "' does not exist!");
             }
-            return method.invoke(requestData, context);
+            return callMethod(methodId, requestData, context);
+        }
+
+        @Override
+        public byte[] callMethod(int methodId, byte[] requestData, java.lang.Object context)
+                throws zserio.runtime.ZserioError
+        {
+            switch (methodId)
+            {
+<#list methodList as method>
+    <#if !method.isStreaming>
+            case METHOD_ID_${method.name}:
+                return ${method.name}Method(requestData, context);
+    </#if>
+</#list>
+            case zserio.runtime.service.ServiceBatch.BATCH_METHOD_ID:
+                return zserio.runtime.service.ServiceBatch.dispatch(this, requestData, context);
+<#if hasStreamingMethods>
+            <@streaming_method_cases/>
+                throw new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " is a streaming method!");
+</#if>
+            default:
+                throw new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " does not exist!");
+            }
+        }
+
+        @Override
+        public java.util.concurrent.CompletableFuture<byte[]> callMethodAsync(java.lang.String methodName,
+                byte[] requestData, java.lang.Object context)
+        {
+            final int methodId = methodId(methodName);
+            if (methodId == UNDEFINED_METHOD_ID)
+            {
+                return failedFuture(new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method '" + methodName + "' does not exist!"));
+            }
+            return callMethodAsync(methodId, requestData, context);
+        }
+
+        @Override
+        public java.util.concurrent.CompletableFuture<byte[]> callMethodAsync(int methodId,
+                byte[] requestData, java.lang.Object context)
+        {
+            switch (methodId)
+            {
+<#list methodList as method>
+    <#if !method.isStreaming>
+            case METHOD_ID_${method.name}:
+                return ${method.name}MethodAsync(requestData, context);
+    </#if>
+</#list>
+            case zserio.runtime.service.ServiceBatch.BATCH_METHOD_ID:
+                return batchMethodAsync(requestData, context);
+<#if hasStreamingMethods>
+            <@streaming_method_cases/>
+                return failedFuture(new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " is a streaming method!"));
+</#if>
+            default:
+                return failedFuture(new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " does not exist!"));
+            }
+        }
+
+        @Override
+        public java.lang.Object callMethodLocal(int methodId, java.lang.Object request, java.lang.Object context)
+                throws zserio.runtime.ZserioError
+        {
+            switch (methodId)
+            {
+<#list methodList as method>
+    <#if !method.isStreaming>
+            case METHOD_ID_${method.name}:
+                return ${method.name}Execute((${method.requestTypeFullName})request, context);
+    </#if>
+</#list>
+<#if hasStreamingMethods>
+            <@streaming_method_cases/>
+                throw new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " is a streaming method!");
+</#if>
+            default:
+                throw new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " does not exist!");
+            }
+        }
+
+        @Override
+        public java.util.Iterator<byte[]> callMethodStream(int methodId,
+                java.util.Iterator<byte[]> requestDataStream, java.lang.Object context)
+                throws zserio.runtime.ZserioError
+        {
+            switch (methodId)
+            {
+<#list methodList as method>
+            case METHOD_ID_${method.name}:
+    <#if method.isStreaming>
+                return ${method.name}MethodStream(requestDataStream, context);
+    <#else>
+                return zserio.runtime.service.ServiceStreams.singletonStream(${method.name}Method(
+                        zserio.runtime.service.ServiceStreams.singleData(requestDataStream), context));
+    </#if>
+</#list>
+            default:
+                throw new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Method with id " + methodId + " does not exist!");
+            }
         }
 
         public static java.lang.String serviceFullName()
@@ -50,50 +171,267 @@ public final class ${name}
 </#list>
             };
         }
+
+        public static int[] methodIds()
+        {
+            return new int[]
+            {
+<#list methodList as method>
+                METHOD_ID_${method.name}<#if method?has_next>,</#if>
+</#list>
+            };
+        }
+
+        public static int methodId(java.lang.String methodName)
+        {
+            switch (methodName)
+            {
 <#list methodList as method>
+            case "${method.name}":
+                return METHOD_ID_${method.name};
+</#list>
+            default:
+                return UNDEFINED_METHOD_ID;
+            }
+        }
+
+<#list methodList as method>
+        public static final int METHOD_ID_${method.name} = ${method?index};
+</#list>
+        public static final int UNDEFINED_METHOD_ID = -1;
+<#list methodList as method>
+
+        protected abstract <@response_type method/> ${method.name}Impl(
+                <@request_argument method/>, java.lang.Object context);
+    <#if !method.isStreaming>
+
+        protected java.util.concurrent.CompletableFuture<${method.responseTypeFullName}> ${method.name}ImplAsync(
+                final ${method.requestTypeFullName} request, final java.lang.Object context)
+        {
+            final java.util.function.Supplier<${method.responseTypeFullName}> impl =
+                    new java.util.function.Supplier<${method.responseTypeFullName}>()
+                    {
+                        @Override
+                        public ${method.responseTypeFullName} get()
+                        {
+                            return ${method.name}Execute(request, context);
+                        }
+                    };
+
+            if (executor != null)
+                return java.util.concurrent.CompletableFuture.supplyAsync(impl, executor);
 
-        protected abstract ${method.responseTypeFullName} ${method.name}Impl(
-                ${method.requestTypeFullName} request, java.lang.Object context);
+            try
+            {
+                return java.util.concurrent.CompletableFuture.completedFuture(impl.get());
+            }
+            catch (java.lang.RuntimeException exception)
+            {
+                // report failure by the future also when there is no executor
+                return failedFuture(exception);
+            }
+        }
+    </#if>
 </#list>
 <#list methodList as method>
+    <#if method.isStreaming>
+
+        private java.util.Iterator<byte[]> ${method.name}MethodStream(java.util.Iterator<byte[]> requestDataStream,
+                java.lang.Object context) throws zserio.runtime.ZserioError
+        {
+        <#if method.isRequestStreaming>
+            final java.util.Iterator<${method.requestTypeFullName}> requests =
+                    zserio.runtime.service.ServiceStreams.readStream(${method.requestTypeFullName}.class,
+                            requestDataStream);
+        <#else>
+            final ${method.requestTypeFullName} request = zserio.runtime.io.ZserioIO.read(
+                    ${method.requestTypeFullName}.class,
+                    zserio.runtime.service.ServiceStreams.singleData(requestDataStream));
+        </#if>
+
+        <#if method.isResponseStreaming>
+            final java.util.Iterator<${method.responseTypeFullName}> responses =
+                    ${method.name}Impl(<#if method.isRequestStreaming>requests<#else>request</#if>, context);
+
+            return zserio.runtime.service.ServiceStreams.writeStream(responses);
+        <#else>
+            final ${method.responseTypeFullName} response =
+                    ${method.name}Impl(<#if method.isRequestStreaming>requests<#else>request</#if>, context);
+
+            return zserio.runtime.service.ServiceStreams.singletonStream(
+                    zserio.runtime.io.ZserioIO.write(response));
+        </#if>
+        }
+    <#else>
 
         private byte[] ${method.name}Method(byte[] requestData, java.lang.Object context)
                 throws zserio.runtime.ZserioError
         {
+            final zserio.runtime.service.ServiceInstrumentation instrumentation =
+                    zserio.runtime.service.ServiceInstrumentationRegistry.get();
             final ${method.requestTypeFullName} request =
-                    zserio.runtime.io.ZserioIO.read(${method.requestTypeFullName}.class, requestData);
+                    zserio.runtime.service.ServiceInstrumentationRegistry.readRequest(instrumentation,
+                            SERVICE_FULL_NAME, "${method.name}", ${method.requestTypeFullName}.class, requestData);
 
-            final ${method.responseTypeFullName} response = ${method.name}Impl(request, context);
+            final ${method.responseTypeFullName} response = ${method.name}Execute(request, context);
 
-            final byte[] responseData = zserio.runtime.io.ZserioIO.write(response);
+            final byte[] responseData = zserio.runtime.service.ServiceInstrumentationRegistry.writeResponse(
+                    instrumentation, SERVICE_FULL_NAME, "${method.name}", response);
             return responseData;
         }
+
+        private ${method.responseTypeFullName} ${method.name}Execute(${method.requestTypeFullName} request,
+                java.lang.Object context) throws zserio.runtime.ZserioError
+        {
+            final zserio.runtime.service.ServiceInstrumentation instrumentation =
+                    zserio.runtime.service.ServiceInstrumentationRegistry.get();
+            if (instrumentation == null)
+                return ${method.name}Impl(request, context);
+
+            final long startTime = java.lang.System.nanoTime();
+            boolean succeeded = false;
+            try
+            {
+                final ${method.responseTypeFullName} response = ${method.name}Impl(request, context);
+                succeeded = true;
+                return response;
+            }
+            finally
+            {
+                instrumentation.onMethodExecuted(SERVICE_FULL_NAME, "${method.name}",
+                        java.lang.System.nanoTime() - startTime, succeeded);
+            }
+        }
+
+        private java.util.concurrent.CompletableFuture<byte[]> ${method.name}MethodAsync(byte[] requestData,
+                final java.lang.Object context)
+        {
+            return java.util.concurrent.CompletableFuture.completedFuture(requestData).thenApply(
+                    new java.util.function.Function<byte[], ${method.requestTypeFullName}>()
+                    {
+                        @Override
+                        public ${method.requestTypeFullName} apply(byte[] requestData)
+                        {
+                            return zserio.runtime.service.ServiceInstrumentationRegistry.readRequest(
+                                    zserio.runtime.service.ServiceInstrumentationRegistry.get(),
+                                    SERVICE_FULL_NAME, "${method.name}", ${method.requestTypeFullName}.class,
+                                    requestData);
+                        }
+                    }).thenCompose(
+                    new java.util.function.Function<${method.requestTypeFullName},
+                            java.util.concurrent.CompletionStage<${method.responseTypeFullName}>>()
+                    {
+                        @Override
+                        public java.util.concurrent.CompletionStage<${method.responseTypeFullName}> apply(
+                                ${method.requestTypeFullName} request)
+                        {
+                            return ${method.name}ImplAsync(request, context);
+                        }
+                    }).thenApply(
+                    new java.util.function.Function<${method.responseTypeFullName}, byte[]>()
+                    {
+                        @Override
+                        public byte[] apply(${method.responseTypeFullName} response)
+                        {
+                            return zserio.runtime.service.ServiceInstrumentationRegistry.writeResponse(
+                                    zserio.runtime.service.ServiceInstrumentationRegistry.get(),
+                                    SERVICE_FULL_NAME, "${method.name}", response);
+                        }
+                    });
+        }
+    </#if>
 </#list>
 
-        private interface Method
+        private java.util.concurrent.CompletableFuture<byte[]> batchMethodAsync(byte[] requestData,
+                final java.lang.Object context)
+        {
+            return java.util.concurrent.CompletableFuture.completedFuture(requestData).thenApply(
+                    new java.util.function.Function<byte[], byte[]>()
+                    {
+                        @Override
+                        public byte[] apply(byte[] requestData)
+                        {
+                            return zserio.runtime.service.ServiceBatch.dispatch(${name}Service.this, requestData,
+                                    context);
+                        }
+                    });
+        }
+
+        private static <T> java.util.concurrent.CompletableFuture<T> failedFuture(
+                java.lang.RuntimeException exception)
         {
-            byte[] invoke(byte[] requestData, java.lang.Object context) throws zserio.runtime.ZserioError;
+            final java.util.concurrent.CompletableFuture<T> future =
+                    new java.util.concurrent.CompletableFuture<T>();
+            future.completeExceptionally(exception);
+            return future;
         }
 
         private static final java.lang.String SERVICE_FULL_NAME = "${serviceFullName}";
 
-        private final java.util.Map<java.lang.String, Method> methodMap;
+        private final java.util.concurrent.Executor executor;
     }
 
     public static final class ${name}Client
     {
         public ${name}Client(zserio.runtime.service.ServiceInterface service)
+        {
+            this(service, false);
+        }
+
+        public ${name}Client(zserio.runtime.service.ServiceInterface service, boolean withLocalCalls)
         {
             this.service = service;
+            localService = (withLocalCalls && service instanceof zserio.runtime.service.LocalServiceInterface) ?
+                    (zserio.runtime.service.LocalServiceInterface)service : null;
         }
 <#list methodList as method>
+    <#if method.isStreaming>
+
+        public <@response_type method/> ${method.name}Method(<@request_argument method/>,
+                java.lang.Object context) throws zserio.runtime.ZserioError
+        {
+        <#if method.isRequestStreaming>
+            final java.util.Iterator<byte[]> requestDataStream =
+                    zserio.runtime.service.ServiceStreams.writeStream(requests);
+        <#else>
+            final java.util.Iterator<byte[]> requestDataStream =
+                    zserio.runtime.service.ServiceStreams.singletonStream(zserio.runtime.io.ZserioIO.write(request));
+        </#if>
+
+            final java.util.Iterator<byte[]> responseDataStream = getStreamingService().callMethodStream(
+                    ${name}Service.METHOD_ID_${method.name}, requestDataStream, context);
+
+        <#if method.isResponseStreaming>
+            return zserio.runtime.service.ServiceStreams.readStream(${method.responseTypeFullName}.class,
+                    responseDataStream);
+        <#else>
+            final ${method.responseTypeFullName} response = zserio.runtime.io.ZserioIO.read(
+                    ${method.responseTypeFullName}.class,
+                    zserio.runtime.service.ServiceStreams.singleData(responseDataStream));
+            return response;
+        </#if>
+        }
+
+        public <@response_type method/> ${method.name}Method(<@request_argument method/>)
+                throws zserio.runtime.ZserioError
+        {
+            return ${method.name}Method(<#if method.isRequestStreaming>requests<#else>request</#if>, null);
+        }
+    <#else>
 
         public ${method.responseTypeFullName} ${method.name}Method(${method.requestTypeFullName} request,
                 java.lang.Object context) throws zserio.runtime.ZserioError
         {
+            if (localService != null)
+            {
+                return (${method.responseTypeFullName})localService.callMethodLocal(
+                        ${name}Service.METHOD_ID_${method.name}, request, context);
+            }
+
             final byte[] requestData = zserio.runtime.io.ZserioIO.write(request);
 
-            final byte[] responseData = service.callMethod("${method.name}", requestData, context);
+            final byte[] responseData = callMethod(${name}Service.METHOD_ID_${method.name}, "${method.name}",
+                    requestData, context);
 
             final ${method.responseTypeFullName} response =
                     zserio.runtime.io.ZserioIO.read(${method.responseTypeFullName}.class, responseData);
@@ -105,8 +443,164 @@ public final class ${name}
         {
             return ${method.name}Method(request, null);
         }
+    </#if>
 </#list>
 
+        private byte[] callMethod(int methodId, java.lang.String methodName, byte[] requestData,
+                java.lang.Object context) throws zserio.runtime.ZserioError
+        {
+            if (service instanceof zserio.runtime.service.MethodIdServiceInterface)
+            {
+                return ((zserio.runtime.service.MethodIdServiceInterface)service).callMethod(methodId,
+                        requestData, context);
+            }
+
+            return service.callMethod(methodName, requestData, context);
+        }
+<#if hasStreamingMethods>
+
+        private zserio.runtime.service.StreamingServiceInterface getStreamingService()
+                throws zserio.runtime.ZserioError
+        {
+            if (!(service instanceof zserio.runtime.service.StreamingServiceInterface))
+            {
+                throw new zserio.runtime.service.ServiceException(
+                        "${serviceFullName}: Service does not support streaming methods!");
+            }
+
+            return (zserio.runtime.service.StreamingServiceInterface)service;
+        }
+</#if>
+
         private final zserio.runtime.service.ServiceInterface service;
+        private final zserio.runtime.service.LocalServiceInterface localService;
+    }
+
+    public static final class ${name}AsyncClient
+    {
+        public ${name}AsyncClient(zserio.runtime.service.AsyncServiceInterface service)
+        {
+            this.service = service;
+        }
+<#list methodList as method>
+    <#if !method.isStreaming>
+
+        public java.util.concurrent.CompletableFuture<${method.responseTypeFullName}> ${method.name}MethodAsync(
+                ${method.requestTypeFullName} request, final java.lang.Object context)
+        {
+            return java.util.concurrent.CompletableFuture.completedFuture(request).thenApply(
+                    new java.util.function.Function<${method.requestTypeFullName}, byte[]>()
+                    {
+                        @Override
+                        public byte[] apply(${method.requestTypeFullName} request)
+                        {
+                            return zserio.runtime.io.ZserioIO.write(request);
+                        }
+                    }).thenCompose(
+                    new java.util.function.Function<byte[], java.util.concurrent.CompletionStage<byte[]>>()
+                    {
+                        @Override
+                        public java.util.concurrent.CompletionStage<byte[]> apply(byte[] requestData)
+                        {
+                            return callMethodAsync(${name}Service.METHOD_ID_${method.name},
+                                    "${method.name}", requestData, context);
+                        }
+                    }).thenApply(
+                    new java.util.function.Function<byte[], ${method.responseTypeFullName}>()
+                    {
+                        @Override
+                        public ${method.responseTypeFullName} apply(byte[] responseData)
+                        {
+                            return zserio.runtime.io.ZserioIO.read(${method.responseTypeFullName}.class,
+                                    responseData);
+                        }
+                    });
+        }
+
+        public java.util.concurrent.CompletableFuture<${method.responseTypeFullName}> ${method.name}MethodAsync(
+                ${method.requestTypeFullName} request)
+        {
+            return ${method.name}MethodAsync(request, null);
+        }
+    </#if>
+</#list>
+
+        private java.util.concurrent.CompletableFuture<byte[]> callMethodAsync(int methodId,
+                java.lang.String methodName, byte[] requestData, java.lang.Object context)
+        {
+            if (service instanceof zserio.runtime.service.AsyncMethodIdServiceInterface)
+            {
+                return ((zserio.runtime.service.AsyncMethodIdServiceInterface)service).callMethodAsync(methodId,
+                        requestData, context);
+            }
+
+            return service.callMethodAsync(methodName, requestData, context);
+        }
+
+        private final zserio.runtime.service.AsyncServiceInterface service;
+    }
+
+    public static final class ${name}Batch
+    {
+        public ${name}Batch(zserio.runtime.service.MethodIdServiceInterface service)
+        {
+            this.service = service;
+        }
+
+        public void call(java.lang.Object context) throws zserio.runtime.ZserioError
+        {
+            result = batch.call(service, context);
+        }
+
+        public void call() throws zserio.runtime.ZserioError
+        {
+            call(null);
+        }
+
+        public int size()
+        {
+            return batch.size();
+        }
+
+        public void clear()
+        {
+            batch.clear();
+            result = null;
+        }
+<#list methodList as method>
+    <#if !method.isStreaming>
+
+        public int ${method.name}Method(${method.requestTypeFullName} request) throws zserio.runtime.ZserioError
+        {
+            return batch.add(${name}Service.METHOD_ID_${method.name}, zserio.runtime.io.ZserioIO.write(request));
+        }
+
+        public ${method.responseTypeFullName} ${method.name}Response(int index) throws zserio.runtime.ZserioError
+        {
+            final byte[] responseData = getResponseData(${name}Service.METHOD_ID_${method.name}, index);
+
+            final ${method.responseTypeFullName} response =
+                    zserio.runtime.io.ZserioIO.read(${method.responseTypeFullName}.class, responseData);
+            return response;
+        }
+    </#if>
+</#list>
+
+        private byte[] getResponseData(int methodId, int index) throws zserio.runtime.ZserioError
+        {
+            if (result == null)
+                throw new zserio.runtime.service.ServiceException("${serviceFullName}: Batch was not called!");
+            if (batch.getMethodId(index) != methodId)
+            {
+                throw new zserio.runtime.service.ServiceException("${serviceFullName}: Batch call " + index +
+                        " is not a call of the requested method!");
+            }
+
+            return result.getResponseData(index);
+        }
+
+        private final zserio.runtime.service.MethodIdServiceInterface service;
+        private final zserio.runtime.service.ServiceBatch batch = new zserio.runtime.service.ServiceBatch();
+        private zserio.runtime.service.ServiceBatchResult result = null;
     }
 }
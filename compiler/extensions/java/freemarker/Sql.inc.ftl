@@ -1,12 +1,3 @@
-<#function sql_table_has_blob_field fields>
-    <#list fields as field>
-        <#if field.sqlTypeData.isBlob>
-            <#return true>
-        </#if>
-    </#list>
-    <#return false>
-</#function>
-
 <#function sql_table_has_non_virtual_field fields>
     <#list fields as field>
         <#if !field.isVirtual>
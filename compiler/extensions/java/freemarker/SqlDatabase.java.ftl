@@ -27,9 +27,33 @@ public class ${name} implements zserio.runtime.SqlDatabase<#if !withWriterCode>R
     public ${name}(java.lang.String fileName,
             java.util.Map<java.lang.String, java.lang.String> tableToDbFileNameRelocationMap)
             throws java.sql.SQLException
+    {
+        this(fileName, tableToDbFileNameRelocationMap, <#if withWriterCode>"CREATE"<#else>"READONLY"</#if>, null);
+    }
+
+    public ${name}(java.sql.Connection externalConnection)
+    {
+        this(externalConnection, new java.util.HashMap<java.lang.String, java.lang.String>());
+    }
+
+    public ${name}(java.sql.Connection externalConnection,
+            java.util.Map<java.lang.String, java.lang.String> tableToAttachedDbNameRelocationMap)
+    {
+        connection = externalConnection;
+        isExternal = true;
+        attachedDbList = null;
+
+        initTables(tableToAttachedDbNameRelocationMap);
+    }
+
+    private ${name}(java.lang.String fileName,
+            java.util.Map<java.lang.String, java.lang.String> tableToDbFileNameRelocationMap,
+            java.lang.String openFlags, java.lang.String openMode) throws java.sql.SQLException
     {
         final java.util.Properties connectionProps = new java.util.Properties();
-        connectionProps.setProperty("flags", <#if withWriterCode>"CREATE"<#else>"READONLY"</#if>);
+        connectionProps.setProperty("flags", openFlags);
+        if (openMode != null)
+            connectionProps.setProperty("open_mode", openMode);
         final java.lang.String uriPath = "jdbc:sqlite:" + new java.io.File(fileName).toString();
 
         connection = java.sql.DriverManager.getConnection(uriPath, connectionProps);
@@ -60,24 +84,41 @@ public class ${name} implements zserio.runtime.SqlDatabase<#if !withWriterCode>R
         initTables(tableToAttachedDbNameRelocationMap);
     }
 
-    public ${name}(java.sql.Connection externalConnection)
+    /**
+     * Opens a pool of read-only database instances.
+     *
+     * Each instance has its own connection with the same relocated tables, so the database can be read by
+     * several threads concurrently. The database must not be modified while the pool is used.
+     */
+    public static zserio.runtime.SqlDatabasePool<${name}> openReadOnlyPool(final java.lang.String fileName,
+            final java.util.Map<java.lang.String, java.lang.String> tableToDbFileNameRelocationMap,
+            int numberOfConnections) throws java.sql.SQLException
     {
-        this(externalConnection, new java.util.HashMap<java.lang.String, java.lang.String>());
+        return new zserio.runtime.SqlDatabasePool<${name}>(numberOfConnections,
+                new zserio.runtime.SqlDatabasePool.DatabaseFactory<${name}>()
+                {
+                    @Override
+                    public ${name} open() throws java.sql.SQLException
+                    {
+                        return new ${name}(fileName, tableToDbFileNameRelocationMap, "READONLY",
+                                SQLITE_OPEN_READONLY);
+                    }
+                });
     }
 
-    public ${name}(java.sql.Connection externalConnection,
-            java.util.Map<java.lang.String, java.lang.String> tableToAttachedDbNameRelocationMap)
+    public static zserio.runtime.SqlDatabasePool<${name}> openReadOnlyPool(java.lang.String fileName,
+            int numberOfConnections) throws java.sql.SQLException
     {
-        connection = externalConnection;
-        isExternal = true;
-        attachedDbList = null;
-
-        initTables(tableToAttachedDbNameRelocationMap);
+        return openReadOnlyPool(fileName, new java.util.HashMap<java.lang.String, java.lang.String>(),
+                numberOfConnections);
     }
 
     @Override
     public void close() throws java.sql.SQLException
     {
+<#list fields as field>
+        this.<@field_member_name field/>.close();
+</#list>
         if (!isExternal)
         {
             detachDatabases();
@@ -154,6 +195,34 @@ public class ${name} implements zserio.runtime.SqlDatabase<#if !withWriterCode>R
 
         endTransaction(wasTransactionStarted);
     }
+
+    /** Creates indexes of all tables which do not exist yet. */
+    public void createIndexes() throws java.sql.SQLException
+    {
+        final boolean wasTransactionStarted = startTransaction();
+
+    <#list fields as field>
+        <#if field.hasIndexes>
+        this.<@field_member_name field/>.createIndexes();
+        </#if>
+    </#list>
+
+        endTransaction(wasTransactionStarted);
+    }
+
+    /** Drops indexes of all tables, e.g. before a large write to several tables. */
+    public void deleteIndexes() throws java.sql.SQLException
+    {
+        final boolean wasTransactionStarted = startTransaction();
+
+    <#list fields as field>
+        <#if field.hasIndexes>
+        this.<@field_member_name field/>.deleteIndexes();
+        </#if>
+    </#list>
+
+        endTransaction(wasTransactionStarted);
+    }
 </#if>
 <#if withValidationCode>
 
@@ -168,6 +237,28 @@ public class ${name} implements zserio.runtime.SqlDatabase<#if !withWriterCode>R
 
         return report;
     }
+
+    /**
+     * Validates all tables using several threads.
+     *
+     * Each thread uses its own read-only connection to the database. Tables with rowid are split to tasks
+     * by ranges of rowids. The monitor (can be null) reports progress and allows to cancel the validation.
+     * Parameter providers must be thread-safe.
+     */
+    public zserio.runtime.validation.ValidationReport validate(<#if needsParameterProvider>ParameterProvider parameterProvider,
+            </#if>int numberOfThreads, int rowIdRangeSize, zserio.runtime.validation.ValidationMonitor monitor)
+            throws java.sql.SQLException
+    {
+        final zserio.runtime.validation.ParallelValidator validator =
+                new zserio.runtime.validation.ParallelValidator(connection, numberOfThreads, rowIdRangeSize,
+                        monitor);
+    <#list fields as field>
+        this.<@field_member_name field/>.addValidationTasks(validator<#if field.hasExplicitParameters>,
+                parameterProvider.get${field.name?cap_first}ParameterProvider()</#if>);
+    </#list>
+
+        return validator.run();
+    }
 </#if>
 
     public static java.lang.String databaseName()
@@ -251,6 +342,8 @@ public class ${name} implements zserio.runtime.SqlDatabase<#if !withWriterCode>R
     }
 </#if>
 
+    // open mode of the JDBC driver which really opens the database read-only
+    private static final java.lang.String SQLITE_OPEN_READONLY = "1";
     private static final java.lang.String DATABASE_NAME = "${name}";
 <#list fields as field>
     private static final java.lang.String ${field.name}_TABLE_NAME = "${field.name}";
@@ -2,7 +2,6 @@
 <#include "Sql.inc.ftl">
 <#include "RangeCheck.inc.ftl">
 <@standard_header generatorDescription, packageName/>
-<#assign hasBlobField=sql_table_has_blob_field(fields)/>
 <#assign needsParameterProvider=explicitParameters?has_content/>
 <#if withWriterCode>
     <#assign hasNonVirtualField=sql_table_has_non_virtual_field(fields)/>
@@ -10,6 +9,13 @@
 <#if withValidationCode>
     <#assign hasValidatableField=sql_table_has_validatable_field(fields)/>
 </#if>
+<#assign primaryKeyFields=[]/>
+<#list fields as field>
+    <#if field.isPrimaryKey>
+        <#assign primaryKeyFields=primaryKeyFields + [field]/>
+    </#if>
+</#list>
+<#assign hasPrimaryKeyField=primaryKeyFields?has_content/>
 
 public class ${name}
 {
@@ -22,11 +28,48 @@ public class ${name}
     };
 
 </#if>
+    public static final class ${name}Columns
+    {
+<#list fields as field>
+        public static final zserio.runtime.SqlColumn<${field.javaNullableTypeFullName}> ${field.name} =
+                new zserio.runtime.SqlColumn<${field.javaNullableTypeFullName}>("${field.name}",
+                        new zserio.runtime.SqlColumn.Binder<${field.javaNullableTypeFullName}>()
+                        {
+                            @Override
+                            public void bind(java.sql.PreparedStatement statement, int index,
+                                    ${field.javaNullableTypeFullName} value) throws java.sql.SQLException
+                            {
+    <#if field.sqlTypeData.isBlob>
+        <#if withWriterCode>
+                                statement.setBytes(index, zserio.runtime.io.ZserioIO.write(value));
+        <#else>
+                                throw new zserio.runtime.ZserioError("${name}: Blob column '${field.name}' " +
+                                        "cannot be bound without writer code!");
+        </#if>
+    <#elseif field.enumData??>
+                                statement.set${field.enumData.baseJavaTypeName?cap_first}(index, value.getValue());
+    <#elseif field.bitmaskData??>
+                                statement.set${field.bitmaskData.baseJavaTypeName?cap_first}(index, value.getValue());
+    <#elseif field.requiresBigInt>
+                                statement.setLong(index, value.longValue());
+    <#else>
+                                statement.set${field.javaTypeName?cap_first}(index, value);
+    </#if>
+                            }
+                        });
+</#list>
+
+        private ${name}Columns()
+        {
+        }
+    };
+
     public ${name}(java.sql.Connection connection, java.lang.String tableName)
     {
         this.connection = connection;
         this.attachedDbName = null;
         this.tableName = tableName;
+        this.statementCache = new zserio.runtime.SqlStatementCache(connection);
     }
 
     public ${name}(java.sql.Connection connection, java.lang.String attachedDbName,
@@ -35,6 +78,13 @@ public class ${name}
         this.connection = connection;
         this.attachedDbName = attachedDbName;
         this.tableName = tableName;
+        this.statementCache = new zserio.runtime.SqlStatementCache(connection);
+    }
+
+    /** Closes all prepared statements cached by the table. */
+    public void close() throws java.sql.SQLException
+    {
+        statementCache.close();
     }
 <#if withWriterCode>
 
@@ -45,6 +95,9 @@ public class ${name}
         sqlQuery.append(" WITHOUT ROWID");
     </#if>
         executeUpdate(sqlQuery.toString());
+    <#if indexes?has_content>
+        createIndexes();
+    </#if>
     }
 
     <#if hasNonVirtualField && isWithoutRowId>
@@ -52,6 +105,9 @@ public class ${name}
     {
         final java.lang.StringBuilder sqlQuery = getCreateTableQuery();
         executeUpdate(sqlQuery.toString());
+        <#if indexes?has_content>
+        createIndexes();
+        </#if>
     }
 
     </#if>
@@ -61,6 +117,30 @@ public class ${name}
         appendTableNameToQuery(sqlQuery);
         executeUpdate(sqlQuery.toString());
     }
+    <#if indexes?has_content>
+
+    /** Creates all indexes of the table which do not exist yet. */
+    public void createIndexes() throws java.sql.SQLException
+    {
+        <#list indexes as index>
+        executeUpdate(getCreateIndexQuery("${index.name}",
+                "<#list index.fields as field>${field.name}<#if field?has_next>, </#if></#list>"));
+        </#list>
+    }
+
+    /**
+     * Drops all indexes of the table.
+     *
+     * Indexes can be dropped before a large write and created again afterwards, which is faster than
+     * updating them for each written row.
+     */
+    public void deleteIndexes() throws java.sql.SQLException
+    {
+        <#list indexes as index>
+        executeUpdate(getDropIndexQuery("${index.name}"));
+        </#list>
+    }
+    </#if>
 </#if>
 
     /** Reads all rows from the table. */
@@ -74,37 +154,121 @@ public class ${name}
     public java.util.List<${rowName}> read(<#if needsParameterProvider>ParameterProvider parameterProvider,</#if>
             java.lang.String condition) throws java.sql.SQLException, java.io.IOException
     {
-        // assemble sql query
-        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("SELECT " +
-<#list fields as field>
-                "${field.name}<#if field_has_next>, </#if>" +
-</#list>
-                " FROM ");
-        appendTableNameToQuery(sqlQuery);
-        if (!condition.isEmpty())
+        final java.lang.String sqlQuery = getSelectQuery(condition);
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery);
+        try
         {
-            sqlQuery.append(" WHERE ");
-            sqlQuery.append(condition);
+            return readRows(<#if needsParameterProvider>parameterProvider, </#if>statement);
         }
+        finally
+        {
+            statementCache.releaseStatement(sqlQuery, statement);
+        }
+    }
 
-        // read rows
-        final java.util.List<${rowName}> rows = new java.util.ArrayList<${rowName}>();
-        final java.sql.PreparedStatement statement = connection.prepareStatement(sqlQuery.toString());
+    /** Reads all rows from the table which fulfill the given query with bound parameters. */
+    public java.util.List<${rowName}> read(<#if needsParameterProvider>ParameterProvider parameterProvider,</#if>
+            zserio.runtime.SqlQuery query) throws java.sql.SQLException, java.io.IOException
+    {
+        final java.lang.String sqlQuery = getSelectQuery(query);
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery);
         try
         {
+            query.bind(statement, 1);
+
+            return readRows(<#if needsParameterProvider>parameterProvider, </#if>statement);
+        }
+        finally
+        {
+            statementCache.releaseStatement(sqlQuery, statement);
+        }
+    }
+<#if hasPrimaryKeyField && lookup_is_bindable(primaryKeyFields)>
+
+    /** Reads the row with the given primary key or returns null if there is no such row. */
+    public ${rowName} readByPrimaryKey(<@lookup_parameters primaryKeyFields/>)
+            throws java.sql.SQLException, java.io.IOException
+    {
+        final java.lang.String sqlQuery = getSelectQuery("<@lookup_condition primaryKeyFields/>");
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery);
+        try
+        {
+        <@lookup_bind primaryKeyFields, 3/>
             final java.sql.ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next())
+            try
             {
-                final ${rowName} row = readRow(<#if needsParameterProvider>parameterProvider, </#if>resultSet);
-                rows.add(row);
+                return resultSet.next() ? readRow(<#if needsParameterProvider>parameterProvider, </#if>resultSet) : null;
+            }
+            finally
+            {
+                resultSet.close();
             }
         }
         finally
+        {
+            statementCache.releaseStatement(sqlQuery, statement);
+        }
+    }
+</#if>
+<#list indexes as index>
+    <#if lookup_is_bindable(index.fields)>
+
+    /** Reads all rows with the given values of the columns of the index '${index.name}'. */
+    public java.util.List<${rowName}> readBy${index.name?cap_first}(<@lookup_parameters index.fields/>)
+            throws java.sql.SQLException, java.io.IOException
+    {
+        final java.lang.String sqlQuery = getSelectQuery("<@lookup_condition index.fields/>");
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery);
+        try
+        {
+        <@lookup_bind index.fields, 3/>
+
+            return readRows(<#if needsParameterProvider>parameterProvider, </#if>statement);
+        }
+        finally
+        {
+            statementCache.releaseStatement(sqlQuery, statement);
+        }
+    }
+    </#if>
+</#list>
+
+    /** Opens cursor which reads all rows from the table lazily. */
+    public zserio.runtime.SqlTableCursor<${rowName}> openCursor(<#if needsParameterProvider>ParameterProvider parameterProvider</#if>)
+            throws java.sql.SQLException
+    {
+        return openCursor(<#if needsParameterProvider>parameterProvider, </#if>"", 0);
+    }
+
+    /**
+     * Opens cursor which reads rows from the table which fulfill the given condition lazily.
+     *
+     * The fetch size is a hint for the JDBC driver how many rows to fetch at once, 0 means driver default.
+     */
+    public zserio.runtime.SqlTableCursor<${rowName}> openCursor(<#if needsParameterProvider>ParameterProvider parameterProvider,</#if>
+            java.lang.String condition, int fetchSize) throws java.sql.SQLException
+    {
+        final java.sql.PreparedStatement statement = connection.prepareStatement(getSelectQuery(condition));
+
+        return openCursor(<#if needsParameterProvider>parameterProvider, </#if>statement, fetchSize);
+    }
+
+    /** Opens cursor which reads rows from the table which fulfill the given query lazily. */
+    public zserio.runtime.SqlTableCursor<${rowName}> openCursor(<#if needsParameterProvider>ParameterProvider parameterProvider,</#if>
+            zserio.runtime.SqlQuery query, int fetchSize) throws java.sql.SQLException
+    {
+        final java.sql.PreparedStatement statement = connection.prepareStatement(getSelectQuery(query));
+        try
+        {
+            query.bind(statement, 1);
+        }
+        catch (java.sql.SQLException exception)
         {
             statement.close();
+            throw exception;
         }
 
-        return rows;
+        return openCursor(<#if needsParameterProvider>parameterProvider, </#if>statement, fetchSize);
     }
 <#if withWriterCode>
 
@@ -116,22 +280,10 @@ public class ${name}
     public void write(java.util.List<${rowName}> rows)
             throws java.sql.SQLException, java.io.IOException
     {
-        // assemble sql query
-        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("INSERT INTO ");
-        appendTableNameToQuery(sqlQuery);
-        sqlQuery.append(" (" +
-    <#list fields as field>
-                "${field.name}<#if field_has_next>, </#if>" +
-    </#list>
-                ") VALUES (<#rt>
-    <#list fields as field>
-                ?<#if field_has_next>, </#if><#t>
-    </#list>
-                )");<#lt>
-
         // write rows
         final boolean wasTransactionStarted = startTransaction();
-        final java.sql.PreparedStatement statement = connection.prepareStatement(sqlQuery.toString());
+        final java.lang.String sqlQuery = getInsertQuery("INSERT");
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery);
         try
         {
             for (${rowName} row : rows)
@@ -143,28 +295,77 @@ public class ${name}
         }
         finally
         {
-            statement.close();
+            statement.clearBatch();
+            statementCache.releaseStatement(sqlQuery, statement);
         }
 
         endTransaction(wasTransactionStarted);
     }
 
+    /**
+     * Writes all rows from the given iterator to the table in batches.
+     *
+     * Rows are not collected in memory, so the iterator can stream any number of rows. See
+     * zserio.runtime.SqlBulkWriteOptions for the batch size, commit size, conflict policy (upsert),
+     * bulk load profile and deferred indexes.
+     *
+     * @return Number of written rows.
+     */
+    public long write(java.util.Iterator<? extends ${rowName}> rows, zserio.runtime.SqlBulkWriteOptions options)
+            throws java.sql.SQLException, java.io.IOException
+    {
+    <#if indexes?has_content>
+        if (options.isDeferIndexes())
+        {
+            deleteIndexes();
+            try
+            {
+                return writeRows(rows, options);
+            }
+            finally
+            {
+                createIndexes();
+            }
+        }
+
+        return writeRows(rows, options);
+    }
+
+    private long writeRows(java.util.Iterator<? extends ${rowName}> rows,
+            zserio.runtime.SqlBulkWriteOptions options) throws java.sql.SQLException
+    {
+    </#if>
+        final java.lang.String sqlQuery = getInsertQuery(options.getConflictPolicy().getInsertStatement());
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery);
+        try
+        {
+            return zserio.runtime.SqlBulkWriter.write(connection, attachedDbName, statement, rows,
+                    new zserio.runtime.SqlBulkWriter.RowWriter<${rowName}>()
+                    {
+                        @Override
+                        public void writeRow(${rowName} row, java.sql.PreparedStatement statement)
+                                throws java.sql.SQLException
+                        {
+                            ${name}.writeRow(row, statement);
+                        }
+                    }, options);
+        }
+        finally
+        {
+            statementCache.releaseStatement(sqlQuery, statement);
+        }
+    }
+
     /** Updates given row in the table. */
     public void update(${rowName} row, java.lang.String whereCondition)
             throws java.sql.SQLException, java.io.IOException
     {
         // assemble sql query
-        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("UPDATE ");
-        appendTableNameToQuery(sqlQuery);
-        sqlQuery.append(" SET" +
-    <#list fields as field>
-                " ${field.name}=?<#if field_has_next>,</#if>" +
-    </#list>
-                " WHERE ");
+        final java.lang.StringBuilder sqlQuery = getUpdateQuery();
         sqlQuery.append(whereCondition);
 
         // update row
-        final java.sql.PreparedStatement statement = connection.prepareStatement(sqlQuery.toString());
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery.toString());
         try
         {
             writeRow(row, statement);
@@ -172,7 +373,29 @@ public class ${name}
         }
         finally
         {
-            statement.close();
+            statementCache.releaseStatement(sqlQuery.toString(), statement);
+        }
+    }
+
+    /** Updates rows which fulfill the given condition with bound parameters in the table. */
+    public void update(${rowName} row, zserio.runtime.SqlCondition whereCondition)
+            throws java.sql.SQLException, java.io.IOException
+    {
+        // assemble sql query
+        final java.lang.StringBuilder sqlQuery = getUpdateQuery();
+        sqlQuery.append(whereCondition.getSql());
+
+        // update row
+        final java.sql.PreparedStatement statement = statementCache.acquireStatement(sqlQuery.toString());
+        try
+        {
+            writeRow(row, statement);
+            whereCondition.bind(statement, ${fields?size + 1});
+            statement.executeUpdate();
+        }
+        finally
+        {
+            statementCache.releaseStatement(sqlQuery.toString(), statement);
         }
     }
 </#if>
@@ -195,34 +418,12 @@ public class ${name}
         if (validateSchema(errors))
         {
             <#-- don't use rowid because WITHOUT ROWID tables can be used even if Zserio does not support them -->
-            final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("SELECT " +
-        <#list fields as field>
-                    "${field.name}<#if field_has_next>, </#if>" +
-        </#list>
-                    " FROM ");
-            appendTableNameToQuery(sqlQuery);
-            final java.sql.PreparedStatement statement = connection.prepareStatement(sqlQuery.toString());
-
+            final java.sql.PreparedStatement statement =
+                    connection.prepareStatement(getValidationQuery().toString());
             try
             {
-                final java.sql.ResultSet resultSet = statement.executeQuery();
-
-                while (resultSet.next())
-                {
-                    numberOfValidatedRows++;
-                    final ${rowName} row = new ${rowName}();
-        <#list fields as field>
-            <#if field.sqlTypeData.isBlob>
-                    if (!validateBlob${field.name?cap_first}(errors, resultSet, row,<#rt>
-                            <#lt> <#if needsParameterProvider>parameterProvider,</#if>
-                            totalParameterProviderTimer))
-                        continue;
-            <#else>
-                    if (!validateField${field.name?cap_first}(errors, resultSet, row))
-                        continue;
-            </#if>
-        </#list>
-                }
+                numberOfValidatedRows = validateRows(errors, statement,<#if needsParameterProvider> parameterProvider,</#if>
+                        totalParameterProviderTimer, null);
             }
             finally
             {
@@ -238,6 +439,45 @@ public class ${name}
         return new zserio.runtime.validation.ValidationReport(1, numberOfValidatedRows,
                 totalValidationTimer.getDuration(), totalParameterProviderTimer.getDuration(), errors);
     }
+
+    /**
+     * Adds tasks which validate the table to the given parallel validator.
+     *
+     * Tables with rowid are split to several tasks by ranges of rowids.
+     */
+    public void addValidationTasks(zserio.runtime.validation.ParallelValidator validator<#if needsParameterProvider>,
+            final ParameterProvider parameterProvider</#if>) throws java.sql.SQLException
+    {
+    <#if hasValidatableField && !isWithoutRowId && !virtualTableUsing??>
+        final zserio.runtime.validation.ValidationReport schemaReport = validateSchema();
+        validator.addReport(schemaReport);
+        if (schemaReport.getErrors().isEmpty())
+        {
+            validator.addRowIdRangeTasks(attachedDbName, tableName,
+                    new zserio.runtime.validation.ParallelValidator.RowIdRangeTask()
+                    {
+                        @Override
+                        public zserio.runtime.validation.ValidationReport validate(
+                                java.sql.Connection connection, long minRowId, long maxRowId,
+                                zserio.runtime.validation.ValidationMonitor monitor) throws java.sql.SQLException
+                        {
+                            return new ${name}(connection, attachedDbName, tableName).validateRows(
+                                    <#if needsParameterProvider>parameterProvider, </#if>minRowId, maxRowId, monitor);
+                        }
+                    });
+        }
+    <#else>
+        validator.addTask(tableName, new zserio.runtime.validation.ParallelValidator.Task()
+        {
+            @Override
+            public zserio.runtime.validation.ValidationReport validate(java.sql.Connection connection,
+                    zserio.runtime.validation.ValidationMonitor monitor) throws java.sql.SQLException
+            {
+                return new ${name}(connection, attachedDbName, tableName).validate(<#if needsParameterProvider>parameterProvider</#if>);
+            }
+        });
+    </#if>
+    }
 </#if>
 
     private void appendTableNameToQuery(java.lang.StringBuilder sqlQuery)
@@ -249,6 +489,74 @@ public class ${name}
         }
         sqlQuery.append(tableName);
     }
+
+    private java.lang.String getSelectQuery(java.lang.String condition)
+    {
+        final java.lang.StringBuilder sqlQuery = getSelectQuery();
+        if (!condition.isEmpty())
+        {
+            sqlQuery.append(" WHERE ");
+            sqlQuery.append(condition);
+        }
+
+        return sqlQuery.toString();
+    }
+
+    private java.lang.String getSelectQuery(zserio.runtime.SqlQuery query)
+    {
+        final java.lang.StringBuilder sqlQuery = getSelectQuery();
+        sqlQuery.append(query.getSql());
+
+        return sqlQuery.toString();
+    }
+
+    private java.lang.StringBuilder getSelectQuery()
+    {
+        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("SELECT " +
+<#list fields as field>
+                "${field.name}<#if field_has_next>, </#if>" +
+</#list>
+                " FROM ");
+        appendTableNameToQuery(sqlQuery);
+
+        return sqlQuery;
+    }
+
+    private java.util.List<${rowName}> readRows(<#if needsParameterProvider>ParameterProvider parameterProvider,</#if>
+            java.sql.PreparedStatement statement) throws java.sql.SQLException, java.io.IOException
+    {
+        final java.util.List<${rowName}> rows = new java.util.ArrayList<${rowName}>();
+        final java.sql.ResultSet resultSet = statement.executeQuery();
+        try
+        {
+            while (resultSet.next())
+            {
+                final ${rowName} row = readRow(<#if needsParameterProvider>parameterProvider, </#if>resultSet);
+                rows.add(row);
+            }
+        }
+        finally
+        {
+            resultSet.close();
+        }
+
+        return rows;
+    }
+
+    private zserio.runtime.SqlTableCursor<${rowName}> openCursor(<#if needsParameterProvider>final ParameterProvider parameterProvider,</#if>
+            java.sql.PreparedStatement statement, int fetchSize) throws java.sql.SQLException
+    {
+        return new zserio.runtime.SqlTableCursor<${rowName}>(statement, fetchSize,
+                new zserio.runtime.SqlTableCursor.RowReader<${rowName}>()
+                {
+                    @Override
+                    public ${rowName} readRow(java.sql.ResultSet resultSet)
+                            throws java.sql.SQLException, java.io.IOException
+                    {
+                        return ${name}.readRow(<#if needsParameterProvider>parameterProvider, </#if>resultSet);
+                    }
+                });
+    }
 <#if withWriterCode>
 
     private void executeUpdate(java.lang.String sql) throws java.sql.SQLException
@@ -285,6 +593,37 @@ public class ${name}
         }
     }
 
+    private java.lang.String getInsertQuery(java.lang.String insertStatement)
+    {
+        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder(insertStatement);
+        sqlQuery.append(" INTO ");
+        appendTableNameToQuery(sqlQuery);
+        sqlQuery.append(" (" +
+    <#list fields as field>
+                "${field.name}<#if field_has_next>, </#if>" +
+    </#list>
+                ") VALUES (<#rt>
+    <#list fields as field>
+                ?<#if field_has_next>, </#if><#t>
+    </#list>
+                )");<#lt>
+
+        return sqlQuery.toString();
+    }
+
+    private java.lang.StringBuilder getUpdateQuery()
+    {
+        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("UPDATE ");
+        appendTableNameToQuery(sqlQuery);
+        sqlQuery.append(" SET" +
+    <#list fields as field>
+                " ${field.name}=?<#if field_has_next>,</#if>" +
+    </#list>
+                " WHERE ");
+
+        return sqlQuery;
+    }
+
     private java.lang.StringBuilder getCreateTableQuery() throws java.sql.SQLException
     {
         final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("CREATE <#if virtualTableUsing??>VIRTUAL </#if>TABLE ");
@@ -313,9 +652,78 @@ public class ${name}
 
         return sqlQuery;
     }
+    <#if indexes?has_content>
+
+    private java.lang.String getCreateIndexQuery(java.lang.String indexName, java.lang.String columns)
+    {
+        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("CREATE INDEX IF NOT EXISTS ");
+        appendIndexNameToQuery(sqlQuery, indexName);
+        // SQLite does not allow schema name of the indexed table, the index is always in the table schema
+        sqlQuery.append(" ON ");
+        sqlQuery.append(tableName);
+        sqlQuery.append(" (");
+        sqlQuery.append(columns);
+        sqlQuery.append(")");
+
+        return sqlQuery.toString();
+    }
+
+    private java.lang.String getDropIndexQuery(java.lang.String indexName)
+    {
+        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("DROP INDEX IF EXISTS ");
+        appendIndexNameToQuery(sqlQuery, indexName);
+
+        return sqlQuery.toString();
+    }
+
+    private void appendIndexNameToQuery(java.lang.StringBuilder sqlQuery, java.lang.String indexName)
+    {
+        // index names are global within the database, so they are prefixed by the table name
+        appendTableNameToQuery(sqlQuery);
+        sqlQuery.append('_');
+        sqlQuery.append(indexName);
+    }
+    </#if>
 
 </#if>
-<#macro read_blob field called_from_validation indent>
+<#macro lookup_parameters lookupFields>
+    <#if needsParameterProvider>ParameterProvider parameterProvider, </#if><#t>
+    <#list lookupFields as field>
+        ${field.javaTypeFullName} ${field.name}<#if field?has_next>, </#if><#t>
+    </#list>
+</#macro>
+<#macro lookup_condition lookupFields>
+    <#list lookupFields as field>${field.name}=?<#if field?has_next> AND </#if></#list><#t>
+</#macro>
+<#-- blob columns can be bound only by serialization which needs writer code -->
+<#function lookup_is_bindable lookupFields>
+    <#if withWriterCode>
+        <#return true>
+    </#if>
+    <#list lookupFields as field>
+        <#if field.sqlTypeData.isBlob>
+            <#return false>
+        </#if>
+    </#list>
+    <#return true>
+</#function>
+<#macro lookup_bind lookupFields indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    <#list lookupFields as field>
+        <#if field.sqlTypeData.isBlob>
+${I}statement.setBytes(${field?index + 1}, zserio.runtime.io.ZserioIO.write(${field.name}));
+        <#elseif field.enumData??>
+${I}statement.set${field.enumData.baseJavaTypeName?cap_first}(${field?index + 1}, ${field.name}.getValue());
+        <#elseif field.bitmaskData??>
+${I}statement.set${field.bitmaskData.baseJavaTypeName?cap_first}(${field?index + 1}, ${field.name}.getValue());
+        <#elseif field.requiresBigInt>
+${I}statement.setLong(${field?index + 1}, ${field.name}.longValue());
+        <#else>
+${I}statement.set${field.javaTypeName?cap_first}(${field?index + 1}, ${field.name});
+        </#if>
+    </#list>
+</#macro>
+<#macro read_blob field called_from_validation indent lazy=false>
     <#local I>${""?left_pad(indent * 4)}</#local>
     <#if called_from_validation>
 ${I}totalParameterProviderTimer.start();
@@ -329,17 +737,33 @@ ${I}        parameterProvider.<@sql_parameter_provider_getter_name parameter/>(r
     <#if called_from_validation>
 ${I}totalParameterProviderTimer.stop();
     </#if>
+    <#if lazy>
+${I}row.setLazy${field.name?cap_first}(new zserio.runtime.SqlLazyBlob<${field.javaTypeFullName}>(value${field.name?cap_first})
+${I}{
+${I}    @Override
+${I}    protected ${field.javaTypeFullName} decode(zserio.runtime.io.ByteArrayBitStreamReader reader)
+${I}            throws java.io.IOException
+${I}    {
+${I}        return <@new_blob field, indent + 2/>;
+${I}    }
+${I}});
+    <#else>
 ${I}final ${field.javaTypeFullName} blob =
-${I}        new ${field.javaTypeFullName}(reader<#rt>
+${I}        <@new_blob field, indent + 2/>;
+    </#if>
+</#macro>
+<#macro new_blob field indent>
+    <#local I>${""?left_pad(indent * 4)}</#local>
+    new ${field.javaTypeFullName}(reader<#t>
     <#list field.typeParameters as parameter>
                 <#lt>,
         <#if parameter.isExplicit>
-${I}                param${parameter.definitionName?cap_first}<#rt>
+${I}        param${parameter.definitionName?cap_first}<#rt>
         <#else>
-${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt>
+${I}        (${parameter.javaTypeFullName})(${parameter.expression})<#rt>
         </#if>
     </#list>
-<#lt>);
+    )<#t>
 </#macro>
     private static ${rowName} readRow(<#if needsParameterProvider>ParameterProvider parameterProvider, </#if>
             java.sql.ResultSet resultSet) throws java.sql.SQLException, java.io.IOException
@@ -364,7 +788,9 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
     </#if>
         if (!resultSet.wasNull())
         {
-    <#if field.sqlTypeData.isBlob>
+    <#if field.sqlTypeData.isBlob && withLazySqlBlobs>
+            <@read_blob field, false, 3, true/>
+    <#elseif field.sqlTypeData.isBlob>
             final zserio.runtime.io.ByteArrayBitStreamReader reader =
                     new zserio.runtime.io.ByteArrayBitStreamReader(${valueVarName});
             <@read_blob field, false, 3/>
@@ -396,7 +822,13 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
         }
         else
         {
-        <#if field.sqlTypeData.isBlob>
+        <#if field.sqlTypeData.isBlob && withLazySqlBlobs>
+            final zserio.runtime.SqlLazyBlob<${field.javaTypeFullName}> lazyBlob =
+                    row.getLazy${field.name?cap_first}();
+            final byte[] blobData = (lazyBlob != null && !lazyBlob.isDecoded()) ? lazyBlob.getData() :
+                    zserio.runtime.io.ZserioIO.write(row.get${field.name?cap_first}());
+            statement.setBytes(${field_index + 1}, blobData);
+        <#elseif field.sqlTypeData.isBlob>
             final byte[] blobData = zserio.runtime.io.ZserioIO.write(row.get${field.name?cap_first}());
             statement.setBytes(${field_index + 1}, blobData);
         <#elseif field.enumData??>
@@ -423,6 +855,99 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
 </#if>
 <#if withValidationCode>
 
+    <#if hasValidatableField && !isWithoutRowId && !virtualTableUsing??>
+    private zserio.runtime.validation.ValidationReport validateSchema() throws java.sql.SQLException
+    {
+        final zserio.runtime.validation.ValidationTimer totalValidationTimer =
+                new zserio.runtime.validation.ValidationTimer();
+        totalValidationTimer.start();
+        final java.util.List<zserio.runtime.validation.ValidationError> errors =
+                new java.util.ArrayList<zserio.runtime.validation.ValidationError>();
+        validateSchema(errors);
+        totalValidationTimer.stop();
+
+        return new zserio.runtime.validation.ValidationReport(1, 0, totalValidationTimer.getDuration(), 0,
+                errors);
+    }
+
+    private zserio.runtime.validation.ValidationReport validateRows(<#if needsParameterProvider>ParameterProvider parameterProvider, </#if>
+            long minRowId, long maxRowId, zserio.runtime.validation.ValidationMonitor monitor)
+            throws java.sql.SQLException
+    {
+        final zserio.runtime.validation.ValidationTimer totalValidationTimer =
+                new zserio.runtime.validation.ValidationTimer();
+        totalValidationTimer.start();
+        final java.util.List<zserio.runtime.validation.ValidationError> errors =
+                new java.util.ArrayList<zserio.runtime.validation.ValidationError>();
+        int numberOfValidatedRows = 0;
+        final zserio.runtime.validation.ValidationTimer totalParameterProviderTimer =
+                new zserio.runtime.validation.ValidationTimer();
+
+        final java.lang.StringBuilder sqlQuery = getValidationQuery();
+        sqlQuery.append(" WHERE rowid BETWEEN ? AND ?");
+        final java.sql.PreparedStatement statement = connection.prepareStatement(sqlQuery.toString());
+        try
+        {
+            statement.setLong(1, minRowId);
+            statement.setLong(2, maxRowId);
+            numberOfValidatedRows = validateRows(errors, statement,<#if needsParameterProvider> parameterProvider,</#if>
+                    totalParameterProviderTimer, monitor);
+        }
+        finally
+        {
+            statement.close();
+        }
+        totalValidationTimer.stop();
+
+        return new zserio.runtime.validation.ValidationReport(0, numberOfValidatedRows,
+                totalValidationTimer.getDuration(), totalParameterProviderTimer.getDuration(), errors);
+    }
+
+    </#if>
+    <#if hasValidatableField>
+    private int validateRows(java.util.List<zserio.runtime.validation.ValidationError> errors,
+            java.sql.PreparedStatement statement,<#if needsParameterProvider> ParameterProvider parameterProvider,</#if>
+            zserio.runtime.validation.ValidationTimer totalParameterProviderTimer,
+            zserio.runtime.validation.ValidationMonitor monitor) throws java.sql.SQLException
+    {
+        int numberOfValidatedRows = 0;
+        final java.sql.ResultSet resultSet = statement.executeQuery();
+        while (resultSet.next())
+        {
+            if (monitor != null && monitor.isCancelled())
+                break;
+
+            numberOfValidatedRows++;
+            final ${rowName} row = new ${rowName}();
+    <#list fields as field>
+        <#if field.sqlTypeData.isBlob>
+            if (!validateBlob${field.name?cap_first}(errors, resultSet, row,<#rt>
+                    <#lt> <#if needsParameterProvider>parameterProvider,</#if>
+                    totalParameterProviderTimer))
+                continue;
+        <#else>
+            if (!validateField${field.name?cap_first}(errors, resultSet, row))
+                continue;
+        </#if>
+    </#list>
+        }
+
+        return numberOfValidatedRows;
+    }
+
+    private java.lang.StringBuilder getValidationQuery()
+    {
+        final java.lang.StringBuilder sqlQuery = new java.lang.StringBuilder("SELECT " +
+    <#list fields as field>
+                "${field.name}<#if field_has_next>, </#if>" +
+    </#list>
+                " FROM ");
+        appendTableNameToQuery(sqlQuery);
+
+        return sqlQuery;
+    }
+
+    </#if>
     private boolean validateSchema(java.util.List<zserio.runtime.validation.ValidationError> errors)
             throws java.sql.SQLException
     {
@@ -519,47 +1044,27 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
         final byte[] blobData = resultSet.getBytes(${field_index + 1});
         if (blobData != null)
         {
+            final zserio.runtime.validation.ValidationBlobComparator blobComparator =
+                    zserio.runtime.validation.ValidationBlobComparator.get();
             final zserio.runtime.validation.ValidationBitStreamReader reader =
-                    new zserio.runtime.validation.ValidationBitStreamReader(blobData);
-            final zserio.runtime.io.ByteArrayBitStreamWriter writer =
-                    new zserio.runtime.io.ByteArrayBitStreamWriter();
+                    blobComparator.getReader(blobData);
             try
             {
                 <@read_blob field, true, 4/>
 
                 row.set${field.name?cap_first}(blob);
-                blob.write(writer);
+                blob.write(blobComparator.getWriter());
 
                 <#-- compare using original blob is not possible because unused bits don't have to be zero -->
-                final byte[] maskedOriginalBlob = reader.toMaskedByteArray();
-                <#-- writer sets unused bits (e.g. if align is used) to zero implicitly -->
-                final byte[] writtenBlob = writer.toByteArray();
-                if (maskedOriginalBlob.length != writtenBlob.length)
+                final java.lang.String compareFailure = blobComparator.compare();
+                if (compareFailure != null)
                 {
                     errors.add(new zserio.runtime.validation.ValidationError(tableName, "${field.name}",
                             getRowKeyValues(resultSet),
                             zserio.runtime.validation.ValidationError.Type.BLOB_COMPARE_FAILED,
-                            "Blob binary compare failed because of " + "length (" + maskedOriginalBlob.length +
-                            " != " + writtenBlob.length + ")"));
+                            compareFailure));
                     return false;
                 }
-                else
-                {
-                    boolean hasError = false;
-                    for (int i = 0; i < maskedOriginalBlob.length; ++i)
-                    {
-                        if (maskedOriginalBlob[i] != writtenBlob[i])
-                        {
-                            errors.add(new zserio.runtime.validation.ValidationError(tableName,
-                                    "${field.name}", getRowKeyValues(resultSet),
-                                    zserio.runtime.validation.ValidationError.Type.BLOB_COMPARE_FAILED,
-                                    "Blob binary compare failed at byte position " + i));
-                            hasError = true;
-                        }
-                    }
-                    if (hasError)
-                        return false;
-                }
             }
             catch (java.io.IOException exception)
             {
@@ -575,11 +1080,6 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
                         zserio.runtime.validation.ValidationError.Type.BLOB_PARSE_FAILED, exception));
                 return false;
             }
-            finally
-            {
-                closeStream(writer);
-                closeStream(reader);
-            }
         }
 
         return true;
@@ -633,13 +1133,6 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
             </#if>
         </#list>
 
-        <#assign hasPrimaryKeyField=false/>
-        <#list fields as field>
-            <#if field.isPrimaryKey>
-                <#assign hasPrimaryKeyField=true/>
-                <#break>
-            </#if>
-        </#list>
     private static java.util.List<java.lang.String> getRowKeyValues(java.sql.ResultSet resultSet)
             throws java.sql.SQLException
     {
@@ -657,24 +1150,11 @@ ${I}                (${parameter.javaTypeFullName})(${parameter.expression})<#rt
 
         return rowKeyValues;
     }
-        <#if hasBlobField>
-
-    private static void closeStream(zserio.runtime.io.BitStreamCloseable stream)
-    {
-        try
-        {
-            stream.close();
-        }
-        catch (java.io.IOException exception)
-        {
-            // this cannot happen for byte array streams
-        }
-    }
-        </#if>
     </#if>
 </#if>
 
     private final java.sql.Connection connection;
     private final java.lang.String attachedDbName;
     private final java.lang.String tableName;
+    private final zserio.runtime.SqlStatementCache statementCache;
 }
@@ -1,17 +1,28 @@
 <#include "FileHeader.inc.ftl">
 <#include "CompoundField.inc.ftl">
 <@standard_header generatorDescription, packageName/>
+<#macro lazy_field_member_name field>
+    lazy${field.name?cap_first}_<#t>
+</#macro>
 
 public class ${name}
 {
     <#list fields as field>
     public ${field.javaTypeFullName} get${field.name?cap_first}()
     {
+        <#if field.isLazyBlob>
+        if (this.<@lazy_field_member_name field/> != null)
+            return this.<@lazy_field_member_name field/>.get();
+
+        </#if>
         return this.<@field_member_name field/>;
     }
 
     public void set${field.name?cap_first}(${field.javaTypeFullName} <@field_argument_name field/>)
     {
+        <#if field.isLazyBlob>
+        this.<@lazy_field_member_name field/> = null;
+        </#if>
         <#if field.javaNullableTypeFullName != field.javaTypeFullName>
         is${field.name?cap_first}Null = false;
         </#if>
@@ -24,6 +35,9 @@ public class ${name}
         is${field.name?cap_first}Null = true;
         this.<@field_member_name field/> = <#if field.isBool>false<#else>(${field.javaTypeFullName})0</#if>;
         <#else>
+            <#if field.isLazyBlob>
+        this.<@lazy_field_member_name field/> = null;
+            </#if>
         this.<@field_member_name field/> = null;
         </#if>
     }
@@ -33,15 +47,31 @@ public class ${name}
         <#if field.javaNullableTypeFullName != field.javaTypeFullName>
         return is${field.name?cap_first}Null;
         <#else>
-        return this.<@field_member_name field/> == null;
+        return this.<@field_member_name field/> == null<#if field.isLazyBlob> && this.<@lazy_field_member_name field/> == null</#if>;
         </#if>
     }
 
+        <#if field.isLazyBlob>
+    public zserio.runtime.SqlLazyBlob<${field.javaTypeFullName}> getLazy${field.name?cap_first}()
+    {
+        return this.<@lazy_field_member_name field/>;
+    }
+
+    public void setLazy${field.name?cap_first}(zserio.runtime.SqlLazyBlob<${field.javaTypeFullName}> <@lazy_field_member_name field/>)
+    {
+        this.<@field_member_name field/> = null;
+        this.<@lazy_field_member_name field/> = <@lazy_field_member_name field/>;
+    }
+
+        </#if>
     </#list>
     <#list fields as field>
         <#if field.javaNullableTypeFullName != field.javaTypeFullName>
     private boolean is${field.name?cap_first}Null = true;
         </#if>
     private ${field.javaTypeFullName} <@field_member_name field/>;
+        <#if field.isLazyBlob>
+    private zserio.runtime.SqlLazyBlob<${field.javaTypeFullName}> <@lazy_field_member_name field/>;
+        </#if>
     </#list>
 }
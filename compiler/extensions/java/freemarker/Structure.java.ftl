@@ -3,6 +3,7 @@
 <#include "CompoundParameter.inc.ftl">
 <#include "CompoundFunction.inc.ftl">
 <#include "CompoundField.inc.ftl">
+<#include "CompoundFreeze.inc.ftl">
 <#include "RangeCheck.inc.ftl">
 <@standard_header generatorDescription, packageName/>
 <#assign hasFieldWithConstraint=false/>
@@ -13,11 +14,21 @@
     </#if>
 </#list>
 
-public class ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeOffsetsWriter, </#if>zserio.runtime.SizeOf
+public class ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeOffsetsWriter,
+        <#if isFreezable>zserio.runtime.Freezable, </#if></#if>zserio.runtime.SizeOf
 {
     <@compound_constructors compoundConstructorsData/>
+<#assign constructorArgumentTypeList><@compound_constructor_argument_type_list compoundConstructorsData/></#assign>
+<#if fieldList?has_content>
+    public ${name}(zserio.runtime.io.BitStreamReader in, zserio.runtime.FieldMask projection<#if constructorArgumentTypeList?has_content>,${constructorArgumentTypeList}</#if>)
+            throws java.io.IOException, zserio.runtime.ZserioError
+    {
+        <@compound_constructors_set_parameters compoundConstructorsData true/>
+        read(in, projection);
+    }
+
+</#if>
 <#if withWriterCode && fieldList?has_content>
-    <#assign constructorArgumentTypeList><@compound_constructor_argument_type_list compoundConstructorsData/></#assign>
     public ${name}(<#if constructorArgumentTypeList?has_content>${constructorArgumentTypeList},</#if>
     <#list fieldList as field>
         ${field.javaTypeName} <@field_argument_name field/><#if field_has_next>,<#else>)</#if>
@@ -35,6 +46,9 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
     @Override
     public int bitSizeOf()
     {
+<#if withWriterCode>
+        <@compound_frozen_bit_size/>
+</#if>
         return bitSizeOf(0);
     }
 
@@ -60,7 +74,9 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
     @Override
     public int bitSizeOf(long bitPosition)
     {
-<#if fieldList?has_content>
+<#if fixedBitSize??>
+        return BIT_SIZE;
+<#elseif fieldList?has_content>
         long endBitPosition = bitPosition;
 
     <#list fieldList as field>
@@ -94,6 +110,7 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
     <#if withWriterCode>
     public void ${field.setterName}(${field.javaTypeName} <@field_argument_name field/>)
     {
+        <@compound_freeze_check/>
         <@range_check field.rangeCheckData, name/>
         this.<@field_member_name field/> = <@field_argument_name field/>;
     }
@@ -101,6 +118,7 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
         <#if field.array?? && field.array.generateListSetter>
     public void ${field.setterName}(java.util.List<${field.array.elementJavaTypeName}> <@field_argument_name field/>)
     {
+        <@compound_freeze_check/>
         this.<@field_member_name field/> = new ${field.javaTypeName}(<@field_argument_name field/>);
     }
 
@@ -123,6 +141,9 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
         {
             final ${name} that = (${name})obj;
 
+    <#if withWriterCode>
+            <@compound_frozen_equals compoundParametersData/>
+    </#if>
             return
     <#list compoundParametersData.list as parameter>
                     <@compound_compare_parameter parameter/><#if parameter_has_next || fieldList?has_content> &&<#else>;</#if>
@@ -146,6 +167,9 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
     @Override
     public int hashCode()
     {
+<#if withWriterCode>
+        <@compound_frozen_hashcode/>
+</#if>
         int result = zserio.runtime.Util.HASH_SEED;
 
 <#list compoundParametersData.list as parameter>
@@ -167,6 +191,10 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
             throws java.io.IOException, zserio.runtime.ZserioError
     {
 <#if fieldList?has_content>
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
     <#list fieldList as field>
     <@compound_read_field field, name, 2/>
         <#if field_has_next>
@@ -179,6 +207,44 @@ ${I}endBitPosition = zserio.runtime.BitPositionUtil.alignTo(java.lang.Byte.SIZE,
     </#if>
 </#if>
     }
+
+    public void readInto(final zserio.runtime.io.BitStreamReader in)
+            throws java.io.IOException, zserio.runtime.ZserioError
+    {
+<#if fieldList?has_content>
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
+    <#list fieldList as field>
+    <@compound_read_into_field field, name, 2/>
+        <#if field_has_next>
+
+        </#if>
+    </#list>
+    <#if hasFieldWithConstraint>
+
+        checkConstraints();
+    </#if>
+</#if>
+    }
+<#if fieldList?has_content>
+
+    public void read(final zserio.runtime.io.BitStreamReader in, final zserio.runtime.FieldMask projection)
+            throws java.io.IOException, zserio.runtime.ZserioError
+    {
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
+    <#list fieldList as field>
+    <@compound_read_projected_field field, name, 2/>
+        <#if field_has_next>
+
+        </#if>
+    </#list>
+    }
+</#if>
 <#if withWriterCode>
 
     <#macro structure_initialize_offsets_inner field indent>
@@ -262,6 +328,7 @@ ${I}}
         </#list>
     </#if>
     }
+    <@compound_freeze_methods name/>
 </#if>
 <#if hasFieldWithConstraint>
 
@@ -272,9 +339,254 @@ ${I}}
     </#list>
     }
 </#if>
+<#if fieldList?has_content || fixedBitSize??>
+
+</#if>
+<#list fieldList as field>
+    public static final int <@field_index_name field/> = ${field_index};
+</#list>
+<#if fixedBitSize??>
+    public static final int BIT_SIZE = ${fixedBitSize};
+</#if>
 <#list fieldList as field>
     <@define_field_helper_classes name, field/>
 </#list>
+<#if viewFieldList??>
+
+    public static final class ${name}View
+    {
+        public ${name}View(byte[] buffer)
+        {
+            this(buffer, 0);
+        }
+
+        public ${name}View(byte[] buffer, long bitOffset)
+        {
+            if (bitOffset < 0 || bitOffset + BIT_SIZE > (long)buffer.length * java.lang.Byte.SIZE)
+            {
+                throw new java.lang.IllegalArgumentException("${name}View at bit offset " + bitOffset +
+                        " is beyond end of the buffer!");
+            }
+
+            this.buffer = buffer;
+            this.bitOffset = bitOffset;
+        }
+
+        public long getBitOffset()
+        {
+            return bitOffset;
+        }
+
+    <#list viewFieldList as viewField>
+        public ${viewField.javaTypeName} ${viewField.getterName}()
+        {
+        <#assign viewFieldBitPosition>bitOffset<#if viewField.bitPosition != "0"> + ${viewField.bitPosition}</#if></#assign>
+        <#if viewField.isCompound>
+            return new ${viewField.javaTypeName}(buffer, ${viewFieldBitPosition});
+        <#else>
+            <#assign runtimeFunction=viewField.runtimeFunction/>
+            <#assign viewFieldValue><#if runtimeFunction.javaReadTypeName??>(${runtimeFunction.javaReadTypeName})</#if><#rt>
+                    <#lt>zserio.runtime.io.DirectBitReader.read${runtimeFunction.suffix}(buffer, <#rt>
+                    <#lt>${viewFieldBitPosition}<#if runtimeFunction.arg??>, ${runtimeFunction.arg}</#if>)</#assign>
+            <#if viewField.isEnum>
+            return ${viewField.javaTypeName}.toEnum(
+                    ${viewFieldValue});
+            <#elseif viewField.isBitmask>
+            return new ${viewField.javaTypeName}(
+                    ${viewFieldValue});
+            <#else>
+            return ${viewFieldValue};
+            </#if>
+        </#if>
+        }
+
+    </#list>
+        private final byte[] buffer;
+        private final long bitOffset;
+    }
+</#if>
+<#if generateColumns>
+
+    public static final class ${name}Columns
+    {
+        public ${name}Columns(int length)
+        {
+    <#list fieldList as field>
+            this.<@field_member_name field/> = new ${field.javaTypeName}[length];
+    </#list>
+            this.length = length;
+        }
+
+        /**
+         * Reads the given number of elements or auto length array if length is
+         * zserio.runtime.array.Array.AUTO_LENGTH.
+         */
+        public ${name}Columns(zserio.runtime.io.BitStreamReader in, int length) throws java.io.IOException
+        {
+            this((length != zserio.runtime.array.Array.AUTO_LENGTH) ? length : in.readVarSize());
+            read(in);
+        }
+
+        public ${name}Columns(java.util.List<${name}> elements)
+        {
+            this(elements.size());
+            int index = 0;
+            for (${name} element : elements)
+                setElementAt(element, index++);
+        }
+
+        public int length()
+        {
+            return length;
+        }
+
+    <#list fieldList as field>
+        public ${field.javaTypeName} ${field.getterName}(int index)
+        {
+            return this.<@field_member_name field/>[index];
+        }
+
+        public void ${field.setterName}(int index, ${field.javaTypeName} <@field_argument_name field/>)
+        {
+            <@range_check field.rangeCheckData, name, 3/>
+            this.<@field_member_name field/>[index] = <@field_argument_name field/>;
+        }
+
+    </#list>
+        public ${name} elementAt(int index)
+        {
+            return new ${name}(<#list fieldList as field>this.<@field_member_name field/>[index]<#if field_has_next>, </#if></#list>);
+        }
+
+        public void setElementAt(${name} element, int index)
+        {
+    <#list fieldList as field>
+            ${field.setterName}(index, element.${field.getterName}());
+    </#list>
+        }
+
+        public java.util.List<${name}> asList()
+        {
+            return new java.util.AbstractList<${name}>()
+            {
+                @Override
+                public ${name} get(int index)
+                {
+                    return elementAt(index);
+                }
+
+                @Override
+                public ${name} set(int index, ${name} element)
+                {
+                    final ${name} previousElement = elementAt(index);
+                    setElementAt(element, index);
+                    return previousElement;
+                }
+
+                @Override
+                public int size()
+                {
+                    return length;
+                }
+            };
+        }
+
+        public zserio.runtime.array.ObjectArray<${name}> toObjectArray()
+        {
+            return new zserio.runtime.array.ObjectArray<${name}>(
+                    new java.util.ArrayList<${name}>(asList()));
+        }
+
+        public int bitSizeOf() throws zserio.runtime.ZserioError
+        {
+            final long bitSize = (long)length * BIT_SIZE;
+            if (bitSize > java.lang.Integer.MAX_VALUE)
+                throw new zserio.runtime.ZserioError("${name}Columns: Bit size " + bitSize + " of " + length +
+                        " elements is out of range!");
+
+            return (int)bitSize;
+        }
+
+        public int bitSizeOfAuto() throws zserio.runtime.ZserioError
+        {
+            final int bitSize = bitSizeOf();
+            final int lengthBitSize = zserio.runtime.BitSizeOfCalculator.getBitSizeOfVarSize(length);
+            if (bitSize > java.lang.Integer.MAX_VALUE - lengthBitSize)
+                throw new zserio.runtime.ZserioError("${name}Columns: Bit size of auto array of " + length +
+                        " elements is out of range!");
+
+            return lengthBitSize + bitSize;
+        }
+
+        public long initializeOffsets(long bitPosition) throws zserio.runtime.ZserioError
+        {
+            return bitPosition + bitSizeOf();
+        }
+
+        public long initializeOffsetsAuto(long bitPosition) throws zserio.runtime.ZserioError
+        {
+            return bitPosition + bitSizeOfAuto();
+        }
+
+        public void read(zserio.runtime.io.BitStreamReader in) throws java.io.IOException
+        {
+            for (int index = 0; index < length; ++index)
+            {
+    <#list fieldList as field>
+                this.<@field_member_name field/>[index] = <#if field.runtimeFunction.javaReadTypeName??>(${field.runtimeFunction.javaReadTypeName})</#if><#rt>
+                        <#lt>in.read${field.runtimeFunction.suffix}(${field.runtimeFunction.arg!});
+    </#list>
+            }
+        }
+
+        public void writeAuto(zserio.runtime.io.BitStreamWriter out) throws java.io.IOException
+        {
+            out.writeVarSize(length);
+            write(out);
+        }
+
+        public void write(zserio.runtime.io.BitStreamWriter out) throws java.io.IOException
+        {
+            for (int index = 0; index < length; ++index)
+            {
+    <#list fieldList as field>
+                out.write${field.runtimeFunction.suffix}(this.<@field_member_name field/>[index]<#if field.runtimeFunction.arg??>, ${field.runtimeFunction.arg}</#if>);
+    </#list>
+            }
+        }
+
+        @Override
+        public boolean equals(java.lang.Object obj)
+        {
+            if (!(obj instanceof ${name}Columns))
+                return false;
+
+            final ${name}Columns that = (${name}Columns)obj;
+
+            return
+    <#list fieldList as field>
+                    java.util.Arrays.equals(this.<@field_member_name field/>, that.<@field_member_name field/>)<#if field_has_next> &&<#else>;</#if>
+    </#list>
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = zserio.runtime.Util.HASH_SEED;
+
+    <#list fieldList as field>
+            result = zserio.runtime.Util.HASH_PRIME_NUMBER * result + java.util.Arrays.hashCode(this.<@field_member_name field/>);
+    </#list>
+
+            return result;
+        }
+
+    <#list fieldList as field>
+        private final ${field.javaTypeName}[] <@field_member_name field/>;
+    </#list>
+        private final int length;
+    }
+</#if>
 <#if compoundParametersData.list?has_content || fieldList?has_content>
 
 </#if>
@@ -282,4 +594,7 @@ ${I}}
 <#list fieldList as field>
     private ${field.javaTypeName} <@field_member_name field/><#if field.initializer??> = ${field.initializer}</#if>;
 </#list>
+<#if withWriterCode>
+<@compound_freeze_members/>
+</#if>
 }
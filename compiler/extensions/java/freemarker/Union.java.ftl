@@ -3,15 +3,20 @@
 <#include "CompoundParameter.inc.ftl">
 <#include "CompoundFunction.inc.ftl">
 <#include "CompoundField.inc.ftl">
+<#include "CompoundFreeze.inc.ftl">
 <#include "RangeCheck.inc.ftl">
 <@standard_header generatorDescription, packageName/>
 
-public class ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeOffsetsWriter, </#if>zserio.runtime.SizeOf
+public class ${name} implements <#if withWriterCode>zserio.runtime.io.InitializeOffsetsWriter,
+        <#if isFreezable>zserio.runtime.Freezable, </#if></#if>zserio.runtime.SizeOf
 {
     <@compound_constructors compoundConstructorsData/>
     @Override
     public int bitSizeOf() throws zserio.runtime.ZserioError
     {
+<#if withWriterCode>
+        <@compound_frozen_bit_size/>
+</#if>
         return bitSizeOf(0);
     }
 
@@ -56,6 +61,7 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
     <#if withWriterCode>
     public void ${field.setterName}(${field.javaTypeName} <@field_argument_name field/>)
     {
+        <@compound_freeze_check/>
         <@range_check field.rangeCheckData, name/>
         this.choiceTag = <@choice_tag_name field/>;
         this.objectChoice = <@field_argument_name field/>;
@@ -78,6 +84,9 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
         {
             final ${name} that = (${name})obj;
 
+<#if withWriterCode>
+            <@compound_frozen_equals compoundParametersData/>
+</#if>
             return
 <#list compoundParametersData.list as parameter>
                     <@compound_compare_parameter parameter/> &&
@@ -95,6 +104,9 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
     @Override
     public int hashCode()
     {
+<#if withWriterCode>
+        <@compound_frozen_hashcode/>
+</#if>
         int result = zserio.runtime.Util.HASH_SEED;
 
 <#list compoundParametersData.list as parameter>
@@ -111,6 +123,10 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
             throws java.io.IOException, zserio.runtime.ZserioError
     {
 <#if fieldList?has_content>
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
         choiceTag = in.readVarSize();
 
         switch (choiceTag)
@@ -124,6 +140,31 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
         default:
             throw new zserio.runtime.ZserioError("No match in union ${name}!");
         }
+</#if>
+    }
+
+    public void readInto(final zserio.runtime.io.BitStreamReader in)
+            throws java.io.IOException, zserio.runtime.ZserioError
+    {
+<#if fieldList?has_content>
+    <#if withWriterCode>
+        <@compound_freeze_check/>
+
+    </#if>
+        final int previousChoiceTag = choiceTag;
+        choiceTag = in.readVarSize();
+
+        switch (choiceTag)
+        {
+        <#list fieldList as field>
+        case <@choice_tag_name field/>:
+            <@compound_read_into_field field, name, 3, "previousChoiceTag == CHOICE_" + field.name/>
+            <@compound_check_constraint_field field, name, 3/>
+            break;
+        </#list>
+        default:
+            throw new zserio.runtime.ZserioError("No match in union ${name}!");
+        }
 </#if>
     }
 <#if withWriterCode>
@@ -195,6 +236,7 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
         };
     </#if>
     }
+    <@compound_freeze_methods name/>
 </#if>
 
 <#list fieldList as field>
@@ -208,4 +250,7 @@ public class ${name} implements <#if withWriterCode>zserio.runtime.io.Initialize
 <@compound_parameter_members compoundParametersData/>
     private java.lang.Object objectChoice;
     private int choiceTag = UNDEFINED_CHOICE;
+<#if withWriterCode>
+<@compound_freeze_members/>
+</#if>
 }
@@ -0,0 +1,118 @@
+package zserio.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of field indices used for projection reads of generated structures.
+ * <p>
+ * Field indices are given by constants generated for each structure field (e.g. {@code FIELD_fieldName}).</p>
+ */
+public final class FieldMask
+{
+    /**
+     * Creates field mask which contains given field indices.
+     *
+     * @param fieldIndices Field indices to include in the mask.
+     *
+     * @return Created field mask.
+     */
+    public static FieldMask of(int... fieldIndices)
+    {
+        int maxFieldIndex = -1;
+        for (int fieldIndex : fieldIndices)
+        {
+            if (fieldIndex < 0)
+                throw new IllegalArgumentException("FieldMask: Negative field index " + fieldIndex + "!");
+            maxFieldIndex = Math.max(maxFieldIndex, fieldIndex);
+        }
+
+        final long[] words = new long[maxFieldIndex / Long.SIZE + 1];
+        for (int fieldIndex : fieldIndices)
+            words[fieldIndex / Long.SIZE] |= 1L << (fieldIndex % Long.SIZE);
+
+        return new FieldMask(words);
+    }
+
+    /**
+     * Checks whether the field mask contains given field index.
+     *
+     * @param fieldIndex Field index to check.
+     *
+     * @return True if the field index is contained in the mask, false otherwise.
+     */
+    public boolean contains(int fieldIndex)
+    {
+        final int wordIndex = fieldIndex / Long.SIZE;
+        if (fieldIndex < 0 || wordIndex >= words.length)
+            return false;
+
+        return (words[wordIndex] & (1L << (fieldIndex % Long.SIZE))) != 0;
+    }
+
+    /**
+     * Creates a new field mask which contains field indices from this mask and from the other mask.
+     *
+     * @param other Other field mask.
+     *
+     * @return Union of both field masks.
+     */
+    public FieldMask union(FieldMask other)
+    {
+        final long[] longer = (words.length >= other.words.length) ? words : other.words;
+        final long[] shorter = (longer == words) ? other.words : words;
+        final long[] result = Arrays.copyOf(longer, longer.length);
+        for (int i = 0; i < shorter.length; ++i)
+            result[i] |= shorter[i];
+
+        return new FieldMask(result);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof FieldMask))
+            return false;
+
+        final FieldMask that = (FieldMask)obj;
+        final int commonLength = Math.min(words.length, that.words.length);
+        for (int i = 0; i < commonLength; ++i)
+        {
+            if (words[i] != that.words[i])
+                return false;
+        }
+
+        return isZero(words, commonLength) && isZero(that.words, commonLength);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int lastNonZero = words.length - 1;
+        while (lastNonZero >= 0 && words[lastNonZero] == 0)
+            lastNonZero--;
+
+        int result = Util.HASH_SEED;
+        for (int i = 0; i <= lastNonZero; ++i)
+            result = Util.HASH_PRIME_NUMBER * result + (int)(words[i] ^ (words[i] >>> 32));
+
+        return result;
+    }
+
+    private FieldMask(long[] words)
+    {
+        this.words = words;
+    }
+
+    private static boolean isZero(long[] words, int fromIndex)
+    {
+        for (int i = fromIndex; i < words.length; ++i)
+        {
+            if (words[i] != 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    private final long[] words;
+}
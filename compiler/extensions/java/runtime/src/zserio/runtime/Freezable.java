@@ -0,0 +1,50 @@
+package zserio.runtime;
+
+import zserio.runtime.io.FrozenBytes;
+
+/**
+ * Interface for generated objects which can be locked against further modifications.
+ * <p>
+ * Frozen object caches its serialized form, its bit size and its hash code, so repeated serialization,
+ * size calculation and hashing of the same object is nearly free. Frozen object rejects all modifications
+ * by throwing {@link IllegalStateException}. Note that child arrays and child compounds are not frozen,
+ * they must not be modified after their parent has been frozen.</p>
+ * <p>
+ * Types which contain fields with offsets (directly or in their children) don't implement this interface
+ * because their offsets depend on the position in the stream.</p>
+ */
+public interface Freezable
+{
+    /**
+     * Freezes the object.
+     * <p>
+     * Initializes offsets, serializes the object and caches the serialized bytes, the bit size and the hash
+     * code. Calling of this method on already frozen object has no effect.</p>
+     *
+     * @throws ZserioError If the object cannot be serialized.
+     */
+    public void freeze() throws ZserioError;
+
+    /**
+     * Checks whether the object has been frozen.
+     *
+     * @return True if the object is frozen, false otherwise.
+     */
+    public boolean isFrozen();
+
+    /**
+     * Gets serialized form of the frozen object.
+     *
+     * @return Copy of the cached serialized bytes or null if the object is not frozen.
+     */
+    public byte[] getFrozenBytes();
+
+    /**
+     * Gets serialized form of the frozen object without copying.
+     * <p>
+     * The serialized bytes can be accessed without copying only by {@link zserio.runtime.io.ZserioIO}.</p>
+     *
+     * @return Cached serialized form or null if the object is not frozen.
+     */
+    public FrozenBytes getFrozenData();
+}
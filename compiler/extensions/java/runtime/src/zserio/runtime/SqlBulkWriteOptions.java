@@ -0,0 +1,192 @@
+package zserio.runtime;
+
+/**
+ * Options of bulk writes to SQL tables generated by Zserio.
+ * <p>
+ * Options are set using chained setters, e.g.</p>
+ * <pre>
+ * new SqlBulkWriteOptions().setBatchSize(10000).setConflictPolicy(ConflictPolicy.REPLACE).setBulkLoad(true)
+ * </pre>
+ */
+public final class SqlBulkWriteOptions
+{
+    /**
+     * Policy which is applied when a written row violates an uniqueness constraint, e.g. the primary key.
+     */
+    public static enum ConflictPolicy
+    {
+        /** Write fails. */
+        FAIL("INSERT"),
+        /** Existing row is replaced by the written row (upsert). */
+        REPLACE("INSERT OR REPLACE"),
+        /** Written row is ignored and the existing row is kept. */
+        IGNORE("INSERT OR IGNORE");
+
+        private ConflictPolicy(String insertStatement)
+        {
+            this.insertStatement = insertStatement;
+        }
+
+        /**
+         * Gets SQL insert statement which implements the policy.
+         *
+         * @return SQL insert statement without the INTO clause.
+         */
+        public String getInsertStatement()
+        {
+            return insertStatement;
+        }
+
+        private final String insertStatement;
+    };
+
+    /**
+     * Sets number of rows which are sent to the database in one JDBC batch.
+     *
+     * @param batchSize Batch size, must be positive. Default is 1000.
+     *
+     * @return This options.
+     *
+     * @throws IllegalArgumentException If the batch size is not positive.
+     */
+    public SqlBulkWriteOptions setBatchSize(int batchSize)
+    {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("SqlBulkWriteOptions: Batch size must be positive!");
+        this.batchSize = batchSize;
+
+        return this;
+    }
+
+    /**
+     * Gets number of rows which are sent to the database in one JDBC batch.
+     *
+     * @return Batch size.
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Sets number of rows which are committed in one transaction.
+     * <p>
+     * The commit size is used only if the bulk write is not called inside of already started transaction.
+     * Then the bulk write is always done within one transaction of the caller.</p>
+     *
+     * @param commitSize Commit size or 0 to commit all rows in one transaction. Default is 0.
+     *
+     * @return This options.
+     *
+     * @throws IllegalArgumentException If the commit size is negative.
+     */
+    public SqlBulkWriteOptions setCommitSize(long commitSize)
+    {
+        if (commitSize < 0)
+            throw new IllegalArgumentException("SqlBulkWriteOptions: Commit size must not be negative!");
+        this.commitSize = commitSize;
+
+        return this;
+    }
+
+    /**
+     * Gets number of rows which are committed in one transaction.
+     *
+     * @return Commit size or 0 if all rows are committed in one transaction.
+     */
+    public long getCommitSize()
+    {
+        return commitSize;
+    }
+
+    /**
+     * Sets policy which is applied when a written row violates an uniqueness constraint.
+     *
+     * @param conflictPolicy Conflict policy. Default is {@link ConflictPolicy#FAIL}.
+     *
+     * @return This options.
+     */
+    public SqlBulkWriteOptions setConflictPolicy(ConflictPolicy conflictPolicy)
+    {
+        this.conflictPolicy = conflictPolicy;
+
+        return this;
+    }
+
+    /**
+     * Gets policy which is applied when a written row violates an uniqueness constraint.
+     *
+     * @return Conflict policy.
+     */
+    public ConflictPolicy getConflictPolicy()
+    {
+        return conflictPolicy;
+    }
+
+    /**
+     * Sets whether the bulk load profile is applied during the write.
+     * <p>
+     * Bulk load profile keeps the rollback journal in memory, switches off synchronous writes and enlarges
+     * the page cache of the written database. This speeds up the write significantly. Failed write is still
+     * rolled back, but the database can be corrupted if the application or the system crashes during
+     * the write. The original settings are restored when
+     * the write finishes. The profile is applied only if the bulk write is not called inside of already
+     * started transaction because SQLite does not allow to change the journal mode within a transaction.</p>
+     *
+     * @param bulkLoad True to apply the bulk load profile. Default is false.
+     *
+     * @return This options.
+     */
+    public SqlBulkWriteOptions setBulkLoad(boolean bulkLoad)
+    {
+        this.bulkLoad = bulkLoad;
+
+        return this;
+    }
+
+    /**
+     * Checks whether the bulk load profile is applied during the write.
+     *
+     * @return True if the bulk load profile is applied, false otherwise.
+     */
+    public boolean isBulkLoad()
+    {
+        return bulkLoad;
+    }
+
+    /**
+     * Sets whether the indexes of the written table are dropped before the write and created afterwards.
+     * <p>
+     * Building of an index at once is faster than updating it for each written row, so this speeds up
+     * writes of many rows to a table with indexes. The indexes are created again even if the write fails.
+     * Tables without indexes ignore this option.</p>
+     *
+     * @param deferIndexes True to defer creation of the indexes after the write. Default is false.
+     *
+     * @return This options.
+     */
+    public SqlBulkWriteOptions setDeferIndexes(boolean deferIndexes)
+    {
+        this.deferIndexes = deferIndexes;
+
+        return this;
+    }
+
+    /**
+     * Checks whether the indexes of the written table are created after the write.
+     *
+     * @return True if the creation of indexes is deferred, false otherwise.
+     */
+    public boolean isDeferIndexes()
+    {
+        return deferIndexes;
+    }
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long commitSize = 0;
+    private ConflictPolicy conflictPolicy = ConflictPolicy.FAIL;
+    private boolean bulkLoad = false;
+    private boolean deferIndexes = false;
+}
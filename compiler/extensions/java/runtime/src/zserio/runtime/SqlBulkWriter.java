@@ -0,0 +1,175 @@
+package zserio.runtime;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulk writer used by SQL tables generated by Zserio.
+ * <p>
+ * Writes rows from an iterator in JDBC batches and optionally in several transactions, so the rows do not
+ * need to be kept in memory. See {@link SqlBulkWriteOptions} for available options.</p>
+ */
+public final class SqlBulkWriter
+{
+    /**
+     * Interface which binds one row to the parameters of the insert statement.
+     *
+     * @param <T> Row class generated by Zserio.
+     */
+    public static interface RowWriter<T>
+    {
+        /**
+         * Binds the row to the parameters of the insert statement.
+         *
+         * @param row       Row to bind.
+         * @param statement Insert statement to bind to.
+         *
+         * @throws SQLException If the binding fails.
+         */
+        public void writeRow(T row, PreparedStatement statement) throws SQLException;
+    };
+
+    /**
+     * Hides the constructor of the utility class.
+     */
+    private SqlBulkWriter()
+    {
+        throw new UnsupportedOperationException("SqlBulkWriter: Private constructor is unsupported.");
+    }
+
+    /**
+     * Writes all rows from the iterator using the given insert statement.
+     * <p>
+     * If no transaction has been started on the connection, the rows are written in own transactions
+     * according to the commit size and all written rows are rolled back from the transaction which fails.
+     * Otherwise the rows are written within the transaction of the caller.</p>
+     *
+     * @param <T>        Row class generated by Zserio.
+     * @param connection Database connection.
+     * @param schemaName Name of the schema (attached database) of the table or null for the main schema.
+     * @param statement  Insert statement. It is not closed by the writer.
+     * @param rows       Iterator of the rows to write.
+     * @param rowWriter  Writer which binds one row to the statement parameters.
+     * @param options    Options of the bulk write.
+     *
+     * @return Number of written rows.
+     *
+     * @throws SQLException If the write fails.
+     */
+    public static <T> long write(Connection connection, String schemaName, PreparedStatement statement,
+            Iterator<? extends T> rows, RowWriter<T> rowWriter, SqlBulkWriteOptions options)
+            throws SQLException
+    {
+        if (!connection.getAutoCommit())
+            return writeRows(connection, statement, rows, rowWriter, options.getBatchSize(), 0);
+
+        final Map<String, String> originalPragmas = options.isBulkLoad() ?
+                applyPragmas(connection, schemaName, BULK_LOAD_PRAGMAS) : null;
+        boolean succeeded = false;
+        try
+        {
+            connection.setAutoCommit(false);
+            final long numRows = writeRows(connection, statement, rows, rowWriter, options.getBatchSize(),
+                    options.getCommitSize());
+            connection.commit();
+            succeeded = true;
+
+            return numRows;
+        }
+        finally
+        {
+            try
+            {
+                if (!succeeded)
+                    connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            finally
+            {
+                if (originalPragmas != null)
+                    applyPragmas(connection, schemaName, originalPragmas);
+            }
+        }
+    }
+
+    private static <T> long writeRows(Connection connection, PreparedStatement statement,
+            Iterator<? extends T> rows, RowWriter<T> rowWriter, int batchSize, long commitSize)
+            throws SQLException
+    {
+        long numRows = 0;
+        int numBatchedRows = 0;
+        try
+        {
+            while (rows.hasNext())
+            {
+                rowWriter.writeRow(rows.next(), statement);
+                statement.addBatch();
+                numRows++;
+                numBatchedRows++;
+
+                final boolean commit = (commitSize > 0 && numRows % commitSize == 0);
+                if (numBatchedRows == batchSize || commit)
+                {
+                    statement.executeBatch();
+                    numBatchedRows = 0;
+                }
+                if (commit)
+                    connection.commit();
+            }
+            if (numBatchedRows > 0)
+                statement.executeBatch();
+        }
+        finally
+        {
+            statement.clearBatch();
+        }
+
+        return numRows;
+    }
+
+    private static Map<String, String> applyPragmas(Connection connection, String schemaName,
+            Map<String, String> pragmas) throws SQLException
+    {
+        final String prefix = (schemaName != null) ? schemaName + "." : "";
+        final Map<String, String> originalPragmas = new LinkedHashMap<String, String>();
+        final Statement statement = connection.createStatement();
+        try
+        {
+            for (Map.Entry<String, String> pragma : pragmas.entrySet())
+            {
+                final ResultSet resultSet = statement.executeQuery("PRAGMA " + prefix + pragma.getKey());
+                try
+                {
+                    if (resultSet.next())
+                        originalPragmas.put(pragma.getKey(), resultSet.getString(1));
+                }
+                finally
+                {
+                    resultSet.close();
+                }
+                statement.execute("PRAGMA " + prefix + pragma.getKey() + "=" + pragma.getValue());
+            }
+        }
+        finally
+        {
+            statement.close();
+        }
+
+        return originalPragmas;
+    }
+
+    private static final Map<String, String> BULK_LOAD_PRAGMAS = new LinkedHashMap<String, String>();
+    static
+    {
+        // in-memory journal keeps the rollback of a failed write working
+        BULK_LOAD_PRAGMAS.put("journal_mode", "MEMORY");
+        BULK_LOAD_PRAGMAS.put("synchronous", "OFF");
+        BULK_LOAD_PRAGMAS.put("cache_size", "-262144"); // 256 MiB
+    }
+}
@@ -0,0 +1,200 @@
+package zserio.runtime;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Typed column of SQL table generated by Zserio.
+ * <p>
+ * Column creates conditions for {@link SqlQuery} whose values are bound as statement parameters instead of
+ * being formatted into the SQL text. Thus the same query shape always produces the same SQL text and
+ * the prepared statement can be reused for different values.</p>
+ *
+ * @param <T> Java type of the column values.
+ */
+public final class SqlColumn<T>
+{
+    /**
+     * Interface which binds a column value to a prepared statement parameter.
+     *
+     * @param <T> Java type of the column values.
+     */
+    public static interface Binder<T>
+    {
+        /**
+         * Binds the value to the prepared statement parameter.
+         *
+         * @param statement Prepared statement to bind to.
+         * @param index     Index of the statement parameter starting from 1.
+         * @param value     Value to bind.
+         *
+         * @throws SQLException If the binding fails.
+         */
+        public void bind(PreparedStatement statement, int index, T value) throws SQLException;
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param name   Name of the column.
+     * @param binder Binder of the column values.
+     */
+    public SqlColumn(String name, Binder<T> binder)
+    {
+        this.name = name;
+        this.binder = binder;
+    }
+
+    /**
+     * Gets name of the column.
+     *
+     * @return Column name.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Creates condition which checks that the column is equal to the given value.
+     *
+     * @param value Value to compare with or null to check that the column is NULL.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition eq(T value)
+    {
+        return (value == null) ? isNull() : compare("=", value);
+    }
+
+    /**
+     * Creates condition which checks that the column is not equal to the given value.
+     *
+     * @param value Value to compare with or null to check that the column is not NULL.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition notEq(T value)
+    {
+        return (value == null) ? isNotNull() : compare("<>", value);
+    }
+
+    /**
+     * Creates condition which checks that the column is less than the given value.
+     *
+     * @param value Value to compare with.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition lessThan(T value)
+    {
+        return compare("<", value);
+    }
+
+    /**
+     * Creates condition which checks that the column is less than or equal to the given value.
+     *
+     * @param value Value to compare with.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition lessOrEqual(T value)
+    {
+        return compare("<=", value);
+    }
+
+    /**
+     * Creates condition which checks that the column is greater than the given value.
+     *
+     * @param value Value to compare with.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition greaterThan(T value)
+    {
+        return compare(">", value);
+    }
+
+    /**
+     * Creates condition which checks that the column is greater than or equal to the given value.
+     *
+     * @param value Value to compare with.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition greaterOrEqual(T value)
+    {
+        return compare(">=", value);
+    }
+
+    /**
+     * Creates condition which checks that the column is equal to one of the given values.
+     *
+     * @param values Values to compare with.
+     *
+     * @return Created condition.
+     *
+     * @throws IllegalArgumentException If the values are empty or if any value is null.
+     */
+    public SqlCondition in(Collection<? extends T> values)
+    {
+        if (values.isEmpty())
+            throw new IllegalArgumentException("SqlColumn: Values of column '" + name + "' are empty!");
+
+        final StringBuilder sql = new StringBuilder(name);
+        sql.append(" IN (");
+        final List<SqlCondition.Parameter<?>> parameters = new ArrayList<SqlCondition.Parameter<?>>();
+        for (T value : values)
+        {
+            if (!parameters.isEmpty())
+                sql.append(", ");
+            sql.append('?');
+            parameters.add(createParameter(value));
+        }
+        sql.append(')');
+
+        return new SqlCondition(sql.toString(), parameters);
+    }
+
+    /**
+     * Creates condition which checks that the column is NULL.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition isNull()
+    {
+        return new SqlCondition(name + " IS NULL", new ArrayList<SqlCondition.Parameter<?>>());
+    }
+
+    /**
+     * Creates condition which checks that the column is not NULL.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition isNotNull()
+    {
+        return new SqlCondition(name + " IS NOT NULL", new ArrayList<SqlCondition.Parameter<?>>());
+    }
+
+    private SqlCondition compare(String operator, T value)
+    {
+        final List<SqlCondition.Parameter<?>> parameters = new ArrayList<SqlCondition.Parameter<?>>();
+        parameters.add(createParameter(value));
+
+        return new SqlCondition(name + operator + "?", parameters);
+    }
+
+    private SqlCondition.Parameter<T> createParameter(T value)
+    {
+        if (value == null)
+            throw new IllegalArgumentException("SqlColumn: Value of column '" + name + "' is null!");
+
+        return new SqlCondition.Parameter<T>(binder, value);
+    }
+
+    private final String name;
+    private final Binder<T> binder;
+}
@@ -0,0 +1,112 @@
+package zserio.runtime;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Condition of SQL query created from typed columns of SQL tables generated by Zserio.
+ * <p>
+ * Condition holds the SQL text with parameter placeholders and the values which are bound to them.
+ * Conditions are immutable and can be combined together.</p>
+ */
+public final class SqlCondition
+{
+    /**
+     * Creates condition which is combination of this and the other condition using logical AND.
+     *
+     * @param other Other condition.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition and(SqlCondition other)
+    {
+        return combine("AND", other);
+    }
+
+    /**
+     * Creates condition which is combination of this and the other condition using logical OR.
+     *
+     * @param other Other condition.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition or(SqlCondition other)
+    {
+        return combine("OR", other);
+    }
+
+    /**
+     * Creates condition which is negation of this condition.
+     *
+     * @return Created condition.
+     */
+    public SqlCondition not()
+    {
+        return new SqlCondition("NOT (" + sql + ")", parameters);
+    }
+
+    /**
+     * Gets SQL text of the condition.
+     *
+     * @return SQL text with parameter placeholders.
+     */
+    public String getSql()
+    {
+        return sql;
+    }
+
+    /**
+     * Binds values of the condition to the prepared statement.
+     *
+     * @param statement  Prepared statement to bind to.
+     * @param firstIndex Index of the statement parameter which corresponds to the first placeholder.
+     *
+     * @return Index of the statement parameter which follows the last bound parameter.
+     *
+     * @throws SQLException If the binding fails.
+     */
+    public int bind(PreparedStatement statement, int firstIndex) throws SQLException
+    {
+        int index = firstIndex;
+        for (Parameter<?> parameter : parameters)
+            parameter.bind(statement, index++);
+
+        return index;
+    }
+
+    SqlCondition(String sql, List<Parameter<?>> parameters)
+    {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    static final class Parameter<T>
+    {
+        Parameter(SqlColumn.Binder<T> binder, T value)
+        {
+            this.binder = binder;
+            this.value = value;
+        }
+
+        void bind(PreparedStatement statement, int index) throws SQLException
+        {
+            binder.bind(statement, index, value);
+        }
+
+        private final SqlColumn.Binder<T> binder;
+        private final T value;
+    }
+
+    private SqlCondition combine(String operator, SqlCondition other)
+    {
+        final List<Parameter<?>> combinedParameters = new ArrayList<Parameter<?>>(parameters);
+        combinedParameters.addAll(other.parameters);
+
+        return new SqlCondition("(" + sql + ") " + operator + " (" + other.sql + ")", combinedParameters);
+    }
+
+    private final String sql;
+    private final List<Parameter<?>> parameters;
+}
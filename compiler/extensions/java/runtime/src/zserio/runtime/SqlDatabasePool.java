@@ -0,0 +1,264 @@
+package zserio.runtime;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of SQL databases generated by Zserio.
+ * <p>
+ * The pool holds several instances of the same database, each with its own connection, so the database can
+ * be read by several threads concurrently. A database instance is leased to one thread at a time and it
+ * is returned to the pool when the lease is closed, ideally using try-with-resources:</p>
+ * <pre>
+ * try (SqlDatabasePool.Lease&lt;MyDb&gt; lease = pool.acquire())
+ * {
+ *     final List&lt;MyTableRow&gt; rows = lease.get().getMyTable().read();
+ * }
+ * </pre>
+ * <p>
+ * Tables of the leased database must not be used after the lease has been closed.</p>
+ *
+ * @param <T> Database class generated by Zserio.
+ */
+public final class SqlDatabasePool<T extends SqlDatabaseReader> implements AutoCloseable
+{
+    /**
+     * Interface which opens one database instance of the pool.
+     *
+     * @param <T> Database class generated by Zserio.
+     */
+    public static interface DatabaseFactory<T>
+    {
+        /**
+         * Opens new database instance with its own connection.
+         *
+         * @return Opened database.
+         *
+         * @throws SQLException If the database cannot be opened.
+         */
+        public T open() throws SQLException;
+    };
+
+    /**
+     * Lease of one database from the pool.
+     *
+     * @param <T> Database class generated by Zserio.
+     */
+    public static final class Lease<T extends SqlDatabaseReader> implements AutoCloseable
+    {
+        /**
+         * Gets the leased database.
+         *
+         * @return Leased database.
+         *
+         * @throws IllegalStateException If the lease has been already closed.
+         */
+        public T get()
+        {
+            if (isClosed)
+                throw new IllegalStateException("SqlDatabasePool: Lease has been already closed!");
+
+            return database;
+        }
+
+        /**
+         * Returns the leased database to the pool.
+         * <p>
+         * Calling of this method on already closed lease has no effect.</p>
+         *
+         * @throws SQLException If the pool has been closed and the database cannot be closed.
+         */
+        @Override
+        public void close() throws SQLException
+        {
+            if (isClosed)
+                return;
+
+            isClosed = true;
+            pool.release(database);
+        }
+
+        private Lease(SqlDatabasePool<T> pool, T database)
+        {
+            this.pool = pool;
+            this.database = database;
+        }
+
+        private final SqlDatabasePool<T> pool;
+        private final T database;
+        private boolean isClosed = false;
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * Opens all databases of the pool. If any database cannot be opened, already opened databases are
+     * closed.</p>
+     *
+     * @param numberOfDatabases Number of databases (connections) in the pool.
+     * @param factory           Factory which opens one database.
+     *
+     * @throws IllegalArgumentException If the number of databases is not positive.
+     * @throws SQLException If any database cannot be opened.
+     */
+    public SqlDatabasePool(int numberOfDatabases, DatabaseFactory<T> factory) throws SQLException
+    {
+        if (numberOfDatabases <= 0)
+            throw new IllegalArgumentException("SqlDatabasePool: Number of databases " + numberOfDatabases +
+                    " must be positive!");
+
+        try
+        {
+            for (int i = 0; i < numberOfDatabases; ++i)
+            {
+                final T database = factory.open();
+                databases.add(database);
+                idleDatabases.add(database);
+            }
+        }
+        catch (SQLException exception)
+        {
+            closeDatabases(databases);
+            throw exception;
+        }
+    }
+
+    /**
+     * Leases a database from the pool, waiting until some database is returned if necessary.
+     *
+     * @return Lease of the database.
+     *
+     * @throws InterruptedException If the waiting has been interrupted.
+     * @throws IllegalStateException If the pool has been closed.
+     */
+    public synchronized Lease<T> acquire() throws InterruptedException
+    {
+        while (!isClosed && idleDatabases.isEmpty())
+            wait();
+        checkNotClosed();
+
+        return new Lease<T>(this, idleDatabases.poll());
+    }
+
+    /**
+     * Leases a database from the pool, waiting up to the given time if necessary.
+     *
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Lease of the database or null if no database has been returned to the pool in time.
+     *
+     * @throws InterruptedException If the waiting has been interrupted.
+     * @throws IllegalStateException If the pool has been closed.
+     */
+    public synchronized Lease<T> acquire(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isClosed && idleDatabases.isEmpty())
+        {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+                return null;
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        checkNotClosed();
+
+        return new Lease<T>(this, idleDatabases.poll());
+    }
+
+    /**
+     * Gets the number of databases in the pool.
+     *
+     * @return Number of databases.
+     */
+    public int getNumberOfDatabases()
+    {
+        return databases.size();
+    }
+
+    /**
+     * Gets the number of databases which are not leased.
+     *
+     * @return Number of idle databases.
+     */
+    public synchronized int getNumberOfIdleDatabases()
+    {
+        return idleDatabases.size();
+    }
+
+    /**
+     * Closes the pool.
+     * <p>
+     * Idle databases are closed immediately, leased databases are closed when their leases are closed.
+     * Threads which are waiting for a lease are woken up and they get IllegalStateException. Calling of
+     * this method on already closed pool has no effect.</p>
+     *
+     * @throws SQLException If any database cannot be closed.
+     */
+    @Override
+    public void close() throws SQLException
+    {
+        final List<T> closedDatabases = new ArrayList<T>();
+        synchronized (this)
+        {
+            if (isClosed)
+                return;
+
+            isClosed = true;
+            closedDatabases.addAll(idleDatabases);
+            idleDatabases.clear();
+            notifyAll();
+        }
+
+        closeDatabases(closedDatabases);
+    }
+
+    private void release(T database) throws SQLException
+    {
+        synchronized (this)
+        {
+            if (!isClosed)
+            {
+                idleDatabases.add(database);
+                notify();
+                return;
+            }
+        }
+
+        database.close();
+    }
+
+    private synchronized void checkNotClosed()
+    {
+        if (isClosed)
+            throw new IllegalStateException("SqlDatabasePool: Pool has been already closed!");
+    }
+
+    private static <T extends SqlDatabaseReader> void closeDatabases(List<T> databases) throws SQLException
+    {
+        SQLException firstException = null;
+        for (T database : databases)
+        {
+            try
+            {
+                database.close();
+            }
+            catch (SQLException exception)
+            {
+                if (firstException == null)
+                    firstException = exception;
+            }
+        }
+
+        if (firstException != null)
+            throw firstException;
+    }
+
+    private final List<T> databases = new ArrayList<T>();
+    private final Deque<T> idleDatabases = new ArrayDeque<T>();
+    private boolean isClosed = false;
+}
@@ -0,0 +1,91 @@
+package zserio.runtime;
+
+import java.io.IOException;
+
+import zserio.runtime.io.ByteArrayBitStreamReader;
+
+/**
+ * Blob column of SQL table row generated by Zserio which is decoded on the first access.
+ * <p>
+ * The blob keeps the raw data read from the database together with everything needed for decoding, e.g.
+ * the values of the explicit parameters which have been got from the parameter provider. The blob is decoded
+ * only once, when {@link #get()} is called for the first time. The raw data can be used without decoding,
+ * e.g. to copy the blob to another table.</p>
+ * <p>
+ * Because the blob is decoded from the getter of the row, decoding errors are wrapped into
+ * {@link ZserioError}.</p>
+ *
+ * @param <T> Type of the blob generated by Zserio.
+ */
+public abstract class SqlLazyBlob<T>
+{
+    /**
+     * Constructor.
+     *
+     * @param data Raw data of the blob read from the database.
+     */
+    protected SqlLazyBlob(byte[] data)
+    {
+        this.data = data;
+    }
+
+    /**
+     * Gets raw data of the blob read from the database.
+     * <p>
+     * Note that the raw data does not reflect any changes done in the decoded blob.</p>
+     *
+     * @return Raw data of the blob.
+     */
+    public byte[] getData()
+    {
+        return data;
+    }
+
+    /**
+     * Checks whether the blob has been already decoded.
+     *
+     * @return True if the blob has been decoded, false otherwise.
+     */
+    public synchronized boolean isDecoded()
+    {
+        return value != null;
+    }
+
+    /**
+     * Gets the blob, decoding it from the raw data on the first call.
+     *
+     * @return Decoded blob.
+     *
+     * @throws ZserioError If the decoding fails.
+     */
+    public synchronized T get()
+    {
+        if (value == null)
+        {
+            try
+            {
+                value = decode(new ByteArrayBitStreamReader(data));
+            }
+            catch (IOException exception)
+            {
+                throw new ZserioError("SqlLazyBlob: Failed to decode the blob!", exception);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Decodes the blob from the raw data.
+     *
+     * @param reader Bit stream reader of the raw data.
+     *
+     * @return Decoded blob.
+     *
+     * @throws IOException If the decoding fails.
+     */
+    protected abstract T decode(ByteArrayBitStreamReader reader) throws IOException;
+
+    private final byte[] data;
+    private T value = null;
+}
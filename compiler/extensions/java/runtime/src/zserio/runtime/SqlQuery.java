@@ -0,0 +1,153 @@
+package zserio.runtime;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Query which selects, orders and limits rows of SQL tables generated by Zserio.
+ * <p>
+ * The query produces the part of the SQL text which follows the FROM clause. All values including limit
+ * and offset are bound as statement parameters, so queries of the same shape produce the same SQL text and
+ * generated tables can reuse their cached prepared statements.</p>
+ * <p>
+ * Example:</p>
+ * <pre>
+ * table.read(new SqlQuery().where(Table.TableColumns.id.greaterThan(10))
+ *         .orderBy(Table.TableColumns.name).limit(5));
+ * </pre>
+ */
+public final class SqlQuery
+{
+    /**
+     * Sets condition which rows must fulfill.
+     * <p>
+     * If the condition has already been set, the given condition is combined with it using logical AND.</p>
+     *
+     * @param condition Condition to set.
+     *
+     * @return This query.
+     */
+    public SqlQuery where(SqlCondition condition)
+    {
+        this.condition = (this.condition == null) ? condition : this.condition.and(condition);
+
+        return this;
+    }
+
+    /**
+     * Adds ascending ordering by the given column.
+     *
+     * @param column Column to order by.
+     *
+     * @return This query.
+     */
+    public SqlQuery orderBy(SqlColumn<?> column)
+    {
+        return addOrdering(column, "ASC");
+    }
+
+    /**
+     * Adds descending ordering by the given column.
+     *
+     * @param column Column to order by.
+     *
+     * @return This query.
+     */
+    public SqlQuery orderByDescending(SqlColumn<?> column)
+    {
+        return addOrdering(column, "DESC");
+    }
+
+    /**
+     * Limits number of returned rows.
+     *
+     * @param limit Maximum number of returned rows.
+     *
+     * @return This query.
+     */
+    public SqlQuery limit(long limit)
+    {
+        this.limit = limit;
+
+        return this;
+    }
+
+    /**
+     * Skips the given number of rows.
+     *
+     * @param offset Number of rows to skip.
+     *
+     * @return This query.
+     */
+    public SqlQuery offset(long offset)
+    {
+        this.offset = offset;
+
+        return this;
+    }
+
+    /**
+     * Gets SQL text of the query which follows the FROM clause.
+     *
+     * @return SQL text with parameter placeholders, empty if the query selects all rows.
+     */
+    public String getSql()
+    {
+        final StringBuilder sql = new StringBuilder();
+        if (condition != null)
+        {
+            sql.append(" WHERE ");
+            sql.append(condition.getSql());
+        }
+        if (ordering.length() > 0)
+        {
+            sql.append(" ORDER BY ");
+            sql.append(ordering);
+        }
+        if (limit != null || offset != null)
+            sql.append(" LIMIT ?");
+        if (offset != null)
+            sql.append(" OFFSET ?");
+
+        return sql.toString();
+    }
+
+    /**
+     * Binds values of the query to the prepared statement.
+     *
+     * @param statement  Prepared statement to bind to.
+     * @param firstIndex Index of the statement parameter which corresponds to the first placeholder.
+     *
+     * @return Index of the statement parameter which follows the last bound parameter.
+     *
+     * @throws SQLException If the binding fails.
+     */
+    public int bind(PreparedStatement statement, int firstIndex) throws SQLException
+    {
+        int index = (condition != null) ? condition.bind(statement, firstIndex) : firstIndex;
+        if (limit != null || offset != null)
+            statement.setLong(index++, (limit != null) ? limit : NO_LIMIT);
+        if (offset != null)
+            statement.setLong(index++, offset);
+
+        return index;
+    }
+
+    private SqlQuery addOrdering(SqlColumn<?> column, String direction)
+    {
+        if (ordering.length() > 0)
+            ordering.append(", ");
+        ordering.append(column.getName());
+        ordering.append(' ');
+        ordering.append(direction);
+
+        return this;
+    }
+
+    private static final long NO_LIMIT = -1;
+
+    private SqlCondition condition = null;
+    private final StringBuilder ordering = new StringBuilder();
+    private Long limit = null;
+    private Long offset = null;
+}
@@ -0,0 +1,158 @@
+package zserio.runtime;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of prepared statements used by SQL tables generated by Zserio.
+ * <p>
+ * Statements are cached by their SQL text, so the statement compilation is done only once for each query
+ * shape. The cache is bounded, the least recently used statement is closed when the capacity is exceeded.
+ * Cached statements are kept open until the cache is closed.</p>
+ * <p>
+ * A statement is acquired from the cache for exclusive use and it must be released back to the cache after
+ * its result set has been consumed. The acquired statement is not available in the cache until it is
+ * released, so callers from different threads which use the same SQL text get different statements and
+ * the least recently used statement which is closed is never in use.</p>
+ */
+public final class SqlStatementCache implements AutoCloseable
+{
+    /**
+     * Constructor which creates cache with the default capacity.
+     *
+     * @param connection Database connection used to prepare the statements.
+     */
+    public SqlStatementCache(Connection connection)
+    {
+        this(connection, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param connection Database connection used to prepare the statements.
+     * @param capacity   Maximum number of cached statements.
+     */
+    public SqlStatementCache(Connection connection, int capacity)
+    {
+        this.connection = connection;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Acquires the cached prepared statement for the given SQL text or prepares a new one.
+     * <p>
+     * The statement must be released by {@link #releaseStatement(String, PreparedStatement)} when it is not
+     * used anymore.</p>
+     *
+     * @param sql SQL text of the statement.
+     *
+     * @return Prepared statement for exclusive use by the caller. It must not be closed by the caller.
+     *
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public PreparedStatement acquireStatement(String sql) throws SQLException
+    {
+        final PreparedStatement cachedStatement;
+        synchronized (this)
+        {
+            cachedStatement = statements.remove(sql);
+        }
+
+        if (cachedStatement != null && !cachedStatement.isClosed())
+            return cachedStatement;
+
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Releases the acquired statement back to the cache.
+     * <p>
+     * The statement is closed if the cache already contains another statement with the same SQL text.
+     * Otherwise the statement is cached and the least recently used statement is closed if the capacity
+     * is exceeded.</p>
+     *
+     * @param sql       SQL text of the statement.
+     * @param statement Statement acquired by {@link #acquireStatement(String)}.
+     *
+     * @throws SQLException If the statement which is not cached cannot be closed.
+     */
+    public void releaseStatement(String sql, PreparedStatement statement) throws SQLException
+    {
+        PreparedStatement closedStatement = null;
+        synchronized (this)
+        {
+            if (statements.containsKey(sql))
+            {
+                closedStatement = statement;
+            }
+            else
+            {
+                statements.put(sql, statement);
+                if (statements.size() > capacity)
+                {
+                    final Iterator<PreparedStatement> eldestIterator = statements.values().iterator();
+                    closedStatement = eldestIterator.next();
+                    eldestIterator.remove();
+                }
+            }
+        }
+
+        if (closedStatement != null)
+            closedStatement.close();
+    }
+
+    /**
+     * Gets number of cached statements.
+     *
+     * @return Number of cached statements.
+     */
+    public synchronized int size()
+    {
+        return statements.size();
+    }
+
+    /**
+     * Closes all cached statements and clears the cache.
+     * <p>
+     * The cache can be used again after it has been closed.</p>
+     *
+     * @throws SQLException If any statement cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws SQLException
+    {
+        final List<PreparedStatement> closedStatements = new ArrayList<PreparedStatement>(statements.values());
+        statements.clear();
+
+        SQLException firstException = null;
+        for (PreparedStatement statement : closedStatements)
+        {
+            try
+            {
+                statement.close();
+            }
+            catch (SQLException exception)
+            {
+                if (firstException == null)
+                    firstException = exception;
+            }
+        }
+
+        if (firstException != null)
+            throw firstException;
+    }
+
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private final Connection connection;
+    private final int capacity;
+    private final Map<String, PreparedStatement> statements =
+            new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true);
+}
@@ -0,0 +1,182 @@
+package zserio.runtime;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cursor which reads rows of SQL tables generated by Zserio lazily from an open result set.
+ * <p>
+ * Rows are read and decoded only when they are consumed, so reading of a large table needs memory only for
+ * the rows which are currently processed. The cursor holds the prepared statement open until it is closed.
+ * The cursor is closed automatically when the last row has been read, otherwise it must be closed by
+ * the caller, ideally using try-with-resources.</p>
+ * <p>
+ * Because {@link Iterator} methods cannot throw checked exceptions, SQL and I/O errors which occur during
+ * iteration are wrapped into {@link ZserioError}.</p>
+ *
+ * @param <T> Row class generated by Zserio.
+ */
+public final class SqlTableCursor<T> implements Iterator<T>, AutoCloseable
+{
+    /**
+     * Interface which reads one row from the current position of the result set.
+     *
+     * @param <T> Row class generated by Zserio.
+     */
+    public static interface RowReader<T>
+    {
+        /**
+         * Reads one row from the current position of the result set.
+         *
+         * @param resultSet Result set to read from.
+         *
+         * @return Read row.
+         *
+         * @throws SQLException If the reading from the result set fails.
+         * @throws IOException If the decoding of a blob fails.
+         */
+        public T readRow(ResultSet resultSet) throws SQLException, IOException;
+    };
+
+    /**
+     * Constructor.
+     * <p>
+     * Executes the given statement. The cursor takes ownership of the statement and closes it when
+     * the cursor is closed.</p>
+     *
+     * @param statement Prepared statement of the query to read.
+     * @param fetchSize Number of rows which should be fetched from the database at once or 0 to use
+     *                  the default of the JDBC driver.
+     * @param rowReader Reader which reads one row from the result set.
+     *
+     * @throws SQLException If the query execution fails.
+     */
+    public SqlTableCursor(PreparedStatement statement, int fetchSize, RowReader<T> rowReader)
+            throws SQLException
+    {
+        this.statement = statement;
+        this.rowReader = rowReader;
+        try
+        {
+            statement.setFetchSize(fetchSize);
+            resultSet = statement.executeQuery();
+        }
+        catch (SQLException exception)
+        {
+            statement.close();
+            throw exception;
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (!hasCurrentRow && !isClosed)
+        {
+            try
+            {
+                hasCurrentRow = resultSet.next();
+                if (!hasCurrentRow)
+                    close();
+            }
+            catch (SQLException exception)
+            {
+                throw new ZserioError("SqlTableCursor: Failed to move to the next row!", exception);
+            }
+        }
+
+        return hasCurrentRow;
+    }
+
+    @Override
+    public T next()
+    {
+        if (!hasNext())
+            throw new NoSuchElementException("SqlTableCursor: No more rows!");
+
+        hasCurrentRow = false;
+        try
+        {
+            return rowReader.readRow(resultSet);
+        }
+        catch (SQLException exception)
+        {
+            throw new ZserioError("SqlTableCursor: Failed to read the row!", exception);
+        }
+        catch (IOException exception)
+        {
+            throw new ZserioError("SqlTableCursor: Failed to decode the row!", exception);
+        }
+    }
+
+    /**
+     * Closes the cursor and its prepared statement.
+     * <p>
+     * Calling of this method on already closed cursor has no effect.</p>
+     *
+     * @throws ZserioError If the closing of the statement fails.
+     */
+    @Override
+    public void close()
+    {
+        if (isClosed)
+            return;
+
+        isClosed = true;
+        hasCurrentRow = false;
+        try
+        {
+            statement.close();
+        }
+        catch (SQLException exception)
+        {
+            throw new ZserioError("SqlTableCursor: Failed to close the statement!", exception);
+        }
+    }
+
+    /**
+     * Checks whether the cursor has been closed.
+     *
+     * @return True if the cursor is closed, false otherwise.
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+
+    /**
+     * Creates sequential stream of the remaining rows.
+     * <p>
+     * Closing of the returned stream closes the cursor.</p>
+     *
+     * @return Stream of the remaining rows.
+     */
+    public Stream<T> stream()
+    {
+        final Stream<T> stream = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+
+        return stream.onClose(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                close();
+            }
+        });
+    }
+
+    private final PreparedStatement statement;
+    private final RowReader<T> rowReader;
+    private final ResultSet resultSet;
+    private boolean hasCurrentRow = false;
+    private boolean isClosed = false;
+}
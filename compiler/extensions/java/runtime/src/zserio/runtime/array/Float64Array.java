@@ -50,6 +50,25 @@ public class Float64Array extends NumericArrayBase<Double>
         readImpl(reader, length, 64, checker);
     }
 
+    /**
+     * Reads array from bit stream into this instance.
+     *
+     * The underlying storage is reused if the number of read elements is the same as the current array length.
+     *
+     * @param reader  Bit stream reader to read from.
+     * @param length  Number of elements to read from given bit stream or IMPLICIT_LENGTH for implicit-length
+     *                array or AUTO_LENGTH for auto length array.
+     * @param checker Specifies offset checker for indexed offsets or null if indexed offsets are not used.
+     *
+     * @throws IOException Failure during bit stream manipulation.
+     * @throws ZserioError Failure during offset checking.
+     */
+    public void readInto(BitStreamReader reader, int length, OffsetChecker checker)
+            throws IOException, ZserioError
+    {
+        readImpl(reader, length, 64, checker);
+    }
+
     /**
      * Constructs array using given length.
      *
@@ -340,7 +359,8 @@ public class Float64Array extends NumericArrayBase<Double>
     protected void readN(BitStreamReader reader, int length, int numBits, OffsetChecker checker)
             throws IOException, ZserioError
     {
-        data = new double[length];
+        if (data == null || data.length != length)
+            data = new double[length];
         for (int index = 0; index < length; index++)
         {
             alignAndCheckOffset(index, reader, checker);
@@ -61,6 +61,44 @@ public class ObjectArray<E extends SizeOf> implements Array<E>
         read(reader, length, factory, checker);
     }
 
+    /**
+     * Reads array from bit stream into this instance.
+     *
+     * The underlying list is reused, elements are always created by the factory.
+     *
+     * @param reader  Bit stream reader to read from.
+     * @param length  Number of elements to read from given bit stream or AUTO_LENGTH for auto length array.
+     * @param factory Element factory to create elements.
+     * @param checker Specifies offset checker for indexed offsets or null if indexed offsets are not used.
+     *
+     * @throws IOException Failure during bit stream manipulation.
+     * @throws ZserioError Failure during offset checking.
+     */
+    public void readInto(BitStreamReader reader, int length, ElementFactory<E> factory, OffsetChecker checker)
+            throws IOException, ZserioError
+    {
+        readInto(reader, length, factory, null, checker);
+    }
+
+    /**
+     * Reads array from bit stream into this instance.
+     *
+     * The underlying list is reused and existing elements are read in place by the factory.
+     *
+     * @param reader  Bit stream reader to read from.
+     * @param length  Number of elements to read from given bit stream or AUTO_LENGTH for auto length array.
+     * @param factory Element factory to create new elements and to read existing elements.
+     * @param checker Specifies offset checker for indexed offsets or null if indexed offsets are not used.
+     *
+     * @throws IOException Failure during bit stream manipulation.
+     * @throws ZserioError Failure during offset checking.
+     */
+    public void readInto(BitStreamReader reader, int length, ReusableElementFactory<E> factory,
+            OffsetChecker checker) throws IOException, ZserioError
+    {
+        readInto(reader, length, factory, factory, checker);
+    }
+
     /**
      * Constructs array using given length.
      *
@@ -401,6 +439,37 @@ public class ObjectArray<E extends SizeOf> implements Array<E>
         return data.iterator();
     }
 
+    private void readInto(BitStreamReader reader, int length, ElementFactory<E> factory,
+            ReusableElementFactory<E> reusableFactory, OffsetChecker checker) throws IOException, ZserioError
+    {
+        if (length == IMPLICIT_LENGTH)
+            throw new ZserioError("ObjectArray: Object arrays cannot be implicit!");
+
+        final int realLength = (length != AUTO_LENGTH) ? length : reader.readVarSize();
+        if (!(data instanceof ArrayList))
+            data = new ArrayList<E>(data);
+
+        final int numReusable = Math.min(realLength, data.size());
+        for (int index = 0; index < realLength; index++)
+        {
+            if (checker != null)
+            {
+                reader.alignTo(Byte.SIZE);
+                checker.checkOffset(index, reader.getBytePosition());
+            }
+
+            if (index >= numReusable)
+                data.add(factory.create(reader, index));
+            else if (reusableFactory != null && data.get(index) != null)
+                data.set(index, reusableFactory.readInto(reader, index, data.get(index)));
+            else
+                data.set(index, factory.create(reader, index));
+        }
+
+        if (data.size() > realLength)
+            data.subList(realLength, data.size()).clear();
+    }
+
     private void read(BitStreamReader reader, int length, ElementFactory<E> factory, OffsetChecker checker)
             throws IOException, ZserioError
     {
@@ -0,0 +1,29 @@
+package zserio.runtime.array;
+
+import java.io.IOException;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.BitStreamReader;
+
+/**
+ * Interface used by {@link ObjectArray ObjectArray&lt;E&gt;} to read elements from a stream into already
+ * existing element instances.
+ *
+ * @param <E> Type of the elements.
+ */
+public interface ReusableElementFactory<E> extends ElementFactory<E>
+{
+    /**
+     * Reads array element from bit stream into the given element instance.
+     *
+     * @param reader  Bit stream to read from.
+     * @param index   Index of element to read.
+     * @param element Existing element instance to reuse.
+     *
+     * @return Read element, i.e. the given instance.
+     *
+     * @throws IOException Failure during bit stream manipulation.
+     * @throws ZserioError Failure during element reading.
+     */
+    E readInto(BitStreamReader reader, int index, E element) throws IOException, ZserioError;
+}
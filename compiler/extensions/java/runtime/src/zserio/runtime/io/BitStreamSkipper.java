@@ -0,0 +1,355 @@
+package zserio.runtime.io;
+
+import java.io.IOException;
+
+/**
+ * Helper class which skips Zserio built-in types in the bit stream without materializing their values.
+ * <p>
+ * Method names mirror the read methods of {@link BitStreamReader} so that generated code can call
+ * {@code skipXxx} wherever it would call {@code readXxx}. Fixed-size types only advance the bit position,
+ * strings and bit buffers read just their length prefix.</p>
+ */
+public final class BitStreamSkipper
+{
+    /**
+     * Hides the constructor of the utility class.
+     */
+    private BitStreamSkipper()
+    {
+        throw new UnsupportedOperationException("BitStreamSkipper: Private constructor is unsupported.");
+    }
+
+    /**
+     * Skips given number of bits.
+     *
+     * @param reader  Bit stream reader to use.
+     * @param numBits Number of bits to skip.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipBits(BitStreamReader reader, long numBits) throws IOException
+    {
+        final long bitPosition = reader.getBitPosition() + numBits;
+        if (numBits < 0 || bitPosition > reader.getBufferBitSize())
+            throw new IOException("BitStreamSkipper: Unable to skip " + numBits + " bits at position " +
+                    reader.getBitPosition() + ". It's beyond end of the stream with bit size " +
+                    reader.getBufferBitSize() + ".");
+
+        reader.setBitPosition(bitPosition);
+    }
+
+    /**
+     * Skips signed bit field of given length.
+     *
+     * @param reader  Bit stream reader to use.
+     * @param numBits Length of the bit field in bits.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipSignedBits(BitStreamReader reader, int numBits) throws IOException
+    {
+        skipBits(reader, numBits);
+    }
+
+    /**
+     * Skips unsigned integer of given length stored as BigInteger.
+     *
+     * @param reader  Bit stream reader to use.
+     * @param numBits Length of the integer in bits.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipBigInteger(BitStreamReader reader, int numBits) throws IOException
+    {
+        skipBits(reader, numBits);
+    }
+
+    /**
+     * Skips signed integer of given length stored as BigInteger.
+     *
+     * @param reader  Bit stream reader to use.
+     * @param numBits Length of the integer in bits.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipSignedBigInteger(BitStreamReader reader, int numBits) throws IOException
+    {
+        skipBits(reader, numBits);
+    }
+
+    /**
+     * Skips int8 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipByte(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Byte.SIZE);
+    }
+
+    /**
+     * Skips uint8 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipUnsignedByte(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Byte.SIZE);
+    }
+
+    /**
+     * Skips int16 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipShort(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Short.SIZE);
+    }
+
+    /**
+     * Skips uint16 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipUnsignedShort(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Short.SIZE);
+    }
+
+    /**
+     * Skips int32 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipInt(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Integer.SIZE);
+    }
+
+    /**
+     * Skips uint32 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipUnsignedInt(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Integer.SIZE);
+    }
+
+    /**
+     * Skips int64 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipLong(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Long.SIZE);
+    }
+
+    /**
+     * Skips float16 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipFloat16(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, 16);
+    }
+
+    /**
+     * Skips float32 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipFloat32(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Float.SIZE);
+    }
+
+    /**
+     * Skips float64 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipFloat64(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, Double.SIZE);
+    }
+
+    /**
+     * Skips bool value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipBool(BitStreamReader reader) throws IOException
+    {
+        skipBits(reader, 1);
+    }
+
+    /**
+     * Skips string without decoding its characters.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipString(BitStreamReader reader) throws IOException
+    {
+        final int numBytes = reader.readVarSize();
+        skipBits(reader, (long)numBytes * Byte.SIZE);
+    }
+
+    /**
+     * Skips bit buffer without copying its content.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipBitBuffer(BitStreamReader reader) throws IOException
+    {
+        final int bitSize = reader.readVarSize();
+        skipBits(reader, bitSize);
+    }
+
+    /**
+     * Skips varint16 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarInt16(BitStreamReader reader) throws IOException
+    {
+        reader.readVarInt16();
+    }
+
+    /**
+     * Skips varint32 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarInt32(BitStreamReader reader) throws IOException
+    {
+        reader.readVarInt32();
+    }
+
+    /**
+     * Skips varint64 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarInt64(BitStreamReader reader) throws IOException
+    {
+        reader.readVarInt64();
+    }
+
+    /**
+     * Skips varint value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarInt(BitStreamReader reader) throws IOException
+    {
+        reader.readVarInt();
+    }
+
+    /**
+     * Skips varuint16 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarUInt16(BitStreamReader reader) throws IOException
+    {
+        reader.readVarUInt16();
+    }
+
+    /**
+     * Skips varuint32 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarUInt32(BitStreamReader reader) throws IOException
+    {
+        reader.readVarUInt32();
+    }
+
+    /**
+     * Skips varuint64 value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarUInt64(BitStreamReader reader) throws IOException
+    {
+        reader.readVarUInt64();
+    }
+
+    /**
+     * Skips varuint value.
+     * <p>
+     * Unlike {@link BitStreamReader#readVarUInt()} it does not construct BigInteger.</p>
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarUInt(BitStreamReader reader) throws IOException
+    {
+        // varuint is encoded in up to 9 bytes, the 9th byte does not have the continuation bit
+        for (int i = 0; i < VARUINT_MAX_NUM_BYTES - 1; ++i)
+        {
+            if ((reader.readBits(Byte.SIZE) & 0x80) == 0)
+                return;
+        }
+        skipBits(reader, Byte.SIZE);
+    }
+
+    /**
+     * Skips varsize value.
+     *
+     * @param reader Bit stream reader to use.
+     *
+     * @throws IOException If the skipped bits are beyond the end of the stream.
+     */
+    public static void skipVarSize(BitStreamReader reader) throws IOException
+    {
+        reader.readVarSize();
+    }
+
+    private static final int VARUINT_MAX_NUM_BYTES = 9;
+}
@@ -601,6 +601,41 @@ public class ByteArrayBitStreamReader extends ByteArrayBitStreamBase implements
         return new BitBuffer(readBuffer, bitSize);
     }
 
+    /**
+     * Reads the given number of bytes.
+     * <p>
+     * The number of bytes is checked against the remaining size of the stream before the bytes are
+     * allocated.</p>
+     *
+     * @param numBytes Number of bytes to read.
+     *
+     * @return Read bytes.
+     *
+     * @throws IOException If the stream does not contain the given number of bytes.
+     */
+    public byte[] readBytes(final int numBytes) throws IOException
+    {
+        final long numRemainingBits = getBufferBitSize() - getBitPosition();
+        if (numBytes < 0 || (long)numBytes * 8 > numRemainingBits)
+            throw new EOFException("ByteArrayBitStreamReader: Unable to read " + numBytes + " bytes, only " +
+                    numRemainingBits + " bits remain in the stream.");
+
+        final byte[] bytes = new byte[numBytes];
+        if (bitOffset != 0)
+        {
+            // we are not aligned to byte
+            for (int i = 0; i < numBytes; ++i)
+                bytes[i] = (byte)(readSignedBits(8));
+        }
+        else
+        {
+            // we are aligned to byte
+            readFully(bytes);
+        }
+
+        return bytes;
+    }
+
     @Override
     public void alignTo(final int alignVal) throws IOException
     {
@@ -629,6 +664,21 @@ public class ByteArrayBitStreamReader extends ByteArrayBitStreamBase implements
         return buffer;
     }
 
+    /**
+     * Resets the reader to read the given bytes from the beginning.
+     * <p>
+     * The bytes are not copied, so they must not be modified while the reader is used.</p>
+     *
+     * @param bytes Array of bytes to read.
+     */
+    protected void reset(final byte[] bytes)
+    {
+        buffer = bytes;
+        lastByteBits = 8;
+        bytePosition = 0;
+        bitOffset = 0;
+    }
+
     private void readFully(final byte[] b) throws IOException
     {
         readFully(b, 0, b.length);
@@ -758,6 +808,6 @@ public class ByteArrayBitStreamReader extends ByteArrayBitStreamBase implements
     /**
      * The underlying byte array.
      */
-    private final byte[] buffer;
-    private final byte lastByteBits;
+    private byte[] buffer;
+    private byte lastByteBits;
 }
@@ -446,6 +446,28 @@ public class ByteArrayBitStreamWriter extends ByteArrayBitStreamBase implements
             writeBitsImpl(writeBuffer[numBytesToWrite] >> (8 - numRestBits), numRestBits);
     }
 
+    /**
+     * Writes the given bytes.
+     *
+     * @param bytes Bytes to write.
+     *
+     * @throws IOException If the writing failed.
+     */
+    public void writeBytes(final byte[] bytes) throws IOException
+    {
+        if (bitOffset != 0)
+        {
+            // we are not aligned to byte
+            for (final byte b : bytes)
+                writeSignedBits(b, 8);
+        }
+        else
+        {
+            // we are aligned to byte
+            write(bytes);
+        }
+    }
+
     @Override
     public void alignTo(final int alignVal) throws IOException
     {
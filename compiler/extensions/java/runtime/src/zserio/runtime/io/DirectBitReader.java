@@ -0,0 +1,229 @@
+package zserio.runtime.io;
+
+import java.math.BigInteger;
+
+import zserio.runtime.FloatUtil;
+
+/**
+ * Helper class which reads Zserio fixed-size built-in types directly from a byte array at given bit position.
+ * <p>
+ * It is used by generated read-only views which access fields of fixed-size structures without decoding
+ * the whole object. Method names mirror the read methods of {@link BitStreamReader}. No bounds are checked
+ * here, callers are responsible to ensure that the read bits lie inside of the buffer.</p>
+ */
+public final class DirectBitReader
+{
+    /**
+     * Hides the constructor of the utility class.
+     */
+    private DirectBitReader()
+    {
+        throw new UnsupportedOperationException("DirectBitReader: Private constructor is unsupported.");
+    }
+
+    /**
+     * Reads unsigned bits.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     * @param numBits     Number of bits to read, from 0 to 64.
+     *
+     * @return Read bits stored in the lowest bits of the result.
+     */
+    public static long readBits(byte[] buffer, long bitPosition, int numBits)
+    {
+        long value = 0;
+        long position = bitPosition;
+        int remainingBits = numBits;
+        while (remainingBits > 0)
+        {
+            final int byteIndex = (int)(position >>> 3);
+            final int availableBits = Byte.SIZE - (int)(position & 0x07);
+            final int numReadBits = Math.min(availableBits, remainingBits);
+            final int bits = ((buffer[byteIndex] & 0xFF) >>> (availableBits - numReadBits)) &
+                    ((1 << numReadBits) - 1);
+            value = (value << numReadBits) | bits;
+            position += numReadBits;
+            remainingBits -= numReadBits;
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads signed bits.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     * @param numBits     Number of bits to read, from 1 to 64.
+     *
+     * @return Read bits sign extended to long.
+     */
+    public static long readSignedBits(byte[] buffer, long bitPosition, int numBits)
+    {
+        final int shift = Long.SIZE - numBits;
+
+        return (readBits(buffer, bitPosition, numBits) << shift) >> shift;
+    }
+
+    /**
+     * Reads unsigned integer of up to 64 bits as BigInteger.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     * @param numBits     Number of bits to read, from 0 to 64.
+     *
+     * @return Read value.
+     */
+    public static BigInteger readBigInteger(byte[] buffer, long bitPosition, int numBits)
+    {
+        final long value = readBits(buffer, bitPosition, numBits);
+        if (value >= 0)
+            return BigInteger.valueOf(value);
+
+        return BigInteger.valueOf(value >>> 1).shiftLeft(1).or(BigInteger.valueOf(value & 1));
+    }
+
+    /**
+     * Reads int8 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static byte readByte(byte[] buffer, long bitPosition)
+    {
+        return (byte)readBits(buffer, bitPosition, Byte.SIZE);
+    }
+
+    /**
+     * Reads uint8 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static short readUnsignedByte(byte[] buffer, long bitPosition)
+    {
+        return (short)readBits(buffer, bitPosition, Byte.SIZE);
+    }
+
+    /**
+     * Reads int16 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static short readShort(byte[] buffer, long bitPosition)
+    {
+        return (short)readBits(buffer, bitPosition, Short.SIZE);
+    }
+
+    /**
+     * Reads uint16 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static int readUnsignedShort(byte[] buffer, long bitPosition)
+    {
+        return (int)readBits(buffer, bitPosition, Short.SIZE);
+    }
+
+    /**
+     * Reads int32 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static int readInt(byte[] buffer, long bitPosition)
+    {
+        return (int)readBits(buffer, bitPosition, Integer.SIZE);
+    }
+
+    /**
+     * Reads uint32 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static long readUnsignedInt(byte[] buffer, long bitPosition)
+    {
+        return readBits(buffer, bitPosition, Integer.SIZE);
+    }
+
+    /**
+     * Reads int64 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static long readLong(byte[] buffer, long bitPosition)
+    {
+        return readBits(buffer, bitPosition, Long.SIZE);
+    }
+
+    /**
+     * Reads float16 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static float readFloat16(byte[] buffer, long bitPosition)
+    {
+        return FloatUtil.convertShortToFloat((short)readBits(buffer, bitPosition, 16));
+    }
+
+    /**
+     * Reads float32 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static float readFloat32(byte[] buffer, long bitPosition)
+    {
+        return FloatUtil.convertIntToFloat((int)readBits(buffer, bitPosition, Float.SIZE));
+    }
+
+    /**
+     * Reads float64 value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the first bit to read.
+     *
+     * @return Read value.
+     */
+    public static double readFloat64(byte[] buffer, long bitPosition)
+    {
+        return FloatUtil.convertLongToDouble(readBits(buffer, bitPosition, Double.SIZE));
+    }
+
+    /**
+     * Reads bool value.
+     *
+     * @param buffer      Buffer to read from.
+     * @param bitPosition Bit position of the bit to read.
+     *
+     * @return Read value.
+     */
+    public static boolean readBool(byte[] buffer, long bitPosition)
+    {
+        return readBits(buffer, bitPosition, 1) == 1;
+    }
+}
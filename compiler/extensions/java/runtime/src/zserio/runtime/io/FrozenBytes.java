@@ -0,0 +1,59 @@
+package zserio.runtime.io;
+
+import java.util.Arrays;
+
+/**
+ * Serialized form of a frozen Zserio object (see {@link zserio.runtime.Freezable}).
+ * <p>
+ * The serialized bytes are immutable. They are accessed without copying only by {@link ZserioIO}, all other
+ * users get a copy.</p>
+ */
+public final class FrozenBytes
+{
+    /**
+     * Constructor.
+     *
+     * @param bytes Serialized bytes which are owned by this object from now.
+     */
+    FrozenBytes(byte[] bytes)
+    {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Gets copy of the serialized bytes.
+     *
+     * @return Copy of the serialized bytes.
+     */
+    public byte[] toByteArray()
+    {
+        return bytes.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof FrozenBytes))
+            return false;
+
+        return Arrays.equals(bytes, ((FrozenBytes)obj).bytes);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Gets the serialized bytes without copying.
+     *
+     * @return Serialized bytes which must not be modified.
+     */
+    byte[] getBytes()
+    {
+        return bytes;
+    }
+
+    private final byte[] bytes;
+}
@@ -6,6 +6,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 
+import zserio.runtime.Freezable;
 import zserio.runtime.ZserioError;
 
 /**
@@ -31,6 +32,9 @@ public final class ZserioIO
 
     /**
      * Takes a Zserio object, writes it to a byte array stream and returns the resulting byte array.
+     * <p>
+     * Frozen objects (see {@link Freezable}) are not serialized again, their cached bytes are returned
+     * without copying. Thus the returned byte array must not be modified.</p>
      *
      * @param <E> Zserio class generated by Zserio.
      * @param obj Zserio object of the given class.
@@ -39,6 +43,9 @@ public final class ZserioIO
      */
     public static <E extends Writer> byte[] write(final E obj) throws ZserioError
     {
+        if (obj instanceof Freezable && ((Freezable)obj).isFrozen())
+            return ((Freezable)obj).getFrozenData().getBytes();
+
         try
         {
             final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
@@ -52,6 +59,19 @@ public final class ZserioIO
         }
     }
 
+    /**
+     * Takes a Zserio object which is being frozen and returns its serialized form.
+     *
+     * @param <E> Zserio class generated by Zserio.
+     * @param obj Zserio object of the given class.
+     *
+     * @return Serialized form of the given object.
+     */
+    public static <E extends Writer> FrozenBytes writeFrozen(final E obj) throws ZserioError
+    {
+        return new FrozenBytes(write(obj));
+    }
+
     /**
      * A "virtual constructor", building a Zserio object of a given class, reading from a byte array.
      *
@@ -0,0 +1,148 @@
+package zserio.runtime.pubsub;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import zserio.runtime.io.Writer;
+import zserio.runtime.io.ZserioIO;
+
+/**
+ * In-process Pub/Sub backend which delivers messages synchronously within the same JVM.
+ * <p>
+ * Messages published by generated Pub/Sub classes created with local messages enabled are passed
+ * to subscribers of such generated Pub/Sub classes as objects without any serialization. Serialization is
+ * done only when it's needed, i.e. when a message published as an object is delivered to a raw data
+ * subscriber or vice versa.</p>
+ * <p>
+ * By default all subscribers receive the same published instance. If subscribers must be isolated from
+ * each other (e.g. because they modify the received messages), the backend can be configured to deliver
+ * a copy of the message to each subscriber.</p>
+ * <p>
+ * Topics are matched exactly.</p>
+ */
+public class LocalPubsub implements LocalPubsubInterface
+{
+    /**
+     * Constructor which creates backend delivering the published instances.
+     */
+    public LocalPubsub()
+    {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param copyMessages True to deliver a deserialized copy of the message to each subscriber.
+     */
+    public LocalPubsub(boolean copyMessages)
+    {
+        this.copyMessages = copyMessages;
+    }
+
+    @Override
+    public void publish(String topic, byte[] data, Object context)
+    {
+        for (Subscription subscription : getSubscriptions(topic))
+            subscription.deliver(topic, null, data);
+    }
+
+    @Override
+    public <E extends Writer> void publishLocal(String topic, E message, Object context)
+    {
+        byte[] data = null;
+        for (Subscription subscription : getSubscriptions(topic))
+        {
+            if (data == null && (copyMessages || !subscription.accepts(message)))
+                data = ZserioIO.write(message);
+            subscription.deliver(topic, copyMessages ? null : message, data);
+        }
+    }
+
+    @Override
+    public int subscribe(String topic, final Callback callback, Object context)
+    {
+        return addSubscription(new Subscription(topic)
+        {
+            @Override
+            public boolean accepts(Object message)
+            {
+                return false;
+            }
+
+            @Override
+            public void deliver(String topic, Object message, byte[] data)
+            {
+                callback.invoke(topic, data);
+            }
+        });
+    }
+
+    @Override
+    public <E> int subscribeLocal(String topic, final Class<E> messageClass, final PubsubCallback<E> callback,
+            Object context)
+    {
+        return addSubscription(new Subscription(topic)
+        {
+            @Override
+            public boolean accepts(Object message)
+            {
+                return messageClass.isInstance(message);
+            }
+
+            @Override
+            public void deliver(String topic, Object message, byte[] data)
+            {
+                final E typedMessage = accepts(message) ? messageClass.cast(message) :
+                        ZserioIO.read(messageClass, data);
+                callback.invoke(topic, typedMessage);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void unsubscribe(int subscriptionId)
+    {
+        final Subscription removed = subscriptions.remove(subscriptionId);
+        if (removed == null)
+            throw new PubsubException("LocalPubsub: Invalid subscription ID '" + subscriptionId + "'!");
+    }
+
+    private synchronized int addSubscription(Subscription subscription)
+    {
+        subscriptions.put(nextSubscriptionId, subscription);
+        return nextSubscriptionId++;
+    }
+
+    private synchronized List<Subscription> getSubscriptions(String topic)
+    {
+        final List<Subscription> topicSubscriptions = new ArrayList<Subscription>();
+        for (Subscription subscription : subscriptions.values())
+        {
+            if (subscription.topic.equals(topic))
+                topicSubscriptions.add(subscription);
+        }
+
+        return topicSubscriptions;
+    }
+
+    private static abstract class Subscription
+    {
+        public Subscription(String topic)
+        {
+            this.topic = topic;
+        }
+
+        public abstract boolean accepts(Object message);
+
+        public abstract void deliver(String topic, Object message, byte[] data);
+
+        public final String topic;
+    }
+
+    private final boolean copyMessages;
+    private final Map<Integer, Subscription> subscriptions = new LinkedHashMap<Integer, Subscription>();
+    private int nextSubscriptionId = 0;
+}
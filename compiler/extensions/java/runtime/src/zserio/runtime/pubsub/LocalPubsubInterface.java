@@ -0,0 +1,39 @@
+package zserio.runtime.pubsub;
+
+import zserio.runtime.io.Writer;
+
+/**
+ * Interface for in-process Pub/Sub backends which are able to pass messages without serialization.
+ *
+ * Generated Pub/Sub classes use this interface only when they are explicitly created with local messages
+ * enabled. In such case they publish and subscribe Zserio objects directly instead of their serialized data.
+ */
+public interface LocalPubsubInterface extends PubsubInterface
+{
+    /**
+     * Publishes given message as a specified topic.
+     *
+     * @param <E> Zserio class generated by Zserio.
+     * @param topic Topic definition.
+     * @param message Message to publish.
+     * @param context Context specific for a particular Pub/Sub implementation.
+     *
+     * @throws PubsubException when publishing fails.
+     */
+    public <E extends Writer> void publishLocal(String topic, E message, Object context);
+
+    /**
+     * Subscribes a topic.
+     *
+     * @param <E> Zserio class generated by Zserio.
+     * @param topic Topic definition to subscribe.
+     * @param messageClass The Class instance of the message.
+     * @param callback Callback to be called when a message with the specified topic arrives.
+     * @param context Context specific for a particular Pub/Sub implementation.
+     *
+     * @return Subscription ID.
+     * @throws PubsubException when subscribing fails.
+     */
+    public <E> int subscribeLocal(String topic, Class<E> messageClass, PubsubCallback<E> callback,
+            Object context);
+};
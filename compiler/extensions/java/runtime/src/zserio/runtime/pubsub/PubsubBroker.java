@@ -0,0 +1,707 @@
+package zserio.runtime.pubsub;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import zserio.runtime.io.Writer;
+import zserio.runtime.io.ZserioIO;
+
+/**
+ * In-process Pub/Sub broker which delivers messages asynchronously within the same JVM.
+ * <p>
+ * Unlike {@link LocalPubsub}, the broker does not call the subscribers from the publishing thread. Each
+ * subscription owns a bounded lock-free ring buffer of pending messages which is drained in batches by tasks
+ * submitted to the configured executor. Publishers and the delivery task exchange messages and schedule
+ * the delivery only by atomic operations, so the fan-out does not take any lock. Messages of one subscription
+ * are always delivered in the published order and never concurrently, messages of different subscriptions
+ * are delivered independently.</p>
+ * <p>
+ * When a ring buffer is full, the configured {@link BackpressurePolicy} decides whether the publisher is
+ * blocked or whether a message is dropped. Only the blocking policy uses the monitor of the subscription
+ * to wait for a free space, and only while the ring buffer is full. Note that the blocking policy can
+ * deadlock if a subscriber callback publishes to its own full ring buffer using an executor which runs
+ * the tasks inline.</p>
+ * <p>
+ * Exceptions thrown by subscriber callbacks are never propagated to the executor, so they cannot kill
+ * the executor threads. They are passed to the {@link ExceptionHandler} set by
+ * {@link #setExceptionHandler} or dropped if there is no handler.</p>
+ * <p>
+ * If the executor rejects the delivery task when a message is published, the publisher gets
+ * {@link PubsubException} and the message stays pending until the next publishing. If the executor rejects
+ * the delivery task of remaining pending messages, the subscription is stopped, its pending messages are
+ * discarded and each next publishing to it throws {@link PubsubException}.</p>
+ * <p>
+ * Subscription topics can contain wildcards separated by the '/' character: '+' matches exactly one topic
+ * level and '#' as the last level matches any number of remaining levels including none. Published topics
+ * are matched using an index built from all subscriptions, which is replaced only when subscriptions change,
+ * so publishing does not take any broker-wide lock.</p>
+ * <p>
+ * As in {@link LocalPubsub}, messages published by generated Pub/Sub classes created with local messages
+ * enabled are passed to subscribers of such generated Pub/Sub classes as objects without any serialization.
+ * All subscribers receive the same published instance.</p>
+ */
+public class PubsubBroker implements LocalPubsubInterface, AutoCloseable
+{
+    /**
+     * Policy which is applied when a message is published to a subscription with full ring buffer.
+     */
+    public static enum BackpressurePolicy
+    {
+        /** Publisher waits until there is a free space in the ring buffer. */
+        BLOCK,
+        /** The oldest pending message is dropped to make space for the published message. */
+        DROP_OLDEST,
+        /** The published message is dropped. */
+        DROP_NEWEST
+    };
+
+    /**
+     * Handler of exceptions thrown by subscriber callbacks.
+     */
+    public static interface ExceptionHandler
+    {
+        /**
+         * Called from the delivery task when a subscriber callback throws an exception.
+         * <p>
+         * Exceptions thrown by the handler itself are ignored.</p>
+         *
+         * @param topic     Topic of the message which has not been delivered.
+         * @param exception Exception thrown by the subscriber callback.
+         */
+        public void onException(String topic, RuntimeException exception);
+    }
+
+    /**
+     * Constructor which creates broker with the default ring buffer capacity, the default batch size and
+     * the blocking backpressure policy.
+     *
+     * @param executor Executor used to call the subscriber callbacks.
+     */
+    public PubsubBroker(Executor executor)
+    {
+        this(executor, DEFAULT_CAPACITY, BackpressurePolicy.BLOCK);
+    }
+
+    /**
+     * Constructor which creates broker with the default batch size.
+     *
+     * @param executor           Executor used to call the subscriber callbacks.
+     * @param capacity           Capacity of the ring buffer of each subscription.
+     * @param backpressurePolicy Policy applied when a ring buffer is full.
+     */
+    public PubsubBroker(Executor executor, int capacity, BackpressurePolicy backpressurePolicy)
+    {
+        this(executor, capacity, backpressurePolicy, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor           Executor used to call the subscriber callbacks.
+     * @param capacity           Capacity of the ring buffer of each subscription.
+     * @param backpressurePolicy Policy applied when a ring buffer is full.
+     * @param maxBatchSize       Maximum number of messages delivered by one executor task.
+     *
+     * @throws IllegalArgumentException If capacity or maximum batch size is not positive.
+     */
+    public PubsubBroker(Executor executor, int capacity, BackpressurePolicy backpressurePolicy,
+            int maxBatchSize)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("PubsubBroker: Capacity must be positive!");
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("PubsubBroker: Maximum batch size must be positive!");
+
+        this.executor = executor;
+        this.capacity = capacity;
+        this.backpressurePolicy = backpressurePolicy;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void publish(String topic, byte[] data, Object context)
+    {
+        for (Subscription subscription : getSubscriptions(topic))
+            subscription.enqueue(new Message(topic, null, data));
+    }
+
+    @Override
+    public <E extends Writer> void publishLocal(String topic, E message, Object context)
+    {
+        byte[] data = null;
+        for (Subscription subscription : getSubscriptions(topic))
+        {
+            if (data == null && !subscription.accepts(message))
+                data = ZserioIO.write(message);
+            subscription.enqueue(new Message(topic, message, data));
+        }
+    }
+
+    @Override
+    public int subscribe(String topic, final Callback callback, Object context)
+    {
+        return addSubscription(new Subscription(topic)
+        {
+            @Override
+            public boolean accepts(Object message)
+            {
+                return false;
+            }
+
+            @Override
+            public void deliver(String topic, Object message, byte[] data)
+            {
+                callback.invoke(topic, data);
+            }
+        });
+    }
+
+    @Override
+    public <E> int subscribeLocal(String topic, final Class<E> messageClass, final PubsubCallback<E> callback,
+            Object context)
+    {
+        return addSubscription(new Subscription(topic)
+        {
+            @Override
+            public boolean accepts(Object message)
+            {
+                return messageClass.isInstance(message);
+            }
+
+            @Override
+            public void deliver(String topic, Object message, byte[] data)
+            {
+                final E typedMessage = accepts(message) ? messageClass.cast(message) :
+                        ZserioIO.read(messageClass, data);
+                callback.invoke(topic, typedMessage);
+            }
+        });
+    }
+
+    /**
+     * Removes the subscription.
+     * <p>
+     * Pending messages of the subscription which have not been delivered yet are discarded.</p>
+     *
+     * @param subscriptionId ID of the subscription to remove.
+     *
+     * @throws PubsubException If the subscription ID is invalid.
+     */
+    @Override
+    public void unsubscribe(int subscriptionId)
+    {
+        final Subscription removed;
+        synchronized (this)
+        {
+            removed = subscriptions.remove(subscriptionId);
+            if (removed == null)
+                throw new PubsubException("PubsubBroker: Invalid subscription ID '" + subscriptionId + "'!");
+            rebuildTopicIndex();
+        }
+        removed.deactivate();
+    }
+
+    /**
+     * Closes the broker.
+     * <p>
+     * All subscriptions are removed and their pending messages are discarded. Publishers blocked by
+     * the backpressure are released.</p>
+     */
+    @Override
+    public void close()
+    {
+        final List<Subscription> removed;
+        synchronized (this)
+        {
+            closed = true;
+            removed = new ArrayList<Subscription>(subscriptions.values());
+            subscriptions.clear();
+            rebuildTopicIndex();
+        }
+        for (Subscription subscription : removed)
+            subscription.deactivate();
+    }
+
+    /**
+     * Sets handler of exceptions thrown by subscriber callbacks.
+     *
+     * @param exceptionHandler Exception handler or null to drop the exceptions.
+     */
+    public void setExceptionHandler(ExceptionHandler exceptionHandler)
+    {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Gets number of messages whose subscriber callback has thrown an exception.
+     *
+     * @return Number of failed deliveries.
+     */
+    public long getNumFailedDeliveries()
+    {
+        return numFailedDeliveries.get();
+    }
+
+    /**
+     * Gets number of messages which have been dropped because of the backpressure policy.
+     *
+     * @return Number of dropped messages.
+     */
+    public long getNumDroppedMessages()
+    {
+        return numDroppedMessages.get();
+    }
+
+    /**
+     * Checks whether the subscription topic matches the published topic.
+     *
+     * @param subscriptionTopic Subscription topic which can contain wildcards.
+     * @param topic             Published topic.
+     *
+     * @return True if the published topic matches, false otherwise.
+     *
+     * @throws PubsubException If the subscription topic is invalid.
+     */
+    public static boolean matches(String subscriptionTopic, String topic)
+    {
+        final String[] filterLevels = splitSubscriptionTopic(subscriptionTopic);
+        final String[] topicLevels = splitTopic(topic);
+        for (int i = 0; i < filterLevels.length; ++i)
+        {
+            if (filterLevels[i].equals(MULTI_LEVEL_WILDCARD))
+                return true;
+            if (i == topicLevels.length)
+                return false;
+            if (!filterLevels[i].equals(SINGLE_LEVEL_WILDCARD) && !filterLevels[i].equals(topicLevels[i]))
+                return false;
+        }
+
+        return filterLevels.length == topicLevels.length;
+    }
+
+    private int addSubscription(Subscription subscription)
+    {
+        synchronized (this)
+        {
+            if (closed)
+                throw new PubsubException("PubsubBroker: Broker is closed!");
+            subscriptions.put(nextSubscriptionId, subscription);
+            rebuildTopicIndex();
+
+            return nextSubscriptionId++;
+        }
+    }
+
+    private List<Subscription> getSubscriptions(String topic)
+    {
+        if (closed)
+            throw new PubsubException("PubsubBroker: Broker is closed!");
+
+        final List<Subscription> topicSubscriptions = new ArrayList<Subscription>();
+        topicIndex.collect(splitTopic(topic), 0, topicSubscriptions);
+
+        return topicSubscriptions;
+    }
+
+    private void rebuildTopicIndex()
+    {
+        final TopicNode root = new TopicNode();
+        for (Subscription subscription : subscriptions.values())
+            root.add(subscription.topicLevels, 0, subscription);
+        topicIndex = root;
+    }
+
+    private void handleException(String topic, RuntimeException exception)
+    {
+        numFailedDeliveries.incrementAndGet();
+        final ExceptionHandler handler = exceptionHandler;
+        if (handler == null)
+            return;
+
+        try
+        {
+            handler.onException(topic, exception);
+        }
+        catch (RuntimeException e)
+        {
+            // exception must not reach the executor because it could stop its worker thread
+        }
+    }
+
+    private static String[] splitTopic(String topic)
+    {
+        return topic.split(TOPIC_LEVEL_SEPARATOR, -1);
+    }
+
+    private static String[] splitSubscriptionTopic(String subscriptionTopic)
+    {
+        final String[] levels = splitTopic(subscriptionTopic);
+        for (int i = 0; i < levels.length; ++i)
+        {
+            final String level = levels[i];
+            if (level.equals(MULTI_LEVEL_WILDCARD) && i != levels.length - 1)
+            {
+                throw new PubsubException("PubsubBroker: Wildcard '" + MULTI_LEVEL_WILDCARD +
+                        "' must be the last level of topic '" + subscriptionTopic + "'!");
+            }
+            if (level.length() > 1 &&
+                    (level.contains(MULTI_LEVEL_WILDCARD) || level.contains(SINGLE_LEVEL_WILDCARD)))
+            {
+                throw new PubsubException("PubsubBroker: Wildcard must occupy the whole level of topic '" +
+                        subscriptionTopic + "'!");
+            }
+        }
+
+        return levels;
+    }
+
+    private static final class Message
+    {
+        public Message(String topic, Object message, byte[] data)
+        {
+            this.topic = topic;
+            this.message = message;
+            this.data = data;
+        }
+
+        public final String topic;
+        public final Object message;
+        public final byte[] data;
+    }
+
+    private static final class TopicNode
+    {
+        public void add(String[] levels, int index, Subscription subscription)
+        {
+            if (index == levels.length)
+            {
+                subscriptions.add(subscription);
+            }
+            else if (levels[index].equals(MULTI_LEVEL_WILDCARD))
+            {
+                multiLevelSubscriptions.add(subscription);
+            }
+            else
+            {
+                TopicNode child = children.get(levels[index]);
+                if (child == null)
+                {
+                    child = new TopicNode();
+                    children.put(levels[index], child);
+                }
+                child.add(levels, index + 1, subscription);
+            }
+        }
+
+        public void collect(String[] levels, int index, List<Subscription> result)
+        {
+            result.addAll(multiLevelSubscriptions);
+            if (index == levels.length)
+            {
+                result.addAll(subscriptions);
+                return;
+            }
+
+            final TopicNode child = children.get(levels[index]);
+            if (child != null)
+                child.collect(levels, index + 1, result);
+
+            final TopicNode wildcardChild = children.get(SINGLE_LEVEL_WILDCARD);
+            if (wildcardChild != null)
+                wildcardChild.collect(levels, index + 1, result);
+        }
+
+        private final Map<String, TopicNode> children = new HashMap<String, TopicNode>();
+        private final List<Subscription> subscriptions = new ArrayList<Subscription>();
+        private final List<Subscription> multiLevelSubscriptions = new ArrayList<Subscription>();
+    }
+
+    /**
+     * Bounded lock-free ring buffer which can be used by multiple producers and multiple consumers.
+     * <p>
+     * Each slot has a sequence number which tells whether the slot is free for the producer of the given
+     * position or whether it is filled for the consumer of the given position. Producers and consumers thus
+     * only need to claim their positions by compare-and-set.</p>
+     */
+    private static final class RingBuffer
+    {
+        public RingBuffer(int capacity)
+        {
+            messages = new Message[capacity];
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; ++i)
+                sequences.set(i, i);
+        }
+
+        public boolean offer(Message message)
+        {
+            long position = tail.get();
+            while (true)
+            {
+                final int index = (int)(position % messages.length);
+                final long difference = sequences.get(index) - position;
+                if (difference == 0)
+                {
+                    if (tail.compareAndSet(position, position + 1))
+                    {
+                        messages[index] = message;
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                }
+                else if (difference < 0)
+                {
+                    // the slot still holds the message from the previous round
+                    return false;
+                }
+                position = tail.get();
+            }
+        }
+
+        public Message poll()
+        {
+            long position = head.get();
+            while (true)
+            {
+                final int index = (int)(position % messages.length);
+                final long difference = sequences.get(index) - (position + 1);
+                if (difference == 0)
+                {
+                    if (head.compareAndSet(position, position + 1))
+                    {
+                        final Message message = messages[index];
+                        messages[index] = null;
+                        sequences.set(index, position + messages.length);
+                        return message;
+                    }
+                }
+                else if (difference < 0)
+                {
+                    // the slot has not been filled yet
+                    return null;
+                }
+                position = head.get();
+            }
+        }
+
+        public boolean isEmpty()
+        {
+            return head.get() >= tail.get();
+        }
+
+        public void clear()
+        {
+            while (poll() != null)
+            {
+                // discard all pending messages
+            }
+        }
+
+        private final Message[] messages;
+        private final AtomicLongArray sequences;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+    }
+
+    private abstract class Subscription implements Runnable
+    {
+        public Subscription(String topic)
+        {
+            topicLevels = splitSubscriptionTopic(topic);
+            ring = new RingBuffer(capacity);
+        }
+
+        public abstract boolean accepts(Object message);
+
+        public abstract void deliver(String topic, Object message, byte[] data);
+
+        public void enqueue(Message message)
+        {
+            if (!active || !offer(message))
+            {
+                if (rejected)
+                    throw new PubsubException("PubsubBroker: Delivery has been rejected by executor!");
+                return;
+            }
+
+            if (!scheduled.compareAndSet(false, true))
+                return;
+
+            try
+            {
+                executor.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // the message stays pending and the next publishing tries to schedule the delivery again
+                scheduled.set(false);
+                throw new PubsubException("PubsubBroker: Delivery has been rejected by executor!");
+            }
+        }
+
+        public void deactivate()
+        {
+            active = false;
+            ring.clear();
+            synchronized (this)
+            {
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            final Message[] batch = new Message[maxBatchSize];
+            int batchSize = 0;
+            Message message;
+            while (batchSize < batch.length && (message = ring.poll()) != null)
+                batch[batchSize++] = message;
+
+            if (numBlockedPublishers.get() > 0)
+            {
+                synchronized (this)
+                {
+                    notifyAll();
+                }
+            }
+
+            try
+            {
+                for (int i = 0; i < batchSize && active; ++i)
+                {
+                    try
+                    {
+                        deliver(batch[i].topic, batch[i].message, batch[i].data);
+                    }
+                    catch (RuntimeException e)
+                    {
+                        handleException(batch[i].topic, e);
+                    }
+                }
+            }
+            finally
+            {
+                scheduled.set(false);
+                if (!ring.isEmpty())
+                    reschedule();
+            }
+        }
+
+        /**
+         * Adds the message to the ring buffer applying the backpressure policy if the ring buffer is full.
+         *
+         * @return False if the subscription has been deactivated while the publisher was blocked, true
+         *         otherwise.
+         */
+        private boolean offer(Message message)
+        {
+            if (ring.offer(message))
+                return true;
+
+            switch (backpressurePolicy)
+            {
+            case DROP_NEWEST:
+                numDroppedMessages.incrementAndGet();
+                return true;
+
+            case DROP_OLDEST:
+                do
+                {
+                    if (ring.poll() != null)
+                        numDroppedMessages.incrementAndGet();
+                }
+                while (!ring.offer(message));
+                return true;
+
+            default:
+                return offerBlocking(message);
+            }
+        }
+
+        private boolean offerBlocking(Message message)
+        {
+            synchronized (this)
+            {
+                // delivery task notifies only when it sees blocked publishers, thus the publisher must be
+                // counted before the last offer
+                numBlockedPublishers.incrementAndGet();
+                try
+                {
+                    while (active)
+                    {
+                        if (ring.offer(message))
+                            return true;
+                        wait();
+                    }
+
+                    return false;
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new PubsubException("PubsubBroker: Publishing has been interrupted!");
+                }
+                finally
+                {
+                    numBlockedPublishers.decrementAndGet();
+                }
+            }
+        }
+
+        private void reschedule()
+        {
+            if (!scheduled.compareAndSet(false, true))
+                return;
+
+            try
+            {
+                executor.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // nobody would deliver the pending messages, so the subscription is stopped and the publishers
+                // are informed by an exception
+                scheduled.set(false);
+                rejected = true;
+                deactivate();
+            }
+        }
+
+        public final String[] topicLevels;
+
+        private final RingBuffer ring;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicInteger numBlockedPublishers = new AtomicInteger();
+        private volatile boolean active = true;
+        private volatile boolean rejected = false;
+    }
+
+    private static final String TOPIC_LEVEL_SEPARATOR = "/";
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    private final Executor executor;
+    private final int capacity;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int maxBatchSize;
+
+    private final Map<Integer, Subscription> subscriptions = new LinkedHashMap<Integer, Subscription>();
+    private volatile TopicNode topicIndex = new TopicNode();
+    private volatile boolean closed = false;
+    private int nextSubscriptionId = 0;
+    private final AtomicLong numDroppedMessages = new AtomicLong();
+    private final AtomicLong numFailedDeliveries = new AtomicLong();
+    private volatile ExceptionHandler exceptionHandler = null;
+}
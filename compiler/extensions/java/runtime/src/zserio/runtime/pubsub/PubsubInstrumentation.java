@@ -0,0 +1,44 @@
+package zserio.runtime.pubsub;
+
+/**
+ * Instrumentation interface which allows to collect metrics and traces of Pub/Sub messages.
+ * <p>
+ * Generated Pub/Sub classes report encoding of published messages, decoding of received messages and
+ * execution of subscription callbacks. Implementations can use the reported sizes and durations e.g.
+ * to update counters and latency histograms of a metrics system.</p>
+ * <p>
+ * The instrumentation is registered globally by {@link PubsubInstrumentationRegistry}. Implementations must
+ * be thread-safe since they are called from all threads which publish or receive messages.</p>
+ */
+public interface PubsubInstrumentation
+{
+    /**
+     * Called when a published message has been encoded.
+     *
+     * @param pubsubFullName Full name of the Pub/Sub type.
+     * @param topic          Topic of the message.
+     * @param messageSize    Size of the message data in bytes.
+     * @param durationNanos  Duration of the encoding in nanoseconds.
+     */
+    public void onMessageEncoded(String pubsubFullName, String topic, int messageSize, long durationNanos);
+
+    /**
+     * Called when a received message has been decoded.
+     *
+     * @param pubsubFullName Full name of the Pub/Sub type.
+     * @param topic          Topic of the message.
+     * @param messageSize    Size of the message data in bytes.
+     * @param durationNanos  Duration of the decoding in nanoseconds.
+     */
+    public void onMessageDecoded(String pubsubFullName, String topic, int messageSize, long durationNanos);
+
+    /**
+     * Called when a subscription callback has been executed.
+     *
+     * @param pubsubFullName Full name of the Pub/Sub type.
+     * @param topic          Topic of the message.
+     * @param durationNanos  Duration of the callback execution in nanoseconds.
+     * @param succeeded      False if the callback has thrown an exception, true otherwise.
+     */
+    public void onMessageHandled(String pubsubFullName, String topic, long durationNanos, boolean succeeded);
+};
@@ -0,0 +1,98 @@
+package zserio.runtime.pubsub;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.Writer;
+import zserio.runtime.io.ZserioIO;
+
+/**
+ * Global registry of the Pub/Sub instrumentation used by all generated Pub/Sub classes.
+ * <p>
+ * When no instrumentation is registered, generated Pub/Sub classes do not measure anything and no additional
+ * objects are allocated.</p>
+ */
+public final class PubsubInstrumentationRegistry
+{
+    /**
+     * Hides the constructor of the utility class.
+     */
+    private PubsubInstrumentationRegistry()
+    {
+        throw new UnsupportedOperationException(
+                "PubsubInstrumentationRegistry: Private constructor is unsupported.");
+    }
+
+    /**
+     * Registers the instrumentation which will be called by all generated Pub/Sub classes.
+     *
+     * @param instrumentation Instrumentation to register or null to disable the instrumentation.
+     */
+    public static void register(PubsubInstrumentation instrumentation)
+    {
+        PubsubInstrumentationRegistry.instrumentation = instrumentation;
+    }
+
+    /**
+     * Gets the registered instrumentation.
+     *
+     * @return Registered instrumentation or null if no instrumentation is registered.
+     */
+    public static PubsubInstrumentation get()
+    {
+        return instrumentation;
+    }
+
+    /**
+     * Decodes the received message and reports it to the given instrumentation.
+     *
+     * @param <E>             Zserio class generated by Zserio.
+     * @param instrumentation Instrumentation to report to or null.
+     * @param pubsubFullName  Full name of the Pub/Sub type.
+     * @param topic           Topic of the message.
+     * @param clazz           The Class instance of the message.
+     * @param data            Message data to decode.
+     *
+     * @return Decoded message.
+     *
+     * @throws ZserioError if the decoding fails.
+     */
+    public static <E> E readMessage(PubsubInstrumentation instrumentation, String pubsubFullName,
+            String topic, Class<E> clazz, byte[] data) throws ZserioError
+    {
+        if (instrumentation == null)
+            return ZserioIO.read(clazz, data);
+
+        final long startTime = System.nanoTime();
+        final E message = ZserioIO.read(clazz, data);
+        instrumentation.onMessageDecoded(pubsubFullName, topic, data.length, System.nanoTime() - startTime);
+
+        return message;
+    }
+
+    /**
+     * Encodes the published message and reports it to the given instrumentation.
+     *
+     * @param <E>             Zserio class generated by Zserio.
+     * @param instrumentation Instrumentation to report to or null.
+     * @param pubsubFullName  Full name of the Pub/Sub type.
+     * @param topic           Topic of the message.
+     * @param message         Message to encode.
+     *
+     * @return Encoded message data.
+     *
+     * @throws ZserioError if the encoding fails.
+     */
+    public static <E extends Writer> byte[] writeMessage(PubsubInstrumentation instrumentation,
+            String pubsubFullName, String topic, E message) throws ZserioError
+    {
+        if (instrumentation == null)
+            return ZserioIO.write(message);
+
+        final long startTime = System.nanoTime();
+        final byte[] data = ZserioIO.write(message);
+        instrumentation.onMessageEncoded(pubsubFullName, topic, data.length, System.nanoTime() - startTime);
+
+        return data;
+    }
+
+    private static volatile PubsubInstrumentation instrumentation = null;
+}
@@ -0,0 +1,77 @@
+package zserio.runtime.pubsub;
+
+import java.util.Arrays;
+
+import zserio.runtime.Freezable;
+import zserio.runtime.ZserioError;
+
+/**
+ * Decoder which shares one decoded message among all subscribers of the same topic.
+ * <p>
+ * Generated Pub/Sub classes use this decoder when they are configured to share decoded messages. The first
+ * delivery of a message decodes it and remembers the decoded instance together with a copy of the message
+ * data. All following deliveries of the same data return the remembered instance instead of decoding
+ * the data again.</p>
+ * <p>
+ * Because the decoded instance is shared, it is frozen if it implements {@link Freezable} so that one
+ * subscriber cannot modify the message seen by other subscribers.</p>
+ * <p>
+ * This class is thread-safe.</p>
+ *
+ * @param <E> Zserio class generated by Zserio.
+ */
+public final class SharedMessageDecoder<E>
+{
+    /**
+     * Constructor.
+     *
+     * @param messageClass The Class instance of the message.
+     */
+    public SharedMessageDecoder(Class<E> messageClass)
+    {
+        this.messageClass = messageClass;
+    }
+
+    /**
+     * Decodes the message or returns the instance decoded from the same data by the previous delivery.
+     *
+     * @param instrumentation Instrumentation to report the decoding to or null.
+     * @param pubsubFullName  Full name of the Pub/Sub type.
+     * @param topic           Topic of the message.
+     * @param data            Message data to decode.
+     *
+     * @return Decoded message which is shared among the subscribers.
+     *
+     * @throws ZserioError if the decoding fails.
+     */
+    public E decode(PubsubInstrumentation instrumentation, String pubsubFullName, String topic, byte[] data)
+            throws ZserioError
+    {
+        final DecodedMessage<E> lastDecodedMessage = decodedMessage;
+        if (lastDecodedMessage != null && Arrays.equals(lastDecodedMessage.data, data))
+            return lastDecodedMessage.message;
+
+        final E message = PubsubInstrumentationRegistry.readMessage(instrumentation, pubsubFullName, topic,
+                messageClass, data);
+        if (message instanceof Freezable)
+            ((Freezable)message).freeze();
+        decodedMessage = new DecodedMessage<E>(data.clone(), message);
+
+        return message;
+    }
+
+    private static final class DecodedMessage<E>
+    {
+        public DecodedMessage(byte[] data, E message)
+        {
+            this.data = data;
+            this.message = message;
+        }
+
+        public final byte[] data;
+        public final E message;
+    }
+
+    private final Class<E> messageClass;
+    private volatile DecodedMessage<E> decodedMessage = null;
+}
@@ -0,0 +1,25 @@
+package zserio.runtime.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for services which can be called asynchronously using numeric method identifiers.
+ *
+ * Generated asynchronous clients use method identifiers only when the given service implements this
+ * interface. See {@link MethodIdServiceInterface} for the meaning of method identifiers.
+ */
+public interface AsyncMethodIdServiceInterface extends AsyncServiceInterface
+{
+    /**
+     * Calls method with the given numeric identifier asynchronously.
+     *
+     * Failures are propagated by the exceptional completion of the returned future.
+     *
+     * @param methodId      Identifier of the service method to call.
+     * @param requestData   Request data to be passed to the method.
+     * @param context       Context specific for particular service.
+     *
+     * @return Future which will be completed by the response data.
+     */
+    public CompletableFuture<byte[]> callMethodAsync(int methodId, byte[] requestData, Object context);
+};
@@ -0,0 +1,48 @@
+package zserio.runtime.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Adapter which allows to call any synchronous service asynchronously.
+ *
+ * Each call of the synchronous service is submitted to the given executor. This allows to use blocking
+ * service implementations (e.g. network transports) from asynchronous clients without blocking
+ * the calling thread. Any executor can be used, e.g. a thread pool or an executor which starts a new
+ * virtual thread for each task.
+ */
+public class AsyncServiceAdapter implements AsyncServiceInterface
+{
+    /**
+     * Constructor.
+     *
+     * @param service  Synchronous service to call.
+     * @param executor Executor used to call the synchronous service.
+     */
+    public AsyncServiceAdapter(ServiceInterface service, Executor executor)
+    {
+        if (service == null || executor == null)
+            throw new NullPointerException("AsyncServiceAdapter: Service and executor must not be null!");
+
+        this.service = service;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<byte[]> callMethodAsync(final String methodName, final byte[] requestData,
+            final Object context)
+    {
+        return CompletableFuture.supplyAsync(new Supplier<byte[]>()
+        {
+            @Override
+            public byte[] get()
+            {
+                return service.callMethod(methodName, requestData, context);
+            }
+        }, executor);
+    }
+
+    private final ServiceInterface service;
+    private final Executor executor;
+}
@@ -0,0 +1,21 @@
+package zserio.runtime.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/** Generic interface for all Zserio services which can be called asynchronously. */
+public interface AsyncServiceInterface
+{
+    /**
+     * Calls method with the given name asynchronously.
+     *
+     * Failures (e.g. ServiceException or serialization errors) are not thrown but they are propagated
+     * by the exceptional completion of the returned future.
+     *
+     * @param methodName    Name of the service method to call.
+     * @param requestData   Request data to be passed to the method.
+     * @param context       Context specific for particular service.
+     *
+     * @return Future which will be completed by the response data.
+     */
+    public CompletableFuture<byte[]> callMethodAsync(String methodName, byte[] requestData, Object context);
+};
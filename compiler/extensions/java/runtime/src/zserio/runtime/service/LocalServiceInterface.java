@@ -0,0 +1,27 @@
+package zserio.runtime.service;
+
+import zserio.runtime.ZserioError;
+
+/**
+ * Interface for services which can be called within the same JVM without serialization.
+ *
+ * Generated services implement this interface. Generated clients use it only when they are explicitly
+ * created with local calls enabled. In such case the typed request is passed directly to the service
+ * implementation and the typed response is returned directly to the client, thus the client and the service
+ * share the request and response objects.
+ */
+public interface LocalServiceInterface extends ServiceInterface
+{
+    /**
+     * Calls method with the given numeric identifier passing the request object directly.
+     *
+     * @param methodId Identifier of the service method to call.
+     * @param request  Request object of the type expected by the method.
+     * @param context  Context specific for particular service.
+     *
+     * @return Response object.
+     *
+     * @throws ServiceException if the call fails.
+     */
+    public Object callMethodLocal(int methodId, Object request, Object context) throws ZserioError;
+};
@@ -0,0 +1,31 @@
+package zserio.runtime.service;
+
+import zserio.runtime.ZserioError;
+
+/**
+ * Interface for services which can be called using numeric method identifiers.
+ *
+ * Method identifiers allow transports to send a small integer instead of the method name. Generated services
+ * implement this interface and generated clients use method identifiers only when the given service
+ * implements it. Otherwise the methods are called by names.
+ *
+ * Method identifiers are generated as indices of the methods in the order of their declaration
+ * in the schema. Thus appending new methods keeps the existing identifiers, but reordering or removing
+ * methods changes them. Client and service must be always generated from the same schema.
+ */
+public interface MethodIdServiceInterface extends ServiceInterface
+{
+    /**
+     * Calls method with the given numeric identifier synchronously.
+     *
+     * @param methodId      Identifier of the service method to call.
+     * @param requestData   Request data to be passed to the method.
+     * @param context       Context specific for particular service.
+     *
+     * @return Response data.
+     *
+     * @throws ZserioError if serialization or deserialization fails.
+     * @throws ServiceException if the call fails.
+     */
+    public byte[] callMethod(int methodId, byte[] requestData, Object context) throws ZserioError;
+};
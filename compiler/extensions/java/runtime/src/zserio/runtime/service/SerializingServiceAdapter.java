@@ -0,0 +1,68 @@
+package zserio.runtime.service;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import zserio.runtime.ZserioError;
+
+/**
+ * Adapter which forces serialization of all calls to the wrapped service.
+ *
+ * Generated clients created with local calls enabled call local services (see {@link LocalServiceInterface})
+ * without serialization, thus the client and the service share the request and response objects. This
+ * adapter hides the local interface of the wrapped service and forwards all synchronous, streaming and
+ * asynchronous calls, so that each call goes through serialized data and the client and the service are
+ * isolated from each other.
+ */
+public class SerializingServiceAdapter implements MethodIdServiceInterface, StreamingServiceInterface,
+        AsyncMethodIdServiceInterface
+{
+    /**
+     * Constructor.
+     *
+     * @param <S>     Type of the service to wrap, e.g. any generated service.
+     * @param service Service to wrap.
+     */
+    public <S extends MethodIdServiceInterface & StreamingServiceInterface & AsyncMethodIdServiceInterface>
+            SerializingServiceAdapter(S service)
+    {
+        this.service = service;
+        this.streamingService = service;
+        this.asyncService = service;
+    }
+
+    @Override
+    public byte[] callMethod(String methodName, byte[] requestData, Object context) throws ZserioError
+    {
+        return service.callMethod(methodName, requestData, context);
+    }
+
+    @Override
+    public byte[] callMethod(int methodId, byte[] requestData, Object context) throws ZserioError
+    {
+        return service.callMethod(methodId, requestData, context);
+    }
+
+    @Override
+    public Iterator<byte[]> callMethodStream(int methodId, Iterator<byte[]> requestDataStream, Object context)
+            throws ZserioError
+    {
+        return streamingService.callMethodStream(methodId, requestDataStream, context);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> callMethodAsync(String methodName, byte[] requestData, Object context)
+    {
+        return asyncService.callMethodAsync(methodName, requestData, context);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> callMethodAsync(int methodId, byte[] requestData, Object context)
+    {
+        return asyncService.callMethodAsync(methodId, requestData, context);
+    }
+
+    private final MethodIdServiceInterface service;
+    private final StreamingServiceInterface streamingService;
+    private final AsyncMethodIdServiceInterface asyncService;
+}
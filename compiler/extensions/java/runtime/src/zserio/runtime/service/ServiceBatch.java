@@ -0,0 +1,233 @@
+package zserio.runtime.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+/**
+ * Batch of service method calls which are sent to the service in a single request.
+ * <p>
+ * The batch collects serialized requests for service methods identified by their numeric method identifiers.
+ * All collected requests are sent in one framed payload using the reserved {@link #BATCH_METHOD_ID}
+ * and the service responds by one framed multi-response. Generated services dispatch the batch
+ * automatically, thus service implementations do not need to be changed. Batches can be sent only
+ * to services which support method identifiers (see {@link MethodIdServiceInterface}).</p>
+ * <p>
+ * Usage:
+ * <pre>
+ * ServiceBatch batch = new ServiceBatch();
+ * int first = batch.add(MyService.MyServiceService.METHOD_ID_myMethod, requestData1);
+ * int second = batch.add(MyService.MyServiceService.METHOD_ID_myMethod, requestData2);
+ *
+ * ServiceBatchResult result = batch.call(service, null);
+ * byte[] responseData1 = result.getResponseData(first);
+ * </pre>
+ */
+public class ServiceBatch
+{
+    /**
+     * Adds a request to the batch.
+     *
+     * @param methodId    Identifier of the service method to call.
+     * @param requestData Request data to be passed to the method.
+     *
+     * @return Index of the call within the batch which can be used to get the response from the result.
+     *
+     * @throws ServiceException if the method identifier is the reserved batch identifier.
+     */
+    public int add(int methodId, byte[] requestData) throws ServiceException
+    {
+        if (methodId == BATCH_METHOD_ID)
+            throw new ServiceException("ServiceBatch: Nested batches are not supported!");
+
+        methodIds.add(methodId);
+        requests.add(requestData);
+
+        return requests.size() - 1;
+    }
+
+    /**
+     * Gets number of calls collected in the batch.
+     *
+     * @return Number of calls.
+     */
+    public int size()
+    {
+        return requests.size();
+    }
+
+    /**
+     * Gets identifier of the service method called at the given index.
+     *
+     * @param index Index of the call within the batch.
+     *
+     * @return Method identifier.
+     */
+    public int getMethodId(int index)
+    {
+        return methodIds.get(index);
+    }
+
+    /**
+     * Removes all calls from the batch.
+     */
+    public void clear()
+    {
+        methodIds.clear();
+        requests.clear();
+    }
+
+    /**
+     * Serializes all collected calls to one framed payload.
+     *
+     * @return Batch request data.
+     *
+     * @throws ZserioError if the serialization fails.
+     */
+    public byte[] toByteArray() throws ZserioError
+    {
+        try
+        {
+            final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+            writer.writeVarSize(requests.size());
+            for (int i = 0; i < requests.size(); ++i)
+            {
+                writer.writeVarSize(methodIds.get(i));
+                writeData(writer, requests.get(i));
+            }
+            writer.close();
+
+            return writer.toByteArray();
+        }
+        catch (IOException exception)
+        {
+            throw new ZserioError("ServiceBatch: " + exception);
+        }
+    }
+
+    /**
+     * Sends all collected calls to the given service in one request.
+     *
+     * @param service Service to call.
+     * @param context Context specific for particular service.
+     *
+     * @return Result which contains responses of all calls.
+     *
+     * @throws ZserioError if serialization or deserialization fails.
+     * @throws ServiceException if the batch call fails.
+     */
+    public ServiceBatchResult call(MethodIdServiceInterface service, Object context) throws ZserioError
+    {
+        final byte[] responseData = service.callMethod(BATCH_METHOD_ID, toByteArray(), context);
+        final ServiceBatchResult result = ServiceBatchResult.fromByteArray(responseData);
+        if (result.size() != requests.size())
+        {
+            throw new ServiceException("ServiceBatch: Wrong number of responses (" + result.size() +
+                    " != " + requests.size() + ")!");
+        }
+
+        return result;
+    }
+
+    /**
+     * Dispatches all calls from the given batch request data to the given service.
+     * <p>
+     * Each call is dispatched separately, thus failure of one call does not influence the other calls.
+     * Failures (including unchecked exceptions thrown by the method implementations) are stored in the
+     * multi-response and reported by {@link ServiceBatchResult}.</p>
+     *
+     * @param service   Service which implements the called methods.
+     * @param batchData Batch request data created by {@link #toByteArray()}.
+     * @param context   Context specific for particular service.
+     *
+     * @return Framed multi-response data.
+     *
+     * @throws ZserioError if the batch request data are corrupted.
+     */
+    public static byte[] dispatch(MethodIdServiceInterface service, byte[] batchData, Object context)
+            throws ZserioError
+    {
+        try
+        {
+            final ByteArrayBitStreamReader reader = new ByteArrayBitStreamReader(batchData);
+            final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+            final int numCalls = reader.readVarSize();
+            writer.writeVarSize(numCalls);
+            for (int i = 0; i < numCalls; ++i)
+            {
+                final int methodId = reader.readVarSize();
+                final byte[] requestData = readData(reader);
+                byte[] responseData = null;
+                String errorMessage = null;
+                if (methodId == BATCH_METHOD_ID)
+                {
+                    errorMessage = "ServiceBatch: Nested batches are not supported!";
+                }
+                else
+                {
+                    try
+                    {
+                        responseData = service.callMethod(methodId, requestData, context);
+                    }
+                    catch (RuntimeException exception)
+                    {
+                        // any failure of the method implementation is reported as an error of this call only
+                        errorMessage = getErrorMessage(exception);
+                    }
+                }
+
+                if (errorMessage == null)
+                {
+                    writer.writeByte(STATUS_OK);
+                    writeData(writer, responseData);
+                }
+                else
+                {
+                    writer.writeByte(STATUS_ERROR);
+                    writer.writeString(errorMessage);
+                }
+            }
+            writer.close();
+
+            return writer.toByteArray();
+        }
+        catch (IOException exception)
+        {
+            throw new ZserioError("ServiceBatch: " + exception);
+        }
+    }
+
+    private static String getErrorMessage(RuntimeException exception)
+    {
+        if (exception instanceof ZserioError && exception.getMessage() != null)
+            return exception.getMessage();
+
+        return exception.toString();
+    }
+
+    static void writeData(ByteArrayBitStreamWriter writer, byte[] data) throws IOException
+    {
+        writer.writeVarSize(data.length);
+        writer.writeBytes(data);
+    }
+
+    static byte[] readData(ByteArrayBitStreamReader reader) throws IOException
+    {
+        // length is checked against the remaining data before the allocation, so corrupted data cannot
+        // cause huge allocation
+        return reader.readBytes(reader.readVarSize());
+    }
+
+    /** Reserved method identifier used for batch calls. */
+    public static final int BATCH_METHOD_ID = Integer.MAX_VALUE;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    private final List<Integer> methodIds = new ArrayList<Integer>();
+    private final List<byte[]> requests = new ArrayList<byte[]>();
+}
@@ -0,0 +1,105 @@
+package zserio.runtime.service;
+
+import java.io.IOException;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+
+/**
+ * Result of a batch of service method calls.
+ * <p>
+ * Contains response data or failure description of each call in the same order as the calls were added
+ * to the {@link ServiceBatch}.</p>
+ */
+public class ServiceBatchResult
+{
+    /**
+     * Parses the framed multi-response data created by {@link ServiceBatch#dispatch}.
+     *
+     * @param responseData Framed multi-response data.
+     *
+     * @return Parsed batch result.
+     *
+     * @throws ZserioError if the response data are corrupted.
+     */
+    public static ServiceBatchResult fromByteArray(byte[] responseData) throws ZserioError
+    {
+        try
+        {
+            final ByteArrayBitStreamReader reader = new ByteArrayBitStreamReader(responseData);
+            final int numResponses = reader.readVarSize();
+            // each response takes at least one byte, so corrupted data cannot cause huge allocation
+            if (numResponses > (reader.getBufferBitSize() - reader.getBitPosition()) / 8)
+            {
+                throw new ZserioError("ServiceBatchResult: Number of responses " + numResponses +
+                        " exceeds the response data size!");
+            }
+            final byte[][] responses = new byte[numResponses][];
+            final String[] errorMessages = new String[numResponses];
+            for (int i = 0; i < numResponses; ++i)
+            {
+                final byte status = reader.readByte();
+                if (status == ServiceBatch.STATUS_OK)
+                    responses[i] = ServiceBatch.readData(reader);
+                else if (status == ServiceBatch.STATUS_ERROR)
+                    errorMessages[i] = reader.readString();
+                else
+                    throw new ZserioError("ServiceBatchResult: Unknown status " + status + "!");
+            }
+
+            return new ServiceBatchResult(responses, errorMessages);
+        }
+        catch (IOException exception)
+        {
+            throw new ZserioError("ServiceBatchResult: " + exception);
+        }
+    }
+
+    /**
+     * Gets number of responses in the result.
+     *
+     * @return Number of responses.
+     */
+    public int size()
+    {
+        return responses.length;
+    }
+
+    /**
+     * Checks whether the call at the given index succeeded.
+     *
+     * @param index Index of the call within the batch.
+     *
+     * @return True if the call succeeded, false otherwise.
+     */
+    public boolean isSuccess(int index)
+    {
+        return errorMessages[index] == null;
+    }
+
+    /**
+     * Gets response data of the call at the given index.
+     *
+     * @param index Index of the call within the batch.
+     *
+     * @return Response data.
+     *
+     * @throws ServiceException if the call failed.
+     */
+    public byte[] getResponseData(int index) throws ServiceException
+    {
+        if (errorMessages[index] != null)
+            throw new ServiceException(errorMessages[index]);
+
+        return responses[index];
+    }
+
+    private ServiceBatchResult(byte[][] responses, String[] errorMessages)
+    {
+        this.responses = responses;
+        this.errorMessages = errorMessages;
+    }
+
+    private final byte[][] responses;
+    private final String[] errorMessages;
+}
@@ -0,0 +1,47 @@
+package zserio.runtime.service;
+
+/**
+ * Instrumentation interface which allows to collect metrics and traces of service method calls.
+ * <p>
+ * Generated services report each phase of a method call: decoding of the request, execution of the method
+ * implementation and encoding of the response. Implementations can use the reported sizes and durations
+ * e.g. to update counters and latency histograms of a metrics system.</p>
+ * <p>
+ * The instrumentation is registered globally by {@link ServiceInstrumentationRegistry}. Implementations must
+ * be thread-safe since they are called from all threads which call services.</p>
+ */
+public interface ServiceInstrumentation
+{
+    /**
+     * Called when a request of the service method has been decoded.
+     *
+     * @param serviceFullName Full name of the service.
+     * @param methodName      Name of the service method.
+     * @param requestSize     Size of the request data in bytes.
+     * @param durationNanos   Duration of the decoding in nanoseconds.
+     */
+    public void onRequestDecoded(String serviceFullName, String methodName, int requestSize,
+            long durationNanos);
+
+    /**
+     * Called when the implementation of the service method has been executed.
+     *
+     * @param serviceFullName Full name of the service.
+     * @param methodName      Name of the service method.
+     * @param durationNanos   Duration of the execution in nanoseconds.
+     * @param succeeded       False if the implementation has thrown an exception, true otherwise.
+     */
+    public void onMethodExecuted(String serviceFullName, String methodName, long durationNanos,
+            boolean succeeded);
+
+    /**
+     * Called when a response of the service method has been encoded.
+     *
+     * @param serviceFullName Full name of the service.
+     * @param methodName      Name of the service method.
+     * @param responseSize    Size of the response data in bytes.
+     * @param durationNanos   Duration of the encoding in nanoseconds.
+     */
+    public void onResponseEncoded(String serviceFullName, String methodName, int responseSize,
+            long durationNanos);
+};
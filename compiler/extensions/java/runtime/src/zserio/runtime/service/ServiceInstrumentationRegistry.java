@@ -0,0 +1,100 @@
+package zserio.runtime.service;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.Writer;
+import zserio.runtime.io.ZserioIO;
+
+/**
+ * Global registry of the service instrumentation used by all generated services.
+ * <p>
+ * When no instrumentation is registered, generated services do not measure anything and no additional
+ * objects are allocated.</p>
+ */
+public final class ServiceInstrumentationRegistry
+{
+    /**
+     * Hides the constructor of the utility class.
+     */
+    private ServiceInstrumentationRegistry()
+    {
+        throw new UnsupportedOperationException(
+                "ServiceInstrumentationRegistry: Private constructor is unsupported.");
+    }
+
+    /**
+     * Registers the instrumentation which will be called by all generated services.
+     *
+     * @param instrumentation Instrumentation to register or null to disable the instrumentation.
+     */
+    public static void register(ServiceInstrumentation instrumentation)
+    {
+        ServiceInstrumentationRegistry.instrumentation = instrumentation;
+    }
+
+    /**
+     * Gets the registered instrumentation.
+     *
+     * @return Registered instrumentation or null if no instrumentation is registered.
+     */
+    public static ServiceInstrumentation get()
+    {
+        return instrumentation;
+    }
+
+    /**
+     * Decodes the request and reports it to the given instrumentation.
+     *
+     * @param <E>             Zserio class generated by Zserio.
+     * @param instrumentation Instrumentation to report to or null.
+     * @param serviceFullName Full name of the service.
+     * @param methodName      Name of the service method.
+     * @param clazz           The Class instance of the request.
+     * @param requestData     Request data to decode.
+     *
+     * @return Decoded request.
+     *
+     * @throws ZserioError if the decoding fails.
+     */
+    public static <E> E readRequest(ServiceInstrumentation instrumentation, String serviceFullName,
+            String methodName, Class<E> clazz, byte[] requestData) throws ZserioError
+    {
+        if (instrumentation == null)
+            return ZserioIO.read(clazz, requestData);
+
+        final long startTime = System.nanoTime();
+        final E request = ZserioIO.read(clazz, requestData);
+        instrumentation.onRequestDecoded(serviceFullName, methodName, requestData.length,
+                System.nanoTime() - startTime);
+
+        return request;
+    }
+
+    /**
+     * Encodes the response and reports it to the given instrumentation.
+     *
+     * @param <E>             Zserio class generated by Zserio.
+     * @param instrumentation Instrumentation to report to or null.
+     * @param serviceFullName Full name of the service.
+     * @param methodName      Name of the service method.
+     * @param response        Response to encode.
+     *
+     * @return Encoded response data.
+     *
+     * @throws ZserioError if the encoding fails.
+     */
+    public static <E extends Writer> byte[] writeResponse(ServiceInstrumentation instrumentation,
+            String serviceFullName, String methodName, E response) throws ZserioError
+    {
+        if (instrumentation == null)
+            return ZserioIO.write(response);
+
+        final long startTime = System.nanoTime();
+        final byte[] responseData = ZserioIO.write(response);
+        instrumentation.onResponseEncoded(serviceFullName, methodName, responseData.length,
+                System.nanoTime() - startTime);
+
+        return responseData;
+    }
+
+    private static volatile ServiceInstrumentation instrumentation = null;
+}
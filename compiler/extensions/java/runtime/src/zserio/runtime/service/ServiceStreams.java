@@ -0,0 +1,110 @@
+package zserio.runtime.service;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.Writer;
+import zserio.runtime.io.ZserioIO;
+
+/**
+ * Helper methods used by generated services to convert streams of Zserio objects to streams of data.
+ *
+ * All returned streams are lazy, each element is serialized or deserialized when it is requested.
+ */
+public final class ServiceStreams
+{
+    /**
+     * Hides the constructor of the utility class.
+     */
+    private ServiceStreams()
+    {
+        throw new UnsupportedOperationException("ServiceStreams: Private constructor is unsupported.");
+    }
+
+    /**
+     * Creates stream of Zserio objects which are lazily read from the given stream of data.
+     *
+     * @param <E>        Zserio class generated by Zserio.
+     * @param clazz      The Class instance of the given class.
+     * @param dataStream Stream of data to read.
+     *
+     * @return Stream of Zserio objects.
+     */
+    public static <E> Iterator<E> readStream(final Class<E> clazz, final Iterator<byte[]> dataStream)
+    {
+        return new Iterator<E>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return dataStream.hasNext();
+            }
+
+            @Override
+            public E next()
+            {
+                return ZserioIO.read(clazz, dataStream.next());
+            }
+        };
+    }
+
+    /**
+     * Creates stream of data which are lazily written from the given stream of Zserio objects.
+     *
+     * @param <E>          Zserio class generated by Zserio.
+     * @param objectStream Stream of Zserio objects to write.
+     *
+     * @return Stream of data.
+     */
+    public static <E extends Writer> Iterator<byte[]> writeStream(final Iterator<E> objectStream)
+    {
+        return new Iterator<byte[]>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return objectStream.hasNext();
+            }
+
+            @Override
+            public byte[] next()
+            {
+                return ZserioIO.write(objectStream.next());
+            }
+        };
+    }
+
+    /**
+     * Creates stream which contains only the given data.
+     *
+     * @param data Data to stream.
+     *
+     * @return Stream with one element.
+     */
+    public static Iterator<byte[]> singletonStream(byte[] data)
+    {
+        return Collections.singletonList(data).iterator();
+    }
+
+    /**
+     * Gets the only element of the given stream of data.
+     *
+     * @param dataStream Stream of data which must contain exactly one element.
+     *
+     * @return The only element of the stream.
+     *
+     * @throws ServiceException if the stream does not contain exactly one element.
+     */
+    public static byte[] singleData(Iterator<byte[]> dataStream) throws ZserioError
+    {
+        if (!dataStream.hasNext())
+            throw new ServiceException("ServiceStreams: Stream is empty, exactly one element expected!");
+
+        final byte[] data = dataStream.next();
+        if (dataStream.hasNext())
+            throw new ServiceException("ServiceStreams: Stream contains more than one element!");
+
+        return data;
+    }
+}
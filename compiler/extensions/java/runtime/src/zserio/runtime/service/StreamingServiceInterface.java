@@ -0,0 +1,28 @@
+package zserio.runtime.service;
+
+import java.util.Iterator;
+
+import zserio.runtime.ZserioError;
+
+/** Generic interface for all Zserio services which support streaming methods. */
+public interface StreamingServiceInterface extends ServiceInterface
+{
+    /**
+     * Calls method with the given numeric identifier using streams of requests and responses.
+     *
+     * Requests are consumed and responses are produced lazily, thus the whole stream never needs to be held
+     * in memory. Methods which do not stream requests expect exactly one request in the request stream.
+     * Methods which do not stream responses produce exactly one response.
+     *
+     * @param methodId          Identifier of the service method to call.
+     * @param requestDataStream Stream of request data to be passed to the method.
+     * @param context           Context specific for particular service.
+     *
+     * @return Stream of response data.
+     *
+     * @throws ZserioError if serialization or deserialization fails.
+     * @throws ServiceException if the call fails.
+     */
+    public Iterator<byte[]> callMethodStream(int methodId, Iterator<byte[]> requestDataStream, Object context)
+            throws ZserioError;
+};
@@ -0,0 +1,339 @@
+package zserio.runtime.validation;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel validator used from validation code generated by Zserio.
+ * <p>
+ * Validation of a database is split into tasks. Tables which have rowid are split into several tasks by
+ * ranges of rowids, other tables are validated by one task. Tasks are run by several threads, each thread uses
+ * its own read-only connection to the database. Reports of all tasks are merged into one report in the order
+ * in which the tasks have been added, so the result does not depend on the number of threads.</p>
+ * <p>
+ * If the database is not stored in a file (e.g. in-memory database), the tasks are run one after another
+ * using the original connection.</p>
+ * <p>
+ * Note that the total validation time and the total parameter provider time in the merged report are sums
+ * over all threads.</p>
+ */
+public final class ParallelValidator
+{
+    /**
+     * Validation task.
+     */
+    public static interface Task
+    {
+        /**
+         * Runs the validation task.
+         *
+         * @param connection Database connection to use.
+         * @param monitor    Validation monitor to check for cancellation.
+         *
+         * @return Validation report of the task.
+         *
+         * @throws SQLException Throws in case of any SQLite error.
+         */
+        public ValidationReport validate(Connection connection, ValidationMonitor monitor) throws SQLException;
+    };
+
+    /**
+     * Validation task which validates rows within a range of rowids.
+     */
+    public static interface RowIdRangeTask
+    {
+        /**
+         * Runs the validation task for the given range of rowids.
+         *
+         * @param connection Database connection to use.
+         * @param minRowId   Minimum rowid of the validated rows.
+         * @param maxRowId   Maximum rowid of the validated rows.
+         * @param monitor    Validation monitor to check for cancellation.
+         *
+         * @return Validation report of the task.
+         *
+         * @throws SQLException Throws in case of any SQLite error.
+         */
+        public ValidationReport validate(Connection connection, long minRowId, long maxRowId,
+                ValidationMonitor monitor) throws SQLException;
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param connection      Database connection of the validated database.
+     * @param numberOfThreads Maximum number of threads to use.
+     * @param rowIdRangeSize  Maximum number of rows validated by one task.
+     * @param monitor         Validation monitor or null.
+     *
+     * @throws IllegalArgumentException If the number of threads or the rowid range size is not positive.
+     */
+    public ParallelValidator(Connection connection, int numberOfThreads, int rowIdRangeSize,
+            ValidationMonitor monitor)
+    {
+        if (numberOfThreads <= 0)
+            throw new IllegalArgumentException("ParallelValidator: Number of threads must be positive!");
+        if (rowIdRangeSize <= 0)
+            throw new IllegalArgumentException("ParallelValidator: Rowid range size must be positive!");
+
+        this.connection = connection;
+        this.numberOfThreads = numberOfThreads;
+        this.rowIdRangeSize = rowIdRangeSize;
+        this.monitor = (monitor != null) ? monitor : new ValidationMonitor();
+    }
+
+    /**
+     * Adds already finished validation report, e.g. report of table schema validation.
+     *
+     * @param report Validation report to add.
+     */
+    public void addReport(ValidationReport report)
+    {
+        entries.add(new Entry(null, null, report));
+    }
+
+    /**
+     * Adds validation task.
+     *
+     * @param tableName Name of the table validated by the task.
+     * @param task      Task to add.
+     */
+    public void addTask(String tableName, Task task)
+    {
+        entries.add(new Entry(tableName, task, null));
+    }
+
+    /**
+     * Splits rows of the given table to ranges of rowids and adds one validation task for each range.
+     *
+     * @param attachedDbName Attached database name if table is relocated in different database or null.
+     * @param tableName      Name of the table to validate. The table must have rowid.
+     * @param task           Task which validates one range of rowids.
+     *
+     * @throws SQLException Throws in case of any SQLite error.
+     */
+    public void addRowIdRangeTasks(String attachedDbName, String tableName, final RowIdRangeTask task)
+            throws SQLException
+    {
+        final List<long[]> rowIdRanges = ValidationSqliteUtil.getRowIdRanges(connection, attachedDbName,
+                tableName, rowIdRangeSize);
+        for (final long[] rowIdRange : rowIdRanges)
+        {
+            addTask(tableName, new Task()
+            {
+                @Override
+                public ValidationReport validate(Connection connection, ValidationMonitor monitor)
+                        throws SQLException
+                {
+                    return task.validate(connection, rowIdRange[0], rowIdRange[1], monitor);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs all added tasks and merges their reports.
+     *
+     * @return Merged validation report.
+     *
+     * @throws SQLException Throws in case of any SQLite error.
+     * @throws CancellationException If the validation has been cancelled.
+     */
+    public ValidationReport run() throws SQLException
+    {
+        final List<Entry> taskEntries = new ArrayList<Entry>();
+        for (Entry entry : entries)
+        {
+            if (entry.task != null)
+                taskEntries.add(entry);
+        }
+
+        final List<Connection> workerConnections = new ArrayList<Connection>();
+        try
+        {
+            final int numberOfWorkers = Math.min(numberOfThreads, taskEntries.size());
+            if (numberOfWorkers > 1)
+            {
+                for (int i = 0; i < numberOfWorkers; ++i)
+                {
+                    final Connection workerConnection = ValidationSqliteUtil.openReadOnlyConnection(connection);
+                    if (workerConnection == null)
+                        break;
+                    workerConnections.add(workerConnection);
+                }
+            }
+
+            if (workerConnections.isEmpty())
+                runSequentially(taskEntries);
+            else
+                runInParallel(taskEntries, workerConnections);
+        }
+        finally
+        {
+            for (Connection workerConnection : workerConnections)
+                workerConnection.close();
+        }
+
+        if (monitor.isCancelled())
+            throw new CancellationException("ParallelValidator: Validation has been cancelled!");
+
+        final ValidationReport report = new ValidationReport();
+        for (Entry entry : entries)
+            report.add(entry.report);
+
+        return report;
+    }
+
+    private void runSequentially(List<Entry> taskEntries) throws SQLException
+    {
+        int numberOfCompletedTasks = 0;
+        for (Entry entry : taskEntries)
+        {
+            if (monitor.isCancelled())
+                break;
+
+            entry.report = entry.task.validate(connection, monitor);
+            monitor.taskCompleted(entry.tableName, entry.report, ++numberOfCompletedTasks, taskEntries.size());
+        }
+    }
+
+    private void runInParallel(final List<Entry> taskEntries, List<Connection> workerConnections)
+            throws SQLException
+    {
+        final BlockingQueue<Completion> completions = new LinkedBlockingQueue<Completion>();
+        final AtomicInteger nextTaskIndex = new AtomicInteger(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(workerConnections.size());
+        for (final Connection workerConnection : workerConnections)
+        {
+            executor.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        while (!monitor.isCancelled() && !isFailed)
+                        {
+                            final int taskIndex = nextTaskIndex.getAndIncrement();
+                            if (taskIndex >= taskEntries.size())
+                                break;
+
+                            final Entry entry = taskEntries.get(taskIndex);
+                            final ValidationReport report = entry.task.validate(workerConnection, monitor);
+                            completions.add(new Completion(entry, report, null));
+                        }
+                    }
+                    catch (Throwable exception)
+                    {
+                        completions.add(new Completion(null, null, exception));
+                    }
+                    finally
+                    {
+                        completions.add(new Completion(null, null, null));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        Throwable failure = null;
+        boolean isInterrupted = false;
+        int numberOfFinishedWorkers = 0;
+        int numberOfCompletedTasks = 0;
+        while (numberOfFinishedWorkers < workerConnections.size())
+        {
+            final Completion completion;
+            try
+            {
+                completion = completions.take();
+            }
+            catch (InterruptedException exception)
+            {
+                monitor.cancel();
+                isInterrupted = true;
+                continue;
+            }
+
+            if (completion.failure != null)
+            {
+                if (failure == null)
+                    failure = completion.failure;
+                isFailed = true;
+            }
+            else if (completion.entry != null)
+            {
+                completion.entry.report = completion.report;
+                try
+                {
+                    monitor.taskCompleted(completion.entry.tableName, completion.report,
+                            ++numberOfCompletedTasks, taskEntries.size());
+                }
+                catch (RuntimeException exception)
+                {
+                    if (failure == null)
+                        failure = exception;
+                    isFailed = true;
+                }
+            }
+            else
+            {
+                numberOfFinishedWorkers++;
+            }
+        }
+
+        if (isInterrupted)
+            Thread.currentThread().interrupt();
+
+        if (failure instanceof SQLException)
+            throw (SQLException)failure;
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException)failure;
+        if (failure instanceof Error)
+            throw (Error)failure;
+        if (failure != null)
+            throw new RuntimeException("ParallelValidator: Validation task failed!", failure);
+    }
+
+    private static class Entry
+    {
+        public Entry(String tableName, Task task, ValidationReport report)
+        {
+            this.tableName = tableName;
+            this.task = task;
+            this.report = report;
+        }
+
+        private final String tableName;
+        private final Task task;
+        private ValidationReport report;
+    }
+
+    private static class Completion
+    {
+        public Completion(Entry entry, ValidationReport report, Throwable failure)
+        {
+            this.entry = entry;
+            this.report = report;
+            this.failure = failure;
+        }
+
+        private final Entry entry;
+        private final ValidationReport report;
+        private final Throwable failure;
+    }
+
+    private final Connection connection;
+    private final int numberOfThreads;
+    private final int rowIdRangeSize;
+    private final ValidationMonitor monitor;
+    private final List<Entry> entries = new ArrayList<Entry>();
+    private volatile boolean isFailed = false;
+}
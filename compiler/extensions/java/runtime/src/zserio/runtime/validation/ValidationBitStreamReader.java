@@ -1,6 +1,9 @@
 package zserio.runtime.validation;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import zserio.runtime.io.ByteArrayBitStreamReader;
 
 /**
@@ -15,9 +18,22 @@ import zserio.runtime.io.ByteArrayBitStreamReader;
  * 1. If the bits have been skipped (not read) which can happen using Zserio 'align' command for example.
  * 2. If NaN occurs. NaNs do not have unique binary represantion and they must be normalized to NaNs used by
  *    writer.</p>
+ * <p>
+ * The reader can be reused for several blobs using {@link #reset(byte[])}. The mask buffers are reallocated
+ * only if a longer blob is read.</p>
  */
 public class ValidationBitStreamReader extends ByteArrayBitStreamReader
 {
+    /**
+     * Constructs a new ValidationBitStreamReader without any bytes.
+     * <p>
+     * Bytes to read must be set by {@link #reset(byte[])}.</p>
+     */
+    public ValidationBitStreamReader()
+    {
+        this(new byte[0]);
+    }
+
     /**
      * Constructs a new ValidationBitStreamReader.
      *
@@ -26,12 +42,29 @@ public class ValidationBitStreamReader extends ByteArrayBitStreamReader
     public ValidationBitStreamReader(final byte[] bytes)
     {
         super(bytes);
-        invalidMaskBuffer = new byte[bytes.length];
-        invalidMaskBufferEraser = new MaskBufferEraser(invalidMaskBuffer);
-        invalidMaskBufferSetter = new MaskBufferSetter(invalidMaskBuffer);
+        allocateMaskBuffers(bytes.length);
+    }
 
-        nanMaskBuffer = new byte[bytes.length];
-        nanMaskBufferEraser = new MaskBufferEraser(nanMaskBuffer);
+    /**
+     * Resets the reader to read the given bytes from the beginning.
+     * <p>
+     * The bytes are not copied, so they must not be modified while the reader is used.</p>
+     *
+     * @param bytes Array of bytes to read.
+     */
+    @Override
+    public void reset(final byte[] bytes)
+    {
+        super.reset(bytes);
+        if (bytes.length > invalidMaskBuffer.length)
+        {
+            allocateMaskBuffers(bytes.length);
+        }
+        else
+        {
+            Arrays.fill(invalidMaskBuffer, 0, bytes.length, (byte)0);
+            Arrays.fill(nanMaskBuffer, 0, bytes.length, (byte)0);
+        }
     }
 
     /**
@@ -43,24 +76,54 @@ public class ValidationBitStreamReader extends ByteArrayBitStreamReader
      */
     public byte[] toMaskedByteArray()
     {
-        final byte[] maskedByteArray = new byte[invalidMaskBuffer.length];
+        final byte[] maskedByteArray = new byte[getBuffer().length];
         final int endBytePosition = getBytePosition();
-        for (int i = 0; i < endBytePosition; ++i)
-            maskedByteArray[i] = (byte)(getBuffer()[i] & ~invalidMaskBuffer[i] | nanMaskBuffer[i]);
+        for (int i = 0; i <= endBytePosition && i < maskedByteArray.length; ++i)
+            maskedByteArray[i] = getMaskedByte(i);
 
-        final int endBitOffset = getBitOffset();
-        if (endBitOffset > 0)
+        return maskedByteArray;
+    }
+
+    /**
+     * Finds the first byte in which the masked read byte array differs from the given bytes.
+     * <p>
+     * This gives the same result as comparing of {@link #toMaskedByteArray()} with the given bytes but
+     * the comparison is done in place without any copying. Full bytes are compared word-at-a-time.</p>
+     *
+     * @param bytes  Bytes to compare with.
+     * @param length Number of bytes from the beginning of the given array to compare with.
+     *
+     * @return Position of the first differing byte or -1 if the masked read byte array is equal to the given
+     *         bytes. If one array is a prefix of the other one, the length of the shorter one is returned.
+     */
+    public int findMaskedMismatch(final byte[] bytes, final int length)
+    {
+        final byte[] buffer = getBuffer();
+        final int compareLength = Math.min(buffer.length, length);
+        final int endWordPosition = Math.min(getBytePosition(), compareLength) - WORD_SIZE;
+
+        int position = 0;
+        if (endWordPosition >= 0)
         {
-            // endBitOffset |  1   |  2   |  3   |  4   |  5   |  6   |  7   |
-            // -------------|------|------|------|------|------|------|------|
-            // mask         | 0x7F | 0x3F | 0x1F | 0x0F | 0x07 | 0x03 | 0x01 |
-            final int mask = (1 << (8 - endBitOffset)) - 1;
-            final int invalidMask = invalidMaskBuffer[endBytePosition] | mask;
-            maskedByteArray[endBytePosition] = (byte)(getBuffer()[endBytePosition] & ~invalidMask |
-                    nanMaskBuffer[endBytePosition]);
+            final ByteBuffer bufferWords = ByteBuffer.wrap(buffer);
+            final ByteBuffer bytesWords = ByteBuffer.wrap(bytes);
+            for (; position <= endWordPosition; position += WORD_SIZE)
+            {
+                final long maskedWord = bufferWords.getLong(position) & ~invalidMaskWords.getLong(position) |
+                        nanMaskWords.getLong(position);
+                final long difference = maskedWord ^ bytesWords.getLong(position);
+                if (difference != 0)
+                    return position + Long.numberOfLeadingZeros(difference) / 8;
+            }
         }
 
-        return maskedByteArray;
+        for (; position < compareLength; ++position)
+        {
+            if (getMaskedByte(position) != bytes[position])
+                return position;
+        }
+
+        return (buffer.length != length) ? compareLength : -1;
     }
 
     @Override
@@ -74,7 +137,7 @@ public class ValidationBitStreamReader extends ByteArrayBitStreamReader
         final int endBytePosition = getBytePosition();
         final int endBitOffset = getBitOffset();
         final int requieredBufferLength = endBytePosition + ((endBitOffset != 0) ? 1 : 0);
-        if (requieredBufferLength > invalidMaskBuffer.length)
+        if (requieredBufferLength > getBuffer().length)
             throw new IOException("ValidationBitStreamReader: Unable to set bit position to " + bitPosition +
                     ". It is beyond end of stream.");
 
@@ -113,6 +176,38 @@ public class ValidationBitStreamReader extends ByteArrayBitStreamReader
         return readFloat;
     }
 
+    private byte getMaskedByte(int bytePosition)
+    {
+        final int endBytePosition = getBytePosition();
+        if (bytePosition < endBytePosition)
+            return (byte)(getBuffer()[bytePosition] & ~invalidMaskBuffer[bytePosition] |
+                    nanMaskBuffer[bytePosition]);
+
+        final int endBitOffset = getBitOffset();
+        if (bytePosition > endBytePosition || endBitOffset == 0)
+            return 0;
+
+        // endBitOffset |  1   |  2   |  3   |  4   |  5   |  6   |  7   |
+        // -------------|------|------|------|------|------|------|------|
+        // mask         | 0x7F | 0x3F | 0x1F | 0x0F | 0x07 | 0x03 | 0x01 |
+        final int mask = (1 << (8 - endBitOffset)) - 1;
+        final int invalidMask = invalidMaskBuffer[bytePosition] | mask;
+
+        return (byte)(getBuffer()[bytePosition] & ~invalidMask | nanMaskBuffer[bytePosition]);
+    }
+
+    private void allocateMaskBuffers(int capacity)
+    {
+        invalidMaskBuffer = new byte[capacity];
+        invalidMaskWords = ByteBuffer.wrap(invalidMaskBuffer);
+        invalidMaskBufferEraser = new MaskBufferEraser(invalidMaskBuffer);
+        invalidMaskBufferSetter = new MaskBufferSetter(invalidMaskBuffer);
+
+        nanMaskBuffer = new byte[capacity];
+        nanMaskWords = ByteBuffer.wrap(nanMaskBuffer);
+        nanMaskBufferEraser = new MaskBufferEraser(nanMaskBuffer);
+    }
+
     private void modifyMaskBuffer(int startBytePosition, int startBitOffset, int endBytePosition,
             int endBitOffset, MaskBufferAction action) throws IOException
     {
@@ -195,10 +290,14 @@ public class ValidationBitStreamReader extends ByteArrayBitStreamReader
         private final byte[] maskBuffer;
     }
 
-    private final byte[]            invalidMaskBuffer;
-    private final MaskBufferEraser  invalidMaskBufferEraser;
-    private final MaskBufferSetter  invalidMaskBufferSetter;
+    private static final int WORD_SIZE = 8;
+
+    private byte[]                  invalidMaskBuffer;
+    private ByteBuffer              invalidMaskWords;
+    private MaskBufferEraser        invalidMaskBufferEraser;
+    private MaskBufferSetter        invalidMaskBufferSetter;
 
-    private final byte[]            nanMaskBuffer;
-    private final MaskBufferEraser  nanMaskBufferEraser;
+    private byte[]                  nanMaskBuffer;
+    private ByteBuffer              nanMaskWords;
+    private MaskBufferEraser        nanMaskBufferEraser;
 }
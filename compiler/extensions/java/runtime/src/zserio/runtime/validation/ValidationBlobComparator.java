@@ -0,0 +1,128 @@
+package zserio.runtime.validation;
+
+import java.io.IOException;
+
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+/**
+ * Blob comparator used in validate() method generated by Zserio.
+ * <p>
+ * The comparator holds the validation reader and the writer which are reused for all blobs validated in one
+ * thread, so the validation does not allocate any buffers per blob. The read blob is compared in place with
+ * the written blob and only the first difference is reported.</p>
+ * <p>
+ * Typical usage:</p>
+ * <pre>
+ * final ValidationBlobComparator comparator = ValidationBlobComparator.get();
+ * final ValidationBitStreamReader reader = comparator.getReader(blobData);
+ * // read the blob from the reader
+ * blob.write(comparator.getWriter());
+ * final String failure = comparator.compare();
+ * </pre>
+ * <p>
+ * The buffers are kept for the lifetime of the thread, so they are as large as the largest blob validated
+ * by the thread.</p>
+ */
+public final class ValidationBlobComparator
+{
+    /**
+     * Gets the blob comparator of the current thread.
+     *
+     * @return Blob comparator which can be used only by the current thread.
+     */
+    public static ValidationBlobComparator get()
+    {
+        return threadComparator.get();
+    }
+
+    /**
+     * Resets the reader to read the given blob data from the beginning.
+     * <p>
+     * The blob data are not copied, so they must not be modified during the validation.</p>
+     *
+     * @param blobData Blob data read from the database.
+     *
+     * @return Validation reader which reads the given blob data.
+     */
+    public ValidationBitStreamReader getReader(byte[] blobData)
+    {
+        reader.reset(blobData);
+
+        return reader;
+    }
+
+    /**
+     * Resets the writer to write from the beginning.
+     *
+     * @return Writer which should be used to write the read blob.
+     */
+    public ByteArrayBitStreamWriter getWriter()
+    {
+        writer.reset();
+
+        return writer;
+    }
+
+    /**
+     * Compares the blob data read by the reader with the blob data written by the writer.
+     * <p>
+     * Bits which have not been used for reading are ignored and NaNs are normalized.</p>
+     *
+     * @return Description of the first difference or null if the blob data are equal.
+     */
+    public String compare()
+    {
+        final int writtenLength = writer.flushBuffer();
+        final int readLength = (int)(reader.getBufferBitSize() / 8);
+        if (readLength != writtenLength)
+            return "Blob binary compare failed because of length (" + readLength + " != " + writtenLength + ")";
+
+        final int mismatchPosition = reader.findMaskedMismatch(writer.getWrittenBuffer(), writtenLength);
+        if (mismatchPosition != -1)
+            return "Blob binary compare failed at byte position " + mismatchPosition;
+
+        return null;
+    }
+
+    private ValidationBlobComparator()
+    {
+    }
+
+    private static class ReusableBitStreamWriter extends ByteArrayBitStreamWriter
+    {
+        public void reset()
+        {
+            bytePosition = 0;
+            bitOffset = 0;
+        }
+
+        public int flushBuffer()
+        {
+            if (bitOffset == 0)
+                return bytePosition;
+
+            // set unused bits of the last byte to zero as toByteArray() does, but without copying
+            buffer[bytePosition] &= (byte)(0xFF << (8 - bitOffset));
+
+            return bytePosition + 1;
+        }
+
+        public byte[] getWrittenBuffer()
+        {
+            return buffer;
+        }
+    }
+
+    private static final ThreadLocal<ValidationBlobComparator> threadComparator =
+            new ThreadLocal<ValidationBlobComparator>()
+            {
+                @Override
+                protected ValidationBlobComparator initialValue()
+                {
+                    return new ValidationBlobComparator();
+                }
+            };
+
+    private final ValidationBitStreamReader reader = new ValidationBitStreamReader();
+    private final ReusableBitStreamWriter writer = new ReusableBitStreamWriter();
+}
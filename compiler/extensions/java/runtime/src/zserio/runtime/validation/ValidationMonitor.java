@@ -0,0 +1,77 @@
+package zserio.runtime.validation;
+
+/**
+ * Monitor of parallel validation of SQL databases generated by Zserio.
+ * <p>
+ * The monitor reports progress of the validation to the optional listener and allows to cancel the validation
+ * from any thread.</p>
+ */
+public class ValidationMonitor
+{
+    /**
+     * Listener which is notified about progress of the validation.
+     */
+    public static interface ProgressListener
+    {
+        /**
+         * Called when one validation task has been completed.
+         * <p>
+         * The listener is called from the thread which runs the validation, never concurrently.</p>
+         *
+         * @param tableName              Name of the table validated by the task.
+         * @param report                 Validation report of the task.
+         * @param numberOfCompletedTasks Number of tasks completed so far.
+         * @param numberOfTasks          Total number of tasks.
+         */
+        public void onTaskCompleted(String tableName, ValidationReport report, int numberOfCompletedTasks,
+                int numberOfTasks);
+    };
+
+    /**
+     * Constructs a monitor without progress listener.
+     */
+    public ValidationMonitor()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs a monitor with the given progress listener.
+     *
+     * @param progressListener Progress listener or null.
+     */
+    public ValidationMonitor(ProgressListener progressListener)
+    {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Cancels the validation.
+     * <p>
+     * Running tasks stop at the next row and no other task is started.</p>
+     */
+    public void cancel()
+    {
+        isCancelled = true;
+    }
+
+    /**
+     * Checks whether the validation has been cancelled.
+     *
+     * @return True if the validation has been cancelled, false otherwise.
+     */
+    public boolean isCancelled()
+    {
+        return isCancelled;
+    }
+
+    void taskCompleted(String tableName, ValidationReport report, int numberOfCompletedTasks,
+            int numberOfTasks)
+    {
+        if (progressListener != null)
+            progressListener.onTaskCompleted(tableName, report, numberOfCompletedTasks, numberOfTasks);
+    }
+
+    private final ProgressListener progressListener;
+    private volatile boolean isCancelled = false;
+}
@@ -1,11 +1,16 @@
 package zserio.runtime.validation;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * Contains SQL utilities need for validation code generated by Zserio.
@@ -166,4 +171,148 @@ public class ValidationSqliteUtil
             return false;
         }
     }
+
+    /**
+     * Splits rows of given SQLite table to ranges of rowids.
+     * <p>
+     * Only the minimum and maximum rowid are read from the table, which uses the rowid index instead of the
+     * scan of the whole table. The interval between them is split to ranges of at most the given number of
+     * rowids, thus each range contains at most the given number of rows. Ranges can be empty if rowids are
+     * sparse. If the interval is so wide that it would be split to more than {@link #MAX_NUM_ROWID_RANGES}
+     * ranges, the ranges are widened equally. Ranges are inclusive, sorted by rowid and they cover
+     * the whole interval.</p>
+     *
+     * @param connection     Database connection to use.
+     * @param attachedDbName Attached database name if table is relocated in different database or null.
+     * @param tableName      Name of the table to split. The table must have rowid.
+     * @param rangeSize      Maximum number of rowids in one range.
+     *
+     * @return List of rowid ranges, each as an array of minimum and maximum rowid.
+     *
+     * @throws SQLException Throws in case of any SQLite error.
+     */
+    public static List<long[]> getRowIdRanges(Connection connection, String attachedDbName, String tableName,
+            int rangeSize) throws SQLException
+    {
+        final List<long[]> rowIdRanges = new ArrayList<long[]>();
+
+        // prepare SQL query
+        final StringBuilder sqlQuery = new StringBuilder("SELECT MIN(rowid), MAX(rowid) FROM ");
+        if (attachedDbName != null)
+        {
+            sqlQuery.append(attachedDbName);
+            sqlQuery.append('.');
+        }
+        sqlQuery.append(tableName);
+
+        final long minRowId;
+        final long maxRowId;
+        final PreparedStatement statement = connection.prepareStatement(sqlQuery.toString());
+        try
+        {
+            final ResultSet resultSet = statement.executeQuery();
+            if (!resultSet.next())
+                return rowIdRanges;
+            minRowId = resultSet.getLong(1);
+            if (resultSet.wasNull())
+                return rowIdRanges; // empty table
+            maxRowId = resultSet.getLong(2);
+        }
+        finally
+        {
+            statement.close();
+        }
+
+        // the interval can be wider than the maximum long, thus unsigned arithmetic is used
+        final long intervalSizeMinusOne = maxRowId - minRowId;
+        long step = rangeSize;
+        if (Long.compareUnsigned(Long.divideUnsigned(intervalSizeMinusOne, step), MAX_NUM_ROWID_RANGES) >= 0)
+            step = Long.divideUnsigned(intervalSizeMinusOne, MAX_NUM_ROWID_RANGES) + 1;
+
+        for (long rangeStart = minRowId; ; rangeStart += step)
+        {
+            if (Long.compareUnsigned(maxRowId - rangeStart, step) < 0)
+            {
+                rowIdRanges.add(new long[] {rangeStart, maxRowId});
+                break;
+            }
+            rowIdRanges.add(new long[] {rangeStart, rangeStart + step - 1});
+        }
+
+        return rowIdRanges;
+    }
+
+    /**
+     * Opens new read-only connection to the same database as the given connection.
+     * <p>
+     * All databases attached to the given connection are attached to the new connection using the same
+     * names.</p>
+     *
+     * @param connection Database connection to reopen.
+     *
+     * @return New database connection or null if the main database is not stored in a file.
+     *
+     * @throws SQLException Throws in case of any SQLite error.
+     */
+    public static Connection openReadOnlyConnection(Connection connection) throws SQLException
+    {
+        final Map<String, String> attachedDbFileNames = new HashMap<String, String>();
+        String mainDbFileName = null;
+        final Statement statement = connection.createStatement();
+        try
+        {
+            final ResultSet resultSet = statement.executeQuery("PRAGMA database_list");
+            while (resultSet.next())
+            {
+                final String dbName = resultSet.getString(2);
+                final String dbFileName = resultSet.getString(3);
+                if (dbName.equals("main"))
+                    mainDbFileName = dbFileName;
+                else if (!dbName.equals("temp") && dbFileName != null && !dbFileName.isEmpty())
+                    attachedDbFileNames.put(dbName, dbFileName);
+            }
+        }
+        finally
+        {
+            statement.close();
+        }
+
+        if (mainDbFileName == null || mainDbFileName.isEmpty())
+            return null;
+
+        final Properties connectionProps = new Properties();
+        connectionProps.setProperty("flags", "READONLY");
+        connectionProps.setProperty("open_mode", SQLITE_OPEN_READONLY);
+        final Connection readOnlyConnection = DriverManager.getConnection("jdbc:sqlite:" + mainDbFileName,
+                connectionProps);
+        try
+        {
+            final Statement attachStatement = readOnlyConnection.createStatement();
+            try
+            {
+                for (Map.Entry<String, String> entry : attachedDbFileNames.entrySet())
+                {
+                    attachStatement.executeUpdate("ATTACH DATABASE '" + entry.getValue().replace("'", "''") +
+                            "' AS " + entry.getKey());
+                }
+            }
+            finally
+            {
+                attachStatement.close();
+            }
+        }
+        catch (SQLException exception)
+        {
+            readOnlyConnection.close();
+            throw exception;
+        }
+
+        return readOnlyConnection;
+    }
+
+    /** Maximum number of rowid ranges created by {@link #getRowIdRanges}. */
+    public static final int MAX_NUM_ROWID_RANGES = 1024;
+
+    // open mode of the JDBC driver which really opens the database read-only
+    private static final String SQLITE_OPEN_READONLY = "1";
 }
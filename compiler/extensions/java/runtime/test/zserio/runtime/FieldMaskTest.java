@@ -0,0 +1,61 @@
+package zserio.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FieldMaskTest
+{
+    @Test
+    public void contains()
+    {
+        final FieldMask fieldMask = FieldMask.of(0, 3, 64, 130);
+        assertTrue(fieldMask.contains(0));
+        assertFalse(fieldMask.contains(1));
+        assertTrue(fieldMask.contains(3));
+        assertTrue(fieldMask.contains(64));
+        assertFalse(fieldMask.contains(65));
+        assertTrue(fieldMask.contains(130));
+        assertFalse(fieldMask.contains(1000));
+        assertFalse(fieldMask.contains(-1));
+    }
+
+    @Test
+    public void empty()
+    {
+        final FieldMask fieldMask = FieldMask.of();
+        assertFalse(fieldMask.contains(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeFieldIndex()
+    {
+        FieldMask.of(1, -2);
+    }
+
+    @Test
+    public void union()
+    {
+        final FieldMask fieldMask = FieldMask.of(1).union(FieldMask.of(2, 100));
+        assertTrue(fieldMask.contains(1));
+        assertTrue(fieldMask.contains(2));
+        assertTrue(fieldMask.contains(100));
+        assertFalse(fieldMask.contains(3));
+    }
+
+    @Test
+    public void equalsAndHashCode()
+    {
+        final FieldMask fieldMask1 = FieldMask.of(5, 70);
+        final FieldMask fieldMask2 = FieldMask.of(70).union(FieldMask.of(5, 5));
+        assertTrue(fieldMask1.equals(fieldMask2));
+        assertEquals(fieldMask1.hashCode(), fieldMask2.hashCode());
+
+        assertFalse(fieldMask1.equals(FieldMask.of(5)));
+        assertFalse(fieldMask1.equals(FieldMask.of(5, 70, 200)));
+        assertFalse(FieldMask.of(5).equals(fieldMask1));
+        assertTrue(FieldMask.of().equals(FieldMask.of()));
+    }
+}
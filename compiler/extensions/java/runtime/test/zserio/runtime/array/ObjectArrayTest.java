@@ -2,9 +2,12 @@ package zserio.runtime.array;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -12,6 +15,10 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.BitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+
 public class ObjectArrayTest
 {
     @Before
@@ -179,5 +186,66 @@ public class ObjectArrayTest
         assertEquals(63, tmpArray.hashCode());
     }
 
+    @Test
+    public void testReadInto() throws IOException
+    {
+        final byte[] buffer = new byte[] {1, 2, 3};
+        final ObjectArray<WriterImplementer> array = new ObjectArray<WriterImplementer>(
+                new ByteArrayBitStreamReader(buffer), 2, new Factory());
+        final WriterImplementer firstElement = array.elementAt(0);
+
+        array.readInto(new ByteArrayBitStreamReader(buffer), 3, new Factory(), null);
+        assertEquals(3, array.length());
+        assertNotSame(firstElement, array.elementAt(0));
+        assertEquals(new WriterImplementer(3), array.elementAt(2));
+
+        array.readInto(new ByteArrayBitStreamReader(buffer), 1, new Factory(), null);
+        assertEquals(1, array.length());
+        assertEquals(new WriterImplementer(1), array.elementAt(0));
+    }
+
+    @Test
+    public void testReadIntoReusable() throws IOException
+    {
+        final byte[] buffer = new byte[] {1, 2, 3};
+        final ObjectArray<WriterImplementer> array = new ObjectArray<WriterImplementer>(
+                new ByteArrayBitStreamReader(buffer), 2, new ReusableFactory());
+        final WriterImplementer firstElement = array.elementAt(0);
+        final WriterImplementer secondElement = array.elementAt(1);
+
+        array.readInto(new ByteArrayBitStreamReader(buffer), 3, new ReusableFactory(), null);
+        assertEquals(3, array.length());
+        assertSame(firstElement, array.elementAt(0));
+        assertSame(secondElement, array.elementAt(1));
+        assertEquals(new WriterImplementer(3), array.elementAt(2));
+    }
+
+    @Test(expected = ZserioError.class)
+    public void testReadIntoImplicit() throws IOException
+    {
+        objectArray.readInto(new ByteArrayBitStreamReader(new byte[] {1}), Array.IMPLICIT_LENGTH,
+                new Factory(), null);
+    }
+
+    private static class Factory implements ElementFactory<WriterImplementer>
+    {
+        @Override
+        public WriterImplementer create(BitStreamReader reader, int index) throws IOException
+        {
+            return new WriterImplementer((int)reader.readBits(8));
+        }
+    }
+
+    private static class ReusableFactory extends Factory implements ReusableElementFactory<WriterImplementer>
+    {
+        @Override
+        public WriterImplementer readInto(BitStreamReader reader, int index, WriterImplementer element)
+                throws IOException
+        {
+            reader.readBits(8);
+            return element;
+        }
+    }
+
     private ObjectArray<WriterImplementer> objectArray;
 }
@@ -1,6 +1,8 @@
 package zserio.runtime.array;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -40,6 +42,30 @@ public class ShortArrayTest extends NumericArrayTestBase
         assertEquals(18, array.elementAt(0));
     }
 
+    @Test
+    public void readInto() throws IOException
+    {
+        final ByteArrayBitStreamWriter out = new ByteArrayBitStreamWriter();
+        for (short value = 0; value < 5; ++value)
+            out.writeShort(value);
+        out.close();
+
+        final ShortArray array = new ShortArray(new ByteArrayBitStreamReader(out.toByteArray()), 2, NUM_BITS);
+        final short[] storage = array.data;
+
+        final ByteArrayBitStreamReader in = new ByteArrayBitStreamReader(out.toByteArray());
+        in.setBitPosition(NUM_BITS);
+        array.readInto(in, 2, NUM_BITS, null);
+        assertSame(storage, array.data);
+        assertEquals(1, array.elementAt(0));
+        assertEquals(2, array.elementAt(1));
+
+        array.readInto(new ByteArrayBitStreamReader(out.toByteArray()), 4, NUM_BITS, null);
+        assertNotSame(storage, array.data);
+        assertEquals(4, array.length());
+        assertEquals(3, array.elementAt(3));
+    }
+
     @Test
     public void write() throws IOException
     {
@@ -0,0 +1,115 @@
+package zserio.runtime.io;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import zserio.runtime.BitSizeOfCalculator;
+
+public class BitStreamSkipperTest
+{
+    @Test
+    public void skipBits() throws IOException
+    {
+        final BitStreamReader reader = new ByteArrayBitStreamReader(new byte[] {0x00, 0x0F});
+        BitStreamSkipper.skipBits(reader, 12);
+        assertEquals(12, reader.getBitPosition());
+        assertEquals(0x0F, reader.readBits(4));
+    }
+
+    @Test(expected = IOException.class)
+    public void skipBitsBeyondEnd() throws IOException
+    {
+        final BitStreamReader reader = new ByteArrayBitStreamReader(new byte[] {0x00, 0x0F});
+        BitStreamSkipper.skipBits(reader, 17);
+    }
+
+    @Test
+    public void skipFixedSizeTypes() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeBool(true);
+        writer.writeByte((byte)-1);
+        writer.writeUnsignedShort(0xFFFF);
+        writer.writeInt(-1);
+        writer.writeLong(-1);
+        writer.writeFloat16(1.0f);
+        writer.writeFloat64(1.0);
+        writer.writeBits(0xA, 4);
+        writer.close();
+
+        final BitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+        BitStreamSkipper.skipBool(reader);
+        BitStreamSkipper.skipByte(reader);
+        BitStreamSkipper.skipUnsignedShort(reader);
+        BitStreamSkipper.skipInt(reader);
+        BitStreamSkipper.skipLong(reader);
+        BitStreamSkipper.skipFloat16(reader);
+        BitStreamSkipper.skipFloat64(reader);
+        assertEquals(0xA, reader.readBits(4));
+    }
+
+    @Test
+    public void skipString() throws IOException
+    {
+        final String value = "Skipped string";
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeString(value);
+        writer.writeBits(0x5, 3);
+        writer.close();
+
+        final BitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+        BitStreamSkipper.skipString(reader);
+        assertEquals(BitSizeOfCalculator.getBitSizeOfString(value), reader.getBitPosition());
+        assertEquals(0x5, reader.readBits(3));
+    }
+
+    @Test
+    public void skipBitBuffer() throws IOException
+    {
+        final BitBuffer value = new BitBuffer(new byte[] {(byte)0xAB, (byte)0xC0}, 11);
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeBitBuffer(value);
+        writer.writeBits(0x5, 3);
+        writer.close();
+
+        final BitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+        BitStreamSkipper.skipBitBuffer(reader);
+        assertEquals(BitSizeOfCalculator.getBitSizeOfBitBuffer(value), reader.getBitPosition());
+        assertEquals(0x5, reader.readBits(3));
+    }
+
+    @Test
+    public void skipVarTypes() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeVarInt16((short)-1000);
+        writer.writeVarInt32(100000);
+        writer.writeVarInt64(-10000000000L);
+        writer.writeVarInt(Long.MIN_VALUE);
+        writer.writeVarUInt16((short)1000);
+        writer.writeVarUInt32(100000);
+        writer.writeVarUInt64(10000000000L);
+        writer.writeVarUInt(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+        writer.writeVarUInt(BigInteger.valueOf(127));
+        writer.writeVarSize(1000);
+        writer.writeBits(0x5, 3);
+        writer.close();
+
+        final BitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+        BitStreamSkipper.skipVarInt16(reader);
+        BitStreamSkipper.skipVarInt32(reader);
+        BitStreamSkipper.skipVarInt64(reader);
+        BitStreamSkipper.skipVarInt(reader);
+        BitStreamSkipper.skipVarUInt16(reader);
+        BitStreamSkipper.skipVarUInt32(reader);
+        BitStreamSkipper.skipVarUInt64(reader);
+        BitStreamSkipper.skipVarUInt(reader);
+        assertEquals(BigInteger.valueOf(127), reader.readVarUInt());
+        BitStreamSkipper.skipVarSize(reader);
+        assertEquals(0x5, reader.readBits(3));
+    }
+}
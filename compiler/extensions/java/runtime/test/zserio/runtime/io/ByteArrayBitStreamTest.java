@@ -405,6 +405,43 @@ public class ByteArrayBitStreamTest
         testImpl(writeMethod, readMethod, values, 7);
     }
 
+    @Test
+    public void bytes() throws IOException
+    {
+        final byte[] values = new byte[] {(byte)0x00, (byte)0xAB, (byte)0xFF, (byte)0x7F};
+        for (int bitPosition = 0; bitPosition < 8; ++bitPosition)
+        {
+            final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+            if (bitPosition > 0)
+                writer.writeBits(0, bitPosition);
+            writer.writeBytes(values);
+            writer.writeBytes(new byte[0]);
+            writer.close();
+
+            final ByteArrayBitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+            if (bitPosition > 0)
+                reader.readBits(bitPosition);
+            assertArrayEquals(values, reader.readBytes(values.length));
+            assertArrayEquals(new byte[0], reader.readBytes(0));
+            reader.close();
+        }
+    }
+
+    @Test(expected=IOException.class)
+    public void readBytesOverflow() throws IOException
+    {
+        final ByteArrayBitStreamReader reader = new ByteArrayBitStreamReader(new byte[] {0x01, 0x02});
+        reader.readBits(1);
+        reader.readBytes(2);
+    }
+
+    @Test(expected=IOException.class)
+    public void readBytesHugeLength() throws IOException
+    {
+        final ByteArrayBitStreamReader reader = new ByteArrayBitStreamReader(new byte[] {0x01, 0x02});
+        reader.readBytes(Integer.MAX_VALUE);
+    }
+
     @Test
     public void bool() throws Exception
     {
@@ -0,0 +1,85 @@
+package zserio.runtime.io;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class DirectBitReaderTest
+{
+    @Test
+    public void readBits()
+    {
+        final byte[] buffer = new byte[] {(byte)0xA5, 0x0F};
+        assertEquals(0x0A, DirectBitReader.readBits(buffer, 0, 4));
+        assertEquals(0x50, DirectBitReader.readBits(buffer, 4, 8));
+        assertEquals(0xA50F, DirectBitReader.readBits(buffer, 0, 16));
+        assertEquals(0, DirectBitReader.readBits(buffer, 3, 0));
+    }
+
+    @Test
+    public void readSignedBits()
+    {
+        final byte[] buffer = new byte[] {(byte)0xF0};
+        assertEquals(-1, DirectBitReader.readSignedBits(buffer, 0, 4));
+        assertEquals(-2, DirectBitReader.readSignedBits(buffer, 2, 3));
+        assertEquals(0, DirectBitReader.readSignedBits(buffer, 4, 4));
+    }
+
+    @Test
+    public void readUnalignedTypes() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeBits(0x5, 3);
+        writer.writeByte((byte)-100);
+        writer.writeUnsignedByte((short)200);
+        writer.writeShort((short)-30000);
+        writer.writeUnsignedShort(60000);
+        writer.writeInt(-2000000000);
+        writer.writeUnsignedInt(4000000000L);
+        writer.writeLong(Long.MIN_VALUE + 1);
+        writer.writeBigInteger(UINT64_MAX, 64);
+        writer.writeFloat16(-1.5f);
+        writer.writeFloat32(3.25f);
+        writer.writeFloat64(-1e100);
+        writer.writeBool(true);
+        writer.close();
+        final byte[] buffer = writer.toByteArray();
+
+        long bitPosition = 3;
+        assertEquals(-100, DirectBitReader.readByte(buffer, bitPosition));
+        bitPosition += 8;
+        assertEquals(200, DirectBitReader.readUnsignedByte(buffer, bitPosition));
+        bitPosition += 8;
+        assertEquals(-30000, DirectBitReader.readShort(buffer, bitPosition));
+        bitPosition += 16;
+        assertEquals(60000, DirectBitReader.readUnsignedShort(buffer, bitPosition));
+        bitPosition += 16;
+        assertEquals(-2000000000, DirectBitReader.readInt(buffer, bitPosition));
+        bitPosition += 32;
+        assertEquals(4000000000L, DirectBitReader.readUnsignedInt(buffer, bitPosition));
+        bitPosition += 32;
+        assertEquals(Long.MIN_VALUE + 1, DirectBitReader.readLong(buffer, bitPosition));
+        bitPosition += 64;
+        assertEquals(UINT64_MAX, DirectBitReader.readBigInteger(buffer, bitPosition, 64));
+        bitPosition += 64;
+        assertEquals(-1.5f, DirectBitReader.readFloat16(buffer, bitPosition), 0.0f);
+        bitPosition += 16;
+        assertEquals(3.25f, DirectBitReader.readFloat32(buffer, bitPosition), 0.0f);
+        bitPosition += 32;
+        assertEquals(-1e100, DirectBitReader.readFloat64(buffer, bitPosition), 0.0);
+        bitPosition += 64;
+        assertTrue(DirectBitReader.readBool(buffer, bitPosition));
+    }
+
+    @Test
+    public void readBigInteger()
+    {
+        final byte[] buffer = new byte[] {0x00, 0x01};
+        assertEquals(BigInteger.ONE, DirectBitReader.readBigInteger(buffer, 0, 16));
+    }
+
+    private static final BigInteger UINT64_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+}
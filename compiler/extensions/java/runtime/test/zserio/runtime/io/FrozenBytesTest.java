@@ -0,0 +1,40 @@
+package zserio.runtime.io;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class FrozenBytesTest
+{
+    @Test
+    public void toByteArray()
+    {
+        final byte[] bytes = new byte[] {0x01, 0x02};
+        final FrozenBytes frozenBytes = new FrozenBytes(bytes);
+        final byte[] copy = frozenBytes.toByteArray();
+        assertArrayEquals(bytes, copy);
+        assertNotSame(bytes, copy);
+
+        copy[0] = 0x7F;
+        assertEquals(0x01, frozenBytes.toByteArray()[0]);
+    }
+
+    @Test
+    public void getBytes()
+    {
+        final byte[] bytes = new byte[] {0x01, 0x02};
+        assertSame(bytes, new FrozenBytes(bytes).getBytes());
+    }
+
+    @Test
+    public void equalsAndHashCode()
+    {
+        final FrozenBytes frozenBytes1 = new FrozenBytes(new byte[] {0x01, 0x02});
+        final FrozenBytes frozenBytes2 = new FrozenBytes(new byte[] {0x01, 0x02});
+        final FrozenBytes frozenBytes3 = new FrozenBytes(new byte[] {0x01});
+        assertEquals(frozenBytes1, frozenBytes2);
+        assertEquals(frozenBytes1.hashCode(), frozenBytes2.hashCode());
+        assertFalse(frozenBytes1.equals(frozenBytes3));
+        assertFalse(frozenBytes1.equals(null));
+    }
+}
@@ -0,0 +1,374 @@
+package zserio.runtime.pubsub;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class PubsubBrokerTest
+{
+    @Test
+    public void matches()
+    {
+        assertTrue(PubsubBroker.matches("a/b", "a/b"));
+        assertFalse(PubsubBroker.matches("a/b", "a/c"));
+        assertFalse(PubsubBroker.matches("a/b", "a/b/c"));
+        assertTrue(PubsubBroker.matches("a/+", "a/b"));
+        assertFalse(PubsubBroker.matches("a/+", "a"));
+        assertFalse(PubsubBroker.matches("a/+", "a/b/c"));
+        assertTrue(PubsubBroker.matches("+/+/c", "a/b/c"));
+        assertTrue(PubsubBroker.matches("a/#", "a"));
+        assertTrue(PubsubBroker.matches("a/#", "a/b/c"));
+        assertFalse(PubsubBroker.matches("a/#", "b/c"));
+        assertTrue(PubsubBroker.matches("#", "a/b"));
+    }
+
+    @Test(expected=PubsubException.class)
+    public void invalidMultiLevelWildcard()
+    {
+        PubsubBroker.matches("a/#/b", "a/c/b");
+    }
+
+    @Test(expected=PubsubException.class)
+    public void invalidPartialWildcard()
+    {
+        final PubsubBroker broker = new PubsubBroker(DIRECT_EXECUTOR);
+        broker.subscribe("a/b+", new CollectingCallback(), null);
+    }
+
+    @Test
+    public void wildcardRouting()
+    {
+        final PubsubBroker broker = new PubsubBroker(DIRECT_EXECUTOR);
+        final CollectingCallback exact = new CollectingCallback();
+        final CollectingCallback singleLevel = new CollectingCallback();
+        final CollectingCallback multiLevel = new CollectingCallback();
+        broker.subscribe("sensors/front/temperature", exact, null);
+        broker.subscribe("sensors/+/temperature", singleLevel, null);
+        broker.subscribe("sensors/#", multiLevel, null);
+
+        broker.publish("sensors/front/temperature", new byte[] {1}, null);
+        broker.publish("sensors/rear/temperature", new byte[] {2}, null);
+        broker.publish("sensors/rear/pressure", new byte[] {3}, null);
+        broker.publish("actuators/front", new byte[] {4}, null);
+
+        assertEquals(Arrays.asList("sensors/front/temperature"), exact.topics);
+        assertEquals(Arrays.asList("sensors/front/temperature", "sensors/rear/temperature"),
+                singleLevel.topics);
+        assertEquals(Arrays.asList("sensors/front/temperature", "sensors/rear/temperature",
+                "sensors/rear/pressure"), multiLevel.topics);
+        assertArrayEquals(new byte[] {3}, multiLevel.data.get(2));
+    }
+
+    @Test
+    public void unsubscribe()
+    {
+        final PubsubBroker broker = new PubsubBroker(DIRECT_EXECUTOR);
+        final CollectingCallback callback = new CollectingCallback();
+        final int id = broker.subscribe("a/+", callback, null);
+        broker.publish("a/b", new byte[0], null);
+        broker.unsubscribe(id);
+        broker.publish("a/b", new byte[0], null);
+        assertEquals(1, callback.topics.size());
+    }
+
+    @Test(expected=PubsubException.class)
+    public void unsubscribeInvalid()
+    {
+        final PubsubBroker broker = new PubsubBroker(DIRECT_EXECUTOR);
+        broker.unsubscribe(0);
+    }
+
+    @Test(expected=PubsubException.class)
+    public void publishAfterClose()
+    {
+        final PubsubBroker broker = new PubsubBroker(DIRECT_EXECUTOR);
+        broker.close();
+        broker.publish("a", new byte[0], null);
+    }
+
+    @Test
+    public void dropNewest()
+    {
+        final QueuingExecutor executor = new QueuingExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor, 2, PubsubBroker.BackpressurePolicy.DROP_NEWEST);
+        final CollectingCallback callback = new CollectingCallback();
+        broker.subscribe("a", callback, null);
+        for (byte i = 0; i < 4; ++i)
+            broker.publish("a", new byte[] {i}, null);
+
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(2, callback.data.size());
+        assertArrayEquals(new byte[] {0}, callback.data.get(0));
+        assertArrayEquals(new byte[] {1}, callback.data.get(1));
+        assertEquals(2, broker.getNumDroppedMessages());
+    }
+
+    @Test
+    public void dropOldest()
+    {
+        final QueuingExecutor executor = new QueuingExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor, 2, PubsubBroker.BackpressurePolicy.DROP_OLDEST);
+        final CollectingCallback callback = new CollectingCallback();
+        broker.subscribe("a", callback, null);
+        for (byte i = 0; i < 4; ++i)
+            broker.publish("a", new byte[] {i}, null);
+
+        executor.runAll();
+        assertEquals(2, callback.data.size());
+        assertArrayEquals(new byte[] {2}, callback.data.get(0));
+        assertArrayEquals(new byte[] {3}, callback.data.get(1));
+        assertEquals(2, broker.getNumDroppedMessages());
+    }
+
+    @Test
+    public void batching()
+    {
+        final QueuingExecutor executor = new QueuingExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor, 10, PubsubBroker.BackpressurePolicy.BLOCK, 3);
+        final CollectingCallback callback = new CollectingCallback();
+        broker.subscribe("a", callback, null);
+        for (byte i = 0; i < 7; ++i)
+            broker.publish("a", new byte[] {i}, null);
+
+        assertEquals(1, executor.tasks.size());
+        assertEquals(3, executor.runAll());
+        assertEquals(7, callback.data.size());
+        for (byte i = 0; i < 7; ++i)
+            assertArrayEquals(new byte[] {i}, callback.data.get(i));
+    }
+
+    @Test
+    public void rejectedDelivery()
+    {
+        final QueuingExecutor executor = new QueuingExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor);
+        final CollectingCallback callback = new CollectingCallback();
+        broker.subscribe("a", callback, null);
+
+        executor.rejecting = true;
+        try
+        {
+            broker.publish("a", new byte[] {0}, null);
+            fail("PubsubException expected!");
+        }
+        catch (PubsubException e)
+        {
+            assertTrue(executor.tasks.isEmpty());
+        }
+
+        executor.rejecting = false;
+        broker.publish("a", new byte[] {1}, null);
+        assertEquals(1, executor.runAll());
+        assertEquals(2, callback.data.size());
+        assertArrayEquals(new byte[] {0}, callback.data.get(0));
+        assertArrayEquals(new byte[] {1}, callback.data.get(1));
+    }
+
+    @Test
+    public void rejectedRescheduling()
+    {
+        final QueuingExecutor executor = new QueuingExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor, 10, PubsubBroker.BackpressurePolicy.BLOCK, 1);
+        final CollectingCallback callback = new CollectingCallback();
+        broker.subscribe("a", callback, null);
+        broker.publish("a", new byte[] {0}, null);
+        broker.publish("a", new byte[] {1}, null);
+
+        executor.rejecting = true;
+        assertEquals(1, executor.runAll());
+        assertEquals(1, callback.data.size());
+
+        executor.rejecting = false;
+        try
+        {
+            broker.publish("a", new byte[] {2}, null);
+            fail("PubsubException expected!");
+        }
+        catch (PubsubException e)
+        {
+            assertTrue(executor.tasks.isEmpty());
+        }
+        assertEquals(1, callback.data.size());
+    }
+
+    @Test
+    public void failingCallback()
+    {
+        final QueuingExecutor executor = new QueuingExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor);
+        final CollectingCallback callback = new CollectingCallback();
+        broker.subscribe("a", new PubsubInterface.Callback()
+        {
+            @Override
+            public void invoke(String topic, byte[] data)
+            {
+                callback.invoke(topic, data);
+                if (data[0] == 0)
+                    throw new PubsubException("Callback failed!");
+            }
+        }, null);
+        final List<String> failedTopics = new ArrayList<String>();
+        broker.setExceptionHandler(new PubsubBroker.ExceptionHandler()
+        {
+            @Override
+            public void onException(String topic, RuntimeException exception)
+            {
+                assertEquals("Callback failed!", exception.getMessage());
+                failedTopics.add(topic);
+            }
+        });
+        broker.publish("a", new byte[] {0}, null);
+        broker.publish("a", new byte[] {1}, null);
+
+        // exception must not be propagated to the executor
+        executor.runAll();
+        assertEquals(2, callback.data.size());
+        assertEquals(Arrays.asList("a"), failedTopics);
+        assertEquals(1, broker.getNumFailedDeliveries());
+
+        broker.publish("a", new byte[] {2}, null);
+        executor.runAll();
+        assertEquals(3, callback.data.size());
+    }
+
+    @Test
+    public void failingCallbackWithThreadPool() throws InterruptedException
+    {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final PubsubBroker broker = new PubsubBroker(executor);
+        try
+        {
+            final CountDownLatch latch = new CountDownLatch(2);
+            broker.setExceptionHandler(new PubsubBroker.ExceptionHandler()
+            {
+                @Override
+                public void onException(String topic, RuntimeException exception)
+                {
+                    throw exception;
+                }
+            });
+            broker.subscribe("a", new PubsubInterface.Callback()
+            {
+                @Override
+                public void invoke(String topic, byte[] data)
+                {
+                    latch.countDown();
+                    if (data[0] == 0)
+                        throw new PubsubException("Callback failed!");
+                }
+            }, null);
+            broker.publish("a", new byte[] {0}, null);
+            broker.publish("a", new byte[] {1}, null);
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(1, broker.getNumFailedDeliveries());
+        }
+        finally
+        {
+            broker.close();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void blockWithThreadPool() throws InterruptedException
+    {
+        final int numMessages = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final PubsubBroker broker = new PubsubBroker(executor, 4, PubsubBroker.BackpressurePolicy.BLOCK);
+        try
+        {
+            final CountDownLatch latch = new CountDownLatch(2 * numMessages);
+            final List<Integer> received = new ArrayList<Integer>();
+            final PubsubInterface.Callback callback = new PubsubInterface.Callback()
+            {
+                @Override
+                public void invoke(String topic, byte[] data)
+                {
+                    synchronized (received)
+                    {
+                        received.add((data[0] & 0xFF) << 8 | (data[1] & 0xFF));
+                    }
+                    latch.countDown();
+                }
+            };
+            broker.subscribe("data/#", callback, null);
+            broker.subscribe("data/+", callback, null);
+
+            for (int i = 0; i < numMessages; ++i)
+                broker.publish("data/values", new byte[] {(byte)(i >> 8), (byte)i}, null);
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(2 * numMessages, received.size());
+            assertEquals(0, broker.getNumDroppedMessages());
+        }
+        finally
+        {
+            broker.close();
+            executor.shutdown();
+        }
+    }
+
+    private static class CollectingCallback implements PubsubInterface.Callback
+    {
+        @Override
+        public void invoke(String topic, byte[] data)
+        {
+            topics.add(topic);
+            this.data.add(data);
+        }
+
+        public final List<String> topics = new ArrayList<String>();
+        public final List<byte[]> data = new ArrayList<byte[]>();
+    }
+
+    private static class QueuingExecutor implements Executor
+    {
+        @Override
+        public void execute(Runnable task)
+        {
+            if (rejecting)
+                throw new RejectedExecutionException("QueuingExecutor: Rejected!");
+            tasks.add(task);
+        }
+
+        public int runAll()
+        {
+            int numRuns = 0;
+            while (!tasks.isEmpty())
+            {
+                numRuns++;
+                tasks.remove(0).run();
+            }
+
+            return numRuns;
+        }
+
+        public final List<Runnable> tasks = new ArrayList<Runnable>();
+        public boolean rejecting = false;
+    }
+
+    private static final Executor DIRECT_EXECUTOR = new Executor()
+    {
+        @Override
+        public void execute(Runnable task)
+        {
+            task.run();
+        }
+    };
+}
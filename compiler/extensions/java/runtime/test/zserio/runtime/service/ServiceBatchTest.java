@@ -0,0 +1,135 @@
+package zserio.runtime.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+public class ServiceBatchTest
+{
+    @Test
+    public void add()
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        assertEquals(0, batch.add(ECHO_METHOD_ID, new byte[] {1}));
+        assertEquals(1, batch.add(FAILING_METHOD_ID, new byte[] {2}));
+        assertEquals(2, batch.size());
+        assertEquals(FAILING_METHOD_ID, batch.getMethodId(1));
+
+        batch.clear();
+        assertEquals(0, batch.size());
+    }
+
+    @Test(expected=ServiceException.class)
+    public void addNestedBatch()
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        batch.add(ServiceBatch.BATCH_METHOD_ID, new byte[0]);
+    }
+
+    @Test
+    public void call()
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        final int echoIndex = batch.add(ECHO_METHOD_ID, new byte[] {1, 2, 3});
+        final int failingIndex = batch.add(FAILING_METHOD_ID, new byte[0]);
+        final int emptyIndex = batch.add(ECHO_METHOD_ID, new byte[0]);
+
+        final ServiceBatchResult result = batch.call(new TestService(), null);
+        assertEquals(3, result.size());
+        assertTrue(result.isSuccess(echoIndex));
+        assertArrayEquals(new byte[] {1, 2, 3}, result.getResponseData(echoIndex));
+        assertFalse(result.isSuccess(failingIndex));
+        assertTrue(result.isSuccess(emptyIndex));
+        assertArrayEquals(new byte[0], result.getResponseData(emptyIndex));
+    }
+
+    @Test
+    public void callWithUncheckedException()
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        final int throwingIndex = batch.add(THROWING_METHOD_ID, new byte[0]);
+        final int echoIndex = batch.add(ECHO_METHOD_ID, new byte[] {4});
+
+        final ServiceBatchResult result = batch.call(new TestService(), null);
+        assertEquals(2, result.size());
+        assertFalse(result.isSuccess(throwingIndex));
+        assertTrue(result.isSuccess(echoIndex));
+        assertArrayEquals(new byte[] {4}, result.getResponseData(echoIndex));
+        try
+        {
+            result.getResponseData(throwingIndex);
+            fail("ServiceException expected!");
+        }
+        catch (ServiceException exception)
+        {
+            assertTrue(exception.getMessage().contains("IllegalStateException"));
+        }
+    }
+
+    @Test(expected=ServiceException.class)
+    public void failedResponseData()
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        final int failingIndex = batch.add(FAILING_METHOD_ID, new byte[0]);
+
+        final ServiceBatchResult result = batch.call(new TestService(), null);
+        result.getResponseData(failingIndex);
+    }
+
+    @Test(expected=ZserioError.class)
+    public void dispatchCorruptedDataLength() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeVarSize(1); // number of calls
+        writer.writeVarSize(ECHO_METHOD_ID);
+        writer.writeVarSize(Integer.MAX_VALUE); // length of the request data which are missing
+        writer.close();
+
+        ServiceBatch.dispatch(new TestService(), writer.toByteArray(), null);
+    }
+
+    @Test(expected=ZserioError.class)
+    public void corruptedNumResponses() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeVarSize(Integer.MAX_VALUE); // number of responses which are missing
+        writer.close();
+
+        ServiceBatchResult.fromByteArray(writer.toByteArray());
+    }
+
+    private static class TestService implements MethodIdServiceInterface
+    {
+        @Override
+        public byte[] callMethod(String methodName, byte[] requestData, Object context)
+        {
+            throw new ServiceException("TestService: Method names are not supported!");
+        }
+
+        @Override
+        public byte[] callMethod(int methodId, byte[] requestData, Object context)
+        {
+            if (methodId == ServiceBatch.BATCH_METHOD_ID)
+                return ServiceBatch.dispatch(this, requestData, context);
+            if (methodId == ECHO_METHOD_ID)
+                return requestData;
+            if (methodId == THROWING_METHOD_ID)
+                throw new IllegalStateException();
+
+            throw new ServiceException("TestService: Method with id " + methodId + " failed!");
+        }
+    }
+
+    private static final int ECHO_METHOD_ID = 0;
+    private static final int FAILING_METHOD_ID = 1;
+    private static final int THROWING_METHOD_ID = 2;
+}
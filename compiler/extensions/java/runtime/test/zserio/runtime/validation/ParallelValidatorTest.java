@@ -0,0 +1,249 @@
+package zserio.runtime.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+
+import org.junit.Test;
+
+public class ParallelValidatorTest
+{
+    @Test(expected=IllegalArgumentException.class)
+    public void invalidNumberOfThreads() throws SQLException
+    {
+        final Connection connection = openConnection(":memory:");
+        try
+        {
+            new ParallelValidator(connection, 0, 1, null);
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void invalidRowIdRangeSize() throws SQLException
+    {
+        final Connection connection = openConnection(":memory:");
+        try
+        {
+            new ParallelValidator(connection, 1, 0, null);
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void sequentialInMemory() throws SQLException
+    {
+        final Connection connection = openConnection(":memory:");
+        try
+        {
+            createTestTable(connection);
+            final List<String> completedTables = new ArrayList<String>();
+            final ParallelValidator validator = new ParallelValidator(connection, NUM_THREADS, ROWID_RANGE_SIZE,
+                    new ValidationMonitor(new CollectingProgressListener(completedTables)));
+            final List<Connection> usedConnections = addTestTasks(validator);
+
+            final ValidationReport report = validator.run();
+            checkReport(report);
+            assertEquals(NUM_TASKS, completedTables.size());
+            for (Connection usedConnection : usedConnections)
+                assertTrue(usedConnection == connection);
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void parallelFile() throws SQLException, IOException
+    {
+        final File dbFile = File.createTempFile("ParallelValidatorTest", ".sqlite");
+        try
+        {
+            final Connection connection = openConnection(dbFile.getPath());
+            try
+            {
+                createTestTable(connection);
+                final List<String> completedTables = new ArrayList<String>();
+                final ParallelValidator validator = new ParallelValidator(connection, NUM_THREADS,
+                        ROWID_RANGE_SIZE, new ValidationMonitor(new CollectingProgressListener(completedTables)));
+                final List<Connection> usedConnections = addTestTasks(validator);
+
+                final ValidationReport report = validator.run();
+                checkReport(report);
+                assertEquals(NUM_TASKS, completedTables.size());
+                for (Connection usedConnection : usedConnections)
+                    assertNotSame(connection, usedConnection);
+            }
+            finally
+            {
+                connection.close();
+            }
+        }
+        finally
+        {
+            assertTrue(dbFile.delete());
+        }
+    }
+
+    @Test(expected=SQLException.class)
+    public void failure() throws SQLException, IOException
+    {
+        final File dbFile = File.createTempFile("ParallelValidatorTest", ".sqlite");
+        try
+        {
+            final Connection connection = openConnection(dbFile.getPath());
+            try
+            {
+                createTestTable(connection);
+                final ParallelValidator validator = new ParallelValidator(connection, NUM_THREADS,
+                        ROWID_RANGE_SIZE, null);
+                addTestTasks(validator);
+                validator.addTask("FailingTable", new ParallelValidator.Task()
+                {
+                    @Override
+                    public ValidationReport validate(Connection connection, ValidationMonitor monitor)
+                            throws SQLException
+                    {
+                        throw new SQLException("Test failure");
+                    }
+                });
+
+                validator.run();
+            }
+            finally
+            {
+                connection.close();
+            }
+        }
+        finally
+        {
+            assertTrue(dbFile.delete());
+        }
+    }
+
+    @Test(expected=CancellationException.class)
+    public void cancel() throws SQLException
+    {
+        final Connection connection = openConnection(":memory:");
+        try
+        {
+            createTestTable(connection);
+            final ValidationMonitor monitor = new ValidationMonitor(new ValidationMonitor.ProgressListener()
+            {
+                @Override
+                public void onTaskCompleted(String tableName, ValidationReport report,
+                        int numberOfCompletedTasks, int numberOfTasks)
+                {
+                    cancelledMonitor.cancel();
+                }
+            });
+            cancelledMonitor = monitor;
+            final ParallelValidator validator = new ParallelValidator(connection, NUM_THREADS,
+                    ROWID_RANGE_SIZE, monitor);
+            addTestTasks(validator);
+
+            validator.run();
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    private static Connection openConnection(String fileName) throws SQLException
+    {
+        final Properties connectionProps = new Properties();
+        connectionProps.setProperty("flags", "CREATE");
+
+        return DriverManager.getConnection("jdbc:sqlite:" + fileName, connectionProps);
+    }
+
+    private static void createTestTable(Connection connection) throws SQLException
+    {
+        final Statement statement = connection.createStatement();
+        try
+        {
+            statement.executeUpdate("CREATE TABLE " + TABLE_NAME + "(id INTEGER PRIMARY KEY, value INTEGER)");
+            for (int i = 1; i <= NUM_ROWS; ++i)
+                statement.executeUpdate("INSERT INTO " + TABLE_NAME + " VALUES (" + i + ", " + i + ")");
+        }
+        finally
+        {
+            statement.close();
+        }
+    }
+
+    private static List<Connection> addTestTasks(ParallelValidator validator) throws SQLException
+    {
+        final List<Connection> usedConnections = Collections.synchronizedList(new ArrayList<Connection>());
+        validator.addReport(new ValidationReport(1, 0, 0, 0, new ArrayList<ValidationError>()));
+        validator.addRowIdRangeTasks(null, TABLE_NAME, new ParallelValidator.RowIdRangeTask()
+        {
+            @Override
+            public ValidationReport validate(Connection connection, long minRowId, long maxRowId,
+                    ValidationMonitor monitor) throws SQLException
+            {
+                usedConnections.add(connection);
+                final int numberOfRows = (int)(maxRowId - minRowId + 1);
+
+                return new ValidationReport(0, numberOfRows, 1, 0, new ArrayList<ValidationError>());
+            }
+        });
+
+        return usedConnections;
+    }
+
+    private static void checkReport(ValidationReport report)
+    {
+        assertEquals(1, report.getNumberOfValidatedTables());
+        assertEquals(NUM_ROWS, report.getNumberOfValidatedRows());
+        assertEquals(NUM_TASKS, report.getTotalValidationTime());
+        assertTrue(report.getErrors().isEmpty());
+    }
+
+    private static class CollectingProgressListener implements ValidationMonitor.ProgressListener
+    {
+        public CollectingProgressListener(List<String> completedTables)
+        {
+            this.completedTables = completedTables;
+        }
+
+        @Override
+        public void onTaskCompleted(String tableName, ValidationReport report, int numberOfCompletedTasks,
+                int numberOfTasks)
+        {
+            completedTables.add(tableName);
+            assertEquals(completedTables.size(), numberOfCompletedTasks);
+            assertEquals(NUM_TASKS, numberOfTasks);
+        }
+
+        private final List<String> completedTables;
+    }
+
+    private static final String TABLE_NAME = "ParallelValidatorTestTable";
+    private static final int NUM_THREADS = 3;
+    private static final int ROWID_RANGE_SIZE = 3;
+    private static final int NUM_ROWS = 10;
+    private static final int NUM_TASKS = 4;
+
+    private ValidationMonitor cancelledMonitor;
+}
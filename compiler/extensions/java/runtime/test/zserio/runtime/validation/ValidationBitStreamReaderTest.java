@@ -257,4 +257,67 @@ public class ValidationBitStreamReaderTest
         final byte[] maskedStream = reader.toMaskedByteArray();
         assertTrue(Arrays.equals(originalStream, maskedStream));
     }
+
+    @Test
+    public void findMaskedMismatch() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        for (int i = 0; i < 20; ++i)
+            writer.writeBits(i, 8);
+        writer.writeBits(1, 1);
+        writer.alignTo(8);
+        writer.writeBits(3, 2);
+
+        final byte[] originalStream = writer.toByteArray();
+        final byte[] changedStream = new byte[originalStream.length];
+        System.arraycopy(originalStream, 0, changedStream, 0, changedStream.length);
+        // put rubbish to the aligned dummy bits and at the end
+        changedStream[20] |= 0x7F;
+        changedStream[21] |= 0x3F;
+
+        final ValidationBitStreamReader reader = new ValidationBitStreamReader(changedStream);
+        for (int i = 0; i < 20; ++i)
+            assertEquals(i, reader.readBits(8));
+        assertEquals(1, reader.readBits(1));
+        reader.alignTo(8);
+        assertEquals(3, reader.readBits(2));
+
+        assertEquals(-1, reader.findMaskedMismatch(originalStream, originalStream.length));
+
+        final byte[] otherStream = new byte[originalStream.length + 1];
+        System.arraycopy(originalStream, 0, otherStream, 0, originalStream.length);
+        assertEquals(originalStream.length, reader.findMaskedMismatch(otherStream, otherStream.length));
+        assertEquals(-1, reader.findMaskedMismatch(otherStream, originalStream.length));
+        assertEquals(originalStream.length - 1, reader.findMaskedMismatch(otherStream, originalStream.length - 1));
+
+        otherStream[13] = (byte)0xFF;
+        otherStream[17] = (byte)0xFF;
+        assertEquals(13, reader.findMaskedMismatch(otherStream, originalStream.length));
+
+        otherStream[13] = originalStream[13];
+        otherStream[17] = originalStream[17];
+        otherStream[21] = (byte)0xFF;
+        assertEquals(21, reader.findMaskedMismatch(otherStream, originalStream.length));
+    }
+
+    @Test
+    public void reset() throws IOException
+    {
+        final ValidationBitStreamReader reader = new ValidationBitStreamReader();
+        assertEquals(0, reader.getBufferBitSize());
+
+        final byte[] longStream = new byte[] {(byte)0xFF, (byte)0xFF, (byte)0xFF};
+        reader.reset(longStream);
+        assertEquals(24, reader.getBufferBitSize());
+        reader.setBitPosition(20);
+        assertEquals(0x0F, reader.readBits(4));
+        assertTrue(Arrays.equals(new byte[] {0x00, 0x00, 0x0F}, reader.toMaskedByteArray()));
+
+        final byte[] shortStream = new byte[] {(byte)0xAB, (byte)0xCD};
+        reader.reset(shortStream);
+        assertEquals(16, reader.getBufferBitSize());
+        assertEquals(0xABCD, reader.readBits(16));
+        assertTrue(Arrays.equals(shortStream, reader.toMaskedByteArray()));
+        assertEquals(-1, reader.findMaskedMismatch(shortStream, shortStream.length));
+    }
 }
@@ -0,0 +1,92 @@
+package zserio.runtime.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+public class ValidationBlobComparatorTest
+{
+    @Test
+    public void get() throws InterruptedException
+    {
+        final ValidationBlobComparator comparator = ValidationBlobComparator.get();
+        assertSame(comparator, ValidationBlobComparator.get());
+
+        final ValidationBlobComparator[] otherThreadComparator = new ValidationBlobComparator[1];
+        final Thread thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                otherThreadComparator[0] = ValidationBlobComparator.get();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotSame(comparator, otherThreadComparator[0]);
+    }
+
+    @Test
+    public void compareEqual() throws IOException
+    {
+        final ValidationBlobComparator comparator = ValidationBlobComparator.get();
+        final byte[] blobData = new byte[] {(byte)0xAB, (byte)0xC7};
+
+        final ValidationBitStreamReader reader = comparator.getReader(blobData);
+        final long value = reader.readBits(12);
+        comparator.getWriter().writeBits(value, 12);
+        assertNull(comparator.compare());
+    }
+
+    @Test
+    public void compareLength() throws IOException
+    {
+        final ValidationBlobComparator comparator = ValidationBlobComparator.get();
+        final byte[] blobData = new byte[] {(byte)0xAB, (byte)0xCD, (byte)0xEF};
+
+        final ValidationBitStreamReader reader = comparator.getReader(blobData);
+        final long value = reader.readBits(16);
+        comparator.getWriter().writeBits(value, 16);
+        assertEquals("Blob binary compare failed because of length (3 != 2)", comparator.compare());
+    }
+
+    @Test
+    public void compareFirstMismatch() throws IOException
+    {
+        final ValidationBlobComparator comparator = ValidationBlobComparator.get();
+        final byte[] blobData = new byte[] {0x01, 0x02, 0x03, 0x04};
+
+        final ValidationBitStreamReader reader = comparator.getReader(blobData);
+        reader.readBits(32);
+        comparator.getWriter().writeBits(0x01FF03FF, 32);
+        assertEquals("Blob binary compare failed at byte position 1", comparator.compare());
+    }
+
+    @Test
+    public void reuse() throws IOException
+    {
+        final ValidationBlobComparator comparator = ValidationBlobComparator.get();
+
+        final byte[] longBlobData = new byte[] {(byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF};
+        final ValidationBitStreamReader longReader = comparator.getReader(longBlobData);
+        final long longValue = longReader.readBits(32);
+        comparator.getWriter().writeBits(longValue, 32);
+        assertNull(comparator.compare());
+
+        // unused bits of the previous blob must be ignored
+        final byte[] shortBlobData = new byte[] {(byte)0x80};
+        final ValidationBitStreamReader shortReader = comparator.getReader(shortBlobData);
+        final long shortValue = shortReader.readBits(1);
+        final ByteArrayBitStreamWriter writer = comparator.getWriter();
+        writer.writeBits(shortValue, 1);
+        assertEquals(1, writer.getBitPosition());
+        assertNull(comparator.compare());
+    }
+}
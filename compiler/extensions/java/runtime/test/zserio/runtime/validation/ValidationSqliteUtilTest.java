@@ -1,13 +1,19 @@
 package zserio.runtime.validation;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import org.junit.Test;
@@ -88,11 +94,146 @@ public class ValidationSqliteUtilTest
         }
     }
 
+    @Test
+    public void getRowIdRanges() throws SQLException
+    {
+        final String TABLE_NAME = "RowIdRangesTestTable";
+
+        TestSqlDatabase testDatabase = new TestSqlDatabase();
+        try
+        {
+            testDatabase.executeUpdate("CREATE TABLE " + TABLE_NAME + "(id INTEGER PRIMARY KEY, value TEXT);");
+            assertTrue(ValidationSqliteUtil.getRowIdRanges(testDatabase.connection(), null, TABLE_NAME, 2)
+                    .isEmpty());
+
+            final long[] ids = new long[] {-2, 1, 2, 3};
+            for (long id : ids)
+                testDatabase.executeUpdate("INSERT INTO " + TABLE_NAME + " VALUES (" + id + ", 'value')");
+
+            final List<long[]> rowIdRanges =
+                    ValidationSqliteUtil.getRowIdRanges(testDatabase.connection(), null, TABLE_NAME, 2);
+            assertEquals(3, rowIdRanges.size());
+            assertArrayEquals(new long[] {-2, -1}, rowIdRanges.get(0));
+            assertArrayEquals(new long[] {0, 1}, rowIdRanges.get(1));
+            assertArrayEquals(new long[] {2, 3}, rowIdRanges.get(2));
+
+            for (long id : new long[] {Long.MIN_VALUE, Long.MAX_VALUE})
+                testDatabase.executeUpdate("INSERT INTO " + TABLE_NAME + " VALUES (" + id + ", 'value')");
+            final List<long[]> wideRowIdRanges =
+                    ValidationSqliteUtil.getRowIdRanges(testDatabase.connection(), null, TABLE_NAME, 2);
+            assertTrue(wideRowIdRanges.size() <= ValidationSqliteUtil.MAX_NUM_ROWID_RANGES);
+            assertEquals(Long.MIN_VALUE, wideRowIdRanges.get(0)[0]);
+            for (int i = 1; i < wideRowIdRanges.size(); ++i)
+                assertEquals(wideRowIdRanges.get(i - 1)[1] + 1, wideRowIdRanges.get(i)[0]);
+            assertEquals(Long.MAX_VALUE, wideRowIdRanges.get(wideRowIdRanges.size() - 1)[1]);
+        }
+        finally
+        {
+            testDatabase.close();
+        }
+    }
+
+    @Test
+    public void openReadOnlyConnectionInMemory() throws SQLException
+    {
+        TestSqlDatabase testDatabase = new TestSqlDatabase();
+        try
+        {
+            assertNull(ValidationSqliteUtil.openReadOnlyConnection(testDatabase.connection()));
+        }
+        finally
+        {
+            testDatabase.close();
+        }
+    }
+
+    @Test
+    public void openReadOnlyConnection() throws SQLException, IOException
+    {
+        final File mainDbFile = File.createTempFile("ValidationSqliteUtilTest", ".sqlite");
+        final File attachedDbFile = File.createTempFile("ValidationSqliteUtilTestAttached", ".sqlite");
+        try
+        {
+            TestSqlDatabase testDatabase = new TestSqlDatabase(mainDbFile.getPath());
+            try
+            {
+                testDatabase.executeUpdate("CREATE TABLE MainTable(value INTEGER);");
+                testDatabase.executeUpdate("INSERT INTO MainTable VALUES (13);");
+                testDatabase.executeUpdate("ATTACH DATABASE '" + attachedDbFile.getPath() + "' AS attachedDb");
+                testDatabase.executeUpdate("CREATE TABLE attachedDb.AttachedTable(value INTEGER);");
+                testDatabase.executeUpdate("INSERT INTO attachedDb.AttachedTable VALUES (42);");
+
+                final Connection connection =
+                        ValidationSqliteUtil.openReadOnlyConnection(testDatabase.connection());
+                try
+                {
+                    assertEquals(13, selectValue(connection, "MainTable"));
+                    assertEquals(42, selectValue(connection, "attachedDb.AttachedTable"));
+                    assertFalse(tryInsertValue(connection, "MainTable"));
+                    assertFalse(tryInsertValue(connection, "attachedDb.AttachedTable"));
+                }
+                finally
+                {
+                    connection.close();
+                }
+            }
+            finally
+            {
+                testDatabase.close();
+            }
+        }
+        finally
+        {
+            assertTrue(mainDbFile.delete());
+            assertTrue(attachedDbFile.delete());
+        }
+    }
+
+    private static long selectValue(Connection connection, String tableName) throws SQLException
+    {
+        final Statement statement = connection.createStatement();
+        try
+        {
+            final ResultSet resultSet = statement.executeQuery("SELECT value FROM " + tableName);
+            assertTrue(resultSet.next());
+
+            return resultSet.getLong(1);
+        }
+        finally
+        {
+            statement.close();
+        }
+    }
+
+    private static boolean tryInsertValue(Connection connection, String tableName) throws SQLException
+    {
+        final Statement statement = connection.createStatement();
+        try
+        {
+            statement.executeUpdate("INSERT INTO " + tableName + " VALUES (0)");
+
+            return true;
+        }
+        catch (SQLException exception)
+        {
+            return false;
+        }
+        finally
+        {
+            statement.close();
+        }
+    }
+
     private static class TestSqlDatabase implements SqlDatabaseReader
     {
         public TestSqlDatabase() throws SQLException
         {
-            final String uriPath = "jdbc:sqlite::memory:";
+            this(":memory:");
+        }
+
+        public TestSqlDatabase(String fileName) throws SQLException
+        {
+            final String uriPath = "jdbc:sqlite:" + fileName;
             final Properties connectionProps = new Properties();
             connectionProps.setProperty("flags", "CREATE");
 
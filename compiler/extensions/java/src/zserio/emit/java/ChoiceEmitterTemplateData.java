@@ -2,6 +2,8 @@ package zserio.emit.java;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import zserio.ast.BitmaskType;
@@ -14,6 +16,9 @@ import zserio.ast.Field;
 import zserio.emit.common.ExpressionFormatter;
 import zserio.emit.common.ZserioEmitException;
 import zserio.emit.java.types.JavaNativeType;
+import zserio.emit.java.types.NativeBigIntegerType;
+import zserio.emit.java.types.NativeIntegralType;
+import zserio.emit.java.types.NativeLongType;
 
 public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
 {
@@ -57,6 +62,7 @@ public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
         }
 
         isDefaultUnreachable = choiceType.isChoiceDefaultUnreachable();
+        selectorTable = createSelectorTable(choiceType, isSelectorExpressionLong, isSelectorExpressionBigInteger);
     }
 
     public String getSelectorExpression()
@@ -99,6 +105,11 @@ public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
         return isDefaultUnreachable;
     }
 
+    public Iterable<SelectorTableEntry> getSelectorTable()
+    {
+        return selectorTable;
+    }
+
     public static class CaseMember
     {
         public CaseMember(JavaNativeMapper javaNativeMapper, boolean withWriterCode,
@@ -114,7 +125,7 @@ public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
 
             final Field fieldType = choiceCaseType.getField();
             compoundField = (fieldType != null) ? new CompoundFieldTemplateData(javaNativeMapper,
-                    withWriterCode, withRangeCheckCode,  choiceType, fieldType, javaExpressionFormatter) :
+                    withWriterCode, withRangeCheckCode, false, choiceType, fieldType, javaExpressionFormatter) :
                         null;
         }
 
@@ -164,7 +175,7 @@ public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
         {
             final Field fieldType = choiceDefaultType.getField();
             compoundField = (fieldType != null) ? new CompoundFieldTemplateData(javaNativeMapper,
-                    withWriterCode, withRangeCheckCode, choiceType, fieldType, javaExpressionFormatter) :
+                    withWriterCode, withRangeCheckCode, false, choiceType, fieldType, javaExpressionFormatter) :
                         null;
         }
 
@@ -176,6 +187,67 @@ public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
         private final CompoundFieldTemplateData compoundField;
     }
 
+    public static class SelectorTableEntry
+    {
+        public SelectorTableEntry(BigInteger selectorValue, String selector, int caseIndex)
+        {
+            this.selectorValue = selectorValue;
+            this.selector = selector;
+            this.caseIndex = caseIndex;
+        }
+
+        public String getSelector()
+        {
+            return selector;
+        }
+
+        public int getCaseIndex()
+        {
+            return caseIndex;
+        }
+
+        private final BigInteger selectorValue;
+        private final String selector;
+        private final int caseIndex;
+    }
+
+    private static List<SelectorTableEntry> createSelectorTable(ChoiceType choiceType,
+            boolean isSelectorExpressionLong, boolean isSelectorExpressionBigInteger) throws ZserioEmitException
+    {
+        // switch cannot be used for long and BigInteger selectors, thus a sorted table is used for lookup
+        if (!isSelectorExpressionLong && !isSelectorExpressionBigInteger)
+            return null;
+
+        final NativeIntegralType selectorNativeType = (isSelectorExpressionBigInteger) ?
+                new NativeBigIntegerType() : new NativeLongType(false);
+        final List<SelectorTableEntry> selectorTable = new ArrayList<SelectorTableEntry>();
+        int caseIndex = 0;
+        for (ChoiceCase choiceCaseType : choiceType.getChoiceCases())
+        {
+            for (ChoiceCaseExpression caseExpression : choiceCaseType.getExpressions())
+            {
+                final BigInteger selectorValue = caseExpression.getExpression().getIntegerValue();
+                if (selectorValue == null)
+                    return null;
+
+                selectorTable.add(new SelectorTableEntry(selectorValue,
+                        selectorNativeType.formatLiteral(selectorValue), caseIndex));
+            }
+            caseIndex++;
+        }
+
+        Collections.sort(selectorTable, new Comparator<SelectorTableEntry>()
+        {
+            @Override
+            public int compare(SelectorTableEntry entry1, SelectorTableEntry entry2)
+            {
+                return entry1.selectorValue.compareTo(entry2.selectorValue);
+            }
+        });
+
+        return selectorTable;
+    }
+
     private String createSelectorExpressionBitmaskType(Expression expr, JavaNativeMapper javaNativeMapper)
             throws ZserioEmitException
     {
@@ -197,4 +269,5 @@ public final class ChoiceEmitterTemplateData extends CompoundTypeTemplateData
     private final List<CaseMember> caseMemberList;
     private final DefaultMember defaultMember;
     private final boolean isDefaultUnreachable;
+    private final List<SelectorTableEntry> selectorTable;
 }
@@ -1,7 +1,9 @@
 package zserio.emit.java;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import zserio.ast.ChoiceType;
 import zserio.ast.CompoundType;
@@ -14,6 +16,8 @@ import zserio.ast.EnumType;
 import zserio.ast.Expression;
 import zserio.ast.Field;
 import zserio.ast.FixedSizeType;
+import zserio.ast.Function;
+import zserio.ast.StructureType;
 import zserio.ast.TypeInstantiation;
 import zserio.ast.TypeReference;
 import zserio.ast.UnionType;
@@ -32,7 +36,7 @@ import zserio.emit.java.types.NativeObjectArrayType;
 public final class CompoundFieldTemplateData
 {
     public CompoundFieldTemplateData(JavaNativeMapper javaNativeMapper, boolean withWriterCode,
-            boolean withRangeCheckCode, CompoundType parentType, Field field,
+            boolean withRangeCheckCode, boolean withColumnarArrays, CompoundType parentType, Field field,
             ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
     {
         final TypeInstantiation fieldTypeInstantiation = field.getTypeInstantiation();
@@ -47,8 +51,12 @@ public final class CompoundFieldTemplateData
                 ? javaNativeMapper.getNullableJavaType(fieldTypeInstantiation)
                 : javaNativeMapper.getJavaType(fieldTypeInstantiation);
 
-        javaTypeName = nativeType.getFullName();
-        javaNullableTypeName = javaNativeMapper.getNullableJavaType(fieldTypeInstantiation).getFullName();
+        final String columnsTypeName = (withColumnarArrays) ?
+                createColumnsTypeName(javaNativeMapper, parentType, field) : null;
+        final boolean isColumnar = (columnsTypeName != null);
+        javaTypeName = (isColumnar) ? columnsTypeName : nativeType.getFullName();
+        javaNullableTypeName = (isColumnar) ? columnsTypeName :
+                javaNativeMapper.getNullableJavaType(fieldTypeInstantiation).getFullName();
 
         getterName = AccessorNameFormatter.getGetterName(field);
         setterName = AccessorNameFormatter.getSetterName(field);
@@ -67,18 +75,19 @@ public final class CompoundFieldTemplateData
         isDouble = nativeType instanceof NativeDoubleType;
         isEnum = nativeType instanceof NativeEnumType;
         isSimpleType = nativeType.isSimple();
-        isObjectArray = nativeType instanceof NativeObjectArrayType;
+        isObjectArray = !isColumnar && nativeType instanceof NativeObjectArrayType;
 
         constraint = createConstraint(field, javaExpressionFormatter);
 
         bitSize = new BitSize(fieldTypeInstantiation, javaNativeMapper, javaExpressionFormatter);
         offset = createOffset(field, javaNativeMapper, javaExpressionFormatter);
         array = createArray(nativeType, fieldTypeInstantiation, parentType, javaNativeMapper, withWriterCode,
-                javaExpressionFormatter);
+                isColumnar, javaExpressionFormatter);
         runtimeFunction = JavaRuntimeFunctionDataCreator.createData(fieldTypeInstantiation,
                 javaExpressionFormatter, javaNativeMapper);
         compound = createCompound(javaNativeMapper, withWriterCode, javaExpressionFormatter, parentType,
                 fieldTypeInstantiation);
+        isProjectionDependency = createIsProjectionDependency(parentType, field);
     }
 
     public String getName()
@@ -196,6 +205,11 @@ public final class CompoundFieldTemplateData
         return compound;
     }
 
+    public boolean getIsProjectionDependency()
+    {
+        return isProjectionDependency;
+    }
+
     public static class Optional
     {
         public Optional(Expression optionalClauseExpression, String indicatorName,
@@ -225,7 +239,7 @@ public final class CompoundFieldTemplateData
         public BitSize(TypeInstantiation typeInstantiation, JavaNativeMapper javaNativeMapper,
                 ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
         {
-            value = createValue(typeInstantiation, javaExpressionFormatter);
+            value = createValue(typeInstantiation, javaNativeMapper, javaExpressionFormatter);
             runtimeFunction = (value != null) ? null :
                     JavaRuntimeFunctionDataCreator.createData(
                             typeInstantiation, javaExpressionFormatter, javaNativeMapper);
@@ -242,7 +256,8 @@ public final class CompoundFieldTemplateData
         }
 
         private static String createValue(TypeInstantiation typeInstantiation,
-                ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
+                JavaNativeMapper javaNativeMapper, ExpressionFormatter javaExpressionFormatter)
+                        throws ZserioEmitException
         {
             String value = null;
             if (typeInstantiation.getBaseType() instanceof FixedSizeType)
@@ -257,6 +272,19 @@ public final class CompoundFieldTemplateData
                 value = javaExpressionFormatter.formatGetter(
                         dynamicBitFieldInstantiation.getLengthExpression());
             }
+            else if (typeInstantiation.getBaseType() instanceof StructureType)
+            {
+                // use generated constant to have the bit size defined only once
+                if (FixedBitSizeCalculator.getBitSize(typeInstantiation) != null)
+                    value = javaNativeMapper.getJavaType(typeInstantiation).getFullName() + ".BIT_SIZE";
+            }
+            else
+            {
+                // enumerations and bitmasks with fixed size underlying type
+                final Integer bitSize = FixedBitSizeCalculator.getBitSize(typeInstantiation);
+                if (bitSize != null)
+                    value = JavaLiteralFormatter.formatDecimalLiteral(bitSize);
+            }
 
             return value;
         }
@@ -315,7 +343,7 @@ public final class CompoundFieldTemplateData
     public static class Array
     {
         public Array(NativeArrayType nativeType, ArrayInstantiation arrayInstantiation, CompoundType parentType,
-                JavaNativeMapper javaNativeMapper, boolean withWriterCode,
+                JavaNativeMapper javaNativeMapper, boolean withWriterCode, boolean isColumnar,
                 ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
         {
             final TypeInstantiation elementTypeInstantiation = arrayInstantiation.getElementTypeInstantiation();
@@ -326,15 +354,17 @@ public final class CompoundFieldTemplateData
             elementJavaTypeName = elementNativeType.getFullName();
 
             requiresElementBitSize = nativeType.requiresElementBitSize();
-            requiresElementFactory = nativeType.requiresElementFactory();
+            requiresElementFactory = !isColumnar && nativeType.requiresElementFactory();
             requiresParentContext = createRequiresParentContext(elementTypeInstantiation);
 
             generateListSetter = createGenerateListSetter(elementTypeInstantiation);
 
             elementBitSize = new BitSize(elementTypeInstantiation, javaNativeMapper, javaExpressionFormatter);
+            elementFixedBitSize = (nativeType instanceof NativeObjectArrayType) ? elementBitSize.getValue() : null;
             isElementEnum = elementNativeType instanceof NativeEnumType;
             elementCompound = createCompound(javaNativeMapper, withWriterCode, javaExpressionFormatter,
                     parentType, elementTypeInstantiation);
+            this.isColumnar = isColumnar;
         }
 
         public boolean getIsImplicit()
@@ -377,6 +407,11 @@ public final class CompoundFieldTemplateData
             return elementBitSize;
         }
 
+        public String getElementFixedBitSize()
+        {
+            return elementFixedBitSize;
+        }
+
         public boolean getIsElementEnum()
         {
             return isElementEnum;
@@ -387,6 +422,11 @@ public final class CompoundFieldTemplateData
             return elementCompound;
         }
 
+        public boolean getIsColumnar()
+        {
+            return isColumnar;
+        }
+
         private static String createLength(ArrayInstantiation arrayInstantiation,
                 ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
         {
@@ -443,8 +483,10 @@ public final class CompoundFieldTemplateData
         private final boolean       requiresParentContext;
         private final boolean       generateListSetter;
         private final BitSize       elementBitSize;
+        private final String        elementFixedBitSize;
         private final boolean       isElementEnum;
         private final Compound      elementCompound;
+        private final boolean       isColumnar;
     }
 
     public static class Compound
@@ -563,7 +605,7 @@ public final class CompoundFieldTemplateData
 
     private static Array createArray(JavaNativeType nativeType, TypeInstantiation typeInstantiation,
             CompoundType parentType, JavaNativeMapper javaNativeMapper, boolean withWriterCode,
-            ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
+            boolean isColumnar, ExpressionFormatter javaExpressionFormatter) throws ZserioEmitException
     {
         if (!(nativeType instanceof NativeArrayType))
             return null;
@@ -576,7 +618,31 @@ public final class CompoundFieldTemplateData
         }
 
         return new Array((NativeArrayType)nativeType, (ArrayInstantiation)typeInstantiation, parentType,
-                javaNativeMapper, withWriterCode, javaExpressionFormatter);
+                javaNativeMapper, withWriterCode, isColumnar, javaExpressionFormatter);
+    }
+
+    private static String createColumnsTypeName(JavaNativeMapper javaNativeMapper, CompoundType parentType,
+            Field field) throws ZserioEmitException
+    {
+        // only structure fields which are not implicit arrays and which have no indexed offsets use columns
+        final TypeInstantiation typeInstantiation = field.getTypeInstantiation();
+        if (!(parentType instanceof StructureType) || !(typeInstantiation instanceof ArrayInstantiation))
+            return null;
+
+        final ArrayInstantiation arrayInstantiation = (ArrayInstantiation)typeInstantiation;
+        final Expression offsetExpression = field.getOffsetExpr();
+        if (arrayInstantiation.isImplicit() || (offsetExpression != null && offsetExpression.containsIndex()))
+            return null;
+
+        final ZserioType elementBaseType = arrayInstantiation.getElementTypeInstantiation().getBaseType();
+        if (!(elementBaseType instanceof StructureType) ||
+                !StructureEmitterTemplateData.isColumnarStructure(javaNativeMapper,
+                        (StructureType)elementBaseType))
+            return null;
+
+        final JavaNativeType elementNativeType = javaNativeMapper.getJavaType(elementBaseType);
+
+        return elementNativeType.getFullName() + "." + elementNativeType.getName() + "Columns";
     }
 
     private static Compound createCompound(JavaNativeMapper javaNativeMapper, boolean withWriterCode,
@@ -598,6 +664,67 @@ public final class CompoundFieldTemplateData
         }
     }
 
+    private static boolean createIsProjectionDependency(CompoundType parentType, Field field)
+    {
+        // field must be always read by projection reads if it's needed to read or to skip any other field
+        final Set<Field> referencedFields = new HashSet<Field>();
+        final Set<Function> visitedFunctions = new HashSet<Function>();
+        for (Field parentField : parentType.getFields())
+        {
+            for (Expression expression : getReadDependencyExpressions(parentField))
+                addReferencedFields(expression, referencedFields, visitedFunctions);
+        }
+
+        return referencedFields.contains(field);
+    }
+
+    private static List<Expression> getReadDependencyExpressions(Field field)
+    {
+        final List<Expression> expressions = new ArrayList<Expression>();
+        addExpression(expressions, field.getOptionalClauseExpr());
+        addExpression(expressions, field.getAlignmentExpr());
+        addExpression(expressions, field.getOffsetExpr());
+
+        TypeInstantiation typeInstantiation = field.getTypeInstantiation();
+        if (typeInstantiation instanceof ArrayInstantiation)
+        {
+            final ArrayInstantiation arrayInstantiation = (ArrayInstantiation)typeInstantiation;
+            addExpression(expressions, arrayInstantiation.getLengthExpression());
+            typeInstantiation = arrayInstantiation.getElementTypeInstantiation();
+        }
+
+        if (typeInstantiation instanceof ParameterizedTypeInstantiation)
+        {
+            for (InstantiatedParameter instantiatedParameter :
+                    ((ParameterizedTypeInstantiation)typeInstantiation).getInstantiatedParameters())
+                addExpression(expressions, instantiatedParameter.getArgumentExpression());
+        }
+        else if (typeInstantiation instanceof DynamicBitFieldInstantiation)
+        {
+            addExpression(expressions,
+                    ((DynamicBitFieldInstantiation)typeInstantiation).getLengthExpression());
+        }
+
+        return expressions;
+    }
+
+    private static void addExpression(List<Expression> expressions, Expression expression)
+    {
+        if (expression != null)
+            expressions.add(expression);
+    }
+
+    private static void addReferencedFields(Expression expression, Set<Field> referencedFields,
+            Set<Function> visitedFunctions)
+    {
+        referencedFields.addAll(expression.getReferencedSymbolObjects(Field.class));
+        for (Function function : expression.getReferencedSymbolObjects(Function.class))
+        {
+            if (visitedFunctions.add(function))
+                addReferencedFields(function.getResultExpression(), referencedFields, visitedFunctions);
+        }
+    }
+
     private final String                        name;
     private final String                        javaTypeName;
     private final String                        javaNullableTypeName;
@@ -624,4 +751,5 @@ public final class CompoundFieldTemplateData
     private final Array                         array;
     private final RuntimeFunctionTemplateData   runtimeFunction;
     private final Compound                      compound;
+    private final boolean                       isProjectionDependency;
 }
@@ -18,6 +18,7 @@ public class CompoundTypeTemplateData extends UserTypeTemplateData
         final JavaNativeMapper javaNativeMapper = context.getJavaNativeMapper();
         final boolean withRangeCheckCode = context.getWithRangeCheckCode();
         final boolean withWriterCode = context.getWithWriterCode();
+        final boolean withColumnarArrays = context.getWithColumnarArrays() && withWriterCode;
         final ExpressionFormatter javaExpressionFormatter = context.getJavaExpressionFormatter();
         compoundConstructorsData = new CompoundConstructorTemplateData(javaNativeMapper, withRangeCheckCode,
                 withWriterCode, compoundType, javaExpressionFormatter);
@@ -27,13 +28,15 @@ public class CompoundTypeTemplateData extends UserTypeTemplateData
                 javaExpressionFormatter);
 
         hasFieldWithOffset = compoundType.hasFieldWithOffset();
+        // offsets depend on the position in the stream, thus frozen bytes could not be reused
+        isFreezable = withWriterCode && !hasFieldWithOffset;
 
         final List<Field> fieldTypeList = compoundType.getFields();
         fieldList = new ArrayList<CompoundFieldTemplateData>(fieldTypeList.size());
         for (Field fieldType : fieldTypeList)
         {
             fieldList.add(new CompoundFieldTemplateData(javaNativeMapper, withWriterCode,
-                    withRangeCheckCode, compoundType, fieldType, javaExpressionFormatter));
+                    withRangeCheckCode, withColumnarArrays, compoundType, fieldType, javaExpressionFormatter));
         }
     }
 
@@ -57,6 +60,11 @@ public class CompoundTypeTemplateData extends UserTypeTemplateData
         return hasFieldWithOffset;
     }
 
+    public boolean getIsFreezable()
+    {
+        return isFreezable;
+    }
+
     public Iterable<CompoundFieldTemplateData> getFieldList()
     {
         return fieldList;
@@ -66,5 +74,6 @@ public class CompoundTypeTemplateData extends UserTypeTemplateData
     private final CompoundParameterTemplateData     compoundParametersData;
     private final CompoundFunctionTemplateData      compoundFunctionsData;
     private final boolean                           hasFieldWithOffset;
+    private final boolean                           isFreezable;
     private final List<CompoundFieldTemplateData>   fieldList;
 }
@@ -1,6 +1,9 @@
 package zserio.emit.java;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import zserio.ast.DynamicBitFieldInstantiation;
@@ -36,6 +39,8 @@ public final class EnumerationEmitterTemplateData extends UserTypeTemplateData
         items = new ArrayList<EnumItemData>();
         for (EnumItem item: enumType.getItems())
             items.add(new EnumItemData(javaNativeMapper, enumType, item));
+
+        lookup = createLookup(nativeIntegralType, enumType);
     }
 
     public String getBaseJavaTypeName()
@@ -58,6 +63,11 @@ public final class EnumerationEmitterTemplateData extends UserTypeTemplateData
         return items;
     }
 
+    public LookupData getLookup()
+    {
+        return lookup;
+    }
+
     private static String createBitSize(EnumType enumType) throws ZserioEmitException
     {
         final TypeInstantiation typeInstantiation = enumType.getTypeInstantiation();
@@ -75,6 +85,95 @@ public final class EnumerationEmitterTemplateData extends UserTypeTemplateData
         return (bitSize != null) ? JavaLiteralFormatter.formatDecimalLiteral(bitSize) : null;
     }
 
+    private static LookupData createLookup(NativeIntegralType nativeIntegralType, EnumType enumType)
+            throws ZserioEmitException
+    {
+        // Java switch can be used for all other types
+        final String baseJavaTypeName = nativeIntegralType.getFullName();
+        if (!baseJavaTypeName.equals("long") && !baseJavaTypeName.equals("java.math.BigInteger"))
+            return null;
+
+        final List<EnumItem> sortedItems = new ArrayList<EnumItem>(enumType.getItems());
+        if (sortedItems.isEmpty())
+            return null;
+
+        Collections.sort(sortedItems, new Comparator<EnumItem>()
+        {
+            @Override
+            public int compare(EnumItem item1, EnumItem item2)
+            {
+                return item1.getValue().compareTo(item2.getValue());
+            }
+        });
+
+        return new LookupData(nativeIntegralType, sortedItems);
+    }
+
+    public static class LookupData
+    {
+        public LookupData(NativeIntegralType nativeIntegralType, List<EnumItem> sortedItems)
+                throws ZserioEmitException
+        {
+            final BigInteger minValue = sortedItems.get(0).getValue();
+            final BigInteger maxValue = sortedItems.get(sortedItems.size() - 1).getValue();
+            final BigInteger range = maxValue.subtract(minValue).add(BigInteger.ONE);
+            final BigInteger maxDenseRange = BigInteger.valueOf((long)sortedItems.size() * DENSE_FILL_FACTOR);
+            isDense = range.compareTo(maxDenseRange) <= 0;
+            tableSize = isDense ? JavaLiteralFormatter.formatDecimalLiteral(range.intValue()) : null;
+
+            this.minValue = nativeIntegralType.formatLiteral(minValue);
+            this.maxValue = nativeIntegralType.formatLiteral(maxValue);
+
+            values = new ArrayList<String>();
+            itemNames = new ArrayList<String>();
+            for (EnumItem item : sortedItems)
+            {
+                values.add(nativeIntegralType.formatLiteral(item.getValue()));
+                itemNames.add(item.getName());
+            }
+        }
+
+        public boolean getIsDense()
+        {
+            return isDense;
+        }
+
+        public String getMinValue()
+        {
+            return minValue;
+        }
+
+        public String getMaxValue()
+        {
+            return maxValue;
+        }
+
+        public String getTableSize()
+        {
+            return tableSize;
+        }
+
+        public Iterable<String> getValues()
+        {
+            return values;
+        }
+
+        public Iterable<String> getItemNames()
+        {
+            return itemNames;
+        }
+
+        // at least every second value in the dense table must belong to some item
+        private static final int DENSE_FILL_FACTOR = 2;
+
+        private final boolean isDense;
+        private final String minValue;
+        private final String maxValue;
+        private final String tableSize;
+        private final List<String> values;
+        private final List<String> itemNames;
+    }
+
     public static class EnumItemData
     {
         public EnumItemData(JavaNativeMapper javaNativeMapper, EnumType enumType, EnumItem enumItem)
@@ -106,4 +205,5 @@ public final class EnumerationEmitterTemplateData extends UserTypeTemplateData
 
     private final RuntimeFunctionTemplateData   runtimeFunction;
     private final List<EnumItemData>            items;
+    private final LookupData                    lookup;
 }
@@ -0,0 +1,69 @@
+package zserio.emit.java;
+
+import zserio.ast.ArrayInstantiation;
+import zserio.ast.BitmaskType;
+import zserio.ast.EnumType;
+import zserio.ast.Field;
+import zserio.ast.FixedSizeType;
+import zserio.ast.StructureType;
+import zserio.ast.TypeInstantiation;
+import zserio.ast.ZserioType;
+
+/**
+ * Calculator of bit sizes which are known during compilation.
+ *
+ * Besides built-in fixed size types, it resolves enumerations and bitmasks with fixed size underlying type and
+ * structures which contain only such fields without optional, alignment or offset.
+ */
+public final class FixedBitSizeCalculator
+{
+    /**
+     * Gets bit size of the given type instantiation.
+     *
+     * @param typeInstantiation Type instantiation to calculate.
+     *
+     * @return Bit size or null if the bit size is not known during compilation.
+     */
+    public static Integer getBitSize(TypeInstantiation typeInstantiation)
+    {
+        if (typeInstantiation instanceof ArrayInstantiation)
+            return null;
+
+        final ZserioType baseType = typeInstantiation.getBaseType();
+        if (baseType instanceof FixedSizeType)
+            return ((FixedSizeType)baseType).getBitSize();
+        else if (baseType instanceof EnumType)
+            return getBitSize(((EnumType)baseType).getTypeInstantiation());
+        else if (baseType instanceof BitmaskType)
+            return getBitSize(((BitmaskType)baseType).getTypeInstantiation());
+        else if (baseType instanceof StructureType)
+            return getBitSize((StructureType)baseType);
+        else
+            return null;
+    }
+
+    /**
+     * Gets bit size of the given structure.
+     *
+     * @param structureType Structure type to calculate.
+     *
+     * @return Bit size or null if the bit size is not known during compilation.
+     */
+    public static Integer getBitSize(StructureType structureType)
+    {
+        int bitSize = 0;
+        for (Field field : structureType.getFields())
+        {
+            if (field.isOptional() || field.getAlignmentExpr() != null || field.getOffsetExpr() != null)
+                return null;
+
+            final Integer fieldBitSize = getBitSize(field.getTypeInstantiation());
+            if (fieldBitSize == null)
+                return null;
+
+            bitSize += fieldBitSize;
+        }
+
+        return bitSize;
+    }
+}
@@ -35,6 +35,16 @@ public class JavaExtension implements Extension
         option.setArgName("outputDir");
         option.setRequired(false);
         options.addOption(option);
+
+        option = new Option(OptionWithColumnarArrays, false,
+                "store arrays of simple fixed-size structures in columns (Java only)");
+        option.setRequired(false);
+        options.addOption(option);
+
+        option = new Option(OptionWithLazySqlBlobs, false,
+                "decode blobs of SQL table rows on the first access (Java only)");
+        option.setRequired(false);
+        options.addOption(option);
     }
 
     @Override
@@ -47,7 +57,10 @@ public class JavaExtension implements Extension
     public void generate(Parameters extensionParameters, Root rootNode) throws ZserioEmitException
     {
         final String outputDir = extensionParameters.getCommandLineArg(OptionJava);
-        final JavaExtensionParameters javaParameters = new JavaExtensionParameters(outputDir);
+        final boolean withColumnarArrays = extensionParameters.argumentExists(OptionWithColumnarArrays);
+        final boolean withLazySqlBlobs = extensionParameters.argumentExists(OptionWithLazySqlBlobs);
+        final JavaExtensionParameters javaParameters = new JavaExtensionParameters(outputDir, withColumnarArrays,
+                withLazySqlBlobs);
         generateJavaSources(extensionParameters, javaParameters, rootNode);
     }
 
@@ -72,4 +85,6 @@ public class JavaExtension implements Extension
     }
 
     private static final String OptionJava = "java";
+    private static final String OptionWithColumnarArrays = "withColumnarArrays";
+    private static final String OptionWithLazySqlBlobs = "withLazySqlBlobs";
 }
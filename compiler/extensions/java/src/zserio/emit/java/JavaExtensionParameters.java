@@ -2,9 +2,12 @@ package zserio.emit.java;
 
 public class JavaExtensionParameters
 {
-    public JavaExtensionParameters(String javaOutputDir)
+    public JavaExtensionParameters(String javaOutputDir, boolean withColumnarArrays,
+            boolean withLazySqlBlobs)
     {
         this.javaOutputDir = javaOutputDir;
+        this.withColumnarArrays = withColumnarArrays;
+        this.withLazySqlBlobs = withLazySqlBlobs;
     }
 
     public String getJavaOutputDir()
@@ -12,5 +15,17 @@ public class JavaExtensionParameters
         return javaOutputDir;
     }
 
+    public boolean getWithColumnarArrays()
+    {
+        return withColumnarArrays;
+    }
+
+    public boolean getWithLazySqlBlobs()
+    {
+        return withLazySqlBlobs;
+    }
+
     private final String    javaOutputDir;
+    private final boolean   withColumnarArrays;
+    private final boolean   withLazySqlBlobs;
 }
@@ -19,6 +19,9 @@ public class PubsubEmitterTemplateData extends UserTypeTemplateData
         final JavaNativeMapper javaNativeMapper = context.getJavaNativeMapper();
         final ExpressionFormatter javaExpressionFormatter = context.getJavaExpressionFormatter();
 
+        final JavaNativeType nativePubsubType = javaNativeMapper.getJavaType(pubsubType);
+        pubsubPackageName = nativePubsubType.getPackageName().toString();
+
         Iterable<PubsubMessage> messageList = pubsubType.getMessageList();
         boolean hasPublishing = false;
         boolean hasSubscribing = false;
@@ -39,6 +42,11 @@ public class PubsubEmitterTemplateData extends UserTypeTemplateData
         return messageList;
     }
 
+    public String getPubsubFullName()
+    {
+        return pubsubPackageName.isEmpty() ? getName() : pubsubPackageName + "." + getName();
+    }
+
     public boolean getHasPublishing()
     {
         return hasPublishing;
@@ -94,6 +102,7 @@ public class PubsubEmitterTemplateData extends UserTypeTemplateData
         private final boolean isSubscribed;
     }
 
+    private final String pubsubPackageName;
     private final List<MessageTemplateData> messageList = new ArrayList<MessageTemplateData>();
     private final boolean hasPublishing;
     private final boolean hasSubscribing;
@@ -53,6 +53,9 @@ public final class ServiceEmitterTemplateData extends UserTypeTemplateData
 
             final ZserioType requestType = serviceMethod.getRequestType();
             requestTypeFullName = typeMapper.getJavaType(requestType).getFullName();
+
+            isResponseStreaming = serviceMethod.isResponseStreaming();
+            isRequestStreaming = serviceMethod.isRequestStreaming();
         }
 
         public String getName()
@@ -70,9 +73,26 @@ public final class ServiceEmitterTemplateData extends UserTypeTemplateData
             return requestTypeFullName;
         }
 
+        public boolean getIsResponseStreaming()
+        {
+            return isResponseStreaming;
+        }
+
+        public boolean getIsRequestStreaming()
+        {
+            return isRequestStreaming;
+        }
+
+        public boolean getIsStreaming()
+        {
+            return isResponseStreaming || isRequestStreaming;
+        }
+
         private final String name;
         private final String responseTypeFullName;
         private final String requestTypeFullName;
+        private final boolean isResponseStreaming;
+        private final boolean isRequestStreaming;
     }
 
     private final List<MethodTemplateData> methodList = new ArrayList<MethodTemplateData>();
@@ -59,11 +59,13 @@ public final  class SqlDatabaseEmitterTemplateData extends UserTypeTemplateData
                 SqlTableType tableType = (SqlTableType)fieldBaseType;
                 isWithoutRowIdTable = tableType.isWithoutRowId();
                 hasExplicitParameters = hasTableExplicitParameters(tableType);
+                hasIndexes = !tableType.getSqlIndexes().isEmpty();
             }
             else
             {
                 isWithoutRowIdTable = false;
                 hasExplicitParameters = false;
+                hasIndexes = false;
             }
         }
 
@@ -92,6 +94,11 @@ public final  class SqlDatabaseEmitterTemplateData extends UserTypeTemplateData
             return hasExplicitParameters;
         }
 
+        public boolean getHasIndexes()
+        {
+            return hasIndexes;
+        }
+
         private static boolean hasTableExplicitParameters(SqlTableType tableType)
         {
             for (Field tableField : tableType.getFields())
@@ -119,6 +126,7 @@ public final  class SqlDatabaseEmitterTemplateData extends UserTypeTemplateData
         private final String getterName;
         private final boolean isWithoutRowIdTable;
         private final boolean hasExplicitParameters;
+        private final boolean hasIndexes;
     }
 
     private final String rootPackageName;
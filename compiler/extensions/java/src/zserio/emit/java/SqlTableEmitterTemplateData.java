@@ -1,7 +1,9 @@
 package zserio.emit.java;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -14,6 +16,7 @@ import zserio.ast.EnumType;
 import zserio.ast.Expression;
 import zserio.ast.Field;
 import zserio.ast.SqlConstraint;
+import zserio.ast.SqlIndex;
 import zserio.ast.SqlTableType;
 import zserio.ast.TypeInstantiation;
 import zserio.emit.common.ExpressionFormatter;
@@ -36,6 +39,7 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
 
         rootPackageName = context.getJavaRootPackageName();
         this.withValidationCode = context.getWithValidationCode();
+        this.withLazySqlBlobs = context.getWithLazySqlBlobs();
 
         rowName = tableRowName;
         final SqlConstraint tableSqlConstraint = tableType.getSqlConstraint();
@@ -48,12 +52,14 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
 
         final JavaNativeMapper javaNativeMapper = context.getJavaNativeMapper();
         final SqlNativeTypeMapper sqlNativeTypeMapper = new SqlNativeTypeMapper();
+        final Map<Field, FieldTemplateData> fieldDataMap = new HashMap<Field, FieldTemplateData>();
         for (Field field: tableType.getFields())
         {
             final FieldTemplateData fieldData = new FieldTemplateData(javaNativeMapper,
                     javaExpressionFormatter, context.getJavaSqlIndirectExpressionFormatter(),
                     sqlNativeTypeMapper, tableType, field);
             fields.add(fieldData);
+            fieldDataMap.put(field, fieldData);
             for (FieldTemplateData.ParameterTemplateData parameterTemplateData : fieldData.getTypeParameters())
             {
                 if (parameterTemplateData.getIsExplicit())
@@ -64,6 +70,9 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
                 }
             }
         }
+
+        for (SqlIndex sqlIndex : tableType.getSqlIndexes())
+            indexes.add(new IndexTemplateData(sqlIndex, fieldDataMap));
     }
 
     public String getRootPackageName()
@@ -76,6 +85,11 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
         return withValidationCode;
     }
 
+    public boolean getWithLazySqlBlobs()
+    {
+        return withLazySqlBlobs;
+    }
+
     public String getRowName()
     {
         return rowName;
@@ -106,6 +120,11 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
         return explicitParameters;
     }
 
+    public Iterable<IndexTemplateData> getIndexes()
+    {
+        return indexes;
+    }
+
     public String getSqlConstraint()
     {
         return sqlConstraint;
@@ -166,6 +185,30 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
         private final String javaTypeFullName;
     }
 
+    public static class IndexTemplateData
+    {
+        public IndexTemplateData(SqlIndex sqlIndex, Map<Field, FieldTemplateData> fieldDataMap)
+        {
+            name = sqlIndex.getName();
+            fields = new ArrayList<FieldTemplateData>();
+            for (Field field : sqlIndex.getFields())
+                fields.add(fieldDataMap.get(field));
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public Iterable<FieldTemplateData> getFields()
+        {
+            return fields;
+        }
+
+        private final String name;
+        private final List<FieldTemplateData> fields;
+    }
+
     public static class FieldTemplateData
     {
         public FieldTemplateData(JavaNativeMapper javaNativeMapper,
@@ -180,6 +223,7 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
             name = field.getName();
             javaTypeName = nativeType.getName();
             javaTypeFullName = nativeType.getFullName();
+            javaNullableTypeFullName = javaNativeMapper.getNullableJavaType(fieldTypeInstantiation).getFullName();
             requiresBigInt = (nativeType instanceof NativeIntegralType) ?
                     ((NativeIntegralType)nativeType).requiresBigInt() : false;
 
@@ -230,6 +274,11 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
             return javaTypeFullName;
         }
 
+        public String getJavaNullableTypeFullName()
+        {
+            return javaNullableTypeFullName;
+        }
+
         public boolean getRequiresBigInt()
         {
             return requiresBigInt;
@@ -417,6 +466,7 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
         private final String name;
         private final String javaTypeName;
         private final String javaTypeFullName;
+        private final String javaNullableTypeFullName;
         private final boolean requiresBigInt;
         private final boolean isVirtual;
         private final String sqlConstraint;
@@ -430,12 +480,14 @@ public final class SqlTableEmitterTemplateData extends UserTypeTemplateData
 
     private final String rootPackageName;
     private final boolean withValidationCode;
+    private final boolean withLazySqlBlobs;
     private final String rowName;
     private final String sqlConstraint;
     private final String virtualTableUsing;
     private final boolean needsTypesInSchema;
     private final boolean isWithoutRowId;
     private final List<FieldTemplateData> fields = new ArrayList<FieldTemplateData>();
+    private final List<IndexTemplateData> indexes = new ArrayList<IndexTemplateData>();
     private final SortedSet<ExplicitParameterTemplateData> explicitParameters =
             new TreeSet<ExplicitParameterTemplateData>();
 }
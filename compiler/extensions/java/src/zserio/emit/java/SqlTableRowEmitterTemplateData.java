@@ -7,6 +7,8 @@ import zserio.ast.Field;
 import zserio.ast.SqlTableType;
 import zserio.ast.TypeInstantiation;
 import zserio.emit.common.ZserioEmitException;
+import zserio.emit.common.sql.SqlNativeTypeMapper;
+import zserio.emit.common.sql.types.NativeBlobType;
 import zserio.emit.java.types.JavaNativeType;
 import zserio.emit.java.types.NativeBooleanType;
 
@@ -23,9 +25,12 @@ public final class SqlTableRowEmitterTemplateData extends JavaTemplateData
 
         name = tableRowName;
 
+        final boolean withLazySqlBlobs = context.getWithLazySqlBlobs();
+        final SqlNativeTypeMapper sqlNativeTypeMapper = new SqlNativeTypeMapper();
         for (Field field: tableType.getFields())
         {
-            final FieldTemplateData fieldData = new FieldTemplateData(javaNativeMapper, field);
+            final FieldTemplateData fieldData = new FieldTemplateData(javaNativeMapper, sqlNativeTypeMapper,
+                    withLazySqlBlobs, field);
             fields.add(fieldData);
         }
     }
@@ -47,8 +52,8 @@ public final class SqlTableRowEmitterTemplateData extends JavaTemplateData
 
     public static class FieldTemplateData
     {
-        public FieldTemplateData(JavaNativeMapper javaNativeMapper, Field field)
-                throws ZserioEmitException
+        public FieldTemplateData(JavaNativeMapper javaNativeMapper, SqlNativeTypeMapper sqlNativeTypeMapper,
+                boolean withLazySqlBlobs, Field field) throws ZserioEmitException
         {
             final TypeInstantiation fieldTypeInstantiation = field.getTypeInstantiation();
             name = field.getName();
@@ -56,6 +61,8 @@ public final class SqlTableRowEmitterTemplateData extends JavaTemplateData
             javaTypeFullName = nativeType.getFullName();
             javaNullableTypeFullName = javaNativeMapper.getNullableJavaType(fieldTypeInstantiation).getFullName();
             isBool = nativeType instanceof NativeBooleanType;
+            isLazyBlob = withLazySqlBlobs &&
+                    sqlNativeTypeMapper.getSqlType(fieldTypeInstantiation) instanceof NativeBlobType;
         }
 
         public String getName()
@@ -78,10 +85,16 @@ public final class SqlTableRowEmitterTemplateData extends JavaTemplateData
             return isBool;
         }
 
+        public boolean getIsLazyBlob()
+        {
+            return isLazyBlob;
+        }
+
         private final String    name;
         private final String    javaTypeFullName;
         private final String    javaNullableTypeFullName;
         private final boolean   isBool;
+        private final boolean   isLazyBlob;
     }
 
     private final String                    packageName;
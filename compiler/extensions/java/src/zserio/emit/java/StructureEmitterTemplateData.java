@@ -1,7 +1,17 @@
 package zserio.emit.java;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import zserio.ast.BitmaskType;
+import zserio.ast.EnumType;
+import zserio.ast.Field;
 import zserio.ast.StructureType;
+import zserio.ast.TypeInstantiation;
+import zserio.ast.ZserioType;
+import zserio.emit.common.ExpressionFormatter;
 import zserio.emit.common.ZserioEmitException;
+import zserio.emit.java.types.JavaNativeType;
 
 public final class StructureEmitterTemplateData extends CompoundTypeTemplateData
 {
@@ -9,5 +19,134 @@ public final class StructureEmitterTemplateData extends CompoundTypeTemplateData
             throws ZserioEmitException
     {
         super(context, structureType);
+
+        final Integer bitSize = FixedBitSizeCalculator.getBitSize(structureType);
+        fixedBitSize = (bitSize != null) ? JavaLiteralFormatter.formatDecimalLiteral(bitSize) : null;
+        viewFieldList = (bitSize != null) ? createViewFieldList(context, structureType) : null;
+        generateColumns = context.getWithColumnarArrays() && context.getWithWriterCode() &&
+                isColumnarStructure(context.getJavaNativeMapper(), structureType);
+    }
+
+    public String getFixedBitSize()
+    {
+        return fixedBitSize;
+    }
+
+    public Iterable<ViewFieldData> getViewFieldList()
+    {
+        return viewFieldList;
+    }
+
+    public boolean getGenerateColumns()
+    {
+        return generateColumns;
     }
+
+    static boolean isColumnarStructure(JavaNativeMapper javaNativeMapper, StructureType structureType)
+            throws ZserioEmitException
+    {
+        // columns are created without parameters, each field must be stored in a primitive Java array and
+        // columns don't check constraints
+        if (FixedBitSizeCalculator.getBitSize(structureType) == null ||
+                !structureType.getTypeParameters().isEmpty() || structureType.getFields().isEmpty())
+            return false;
+
+        for (Field field : structureType.getFields())
+        {
+            final JavaNativeType nativeType = javaNativeMapper.getJavaType(field.getTypeInstantiation());
+            if (!nativeType.isSimple() || field.getConstraintExpr() != null)
+                return false;
+        }
+
+        return true;
+    }
+
+    private static List<ViewFieldData> createViewFieldList(TemplateDataContext context,
+            StructureType structureType) throws ZserioEmitException
+    {
+        final List<ViewFieldData> viewFieldList = new ArrayList<ViewFieldData>();
+        int bitPosition = 0;
+        for (Field field : structureType.getFields())
+        {
+            viewFieldList.add(new ViewFieldData(context, field, bitPosition));
+            bitPosition += FixedBitSizeCalculator.getBitSize(field.getTypeInstantiation());
+        }
+
+        return viewFieldList;
+    }
+
+    public static class ViewFieldData
+    {
+        public ViewFieldData(TemplateDataContext context, Field field, int bitPosition)
+                throws ZserioEmitException
+        {
+            final JavaNativeMapper javaNativeMapper = context.getJavaNativeMapper();
+            final ExpressionFormatter javaExpressionFormatter = context.getJavaExpressionFormatter();
+            final TypeInstantiation fieldTypeInstantiation = field.getTypeInstantiation();
+            final ZserioType fieldBaseType = fieldTypeInstantiation.getBaseType();
+            final JavaNativeType fieldJavaType = javaNativeMapper.getJavaType(fieldTypeInstantiation);
+            final String fieldJavaTypeName = fieldJavaType.getFullName();
+
+            getterName = AccessorNameFormatter.getGetterName(field);
+            this.bitPosition = JavaLiteralFormatter.formatDecimalLiteral(bitPosition);
+            isCompound = fieldBaseType instanceof StructureType;
+            isEnum = fieldBaseType instanceof EnumType;
+            isBitmask = fieldBaseType instanceof BitmaskType;
+            javaTypeName = isCompound ?
+                    fieldJavaTypeName + "." + fieldJavaType.getName() + "View" : fieldJavaTypeName;
+
+            final TypeInstantiation valueTypeInstantiation = isEnum ?
+                    ((EnumType)fieldBaseType).getTypeInstantiation() : isBitmask ?
+                    ((BitmaskType)fieldBaseType).getTypeInstantiation() : fieldTypeInstantiation;
+            runtimeFunction = isCompound ? null : JavaRuntimeFunctionDataCreator.createData(
+                    valueTypeInstantiation, javaExpressionFormatter, javaNativeMapper);
+        }
+
+        public String getGetterName()
+        {
+            return getterName;
+        }
+
+        public String getJavaTypeName()
+        {
+            return javaTypeName;
+        }
+
+        public String getBitPosition()
+        {
+            return bitPosition;
+        }
+
+        public boolean getIsCompound()
+        {
+            return isCompound;
+        }
+
+        public boolean getIsEnum()
+        {
+            return isEnum;
+        }
+
+        public boolean getIsBitmask()
+        {
+            return isBitmask;
+        }
+
+        public RuntimeFunctionTemplateData getRuntimeFunction()
+        {
+            return runtimeFunction;
+        }
+
+        private final String getterName;
+        private final String javaTypeName;
+        private final String bitPosition;
+        private final boolean isCompound;
+        private final boolean isEnum;
+        private final boolean isBitmask;
+        private final RuntimeFunctionTemplateData runtimeFunction;
+    }
+
+    private final String fixedBitSize;
+    private final List<ViewFieldData> viewFieldList;
+    private final boolean generateColumns;
 }
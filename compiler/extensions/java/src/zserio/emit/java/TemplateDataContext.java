@@ -26,6 +26,8 @@ final class TemplateDataContext
         withWriterCode = extensionParameters.getWithWriterCode();
         withValidationCode = extensionParameters.getWithValidationCode();
         withRangeCheckCode = extensionParameters.getWithRangeCheckCode();
+        withColumnarArrays = javaParameters.getWithColumnarArrays();
+        withLazySqlBlobs = javaParameters.getWithLazySqlBlobs();
     }
 
     public JavaNativeMapper getJavaNativeMapper()
@@ -68,6 +70,16 @@ final class TemplateDataContext
         return withRangeCheckCode;
     }
 
+    public boolean getWithColumnarArrays()
+    {
+        return withColumnarArrays;
+    }
+
+    public boolean getWithLazySqlBlobs()
+    {
+        return withLazySqlBlobs;
+    }
+
     private final JavaNativeMapper javaNativeMapper;
     private final String javaRootPackageName;
 
@@ -78,4 +90,6 @@ final class TemplateDataContext
     private final boolean withValidationCode;
     private final boolean withRangeCheckCode;
     private final boolean withWriterCode;
+    private final boolean withColumnarArrays;
+    private final boolean withLazySqlBlobs;
 }
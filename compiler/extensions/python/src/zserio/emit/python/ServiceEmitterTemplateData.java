@@ -47,6 +47,12 @@ public final class ServiceEmitterTemplateData extends UserTypeTemplateData
         public MethodTemplateData(PythonNativeMapper typeMapper, ServiceMethod serviceMethod,
                 ImportCollector importCollector) throws ZserioEmitException
         {
+            if (serviceMethod.isRequestStreaming() || serviceMethod.isResponseStreaming())
+            {
+                throw new ZserioEmitException("Streaming service method '" + serviceMethod.getName() +
+                        "' is not supported by Python generator!");
+            }
+
             name = serviceMethod.getName();
 
             final ZserioType responseType = serviceMethod.getResponseType();
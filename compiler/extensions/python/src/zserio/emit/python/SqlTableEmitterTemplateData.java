@@ -30,6 +30,12 @@ public class SqlTableEmitterTemplateData extends UserTypeTemplateData
     {
         super(context, sqlTableType);
 
+        if (!sqlTableType.getSqlIndexes().isEmpty())
+        {
+            throw new ZserioEmitException("Sql index '" + sqlTableType.getSqlIndexes().get(0).getName() +
+                    "' in sql table '" + sqlTableType.getName() + "' is not supported by Python generator!");
+        }
+
         final SqlConstraint tableSqlConstraint = sqlTableType.getSqlConstraint();
         final ExpressionFormatter pythonExpressionFormatter = context.getPythonExpressionFormatter(this);
         sqlConstraint = (tableSqlConstraint == null) ? null :
@@ -52,6 +52,7 @@ import zserio.ast.ServiceMethod;
 import zserio.ast.ServiceType;
 import zserio.ast.SqlConstraint;
 import zserio.ast.SqlDatabaseType;
+import zserio.ast.SqlIndex;
 import zserio.ast.SqlTableType;
 import zserio.ast.StdIntegerType;
 import zserio.ast.StringType;
@@ -327,11 +328,24 @@ public class XmlAstWriter implements ZserioAstVisitor
         visitAstNode(sqlConstraint, "SQL_CONSTRAINT");
     }
 
+    @Override
+    public void visitSqlIndex(SqlIndex sqlIndex)
+    {
+        final Element xmlElement = xmlDoc.createElement("SQL_INDEX");
+        xmlElement.setAttribute("name", sqlIndex.getName());
+        xmlElement.setAttribute("columns", String.join(",", sqlIndex.getColumnNames()));
+        visitAstNode(sqlIndex, xmlElement);
+    }
+
     @Override
     public void visitServiceMethod(ServiceMethod serviceMethod)
     {
         final Element xmlElement = xmlDoc.createElement("METHOD");
         xmlElement.setAttribute("name", serviceMethod.getName());
+        if (serviceMethod.isResponseStreaming())
+            xmlElement.setAttribute("responseStream", "true");
+        if (serviceMethod.isRequestStreaming())
+            xmlElement.setAttribute("requestStream", "true");
         visitAstNode(serviceMethod, xmlElement);
     }
 
@@ -0,0 +1,205 @@
+package with_columnar_arrays;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.array.Array;
+import zserio.runtime.array.ObjectArray;
+import zserio.runtime.io.BitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+import zserio.runtime.io.ZserioIO;
+
+public class WithColumnarArraysTest
+{
+    @Test
+    public void checkColumnsClasses()
+    {
+        assertTrue(hasNestedClass(Point.class, "PointColumns"));
+        assertFalse(hasNestedClass(KindPoint.class, "KindPointColumns"));
+        assertFalse(hasNestedClass(Polyline.class, "PolylineColumns"));
+        assertFalse(hasNestedClass(AutoPolyline.class, "AutoPolylineColumns"));
+    }
+
+    @Test
+    public void columnarFields() throws NoSuchMethodException
+    {
+        assertEquals(Point.PointColumns.class, Polyline.class.getMethod("getPoints").getReturnType());
+        assertEquals(Point.PointColumns.class, AutoPolyline.class.getMethod("getPoints").getReturnType());
+        assertEquals(ObjectArray.class, KindPolyline.class.getMethod("getPoints").getReturnType());
+    }
+
+    @Test
+    public void accessors()
+    {
+        final Point.PointColumns columns = new Point.PointColumns(createPoints());
+        assertEquals(NUM_POINTS, columns.length());
+        assertEquals(2, columns.getX(1));
+        assertEquals(-2, columns.getY(1));
+        assertEquals((byte)2, columns.getLevel(1));
+
+        columns.setX(1, 100);
+        assertEquals(100, columns.getX(1));
+        assertEquals(100, columns.elementAt(1).getX());
+
+        columns.setElementAt(createPoint(7), 1);
+        assertEquals(createPoint(7), columns.elementAt(1));
+    }
+
+    @Test
+    public void listView()
+    {
+        final List<Point> points = createPoints();
+        final Point.PointColumns columns = new Point.PointColumns(points);
+        assertEquals(points, columns.asList());
+
+        columns.asList().set(0, createPoint(9));
+        assertEquals(createPoint(9), columns.elementAt(0));
+        assertEquals(new ObjectArray<Point>(columns.asList()), columns.toObjectArray());
+    }
+
+    @Test(expected=ZserioError.class)
+    public void setterRangeCheck()
+    {
+        final Point.PointColumns columns = new Point.PointColumns(createPoints());
+        columns.setLevel(0, (byte)16);
+    }
+
+    @Test(expected=ZserioError.class)
+    public void setElementAtRangeCheck()
+    {
+        final Point.PointColumns columns = new Point.PointColumns(createPoints());
+        final Point point = new Point();
+        point.setLevel((byte)-1);
+        columns.setElementAt(point, 0);
+    }
+
+    @Test
+    public void polylineReadWrite() throws IOException, ZserioError
+    {
+        final Polyline polyline = new Polyline();
+        polyline.setNumPoints(NUM_POINTS);
+        polyline.setPoints(createPoints());
+        assertEquals(VARSIZE_BIT_SIZE + NUM_POINTS * Point.BIT_SIZE, polyline.bitSizeOf());
+        assertEquals(polyline.bitSizeOf(), polyline.initializeOffsets(0));
+
+        final byte[] data = ZserioIO.write(polyline);
+        final Polyline readPolyline = new Polyline(new ByteArrayBitStreamReader(data));
+        assertEquals(polyline, readPolyline);
+        assertEquals(createPoints(), readPolyline.getPoints().asList());
+
+        final Polyline intoPolyline = new Polyline();
+        intoPolyline.readInto(new ByteArrayBitStreamReader(data));
+        assertEquals(polyline, intoPolyline);
+    }
+
+    @Test
+    public void autoPolylineReadWrite() throws IOException, ZserioError
+    {
+        final AutoPolyline autoPolyline = new AutoPolyline(new Point.PointColumns(createPoints()));
+        assertEquals(VARSIZE_BIT_SIZE + NUM_POINTS * Point.BIT_SIZE, autoPolyline.bitSizeOf());
+        assertEquals(autoPolyline.bitSizeOf(), autoPolyline.initializeOffsets(0));
+
+        final byte[] data = ZserioIO.write(autoPolyline);
+        final AutoPolyline readAutoPolyline = new AutoPolyline(new ByteArrayBitStreamReader(data));
+        assertEquals(autoPolyline, readAutoPolyline);
+    }
+
+    @Test(expected=ZserioError.class)
+    public void polylineWrongLength() throws IOException, ZserioError
+    {
+        final Polyline polyline = new Polyline(NUM_POINTS + 1, new Point.PointColumns(createPoints()));
+        ZserioIO.write(polyline);
+    }
+
+    @Test
+    public void readWrite() throws IOException, ZserioError
+    {
+        final List<Point> points = createPoints();
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeVarSize(NUM_POINTS);
+        new ObjectArray<Point>(points).write(writer);
+        writer.close();
+        final byte[] data = writer.toByteArray();
+
+        final BitStreamReader reader = new ByteArrayBitStreamReader(data);
+        final int numPoints = reader.readVarSize();
+        final Point.PointColumns columns = new Point.PointColumns(reader, numPoints);
+        assertEquals(points, columns.asList());
+        assertEquals(VARSIZE_BIT_SIZE + NUM_POINTS * Point.BIT_SIZE, reader.getBitPosition());
+        assertEquals(NUM_POINTS * Point.BIT_SIZE, columns.bitSizeOf());
+
+        final ByteArrayBitStreamWriter columnsWriter = new ByteArrayBitStreamWriter();
+        columnsWriter.writeVarSize(columns.length());
+        columns.write(columnsWriter);
+        columnsWriter.close();
+        assertArrayEquals(data, columnsWriter.toByteArray());
+    }
+
+    @Test
+    public void readWriteAuto() throws IOException, ZserioError
+    {
+        final List<Point> points = createPoints();
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        new ObjectArray<Point>(points).writeAuto(writer);
+        writer.close();
+        final byte[] data = writer.toByteArray();
+
+        final BitStreamReader reader = new ByteArrayBitStreamReader(data);
+        final Point.PointColumns columns = new Point.PointColumns(reader, Array.AUTO_LENGTH);
+        assertEquals(points, columns.asList());
+        assertEquals(VARSIZE_BIT_SIZE + NUM_POINTS * Point.BIT_SIZE, reader.getBitPosition());
+        assertEquals(reader.getBitPosition(), columns.bitSizeOfAuto());
+
+        final ByteArrayBitStreamWriter columnsWriter = new ByteArrayBitStreamWriter();
+        columns.writeAuto(columnsWriter);
+        columnsWriter.close();
+        assertArrayEquals(data, columnsWriter.toByteArray());
+    }
+
+    @Test
+    public void equalsAndHashCode()
+    {
+        final Point.PointColumns columns1 = new Point.PointColumns(createPoints());
+        final Point.PointColumns columns2 = new Point.PointColumns(createPoints());
+        assertEquals(columns1, columns2);
+        assertEquals(columns1.hashCode(), columns2.hashCode());
+
+        columns2.setIsVisible(0, !columns2.getIsVisible(0));
+        assertFalse(columns1.equals(columns2));
+    }
+
+    private static boolean hasNestedClass(Class<?> userType, String nestedClassName)
+    {
+        for (Class<?> nestedClass : userType.getDeclaredClasses())
+        {
+            if (nestedClass.getSimpleName().equals(nestedClassName))
+                return true;
+        }
+
+        return false;
+    }
+
+    private static List<Point> createPoints()
+    {
+        final List<Point> points = new ArrayList<Point>();
+        for (int i = 0; i < NUM_POINTS; ++i)
+            points.add(createPoint(i + 1));
+
+        return points;
+    }
+
+    private static Point createPoint(int value)
+    {
+        return new Point(value, -value, (byte)(value % 16), value * 0.5f, value % 2 == 0);
+    }
+
+    private static final int NUM_POINTS = 5;
+    private static final int VARSIZE_BIT_SIZE = 8;
+}
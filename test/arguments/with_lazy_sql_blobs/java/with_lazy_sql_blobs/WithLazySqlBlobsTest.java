@@ -0,0 +1,231 @@
+package with_lazy_sql_blobs;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import test_utils.FileUtil;
+import test_utils.JdbcUtil;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.array.UnsignedIntArray;
+import zserio.runtime.io.ZserioIO;
+
+public class WithLazySqlBlobsTest
+{
+    @BeforeClass
+    public static void init()
+    {
+        JdbcUtil.registerJdbc();
+    }
+
+    @Before
+    public void setUp() throws IOException, SQLException
+    {
+        FileUtil.deleteFileIfExists(file);
+        database = new LazyBlobDb(file.toString());
+        database.createSchema();
+    }
+
+    @After
+    public void tearDown() throws SQLException
+    {
+        if (database != null)
+        {
+            database.close();
+            database = null;
+        }
+    }
+
+    @Test
+    public void readDecodesOnFirstAccess() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        final List<LazyBlobTableRow> writtenRows = createLazyBlobTableRows();
+        table.write(writtenRows);
+
+        final CountingParameterProvider parameterProvider = new CountingParameterProvider(COUNT);
+        final List<LazyBlobTableRow> readRows = table.read(parameterProvider);
+        assertEquals(NUM_ROWS, readRows.size());
+        assertEquals(NUM_ROWS, parameterProvider.numCalls);
+        for (int i = 0; i < NUM_ROWS; ++i)
+        {
+            final LazyBlobTableRow readRow = readRows.get(i);
+            assertFalse(readRow.isNullBlob());
+            assertFalse(readRow.getLazyBlob().isDecoded());
+            assertFalse(readRow.getLazyExplicitBlob().isDecoded());
+
+            final ParameterizedBlob blob = readRow.getBlob();
+            assertEquals(writtenRows.get(i).getBlob(), blob);
+            assertTrue(readRow.getLazyBlob().isDecoded());
+            assertSame(blob, readRow.getBlob());
+            assertFalse(readRow.getLazyExplicitBlob().isDecoded());
+
+            assertEquals(writtenRows.get(i).getExplicitBlob(), readRow.getExplicitBlob());
+        }
+        assertEquals(NUM_ROWS, parameterProvider.numCalls);
+    }
+
+    @Test
+    public void rawData() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        final List<LazyBlobTableRow> writtenRows = createLazyBlobTableRows();
+        table.write(writtenRows);
+
+        final List<LazyBlobTableRow> readRows = table.read(new CountingParameterProvider(COUNT));
+        for (int i = 0; i < NUM_ROWS; ++i)
+        {
+            assertArrayEquals(ZserioIO.write(writtenRows.get(i).getBlob()),
+                    readRows.get(i).getLazyBlob().getData());
+        }
+    }
+
+    @Test
+    public void writeRawData() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        final List<LazyBlobTableRow> writtenRows = createLazyBlobTableRows();
+        table.write(writtenRows);
+
+        final List<LazyBlobTableRow> readRows = table.read(new CountingParameterProvider(COUNT));
+        final LazyBlobTable copyTable = new LazyBlobTable(database.connection(), COPY_TABLE_NAME);
+        copyTable.createTable();
+        copyTable.write(readRows);
+        for (LazyBlobTableRow readRow : readRows)
+            assertFalse(readRow.getLazyBlob().isDecoded());
+
+        final List<LazyBlobTableRow> copiedRows = copyTable.read(new CountingParameterProvider(COUNT));
+        checkLazyBlobTableRows(writtenRows, copiedRows);
+        copyTable.close();
+    }
+
+    @Test
+    public void writeModifiedBlob() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        table.write(createLazyBlobTableRows().subList(0, 1));
+
+        final LazyBlobTableRow readRow = table.read(new CountingParameterProvider(COUNT)).get(0);
+        readRow.getBlob().getArray().setElementAt(42L, 0);
+        table.update(readRow, "blobId=0");
+
+        final LazyBlobTableRow updatedRow = table.read(new CountingParameterProvider(COUNT)).get(0);
+        assertEquals(42L, updatedRow.getBlob().getArray().elementAt(0));
+    }
+
+    @Test
+    public void setBlob() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        final List<LazyBlobTableRow> writtenRows = createLazyBlobTableRows();
+        table.write(writtenRows);
+
+        final LazyBlobTableRow readRow = table.read(new CountingParameterProvider(COUNT)).get(0);
+        readRow.setBlob(writtenRows.get(1).getBlob());
+        assertNull(readRow.getLazyBlob());
+        assertSame(writtenRows.get(1).getBlob(), readRow.getBlob());
+
+        readRow.setNullExplicitBlob();
+        assertNull(readRow.getLazyExplicitBlob());
+        assertTrue(readRow.isNullExplicitBlob());
+    }
+
+    @Test
+    public void readNullBlob() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        final LazyBlobTableRow writtenRow = new LazyBlobTableRow();
+        writtenRow.setBlobId(0);
+        table.write(java.util.Collections.singletonList(writtenRow));
+
+        final LazyBlobTableRow readRow = table.read(new CountingParameterProvider(COUNT)).get(0);
+        assertTrue(readRow.isNullBlob());
+        assertNull(readRow.getLazyBlob());
+        assertNull(readRow.getBlob());
+    }
+
+    @Test(expected=ZserioError.class)
+    public void decodingError() throws SQLException, IOException, ZserioError
+    {
+        final LazyBlobTable table = database.getLazyBlobTable();
+        table.write(createLazyBlobTableRows());
+
+        final List<LazyBlobTableRow> readRows = table.read(new CountingParameterProvider(COUNT + 1));
+        readRows.get(0).getExplicitBlob();
+    }
+
+    private static class CountingParameterProvider implements LazyBlobTable.ParameterProvider
+    {
+        public CountingParameterProvider(long count)
+        {
+            this.count = count;
+        }
+
+        @Override
+        public long getCount(ResultSet resultSet)
+        {
+            numCalls++;
+            return count;
+        }
+
+        private final long count;
+        private int numCalls = 0;
+    }
+
+    private static List<LazyBlobTableRow> createLazyBlobTableRows()
+    {
+        final List<LazyBlobTableRow> rows = new ArrayList<LazyBlobTableRow>();
+        for (int blobId = 0; blobId < NUM_ROWS; ++blobId)
+        {
+            final LazyBlobTableRow row = new LazyBlobTableRow();
+            row.setBlobId(blobId);
+            final Parameters parameters = new Parameters(COUNT);
+            row.setParameters(parameters);
+            row.setBlob(new ParameterizedBlob(parameters, createArray(blobId)));
+            row.setExplicitBlob(new ExplicitBlob(COUNT, createArray(blobId + 1)));
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    private static UnsignedIntArray createArray(int offset)
+    {
+        final UnsignedIntArray array = new UnsignedIntArray((int)COUNT);
+        for (int i = 0; i < COUNT; ++i)
+            array.setElementAt(offset + i, i);
+
+        return array;
+    }
+
+    private static void checkLazyBlobTableRows(List<LazyBlobTableRow> rows1, List<LazyBlobTableRow> rows2)
+    {
+        assertEquals(rows1.size(), rows2.size());
+        for (int i = 0; i < rows1.size(); ++i)
+        {
+            assertEquals(rows1.get(i).getBlobId(), rows2.get(i).getBlobId());
+            assertEquals(rows1.get(i).getParameters(), rows2.get(i).getParameters());
+            assertEquals(rows1.get(i).getBlob(), rows2.get(i).getBlob());
+            assertEquals(rows1.get(i).getExplicitBlob(), rows2.get(i).getExplicitBlob());
+        }
+    }
+
+    private static final int NUM_ROWS = 5;
+    private static final long COUNT = 3;
+    private static final String COPY_TABLE_NAME = "copyTable";
+    private static final String FILE_NAME = "with_lazy_sql_blobs_test.sqlite";
+
+    private final File file = new File(FILE_NAME);
+    private LazyBlobDb database = null;
+}
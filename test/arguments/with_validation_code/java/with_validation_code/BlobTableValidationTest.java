@@ -7,6 +7,8 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -21,6 +23,7 @@ import with_validation_code.blob_table_validation.BlobTableValidationDb;
 
 import zserio.runtime.ZserioError;
 import zserio.runtime.io.ZserioIO;
+import zserio.runtime.validation.ValidationError;
 import zserio.runtime.validation.ValidationReport;
 
 public class BlobTableValidationTest
@@ -61,19 +64,48 @@ public class BlobTableValidationTest
         assertTrue(report.getErrors().isEmpty());
     }
 
+    @Test
+    public void validationBlobCompareFailure() throws SQLException, ZserioError
+    {
+        insertRowWithNoneStandardBlob(database.connection());
+        final Blob blob = new Blob(false, 0.0f, END_VALUE);
+        final byte[] bytesBlob = ZserioIO.write(blob);
+        insertRow(database.connection(), LONG_BLOB_ROW_ID, Arrays.copyOf(bytesBlob, bytesBlob.length + 1));
+        insertRow(database.connection(), STANDARD_BLOB_ROW_ID, bytesBlob);
+
+        final ValidationReport report = database.validate();
+        assertEquals(1, report.getNumberOfValidatedTables());
+        assertEquals(3, report.getNumberOfValidatedRows());
+
+        final List<ValidationError> errors = report.getErrors();
+        assertEquals(1, errors.size());
+
+        final ValidationError error = errors.get(0);
+        assertEquals("blobTable", error.getTableName());
+        assertEquals("blob", error.getFieldName());
+        assertEquals(Arrays.asList(Long.toString(LONG_BLOB_ROW_ID)), error.getRowKeyValues());
+        assertEquals(ValidationError.Type.BLOB_COMPARE_FAILED, error.getType());
+        assertEquals("Blob binary compare failed because of length (" + (bytesBlob.length + 1) + " != " +
+                bytesBlob.length + ")", error.getMessage());
+    }
+
     private void insertRowWithNoneStandardBlob(Connection connection) throws SQLException
+    {
+        final Blob blob = new Blob(Float.isNaN(NONE_STANDARD_NAN_VALUE), NONE_STANDARD_NAN_VALUE, END_VALUE);
+        final byte[] bytesBlob = ZserioIO.write(blob);
+        bytesBlob[1] = (byte)0xFF;      // none standard NaN
+        bytesBlob[2] = (byte)0xFF;      // set skipped bits
+        insertRow(connection, ROW_ID, bytesBlob);
+    }
+
+    private void insertRow(Connection connection, long rowId, byte[] bytesBlob) throws SQLException
     {
         final String sqlCommand = "INSERT INTO blobTable(id, blob) VALUES (?, ?)";
         final PreparedStatement statement = connection.prepareStatement(sqlCommand);
         try
         {
             int argIdx = 1;
-            statement.setLong(argIdx++, ROW_ID);
-
-            final Blob blob = new Blob(Float.isNaN(NONE_STANDARD_NAN_VALUE), NONE_STANDARD_NAN_VALUE, END_VALUE);
-            final byte[] bytesBlob = ZserioIO.write(blob);
-            bytesBlob[1] = (byte)0xFF;      // none standard NaN
-            bytesBlob[2] = (byte)0xFF;      // set skipped bits
+            statement.setLong(argIdx++, rowId);
             statement.setBytes(argIdx, bytesBlob);
 
             statement.execute();
@@ -85,6 +117,8 @@ public class BlobTableValidationTest
     }
 
     private static final long  ROW_ID = 0;
+    private static final long  LONG_BLOB_ROW_ID = 1;
+    private static final long  STANDARD_BLOB_ROW_ID = 2;
     private static final float NONE_STANDARD_NAN_VALUE = Float.intBitsToFloat(0xFFFFFFFF);
     private static final byte  END_VALUE = (byte)0x23;
 
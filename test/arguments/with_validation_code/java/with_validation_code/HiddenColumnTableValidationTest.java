@@ -56,6 +56,15 @@ public class HiddenColumnTableValidationTest
         assertTrue(report.getErrors().isEmpty());
     }
 
+    @Test
+    public void parallelValidation() throws SQLException, ZserioError
+    {
+        final ValidationReport report = database.validate(2, 100, null);
+        assertEquals(1, report.getNumberOfValidatedTables());
+        assertEquals(0, report.getNumberOfValidatedRows());
+        assertTrue(report.getErrors().isEmpty());
+    }
+
     private static final String FILE_NAME = "hidden_column_table_validation_test.sqlite";
 
     private File file = new File(FILE_NAME);
@@ -11,7 +11,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import org.junit.After;
 import org.junit.Before;
@@ -30,6 +32,7 @@ import zserio.runtime.ZserioError;
 import zserio.runtime.array.UnsignedByteArray;
 import zserio.runtime.io.ZserioIO;
 import zserio.runtime.validation.ValidationError;
+import zserio.runtime.validation.ValidationMonitor;
 import zserio.runtime.validation.ValidationReport;
 
 public class SimpleTableValidationTest
@@ -386,6 +389,76 @@ public class SimpleTableValidationTest
         assertEquals("<init>", stackTrace[1].getMethodName());
     }
 
+    @Test
+    public void parallelValidation() throws SQLException
+    {
+        populateDb(database.connection(), new TestParameterProvider(), true);
+        executeUpdate("UPDATE simpleTable SET fieldNonBlob = -1 WHERE rowid = " + (ENTRY_COUNT - 1));
+
+        final ValidationReport expectedReport = database.validate(new TestParameterProvider());
+        final List<Integer> completedTasks = new ArrayList<Integer>();
+        final ValidationMonitor monitor = new ValidationMonitor(new ValidationMonitor.ProgressListener()
+        {
+            @Override
+            public void onTaskCompleted(String tableName, ValidationReport report, int numberOfCompletedTasks,
+                    int numberOfTasks)
+            {
+                assertEquals("simpleTable", tableName);
+                assertEquals(NUM_ROWID_RANGES, numberOfTasks);
+                completedTasks.add(numberOfCompletedTasks);
+            }
+        });
+        final ValidationReport report = database.validate(new TestParameterProvider(), 2, ROWID_RANGE_SIZE,
+                monitor);
+
+        assertEquals(expectedReport.getNumberOfValidatedTables(), report.getNumberOfValidatedTables());
+        assertEquals(expectedReport.getNumberOfValidatedRows(), report.getNumberOfValidatedRows());
+        final List<ValidationError> expectedErrors = expectedReport.getErrors();
+        final List<ValidationError> errors = report.getErrors();
+        assertEquals(2, errors.size());
+        for (int i = 0; i < errors.size(); ++i)
+        {
+            assertEquals(expectedErrors.get(i).getFieldName(), errors.get(i).getFieldName());
+            assertEquals(expectedErrors.get(i).getRowKeyValues(), errors.get(i).getRowKeyValues());
+            assertEquals(expectedErrors.get(i).getType(), errors.get(i).getType());
+        }
+        assertEquals(NUM_ROWID_RANGES, completedTasks.size());
+        for (int i = 0; i < NUM_ROWID_RANGES; ++i)
+            assertEquals(i + 1, completedTasks.get(i).intValue());
+    }
+
+    @Test
+    public void parallelValidationSchemaError() throws SQLException
+    {
+        populateDb(database.connection(), new TestParameterProvider(), false);
+        executeUpdate("ALTER TABLE simpleTable ADD COLUMN extraColumn TEXT");
+
+        final ValidationReport report = database.validate(new TestParameterProvider(), 2, ROWID_RANGE_SIZE,
+                null);
+        assertEquals(1, report.getNumberOfValidatedTables());
+        assertEquals(0, report.getNumberOfValidatedRows());
+        assertEquals(1, report.getErrors().size());
+        assertEquals(ValidationError.Type.COLUMN_SUPERFLUOUS, report.getErrors().get(0).getType());
+    }
+
+    @Test(expected=CancellationException.class)
+    public void parallelValidationCancel() throws SQLException
+    {
+        populateDb(database.connection(), new TestParameterProvider(), false);
+
+        final List<ValidationMonitor> monitors = new ArrayList<ValidationMonitor>();
+        monitors.add(new ValidationMonitor(new ValidationMonitor.ProgressListener()
+        {
+            @Override
+            public void onTaskCompleted(String tableName, ValidationReport report, int numberOfCompletedTasks,
+                    int numberOfTasks)
+            {
+                monitors.get(0).cancel();
+            }
+        }));
+        database.validate(new TestParameterProvider(), 2, ROWID_RANGE_SIZE, monitors.get(0));
+    }
+
     private void populateDb(Connection connection, TestParameterProvider parameterProvider,
             boolean wrongOffset) throws SQLException
     {
@@ -511,6 +584,8 @@ public class SimpleTableValidationTest
     }
 
     private static final int ENTRY_COUNT = 5;
+    private static final int ROWID_RANGE_SIZE = 2;
+    private static final int NUM_ROWID_RANGES = 3;
     private static final long SIMPLE_TABLE_COUNT = 10;
 
     private static final byte ENUM_RED_ROW_ID = 1;
@@ -43,6 +43,26 @@ public class SqlTablesErrorTest
         assertTrue(zserioErrors.isPresent(errors));
     }
 
+    @Test
+    public void duplicatedIndexColumn()
+    {
+        final String error = "duplicated_index_column_error.zs:9:15: " +
+                "Duplicated column 'classId' in sql index 'byClass'!";
+        assertTrue(zserioErrors.isPresent(error));
+    }
+
+    @Test
+    public void duplicatedIndexName()
+    {
+        final String errors[] =
+        {
+            "duplicated_index_name_error.zs:9:15:     Conflicting symbol defined here.",
+            "duplicated_index_name_error.zs:10:15: " +
+                    "Symbol 'BYSTUDENT' is not unique (case insensitive) within the SQL type!"
+        };
+        assertTrue(zserioErrors.isPresent(errors));
+    }
+
     @Test
     public void noFields()
     {
@@ -57,6 +77,14 @@ public class SqlTablesErrorTest
         assertTrue(zserioErrors.isPresent(error));
     }
 
+    @Test
+    public void reservedIndexName()
+    {
+        final String error = "reserved_index_name_error.zs:8:15: " +
+                "Sql index name 'primaryKey' is reserved for primary key lookup in sql table 'TestTable'!";
+        assertTrue(zserioErrors.isPresent(error));
+    }
+
     @Test
     public void tableFieldConstraint()
     {
@@ -86,6 +114,14 @@ public class SqlTablesErrorTest
         assertTrue(zserioErrors.isPresent(error));
     }
 
+    @Test
+    public void unknownIndexColumn()
+    {
+        final String error = "unknown_index_column_error.zs:9:15: " +
+                "Index column 'unknownColumn' not found in sql table 'TestTable'!";
+        assertTrue(zserioErrors.isPresent(error));
+    }
+
     @Test
     public void unknownPrimaryKeyColumn()
     {
@@ -17,6 +17,14 @@ public class SqlVirtualTablesErrorTest
         zserioErrors = new ZserioErrors();
     }
 
+    @Test
+    public void index()
+    {
+        final String error = "index_error.zs:9:15: Virtual table 'TestVirtualTable' cannot contain sql index " +
+                "'byTitle'!";
+        assertTrue(zserioErrors.isPresent(error));
+    }
+
     @Test
     public void noFields()
     {
@@ -0,0 +1,63 @@
+package choice_types;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import choice_types.sparse_int64_param_choice.SparseInt64ParamChoice;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.io.BitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+public class SparseInt64ParamChoiceTest
+{
+    @Test
+    public void bitSizeOf()
+    {
+        assertEquals(8, new SparseInt64ParamChoice(VARIANT_A_SELECTOR).bitSizeOf());
+        assertEquals(16, new SparseInt64ParamChoice(VARIANT_B_SELECTOR1).bitSizeOf());
+        assertEquals(16, new SparseInt64ParamChoice(VARIANT_B_SELECTOR2).bitSizeOf());
+        assertEquals(0, new SparseInt64ParamChoice(EMPTY_SELECTOR1).bitSizeOf());
+        assertEquals(0, new SparseInt64ParamChoice(EMPTY_SELECTOR2).bitSizeOf());
+        assertEquals(32, new SparseInt64ParamChoice(VARIANT_C_SELECTOR).bitSizeOf());
+        assertEquals(32, new SparseInt64ParamChoice(Long.MIN_VALUE).bitSizeOf());
+    }
+
+    @Test
+    public void write() throws IOException, ZserioError
+    {
+        final SparseInt64ParamChoice sparseInt64ParamChoiceA = new SparseInt64ParamChoice(VARIANT_A_SELECTOR);
+        sparseInt64ParamChoiceA.setA((short)0xAB);
+        assertEquals(sparseInt64ParamChoiceA, writeRead(sparseInt64ParamChoiceA));
+
+        final SparseInt64ParamChoice sparseInt64ParamChoiceB = new SparseInt64ParamChoice(VARIANT_B_SELECTOR1);
+        sparseInt64ParamChoiceB.setB(0xABCD);
+        assertEquals(sparseInt64ParamChoiceB, writeRead(sparseInt64ParamChoiceB));
+
+        final SparseInt64ParamChoice sparseInt64ParamChoiceC = new SparseInt64ParamChoice(VARIANT_C_SELECTOR);
+        sparseInt64ParamChoiceC.setC(0xDEADBEEFL);
+        assertEquals(sparseInt64ParamChoiceC, writeRead(sparseInt64ParamChoiceC));
+    }
+
+    private static SparseInt64ParamChoice writeRead(SparseInt64ParamChoice sparseInt64ParamChoice)
+            throws IOException, ZserioError
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        sparseInt64ParamChoice.write(writer);
+        writer.close();
+        final BitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+
+        return new SparseInt64ParamChoice(reader, sparseInt64ParamChoice.getSelector());
+    }
+
+    private static final long VARIANT_A_SELECTOR = Long.MAX_VALUE;
+    private static final long VARIANT_B_SELECTOR1 = -1000000000000L;
+    private static final long VARIANT_B_SELECTOR2 = 42;
+    private static final long EMPTY_SELECTOR1 = -Long.MAX_VALUE;
+    private static final long EMPTY_SELECTOR2 = 1000000;
+    private static final long VARIANT_C_SELECTOR = 7;
+}
@@ -0,0 +1,69 @@
+package enumeration_types.int64_enum;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import zserio.runtime.io.BitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+public class Int64EnumTest
+{
+    @Test
+    public void sparseToEnum()
+    {
+        for (SparseCode sparseCode : SparseCode.values())
+            assertEquals(sparseCode, SparseCode.toEnum(sparseCode.getValue()));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void sparseToEnumFailure()
+    {
+        SparseCode.toEnum(1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void sparseToEnumMinValueFailure()
+    {
+        SparseCode.toEnum(Long.MIN_VALUE);
+    }
+
+    @Test
+    public void denseToEnum()
+    {
+        for (DenseCode denseCode : DenseCode.values())
+            assertEquals(denseCode, DenseCode.toEnum(denseCode.getValue()));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void denseToEnumGapFailure()
+    {
+        DenseCode.toEnum(4000000002L);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void denseToEnumBelowRangeFailure()
+    {
+        DenseCode.toEnum(3999999999L);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void denseToEnumAboveRangeFailure()
+    {
+        DenseCode.toEnum(4000000005L);
+    }
+
+    @Test
+    public void readEnum() throws IOException
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        SparseCode.NEGATIVE.write(writer);
+        DenseCode.FOURTH.write(writer);
+        final BitStreamReader reader = new ByteArrayBitStreamReader(writer.toByteArray());
+        assertEquals(SparseCode.NEGATIVE, SparseCode.readEnum(reader));
+        assertEquals(DenseCode.FOURTH, DenseCode.readEnum(reader));
+    }
+}
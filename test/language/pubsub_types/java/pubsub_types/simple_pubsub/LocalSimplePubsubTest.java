@@ -0,0 +1,152 @@
+package pubsub_types.simple_pubsub;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import zserio.runtime.io.ZserioIO;
+import zserio.runtime.pubsub.LocalPubsub;
+import zserio.runtime.pubsub.PubsubCallback;
+import zserio.runtime.pubsub.PubsubException;
+import zserio.runtime.pubsub.PubsubInterface;
+
+public class LocalSimplePubsubTest
+{
+    @Test
+    public void powerOfTwoClientAndProvider()
+    {
+        final LocalPubsub pubsub = new LocalPubsub();
+        final SimplePubsubProvider provider = new SimplePubsubProvider(pubsub, false, true);
+        final SimplePubsubClient client = new SimplePubsubClient(pubsub, false, true);
+        provider.subscribeRequest(new PubsubCallback<Int32Value>()
+        {
+            @Override
+            public void invoke(String topic, Int32Value value)
+            {
+                provider.publishPowerOfTwo(new UInt64Value(BigInteger.valueOf(value.getValue()).pow(2)));
+            }
+        });
+
+        final List<UInt64Value> results = new ArrayList<UInt64Value>();
+        client.subscribePowerOfTwo(new CollectingCallback<UInt64Value>(results));
+
+        client.publishRequest(new Int32Value(-13));
+        assertEquals(1, results.size());
+        assertEquals(BigInteger.valueOf(169), results.get(0).getValue());
+    }
+
+    @Test
+    public void sharedInstance()
+    {
+        final LocalPubsub pubsub = new LocalPubsub();
+        final SimplePubsub simplePubsub = new SimplePubsub(pubsub, false, true);
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        simplePubsub.subscribeRequest(new CollectingCallback<Int32Value>(results));
+
+        final Int32Value request = new Int32Value(42);
+        simplePubsub.publishRequest(request);
+        assertEquals(1, results.size());
+        assertSame(request, results.get(0));
+    }
+
+    @Test
+    public void serializedWithoutLocalMessages()
+    {
+        final LocalPubsub pubsub = new LocalPubsub();
+        final SimplePubsub simplePubsub = new SimplePubsub(pubsub);
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        simplePubsub.subscribeRequest(new CollectingCallback<Int32Value>(results));
+
+        final Int32Value request = new Int32Value(42);
+        simplePubsub.publishRequest(request);
+        assertEquals(1, results.size());
+        assertEquals(request, results.get(0));
+        assertNotSame(request, results.get(0));
+    }
+
+    @Test
+    public void copiedInstance()
+    {
+        final LocalPubsub pubsub = new LocalPubsub(true);
+        final SimplePubsub simplePubsub = new SimplePubsub(pubsub, false, true);
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        simplePubsub.subscribeRequest(new CollectingCallback<Int32Value>(results));
+        simplePubsub.subscribeRequest(new CollectingCallback<Int32Value>(results));
+
+        final Int32Value request = new Int32Value(42);
+        simplePubsub.publishRequest(request);
+        assertEquals(2, results.size());
+        assertEquals(request, results.get(0));
+        assertNotSame(request, results.get(0));
+        assertNotSame(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void rawSubscriber()
+    {
+        final LocalPubsub pubsub = new LocalPubsub();
+        final SimplePubsub simplePubsub = new SimplePubsub(pubsub, false, true);
+        final List<byte[]> rawResults = new ArrayList<byte[]>();
+        pubsub.subscribe("simple_pubsub/request", new PubsubInterface.Callback()
+        {
+            @Override
+            public void invoke(String topic, byte[] data)
+            {
+                rawResults.add(data);
+            }
+        }, null);
+
+        final Int32Value request = new Int32Value(7);
+        simplePubsub.publishRequest(request);
+        assertEquals(1, rawResults.size());
+        assertArrayEquals(ZserioIO.write(request), rawResults.get(0));
+    }
+
+    @Test
+    public void rawPublisher()
+    {
+        final LocalPubsub pubsub = new LocalPubsub();
+        final SimplePubsub simplePubsub = new SimplePubsub(pubsub, false, true);
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        simplePubsub.subscribeRequest(new CollectingCallback<Int32Value>(results));
+
+        pubsub.publish("simple_pubsub/request", ZserioIO.write(new Int32Value(7)), null);
+        assertEquals(1, results.size());
+        assertEquals(7, results.get(0).getValue());
+    }
+
+    @Test(expected=PubsubException.class)
+    public void unsubscribe()
+    {
+        final LocalPubsub pubsub = new LocalPubsub();
+        final SimplePubsub simplePubsub = new SimplePubsub(pubsub, false, true);
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        final int id = simplePubsub.subscribeRequest(new CollectingCallback<Int32Value>(results));
+
+        simplePubsub.unsubscribe(id);
+        simplePubsub.publishRequest(new Int32Value(7));
+        assertTrue(results.isEmpty());
+
+        simplePubsub.unsubscribe(id);
+    }
+
+    private static class CollectingCallback<T> implements PubsubCallback<T>
+    {
+        public CollectingCallback(List<T> results)
+        {
+            this.results = results;
+        }
+
+        @Override
+        public void invoke(String topic, T message)
+        {
+            results.add(message);
+        }
+
+        private final List<T> results;
+    }
+}
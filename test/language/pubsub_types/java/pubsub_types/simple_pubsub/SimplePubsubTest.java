@@ -3,6 +3,8 @@ package pubsub_types.simple_pubsub;
 import static org.junit.Assert.*;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -11,6 +13,8 @@ import org.junit.Before;
 
 import zserio.runtime.pubsub.PubsubException;
 import zserio.runtime.pubsub.PubsubCallback;
+import zserio.runtime.pubsub.PubsubInstrumentation;
+import zserio.runtime.pubsub.PubsubInstrumentationRegistry;
 
 import pubsub_types.TestPubsub;
 
@@ -129,6 +133,104 @@ public class SimplePubsubTest
         simplePubsub.unsubscribe(0);
     }
 
+    @Test
+    public void sharedDecodedMessages()
+    {
+        final SimplePubsub sharingPubsub = new SimplePubsub(pubsub, true);
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        final PubsubCallback<Int32Value> callback = new PubsubCallback<Int32Value>()
+        {
+            @Override
+            public void invoke(String topic, Int32Value value)
+            {
+                results.add(value);
+            }
+        };
+        sharingPubsub.subscribeRequest(callback);
+        sharingPubsub.subscribeRequest(callback);
+        sharingPubsub.subscribeRequest(callback);
+
+        sharingPubsub.publishRequest(new Int32Value(13));
+        assertEquals(3, results.size());
+        assertEquals(13, results.get(0).getValue());
+        assertTrue(results.get(0).isFrozen());
+        assertSame(results.get(0), results.get(1));
+        assertSame(results.get(0), results.get(2));
+
+        sharingPubsub.publishRequest(new Int32Value(14));
+        assertEquals(6, results.size());
+        assertEquals(14, results.get(3).getValue());
+        assertSame(results.get(3), results.get(5));
+    }
+
+    @Test
+    public void notSharedDecodedMessages()
+    {
+        final List<Int32Value> results = new ArrayList<Int32Value>();
+        final PubsubCallback<Int32Value> callback = new PubsubCallback<Int32Value>()
+        {
+            @Override
+            public void invoke(String topic, Int32Value value)
+            {
+                results.add(value);
+            }
+        };
+        simplePubsub.subscribeRequest(callback);
+        simplePubsub.subscribeRequest(callback);
+
+        simplePubsub.publishRequest(new Int32Value(13));
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isFrozen());
+        assertNotSame(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void instrumentation()
+    {
+        final RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        PubsubInstrumentationRegistry.register(instrumentation);
+        try
+        {
+            simplePubsub.subscribeRequest(new EmptyCallbackInt32Value());
+            simplePubsub.publishRequest(new Int32Value(13));
+
+            assertEquals(3, instrumentation.events.size());
+            assertEquals("encoded pubsub_types.simple_pubsub.SimplePubsub simple_pubsub/request 4",
+                    instrumentation.events.get(0));
+            assertEquals("decoded pubsub_types.simple_pubsub.SimplePubsub simple_pubsub/request 4",
+                    instrumentation.events.get(1));
+            assertEquals("handled pubsub_types.simple_pubsub.SimplePubsub simple_pubsub/request true",
+                    instrumentation.events.get(2));
+        }
+        finally
+        {
+            PubsubInstrumentationRegistry.register(null);
+        }
+    }
+
+    private static class RecordingInstrumentation implements PubsubInstrumentation
+    {
+        @Override
+        public void onMessageEncoded(String pubsubFullName, String topic, int messageSize, long durationNanos)
+        {
+            events.add("encoded " + pubsubFullName + " " + topic + " " + messageSize);
+        }
+
+        @Override
+        public void onMessageDecoded(String pubsubFullName, String topic, int messageSize, long durationNanos)
+        {
+            events.add("decoded " + pubsubFullName + " " + topic + " " + messageSize);
+        }
+
+        @Override
+        public void onMessageHandled(String pubsubFullName, String topic, long durationNanos, boolean succeeded)
+        {
+            events.add("handled " + pubsubFullName + " " + topic + " " + succeeded);
+        }
+
+        private final List<String> events = new ArrayList<String>();
+    }
+
     private static class EmptyCallbackInt32Value implements PubsubCallback<Int32Value>
     {
         @Override
@@ -5,8 +5,23 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import zserio.runtime.io.ZserioIO;
+import zserio.runtime.service.AsyncServiceAdapter;
+import zserio.runtime.service.AsyncServiceInterface;
+import zserio.runtime.service.SerializingServiceAdapter;
+import zserio.runtime.service.ServiceBatch;
+import zserio.runtime.service.ServiceBatchResult;
 import zserio.runtime.service.ServiceException;
+import zserio.runtime.service.ServiceInstrumentation;
+import zserio.runtime.service.ServiceInstrumentationRegistry;
+import zserio.runtime.service.ServiceInterface;
 
 public class SimpleServiceTest
 {
@@ -23,6 +38,108 @@ public class SimpleServiceTest
         assertEquals("powerOfTwo", SimpleService.SimpleServiceService.methodNames()[0]);
     }
 
+    @Test
+    public void powerOfTwoLocal()
+    {
+        final Request request = new Request(4);
+        final Response response = localClient.powerOfTwoMethod(request);
+        assertEquals(BigInteger.valueOf(16), response.getValue());
+        assertSame(request, service.lastRequest);
+    }
+
+    @Test
+    public void powerOfTwoSerialized()
+    {
+        final Request request = new Request(5);
+        final Response response = client.powerOfTwoMethod(request);
+        assertEquals(BigInteger.valueOf(25), response.getValue());
+        assertEquals(request, service.lastRequest);
+        assertNotSame(request, service.lastRequest);
+    }
+
+    @Test
+    public void powerOfTwoSerializingAdapter() throws InterruptedException, ExecutionException
+    {
+        final SerializingServiceAdapter adapter = new SerializingServiceAdapter(service);
+        final SimpleService.SimpleServiceClient serializingClient =
+                new SimpleService.SimpleServiceClient(adapter, true);
+        final Request request = new Request(5);
+        final Response response = serializingClient.powerOfTwoMethod(request);
+        assertEquals(BigInteger.valueOf(25), response.getValue());
+        assertEquals(request, service.lastRequest);
+        assertNotSame(request, service.lastRequest);
+
+        final SimpleService.SimpleServiceAsyncClient serializingAsyncClient =
+                new SimpleService.SimpleServiceAsyncClient(adapter);
+        assertEquals(BigInteger.valueOf(36),
+                serializingAsyncClient.powerOfTwoMethodAsync(new Request(6)).get().getValue());
+    }
+
+    @Test
+    public void methodIds()
+    {
+        assertEquals(0, SimpleService.SimpleServiceService.METHOD_ID_powerOfTwo);
+        assertArrayEquals(new int[] {SimpleService.SimpleServiceService.METHOD_ID_powerOfTwo},
+                SimpleService.SimpleServiceService.methodIds());
+        assertEquals(SimpleService.SimpleServiceService.METHOD_ID_powerOfTwo,
+                SimpleService.SimpleServiceService.methodId("powerOfTwo"));
+        assertEquals(SimpleService.SimpleServiceService.UNDEFINED_METHOD_ID,
+                SimpleService.SimpleServiceService.methodId("nonexistentMethod"));
+    }
+
+    @Test
+    public void callMethodById()
+    {
+        final byte[] requestData = ZserioIO.write(new Request(3));
+        final byte[] responseData = service.callMethod(SimpleService.SimpleServiceService.METHOD_ID_powerOfTwo,
+                requestData, null);
+        assertArrayEquals(service.callMethod("powerOfTwo", requestData, null), responseData);
+        assertEquals(BigInteger.valueOf(9), ZserioIO.read(Response.class, responseData).getValue());
+    }
+
+    @Test
+    public void powerOfTwoByName() throws InterruptedException, ExecutionException
+    {
+        final List<String> calledMethodNames = new ArrayList<String>();
+        final ServiceInterface namedService = new ServiceInterface()
+        {
+            @Override
+            public byte[] callMethod(String methodName, byte[] requestData, Object context)
+            {
+                calledMethodNames.add(methodName);
+                return service.callMethod(methodName, requestData, context);
+            }
+        };
+        final SimpleService.SimpleServiceClient namedClient =
+                new SimpleService.SimpleServiceClient(namedService);
+        assertEquals(BigInteger.valueOf(36), namedClient.powerOfTwoMethod(new Request(6)).getValue());
+
+        final AsyncServiceInterface namedAsyncService = new AsyncServiceInterface()
+        {
+            @Override
+            public CompletableFuture<byte[]> callMethodAsync(String methodName, byte[] requestData,
+                    Object context)
+            {
+                calledMethodNames.add(methodName);
+                return service.callMethodAsync(methodName, requestData, context);
+            }
+        };
+        final SimpleService.SimpleServiceAsyncClient namedAsyncClient =
+                new SimpleService.SimpleServiceAsyncClient(namedAsyncService);
+        final Response response = namedAsyncClient.powerOfTwoMethodAsync(new Request(7)).get();
+        assertEquals(BigInteger.valueOf(49), response.getValue());
+
+        assertEquals(2, calledMethodNames.size());
+        assertEquals("powerOfTwo", calledMethodNames.get(0));
+        assertEquals("powerOfTwo", calledMethodNames.get(1));
+    }
+
+    @Test(expected=ServiceException.class)
+    public void invalidServiceMethodId()
+    {
+        service.callMethod(SimpleService.SimpleServiceService.UNDEFINED_METHOD_ID, null, null);
+    }
+
     @Test
     public void powerOfTwo()
     {
@@ -53,17 +170,249 @@ public class SimpleServiceTest
         assertTrue(fakeContext.seenByService);
     }
 
+    @Test
+    public void powerOfTwoBatch()
+    {
+        final SimpleService.SimpleServiceBatch batch = new SimpleService.SimpleServiceBatch(service);
+        final int[] indexes = new int[5];
+        for (int i = 0; i < indexes.length; ++i)
+            indexes[i] = batch.powerOfTwoMethod(new Request(-i));
+        assertEquals(indexes.length, batch.size());
+
+        final FakeContext fakeContext = new FakeContext();
+        batch.call(fakeContext);
+        assertTrue(fakeContext.seenByService);
+        for (int i = 0; i < indexes.length; ++i)
+            assertEquals(BigInteger.valueOf(i * i), batch.powerOfTwoResponse(indexes[i]).getValue());
+    }
+
+    @Test(expected=ServiceException.class)
+    public void powerOfTwoBatchNotCalled()
+    {
+        final SimpleService.SimpleServiceBatch batch = new SimpleService.SimpleServiceBatch(service);
+        batch.powerOfTwoResponse(batch.powerOfTwoMethod(new Request(1)));
+    }
+
+    @Test
+    public void batchWithInvalidMethod()
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        final int validIndex = batch.add(SimpleService.SimpleServiceService.METHOD_ID_powerOfTwo,
+                ZserioIO.write(new Request(7)));
+        final int invalidIndex = batch.add(100, new byte[0]);
+
+        final ServiceBatchResult result = batch.call(service, null);
+        assertEquals(2, result.size());
+        assertTrue(result.isSuccess(validIndex));
+        assertEquals(BigInteger.valueOf(49),
+                ZserioIO.read(Response.class, result.getResponseData(validIndex)).getValue());
+        assertFalse(result.isSuccess(invalidIndex));
+        try
+        {
+            result.getResponseData(invalidIndex);
+            fail("ServiceException expected!");
+        }
+        catch (ServiceException e)
+        {
+            assertTrue(e.getMessage().contains("does not exist"));
+        }
+    }
+
+    @Test
+    public void batchAsync() throws InterruptedException, ExecutionException
+    {
+        final ServiceBatch batch = new ServiceBatch();
+        batch.add(SimpleService.SimpleServiceService.METHOD_ID_powerOfTwo, ZserioIO.write(new Request(3)));
+        final byte[] responseData =
+                service.callMethodAsync(ServiceBatch.BATCH_METHOD_ID, batch.toByteArray(), null).get();
+        final ServiceBatchResult result = ServiceBatchResult.fromByteArray(responseData);
+        final Response response = ZserioIO.read(Response.class, result.getResponseData(0));
+        assertEquals(BigInteger.valueOf(9), response.getValue());
+    }
+
+    @Test
+    public void powerOfTwoAsync() throws InterruptedException, ExecutionException
+    {
+        final CompletableFuture<Response> future = asyncClient.powerOfTwoMethodAsync(new Request(-13));
+        assertEquals(BigInteger.valueOf(169), future.get().getValue());
+    }
+
+    @Test
+    public void powerOfTwoAsyncWithExecutor() throws InterruptedException, ExecutionException
+    {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final SimpleService.SimpleServiceAsyncClient executorClient =
+                    new SimpleService.SimpleServiceAsyncClient(new Service(executor));
+            final FakeContext fakeContext = new FakeContext();
+            final Response response = executorClient.powerOfTwoMethodAsync(new Request(5), fakeContext).get();
+            assertEquals(BigInteger.valueOf(25), response.getValue());
+            assertTrue(fakeContext.seenByService);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void powerOfTwoAsyncAdapter() throws InterruptedException, ExecutionException
+    {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final SimpleService.SimpleServiceAsyncClient adapterClient =
+                    new SimpleService.SimpleServiceAsyncClient(new AsyncServiceAdapter(service, executor));
+            final Response response = adapterClient.powerOfTwoMethodAsync(new Request(2)).get();
+            assertEquals(BigInteger.valueOf(4), response.getValue());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void failingImplAsync() throws InterruptedException
+    {
+        final Service failingService = new Service()
+        {
+            @Override
+            public Response powerOfTwoImpl(Request request, Object context)
+            {
+                throw new IllegalStateException("powerOfTwoImpl failed");
+            }
+        };
+
+        // without executor the failure must be reported by the future and not thrown
+        final CompletableFuture<Response> future = failingService.powerOfTwoImplAsync(new Request(2), null);
+        assertTrue(future.isCompletedExceptionally());
+        try
+        {
+            future.get();
+            fail("ExecutionException expected!");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void invalidServiceMethodAsync() throws InterruptedException
+    {
+        final CompletableFuture<byte[]> future = service.callMethodAsync("nonexistentMethod", null, null);
+        assertTrue(future.isCompletedExceptionally());
+        try
+        {
+            future.get();
+            fail("ExecutionException expected!");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof ServiceException);
+        }
+    }
+
+    @Test
+    public void instrumentation()
+    {
+        final RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        ServiceInstrumentationRegistry.register(instrumentation);
+        try
+        {
+            final byte[] requestData = ZserioIO.write(new Request(3));
+            final byte[] responseData = service.callMethod("powerOfTwo", requestData, null);
+
+            assertEquals(3, instrumentation.events.size());
+            assertEquals("decoded service_types.simple_service.SimpleService.powerOfTwo " + requestData.length,
+                    instrumentation.events.get(0));
+            assertEquals("executed service_types.simple_service.SimpleService.powerOfTwo true",
+                    instrumentation.events.get(1));
+            assertEquals("encoded service_types.simple_service.SimpleService.powerOfTwo " +
+                    responseData.length, instrumentation.events.get(2));
+
+            instrumentation.events.clear();
+            localClient.powerOfTwoMethod(new Request(4));
+            assertEquals(1, instrumentation.events.size());
+            assertEquals("executed service_types.simple_service.SimpleService.powerOfTwo true",
+                    instrumentation.events.get(0));
+        }
+        finally
+        {
+            ServiceInstrumentationRegistry.register(null);
+        }
+    }
+
+    @Test
+    public void instrumentationAsync() throws InterruptedException, ExecutionException
+    {
+        final RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        ServiceInstrumentationRegistry.register(instrumentation);
+        try
+        {
+            asyncClient.powerOfTwoMethodAsync(new Request(2)).get();
+            assertEquals(3, instrumentation.events.size());
+        }
+        finally
+        {
+            ServiceInstrumentationRegistry.register(null);
+        }
+    }
+
+    private static class RecordingInstrumentation implements ServiceInstrumentation
+    {
+        @Override
+        public synchronized void onRequestDecoded(String serviceFullName, String methodName,
+                int requestSize, long durationNanos)
+        {
+            assertTrue(durationNanos >= 0);
+            events.add("decoded " + serviceFullName + "." + methodName + " " + requestSize);
+        }
+
+        @Override
+        public synchronized void onMethodExecuted(String serviceFullName, String methodName,
+                long durationNanos, boolean succeeded)
+        {
+            assertTrue(durationNanos >= 0);
+            events.add("executed " + serviceFullName + "." + methodName + " " + succeeded);
+        }
+
+        @Override
+        public synchronized void onResponseEncoded(String serviceFullName, String methodName,
+                int responseSize, long durationNanos)
+        {
+            assertTrue(durationNanos >= 0);
+            events.add("encoded " + serviceFullName + "." + methodName + " " + responseSize);
+        }
+
+        private final List<String> events = new ArrayList<String>();
+    }
+
     private static class Service extends SimpleService.SimpleServiceService
     {
+        public Service()
+        {
+        }
+
+        public Service(ExecutorService executor)
+        {
+            super(executor);
+        }
+
         @Override
         public Response powerOfTwoImpl(Request request, Object context)
         {
             if (context != null)
                 ((FakeContext)context).seenByService = true;
+            lastRequest = request;
 
             final Response response = new Response(BigInteger.valueOf(request.getValue()).pow(2));
             return response;
         }
+
+        private Request lastRequest = null;
     }
 
     private static class FakeContext
@@ -74,4 +423,8 @@ public class SimpleServiceTest
     private static final Service service = new Service();
     private static final SimpleService.SimpleServiceClient client =
             new SimpleService.SimpleServiceClient(service);
+    private static final SimpleService.SimpleServiceClient localClient =
+            new SimpleService.SimpleServiceClient(service, true);
+    private static final SimpleService.SimpleServiceAsyncClient asyncClient =
+            new SimpleService.SimpleServiceAsyncClient(service);
 }
@@ -14,6 +14,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
@@ -24,6 +25,7 @@ import test_utils.FileUtil;
 import test_utils.JdbcUtil;
 
 import zserio.runtime.SqlDatabase;
+import zserio.runtime.SqlDatabasePool;
 import zserio.runtime.validation.ValidationReport;
 
 public class DbWithRelocationTest
@@ -193,6 +195,136 @@ public class DbWithRelocationTest
         assertFalse(attachedDatabaseNames.contains("main"));
     }
 
+    @Test
+    public void readOnlyPool() throws SQLException, IOException, InterruptedException
+    {
+        final int tileId = 1;
+        final List<CountryMapTableRow> writtenRows = createCountryMapTableRows(tileId, (short)'e', (short)'E');
+        americaDb.getSlovakia().write(writtenRows);
+        americaDb.getUsa().write(writtenRows);
+
+        final Map<String, String> tableToDbFileNameRelocationMap = new HashMap<String, String>();
+        tableToDbFileNameRelocationMap.put(RELOCATED_SLOVAKIA_TABLE_NAME, EUROPE_DB_FILE_NAME);
+        tableToDbFileNameRelocationMap.put(RELOCATED_CZECHIA_TABLE_NAME, EUROPE_DB_FILE_NAME);
+        final SqlDatabasePool<AmericaDb> pool = AmericaDb.openReadOnlyPool(AMERICA_DB_FILE_NAME,
+                tableToDbFileNameRelocationMap, NUM_POOL_CONNECTIONS);
+        try
+        {
+            assertEquals(NUM_POOL_CONNECTIONS, pool.getNumberOfDatabases());
+
+            final List<Throwable> failures = new ArrayList<Throwable>();
+            final List<Thread> threads = new ArrayList<Thread>();
+            for (int i = 0; i < NUM_POOL_THREADS; ++i)
+            {
+                final Thread thread = new Thread(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        try
+                        {
+                            for (int j = 0; j < NUM_POOL_READS; ++j)
+                            {
+                                final SqlDatabasePool.Lease<AmericaDb> lease = pool.acquire();
+                                try
+                                {
+                                    checkCountryMapTableRows(writtenRows, lease.get().getSlovakia().read());
+                                    checkCountryMapTableRows(writtenRows, lease.get().getUsa().read());
+                                }
+                                finally
+                                {
+                                    lease.close();
+                                }
+                            }
+                        }
+                        catch (Throwable exception)
+                        {
+                            synchronized (failures)
+                            {
+                                failures.add(exception);
+                            }
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads)
+                thread.join();
+
+            assertTrue(failures.isEmpty());
+            assertEquals(NUM_POOL_CONNECTIONS, pool.getNumberOfIdleDatabases());
+
+            final SqlDatabasePool.Lease<AmericaDb> lease = pool.acquire(1, TimeUnit.SECONDS);
+            assertTrue(lease != null);
+            try
+            {
+                lease.get().getCzechia().write(writtenRows);
+                fail("SQLException is expected for read-only database!");
+            }
+            catch (SQLException exception)
+            {
+                // expected
+            }
+            finally
+            {
+                lease.close();
+            }
+        }
+        finally
+        {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void readOnlyPoolClose() throws SQLException, IOException, InterruptedException
+    {
+        final SqlDatabasePool<AmericaDb> pool = AmericaDb.openReadOnlyPool(AMERICA_DB_FILE_NAME,
+                new HashMap<String, String>(), NUM_POOL_CONNECTIONS);
+        final List<SqlDatabasePool.Lease<AmericaDb>> leases = new ArrayList<SqlDatabasePool.Lease<AmericaDb>>();
+        try
+        {
+            for (int i = 0; i < NUM_POOL_CONNECTIONS; ++i)
+                leases.add(pool.acquire());
+            assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+
+            final List<Throwable> failures = new ArrayList<Throwable>();
+            final Thread waitingThread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        pool.acquire();
+                    }
+                    catch (Throwable exception)
+                    {
+                        synchronized (failures)
+                        {
+                            failures.add(exception);
+                        }
+                    }
+                }
+            });
+            waitingThread.start();
+            while (waitingThread.getState() != Thread.State.WAITING)
+                Thread.sleep(1);
+
+            pool.close();
+            waitingThread.join();
+            assertEquals(1, failures.size());
+            assertTrue(failures.get(0) instanceof IllegalStateException);
+        }
+        finally
+        {
+            pool.close();
+            for (SqlDatabasePool.Lease<AmericaDb> lease : leases)
+                lease.close();
+        }
+    }
+
     private static boolean isRelocatedTableInDb(String relocatedTableName, SqlDatabase db) throws SQLException
     {
         // check if database does contain relocated table
@@ -250,6 +382,10 @@ public class DbWithRelocationTest
     private static final int NUM_ALL_EUROPE_DB_TABLES = 1;
     private static final int NUM_ALL_AMERICA_DB_TABLES = 4;
 
+    private static final int NUM_POOL_CONNECTIONS = 3;
+    private static final int NUM_POOL_THREADS = 8;
+    private static final int NUM_POOL_READS = 10;
+
     private static final Set<String> attachedDatabaseNames = new HashSet<String>(Arrays.asList(
             "main",
             "AmericaDb_" + RELOCATED_SLOVAKIA_TABLE_NAME,
@@ -0,0 +1,250 @@
+package sql_indexes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import test_utils.FileUtil;
+import test_utils.JdbcUtil;
+
+import zserio.runtime.SqlBulkWriteOptions;
+import zserio.runtime.ZserioError;
+
+public class IndexedTableTest
+{
+    @BeforeClass
+    public static void init()
+    {
+        JdbcUtil.registerJdbc();
+    }
+
+    @Before
+    public void setUp() throws IOException, SQLException
+    {
+        FileUtil.deleteFileIfExists(file);
+        database = new IndexedDb(file.toString());
+        database.createSchema();
+    }
+
+    @After
+    public void tearDown() throws SQLException
+    {
+        if (database != null)
+        {
+            database.close();
+            database = null;
+        }
+    }
+
+    @Test
+    public void createSchema() throws SQLException
+    {
+        assertTrue(isIndexInDb(NAME_INDEX_NAME));
+        assertTrue(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+    }
+
+    @Test
+    public void deleteIndexes() throws SQLException
+    {
+        final IndexedTable testTable = database.getIndexedTable();
+        testTable.deleteIndexes();
+        assertFalse(isIndexInDb(NAME_INDEX_NAME));
+        assertFalse(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+
+        testTable.createIndexes();
+        assertTrue(isIndexInDb(NAME_INDEX_NAME));
+        assertTrue(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+
+        // creation of already existing indexes is allowed
+        database.createIndexes();
+        database.deleteIndexes();
+        assertFalse(isIndexInDb(NAME_INDEX_NAME));
+        assertFalse(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+    }
+
+    @Test
+    public void deleteTable() throws SQLException
+    {
+        final IndexedTable testTable = database.getIndexedTable();
+        testTable.deleteTable();
+        assertFalse(isIndexInDb(NAME_INDEX_NAME));
+
+        testTable.createTable();
+        assertTrue(isIndexInDb(NAME_INDEX_NAME));
+        assertTrue(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+    }
+
+    @Test
+    public void readByName() throws SQLException, IOException, ZserioError
+    {
+        final IndexedTable testTable = database.getIndexedTable();
+
+        final List<IndexedTableRow> writtenRows = new ArrayList<IndexedTableRow>();
+        fillIndexedTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final List<IndexedTableRow> readRows = testTable.readByName("Name3");
+        assertEquals(1, readRows.size());
+        checkIndexedTableRow(writtenRows.get(3), readRows.get(0));
+        assertTrue(testTable.readByName("Unknown").isEmpty());
+
+        assertTrue(getQueryPlan("name='Name3'").contains(NAME_INDEX_NAME));
+    }
+
+    @Test
+    public void readByCategoryAndYear() throws SQLException, IOException, ZserioError
+    {
+        final IndexedTable testTable = database.getIndexedTable();
+
+        final List<IndexedTableRow> writtenRows = new ArrayList<IndexedTableRow>();
+        fillIndexedTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final List<IndexedTableRow> expectedRows = new ArrayList<IndexedTableRow>();
+        for (IndexedTableRow row : writtenRows)
+        {
+            if (row.getCategory() == Category.MUSIC && row.getYear() == 2001)
+                expectedRows.add(row);
+        }
+        checkIndexedTableRows(expectedRows, testTable.readByCategoryAndYear(Category.MUSIC, 2001));
+        assertTrue(testTable.readByCategoryAndYear(Category.FILM, 1999).isEmpty());
+
+        assertTrue(getQueryPlan("category=1 AND year=2001").contains(CATEGORY_AND_YEAR_INDEX_NAME));
+    }
+
+    @Test
+    public void bulkWriteDeferIndexes() throws SQLException, IOException, ZserioError
+    {
+        final IndexedTable testTable = database.getIndexedTable();
+
+        final List<IndexedTableRow> writtenRows = new ArrayList<IndexedTableRow>();
+        fillIndexedTableRows(writtenRows);
+        final SqlBulkWriteOptions options = new SqlBulkWriteOptions().setBatchSize(2).setDeferIndexes(true);
+        assertEquals(writtenRows.size(), testTable.write(writtenRows.iterator(), options));
+
+        checkIndexedTableRows(writtenRows, testTable.read());
+        assertTrue(isIndexInDb(NAME_INDEX_NAME));
+        assertTrue(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+        assertEquals(1, testTable.readByName("Name0").size());
+    }
+
+    @Test
+    public void bulkWriteDeferIndexesFailure() throws SQLException, IOException, ZserioError
+    {
+        final IndexedTable testTable = database.getIndexedTable();
+
+        final List<IndexedTableRow> writtenRows = new ArrayList<IndexedTableRow>();
+        fillIndexedTableRows(writtenRows);
+        writtenRows.add(createIndexedTableRow(0, "DuplicatedName", Category.BOOK, 2000));
+        try
+        {
+            testTable.write(writtenRows.iterator(), new SqlBulkWriteOptions().setDeferIndexes(true));
+            fail("SQLException expected!");
+        }
+        catch (SQLException exception)
+        {
+            // expected primary key violation
+        }
+
+        assertTrue(testTable.read().isEmpty());
+        assertTrue(isIndexInDb(NAME_INDEX_NAME));
+        assertTrue(isIndexInDb(CATEGORY_AND_YEAR_INDEX_NAME));
+    }
+
+    private static void fillIndexedTableRows(List<IndexedTableRow> rows)
+    {
+        final Category[] categories = Category.values();
+        for (int id = 0; id < NUM_INDEXED_TABLE_ROWS; ++id)
+        {
+            rows.add(createIndexedTableRow(id, "Name" + id, categories[id % categories.length],
+                    2000 + id % 2));
+        }
+    }
+
+    private static IndexedTableRow createIndexedTableRow(int id, String name, Category category, int year)
+    {
+        final IndexedTableRow row = new IndexedTableRow();
+        row.setId(id);
+        row.setName(name);
+        row.setCategory(category);
+        row.setYear(year);
+
+        return row;
+    }
+
+    private static void checkIndexedTableRows(List<IndexedTableRow> rows1, List<IndexedTableRow> rows2)
+    {
+        assertEquals(rows1.size(), rows2.size());
+        for (int i = 0; i < rows1.size(); ++i)
+            checkIndexedTableRow(rows1.get(i), rows2.get(i));
+    }
+
+    private static void checkIndexedTableRow(IndexedTableRow row1, IndexedTableRow row2)
+    {
+        assertEquals(row1.getId(), row2.getId());
+        assertEquals(row1.getName(), row2.getName());
+        assertEquals(row1.getCategory(), row2.getCategory());
+        assertEquals(row1.getYear(), row2.getYear());
+    }
+
+    private String getQueryPlan(String condition) throws SQLException
+    {
+        final String sqlQuery = "EXPLAIN QUERY PLAN SELECT id FROM " + TABLE_NAME + " WHERE " + condition;
+        final StringBuilder queryPlan = new StringBuilder();
+        final PreparedStatement statement = database.connection().prepareStatement(sqlQuery);
+        try
+        {
+            final ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next())
+                queryPlan.append(resultSet.getString(4));
+        }
+        finally
+        {
+            statement.close();
+        }
+
+        return queryPlan.toString();
+    }
+
+    private boolean isIndexInDb(String indexName) throws SQLException
+    {
+        final String sqlQuery = "SELECT name FROM sqlite_master WHERE type='index' AND tbl_name='" +
+                TABLE_NAME + "' AND name='" + indexName + "'";
+
+        final PreparedStatement statement = database.connection().prepareStatement(sqlQuery);
+        try
+        {
+            final ResultSet resultSet = statement.executeQuery();
+
+            return resultSet.next();
+        }
+        finally
+        {
+            statement.close();
+        }
+    }
+
+    private static final String TABLE_NAME = "indexedTable";
+    private static final String NAME_INDEX_NAME = TABLE_NAME + "_name";
+    private static final String CATEGORY_AND_YEAR_INDEX_NAME = TABLE_NAME + "_categoryAndYear";
+
+    private static final int    NUM_INDEXED_TABLE_ROWS = 12;
+    private static final String FILE_NAME = "indexed_table_test.sqlite";
+
+    private final File file = new File(FILE_NAME);
+    private IndexedDb database = null;
+}
@@ -0,0 +1,90 @@
+package sql_indexes;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import test_utils.JdbcUtil;
+
+import sql_indexes_without_writer_code.TagTable;
+import sql_indexes_without_writer_code.TaggedTable;
+import sql_indexes_without_writer_code.TaggedTableRow;
+
+public class WithoutWriterCodeLookupTest
+{
+    @BeforeClass
+    public static void init()
+    {
+        JdbcUtil.registerJdbc();
+    }
+
+    @Test
+    public void checkTaggedTableMethods()
+    {
+        final Set<String> methods = getMethods(TaggedTable.class);
+
+        assertTrue(methods.contains("readByName"));
+        assertFalse(methods.contains("readByTag"));
+    }
+
+    @Test
+    public void checkTagTableMethods()
+    {
+        final Set<String> methods = getMethods(TagTable.class);
+
+        assertFalse(methods.contains("readByPrimaryKey"));
+    }
+
+    @Test
+    public void readByName() throws SQLException, IOException
+    {
+        final Properties connectionProps = new Properties();
+        connectionProps.setProperty("flags", "CREATE");
+        final Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:", connectionProps);
+        try
+        {
+            final Statement statement = connection.createStatement();
+            try
+            {
+                statement.executeUpdate("CREATE TABLE taggedTable(id INTEGER PRIMARY KEY, tag BLOB, name TEXT)");
+                statement.executeUpdate("INSERT INTO taggedTable VALUES (1, NULL, 'first'), " +
+                        "(2, NULL, 'second')");
+            }
+            finally
+            {
+                statement.close();
+            }
+
+            final TaggedTable taggedTable = new TaggedTable(connection, "taggedTable");
+            final List<TaggedTableRow> rows = taggedTable.readByName("second");
+            taggedTable.close();
+            assertEquals(1, rows.size());
+            assertEquals(2, rows.get(0).getId());
+        }
+        finally
+        {
+            connection.close();
+        }
+    }
+
+    private static Set<String> getMethods(Class<?> userType)
+    {
+        final Set<String> methods = new HashSet<String>();
+        for (Method method : userType.getDeclaredMethods())
+            methods.add(method.getName());
+
+        return methods;
+    }
+}
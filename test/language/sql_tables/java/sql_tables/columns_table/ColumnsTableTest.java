@@ -0,0 +1,77 @@
+package sql_tables.columns_table;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import test_utils.FileUtil;
+import test_utils.JdbcUtil;
+
+import sql_tables.TestDb;
+
+import zserio.runtime.SqlQuery;
+
+public class ColumnsTableTest
+{
+    @BeforeClass
+    public static void init()
+    {
+        JdbcUtil.registerJdbc();
+    }
+
+    @Before
+    public void setUp() throws IOException, SQLException
+    {
+        FileUtil.deleteFileIfExists(file);
+        database = new TestDb(file.toString());
+        database.createSchema();
+    }
+
+    @After
+    public void tearDown() throws SQLException
+    {
+        if (database != null)
+        {
+            database.close();
+            database = null;
+        }
+    }
+
+    @Test
+    public void readQuery() throws SQLException, IOException
+    {
+        final Columns testTable = database.getColumnsTable();
+
+        final List<ColumnsRow> writtenRows = new ArrayList<ColumnsRow>();
+        for (int id = 0; id < NUM_COLUMNS_TABLE_ROWS; ++id)
+        {
+            final ColumnsRow row = new ColumnsRow();
+            row.setId(id);
+            row.setName("Name" + id);
+            writtenRows.add(row);
+        }
+        testTable.write(writtenRows);
+
+        final List<ColumnsRow> readRows = testTable.read(
+                new SqlQuery().where(Columns.ColumnsColumns.name.eq("Name1")));
+        assertEquals(1, readRows.size());
+        assertEquals(1, readRows.get(0).getId());
+        assertEquals("Name1", readRows.get(0).getName());
+    }
+
+    private static final int NUM_COLUMNS_TABLE_ROWS = 3;
+
+    private static final String FILE_NAME = "columns_table_test.sqlite";
+
+    private final File file = new File(FILE_NAME);
+    private TestDb database = null;
+}
@@ -11,7 +11,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Before;
@@ -23,6 +27,8 @@ import test_utils.JdbcUtil;
 
 import sql_tables.TestDb;
 
+import zserio.runtime.SqlQuery;
+import zserio.runtime.SqlTableCursor;
 import zserio.runtime.ZserioError;
 import zserio.runtime.array.UnsignedByteArray;
 
@@ -98,6 +104,175 @@ public class ComplexTableTest
         checkComplexTableRow(writtenRows.get(expectedRowNum), readRow);
     }
 
+    @Test
+    public void readCursor() throws SQLException, IOException, ZserioError
+    {
+        final ComplexTable testTable = database.getComplexTable();
+
+        final List<ComplexTableRow> writtenRows = new ArrayList<ComplexTableRow>();
+        fillComplexTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final ComplexTableParameterProvider parameterProvider = new ComplexTableParameterProvider();
+        final List<ComplexTableRow> readRows = new ArrayList<ComplexTableRow>();
+        final SqlTableCursor<ComplexTableRow> cursor = testTable.openCursor(parameterProvider);
+        try
+        {
+            while (cursor.hasNext())
+                readRows.add(cursor.next());
+            assertTrue(cursor.isClosed());
+        }
+        finally
+        {
+            cursor.close();
+        }
+        checkComplexTableRows(writtenRows, readRows);
+    }
+
+    @Test
+    public void readCursorWithCondition() throws SQLException, IOException, ZserioError
+    {
+        final ComplexTable testTable = database.getComplexTable();
+
+        final List<ComplexTableRow> writtenRows = new ArrayList<ComplexTableRow>();
+        fillComplexTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final ComplexTableParameterProvider parameterProvider = new ComplexTableParameterProvider();
+        final SqlTableCursor<ComplexTableRow> cursor =
+                testTable.openCursor(parameterProvider, "blobId >= 2", 2);
+        try
+        {
+            assertTrue(cursor.hasNext());
+            checkComplexTableRow(writtenRows.get(2), cursor.next());
+            assertFalse(cursor.isClosed());
+        }
+        finally
+        {
+            cursor.close();
+        }
+        assertTrue(cursor.isClosed());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void readCursorStream() throws SQLException, IOException, ZserioError
+    {
+        final ComplexTable testTable = database.getComplexTable();
+
+        final List<ComplexTableRow> writtenRows = new ArrayList<ComplexTableRow>();
+        fillComplexTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final ComplexTableParameterProvider parameterProvider = new ComplexTableParameterProvider();
+        final SqlTableCursor<ComplexTableRow> cursor = testTable.openCursor(parameterProvider);
+        final Stream<ComplexTableRow> stream = cursor.stream();
+        try
+        {
+            final List<String> names = stream.map(new Function<ComplexTableRow, String>()
+            {
+                @Override
+                public String apply(ComplexTableRow row)
+                {
+                    return row.getName();
+                }
+            }).collect(Collectors.toList());
+            assertEquals(NUM_COMPLEX_TABLE_ROWS, names.size());
+            assertEquals("Name0", names.get(0));
+        }
+        finally
+        {
+            stream.close();
+        }
+        assertTrue(cursor.isClosed());
+    }
+
+    @Test
+    public void readQuery() throws SQLException, IOException, ZserioError
+    {
+        final ComplexTable testTable = database.getComplexTable();
+
+        final List<ComplexTableRow> writtenRows = new ArrayList<ComplexTableRow>();
+        fillComplexTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final ComplexTableParameterProvider parameterProvider = new ComplexTableParameterProvider();
+        for (int i = 0; i < writtenRows.size(); ++i)
+        {
+            final SqlQuery query = new SqlQuery().where(ComplexTable.ComplexTableColumns.name.eq("Name" + i));
+            final List<ComplexTableRow> readRows = testTable.read(parameterProvider, query);
+            assertEquals(1, readRows.size());
+            checkComplexTableRow(writtenRows.get(i), readRows.get(0));
+        }
+
+        final SqlQuery enumQuery = new SqlQuery()
+                .where(ComplexTable.ComplexTableColumns.color.eq(TestEnum.RED))
+                .where(ComplexTable.ComplexTableColumns.blobId.greaterOrEqual(BigInteger.valueOf(3)));
+        assertEquals(2, testTable.read(parameterProvider, enumQuery).size());
+
+        final SqlQuery blobQuery = new SqlQuery().where(
+                ComplexTable.ComplexTableColumns.blob.eq(writtenRows.get(2).getBlob()));
+        final List<ComplexTableRow> blobRows = testTable.read(parameterProvider, blobQuery);
+        assertEquals(1, blobRows.size());
+        checkComplexTableRow(writtenRows.get(2), blobRows.get(0));
+    }
+
+    @Test
+    public void readQueryOrdered() throws SQLException, IOException, ZserioError
+    {
+        final ComplexTable testTable = database.getComplexTable();
+
+        final List<ComplexTableRow> writtenRows = new ArrayList<ComplexTableRow>();
+        fillComplexTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final ComplexTableParameterProvider parameterProvider = new ComplexTableParameterProvider();
+        final SqlQuery query = new SqlQuery()
+                .where(ComplexTable.ComplexTableColumns.name.in(
+                        Arrays.asList("Name0", "Name1", "Name3", "Name4"))
+                                .or(ComplexTable.ComplexTableColumns.age.isNull()))
+                .orderByDescending(ComplexTable.ComplexTableColumns.blobId)
+                .limit(2)
+                .offset(1);
+        final List<ComplexTableRow> readRows = testTable.read(parameterProvider, query);
+        assertEquals(2, readRows.size());
+        checkComplexTableRow(writtenRows.get(3), readRows.get(0));
+        checkComplexTableRow(writtenRows.get(1), readRows.get(1));
+
+        final SqlTableCursor<ComplexTableRow> cursor = testTable.openCursor(parameterProvider,
+                new SqlQuery().where(ComplexTable.ComplexTableColumns.name.notEq("Name0")).offset(3), 0);
+        try
+        {
+            checkComplexTableRow(writtenRows.get(4), cursor.next());
+            assertFalse(cursor.hasNext());
+        }
+        finally
+        {
+            cursor.close();
+        }
+    }
+
+    @Test
+    public void updateWithTypedCondition() throws SQLException, IOException, ZserioError
+    {
+        final ComplexTable testTable = database.getComplexTable();
+
+        final List<ComplexTableRow> writtenRows = new ArrayList<ComplexTableRow>();
+        fillComplexTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final int updateRowId = 3;
+        final ComplexTableRow updateRow = createComplexTableRow(updateRowId, "UpdatedName");
+        testTable.update(updateRow,
+                ComplexTable.ComplexTableColumns.blobId.eq(BigInteger.valueOf(updateRowId)));
+
+        final ComplexTableParameterProvider parameterProvider = new ComplexTableParameterProvider();
+        final List<ComplexTableRow> readRows = testTable.read(parameterProvider,
+                new SqlQuery().where(ComplexTable.ComplexTableColumns.name.eq("UpdatedName")));
+        assertEquals(1, readRows.size());
+        checkComplexTableRow(updateRow, readRows.get(0));
+    }
+
     @Test
     public void update() throws SQLException, IOException, ZserioError
     {
@@ -2,15 +2,19 @@ package sql_tables.multiple_pk_table;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.Before;
@@ -22,6 +26,7 @@ import test_utils.JdbcUtil;
 
 import sql_tables.TestDb;
 
+import zserio.runtime.SqlBulkWriteOptions;
 import zserio.runtime.ZserioError;
 
 public class MultiplePkTableTest
@@ -115,6 +120,186 @@ public class MultiplePkTableTest
         checkMultiplePkTableRow(updateRow, readRow);
     }
 
+    @Test
+    public void readByPrimaryKey() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        for (int i = 0; i < writtenRows.size(); ++i)
+        {
+            final MultiplePkTableRow writtenRow = writtenRows.get(i);
+            final MultiplePkTableRow readRow =
+                    testTable.readByPrimaryKey(writtenRow.getBlobId(), writtenRow.getAge());
+            checkMultiplePkTableRow(writtenRow, readRow);
+        }
+        assertNull(testTable.readByPrimaryKey(0, 11));
+    }
+
+    @Test
+    public void concurrentReadByPrimaryKey() throws SQLException, IOException, InterruptedException
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (final MultiplePkTableRow writtenRow : writtenRows)
+        {
+            threads.add(new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for (int i = 0; i < NUM_CONCURRENT_READS; ++i)
+                        {
+                            checkMultiplePkTableRow(writtenRow,
+                                    testTable.readByPrimaryKey(writtenRow.getBlobId(), writtenRow.getAge()));
+                            checkMultiplePkTableRows(writtenRows.subList(writtenRow.getBlobId(),
+                                    writtenRow.getBlobId() + 1),
+                                    testTable.read("blobId=" + writtenRow.getBlobId()));
+                        }
+                    }
+                    catch (Throwable throwable)
+                    {
+                        failure.compareAndSet(null, throwable);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+
+        if (failure.get() != null)
+            throw new AssertionError(failure.get());
+    }
+
+    @Test
+    public void writeAfterClose() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        testTable.write(writtenRows.subList(0, 2));
+        testTable.close();
+        testTable.write(writtenRows.subList(2, writtenRows.size()));
+
+        checkMultiplePkTableRows(writtenRows, testTable.read());
+    }
+
+    @Test
+    public void bulkWrite() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+        final String journalMode = getJournalMode();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        final SqlBulkWriteOptions options = new SqlBulkWriteOptions().setBatchSize(2).setCommitSize(3).
+                setBulkLoad(true);
+        assertEquals(writtenRows.size(), testTable.write(writtenRows.iterator(), options));
+
+        checkMultiplePkTableRows(writtenRows, testTable.read());
+        assertTrue(database.connection().getAutoCommit());
+        assertEquals(journalMode, getJournalMode());
+    }
+
+    @Test
+    public void bulkWriteReplace() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        testTable.write(writtenRows);
+
+        final MultiplePkTableRow replacedRow = createMultiplePkTableRow(1, "ReplacedName");
+        writtenRows.set(1, replacedRow);
+        final SqlBulkWriteOptions options = new SqlBulkWriteOptions().setConflictPolicy(
+                SqlBulkWriteOptions.ConflictPolicy.REPLACE);
+        testTable.write(writtenRows.subList(1, 2).iterator(), options);
+
+        checkMultiplePkTableRow(replacedRow, testTable.readByPrimaryKey(1, 10));
+        assertEquals(writtenRows.size(), testTable.read().size());
+    }
+
+    @Test
+    public void bulkWriteIgnore() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        testTable.write(writtenRows.subList(0, 2));
+
+        final List<MultiplePkTableRow> ignoredRows = new ArrayList<MultiplePkTableRow>();
+        ignoredRows.add(createMultiplePkTableRow(0, "IgnoredName"));
+        ignoredRows.addAll(writtenRows.subList(2, writtenRows.size()));
+        final SqlBulkWriteOptions options = new SqlBulkWriteOptions().setConflictPolicy(
+                SqlBulkWriteOptions.ConflictPolicy.IGNORE);
+        testTable.write(ignoredRows.iterator(), options);
+
+        checkMultiplePkTableRows(writtenRows, testTable.read());
+    }
+
+    @Test
+    public void bulkWriteFailure() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        writtenRows.add(createMultiplePkTableRow(0, "DuplicatedName"));
+        try
+        {
+            testTable.write(writtenRows.iterator(), new SqlBulkWriteOptions().setBatchSize(2));
+            fail("SQLException expected!");
+        }
+        catch (SQLException exception)
+        {
+            // expected primary key violation
+        }
+
+        assertTrue(testTable.read().isEmpty());
+        assertTrue(database.connection().getAutoCommit());
+    }
+
+    @Test
+    public void bulkLoadFailure() throws SQLException, IOException, ZserioError
+    {
+        final MultiplePkTable testTable = database.getMultiplePkTable();
+        final String journalMode = getJournalMode();
+
+        final List<MultiplePkTableRow> writtenRows = new ArrayList<MultiplePkTableRow>();
+        fillMultiplePkTableRows(writtenRows);
+        writtenRows.add(createMultiplePkTableRow(0, "DuplicatedName"));
+        try
+        {
+            testTable.write(writtenRows.iterator(), new SqlBulkWriteOptions().setBatchSize(2).setBulkLoad(true));
+            fail("SQLException expected!");
+        }
+        catch (SQLException exception)
+        {
+            // expected primary key violation
+        }
+
+        assertTrue(testTable.read().isEmpty());
+        assertTrue(database.connection().getAutoCommit());
+        assertEquals(journalMode, getJournalMode());
+    }
+
     private static void fillMultiplePkTableRows(List<MultiplePkTableRow> rows)
     {
         for (int blobId = 0; blobId < NUM_MULTIPLE_PK_TABLE_ROWS; ++blobId)
@@ -147,6 +332,22 @@ public class MultiplePkTableTest
         assertEquals(row1.getName(), row2.getName());
     }
 
+    private String getJournalMode() throws SQLException
+    {
+        final Statement statement = database.connection().createStatement();
+        try
+        {
+            final ResultSet resultSet = statement.executeQuery("PRAGMA journal_mode");
+            assertTrue(resultSet.next());
+
+            return resultSet.getString(1);
+        }
+        finally
+        {
+            statement.close();
+        }
+    }
+
     private boolean isTableInDb() throws SQLException
     {
         // check if database does contain table
@@ -176,6 +377,7 @@ public class MultiplePkTableTest
     private static final String TABLE_NAME = "multiplePkTable";
 
     private static final int    NUM_MULTIPLE_PK_TABLE_ROWS = 5;
+    private static final int    NUM_CONCURRENT_READS = 200;
     private static final String FILE_NAME = "multiple_pk_table_test.sqlite";
 
     private final File file = new File(FILE_NAME);
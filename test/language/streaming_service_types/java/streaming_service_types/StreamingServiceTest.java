@@ -0,0 +1,176 @@
+package streaming_service_types;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import zserio.runtime.io.ZserioIO;
+import zserio.runtime.service.SerializingServiceAdapter;
+import zserio.runtime.service.ServiceException;
+import zserio.runtime.service.ServiceInterface;
+import zserio.runtime.service.ServiceStreams;
+
+public class StreamingServiceTest
+{
+    @Test
+    public void unary()
+    {
+        assertEquals(11, client.incrementMethod(new Item(10)).getValue());
+    }
+
+    @Test
+    public void serverStreaming()
+    {
+        final Iterator<Item> items = client.rangeMethod(new Range(5, 3));
+        final List<Long> values = new ArrayList<Long>();
+        while (items.hasNext())
+            values.add(items.next().getValue());
+        assertEquals(Arrays.asList(5L, 6L, 7L), values);
+    }
+
+    @Test
+    public void serverStreamingIsLazy()
+    {
+        final Service lazyService = new Service();
+        final StreamingService.StreamingServiceClient lazyClient =
+                new StreamingService.StreamingServiceClient(lazyService);
+        final Iterator<Item> items = lazyClient.rangeMethod(new Range(0, 1000000));
+        assertEquals(0, items.next().getValue());
+        assertEquals(1, items.next().getValue());
+        assertEquals(2, lazyService.numProducedItems);
+    }
+
+    @Test
+    public void clientStreaming()
+    {
+        final Iterator<Item> items = Arrays.asList(new Item(1), new Item(2), new Item(3)).iterator();
+        assertEquals(6, client.sumMethod(items).getValue().longValue());
+    }
+
+    @Test
+    public void bidiStreaming()
+    {
+        final Iterator<Item> items = Arrays.asList(new Item(2), new Item(3)).iterator();
+        final Iterator<Item> squares = client.squareMethod(items);
+        assertEquals(4, squares.next().getValue());
+        assertEquals(9, squares.next().getValue());
+        assertFalse(squares.hasNext());
+    }
+
+    @Test
+    public void unaryMethodStream()
+    {
+        final Iterator<byte[]> responseDataStream = service.callMethodStream(
+                StreamingService.StreamingServiceService.METHOD_ID_increment,
+                ServiceStreams.singletonStream(ZserioIO.write(new Item(1))), null);
+        final Item response = ZserioIO.read(Item.class, ServiceStreams.singleData(responseDataStream));
+        assertEquals(2, response.getValue());
+    }
+
+    @Test
+    public void serializingAdapter()
+    {
+        final StreamingService.StreamingServiceClient serializingClient =
+                new StreamingService.StreamingServiceClient(new SerializingServiceAdapter(service), true);
+        assertEquals(4, serializingClient.incrementMethod(new Item(3)).getValue());
+        final Iterator<Item> items = serializingClient.rangeMethod(new Range(1, 2));
+        assertEquals(1, items.next().getValue());
+        assertEquals(2, items.next().getValue());
+        assertFalse(items.hasNext());
+    }
+
+    @Test(expected=ServiceException.class)
+    public void streamingMethodCalledAsUnary()
+    {
+        service.callMethod("range", ZserioIO.write(new Range(0, 1)), null);
+    }
+
+    @Test(expected=ServiceException.class)
+    public void streamingNotSupported()
+    {
+        final ServiceInterface unaryOnlyService = new ServiceInterface()
+        {
+            @Override
+            public byte[] callMethod(String methodName, byte[] requestData, Object context)
+            {
+                return service.callMethod(methodName, requestData, context);
+            }
+        };
+        final StreamingService.StreamingServiceClient unaryOnlyClient =
+                new StreamingService.StreamingServiceClient(unaryOnlyService);
+        assertEquals(3, unaryOnlyClient.incrementMethod(new Item(2)).getValue());
+        unaryOnlyClient.rangeMethod(new Range(0, 1));
+    }
+
+    private static class Service extends StreamingService.StreamingServiceService
+    {
+        @Override
+        protected Item incrementImpl(Item request, Object context)
+        {
+            return new Item(request.getValue() + 1);
+        }
+
+        @Override
+        protected Iterator<Item> rangeImpl(final Range request, Object context)
+        {
+            return new Iterator<Item>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return index < request.getCount();
+                }
+
+                @Override
+                public Item next()
+                {
+                    numProducedItems++;
+                    return new Item(request.getStart() + index++);
+                }
+
+                private long index = 0;
+            };
+        }
+
+        @Override
+        protected Sum sumImpl(Iterator<Item> requests, Object context)
+        {
+            long sum = 0;
+            while (requests.hasNext())
+                sum += requests.next().getValue();
+
+            return new Sum(java.math.BigInteger.valueOf(sum));
+        }
+
+        @Override
+        protected Iterator<Item> squareImpl(final Iterator<Item> requests, Object context)
+        {
+            return new Iterator<Item>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return requests.hasNext();
+                }
+
+                @Override
+                public Item next()
+                {
+                    final long value = requests.next().getValue();
+                    return new Item(value * value);
+                }
+            };
+        }
+
+        private int numProducedItems = 0;
+    }
+
+    private static final Service service = new Service();
+    private static final StreamingService.StreamingServiceClient client =
+            new StreamingService.StreamingServiceClient(service);
+}
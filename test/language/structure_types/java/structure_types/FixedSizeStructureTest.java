@@ -0,0 +1,148 @@
+package structure_types;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import structure_types.fixed_size_structure.Coordinate;
+import structure_types.fixed_size_structure.FixedSizeStructure;
+import structure_types.fixed_size_structure.Kind;
+import structure_types.fixed_size_structure.VariableSizeStructure;
+import structure_types.fixed_size_structure.View;
+
+import zserio.runtime.FieldMask;
+import zserio.runtime.ZserioError;
+import zserio.runtime.array.ObjectArray;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+public class FixedSizeStructureTest
+{
+    @Test
+    public void bitSizeConstants()
+    {
+        assertEquals(COORDINATE_BIT_SIZE, Coordinate.BIT_SIZE);
+        assertEquals(COORDINATE_BIT_SIZE + 1, FixedSizeStructure.BIT_SIZE);
+    }
+
+    @Test
+    public void bitSizeOf()
+    {
+        final FixedSizeStructure fixedSizeStructure = new FixedSizeStructure(createCoordinate(1), true);
+        assertEquals(FixedSizeStructure.BIT_SIZE, fixedSizeStructure.bitSizeOf());
+        assertEquals(FixedSizeStructure.BIT_SIZE, fixedSizeStructure.bitSizeOf(3));
+    }
+
+    @Test
+    public void arrayBitSizeOf() throws IOException, ZserioError
+    {
+        final VariableSizeStructure variableSizeStructure = createVariableSizeStructure();
+        final int expectedBitSize = 8 + NUM_COORDINATES * COORDINATE_BIT_SIZE +
+                8 + NUM_AUTO_COORDINATES * COORDINATE_BIT_SIZE + 8 + NAME.length() * 8;
+        assertEquals(expectedBitSize, variableSizeStructure.bitSizeOf());
+
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        variableSizeStructure.write(writer);
+        writer.close();
+        assertEquals(expectedBitSize, writer.getBitPosition());
+    }
+
+    @Test
+    public void projectionSkipsFixedSizeArrays() throws IOException, ZserioError
+    {
+        final VariableSizeStructure variableSizeStructure = createVariableSizeStructure();
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        variableSizeStructure.write(writer);
+        writer.close();
+
+        final VariableSizeStructure readVariableSizeStructure = new VariableSizeStructure(
+                new ByteArrayBitStreamReader(writer.toByteArray()), FieldMask.of(VariableSizeStructure.FIELD_name));
+        assertEquals(null, readVariableSizeStructure.getCoordinates());
+        assertEquals(null, readVariableSizeStructure.getAutoCoordinates());
+        assertEquals(NAME, readVariableSizeStructure.getName());
+    }
+
+    @Test
+    public void view() throws IOException, ZserioError
+    {
+        final FixedSizeStructure fixedSizeStructure = new FixedSizeStructure(createCoordinate(7), true);
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writer.writeBits(0, 3);
+        fixedSizeStructure.write(writer);
+        writer.close();
+
+        final FixedSizeStructure.FixedSizeStructureView view =
+                new FixedSizeStructure.FixedSizeStructureView(writer.toByteArray(), 3);
+        assertEquals(3, view.getBitOffset());
+        assertTrue(view.getIsClosed());
+        final Coordinate.CoordinateView origin = view.getOrigin();
+        assertEquals(fixedSizeStructure.getOrigin().getX(), origin.getX());
+        assertEquals(fixedSizeStructure.getOrigin().getY(), origin.getY());
+        assertEquals(fixedSizeStructure.getOrigin().getLevel(), origin.getLevel());
+        assertEquals(fixedSizeStructure.getOrigin().getKind(), origin.getKind());
+    }
+
+    @Test
+    public void viewOfArrayElement() throws IOException, ZserioError
+    {
+        final ObjectArray<Coordinate> coordinates = createCoordinates(10, 4);
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        coordinates.write(writer);
+        writer.close();
+
+        final Coordinate.CoordinateView view =
+                new Coordinate.CoordinateView(writer.toByteArray(), 2 * Coordinate.BIT_SIZE);
+        assertEquals(coordinates.elementAt(2).getX(), view.getX());
+        assertEquals(coordinates.elementAt(2).getLevel(), view.getLevel());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void viewBeyondBuffer()
+    {
+        new FixedSizeStructure.FixedSizeStructureView(new byte[9], 1);
+    }
+
+    @Test
+    public void viewOfStructureNamedView() throws IOException, ZserioError
+    {
+        final View structure = new View(0xDEADBEEFL, 0xCAFE);
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        structure.write(writer);
+        writer.close();
+
+        final View.ViewView view = new View.ViewView(writer.toByteArray());
+        assertEquals(32 + 16, View.BIT_SIZE);
+        assertEquals(0, view.getBitOffset());
+        assertEquals(structure.getA(), view.getA());
+        assertEquals(structure.getB(), view.getB());
+    }
+
+    private static VariableSizeStructure createVariableSizeStructure()
+    {
+        return new VariableSizeStructure((short)NUM_COORDINATES, createCoordinates(0, NUM_COORDINATES),
+                createCoordinates(NUM_COORDINATES, NUM_AUTO_COORDINATES), NAME);
+    }
+
+    private static ObjectArray<Coordinate> createCoordinates(int base, int numCoordinates)
+    {
+        final List<Coordinate> coordinates = new ArrayList<Coordinate>();
+        for (int i = 0; i < numCoordinates; ++i)
+            coordinates.add(createCoordinate(base + i));
+
+        return new ObjectArray<Coordinate>(coordinates);
+    }
+
+    private static Coordinate createCoordinate(int value)
+    {
+        return new Coordinate(value * 1000, -value * 1000, (byte)(value % 32), Kind.LINE);
+    }
+
+    private static final int COORDINATE_BIT_SIZE = 32 + 32 + 5 + 3;
+    private static final int NUM_COORDINATES = 3;
+    private static final int NUM_AUTO_COORDINATES = 2;
+    private static final String NAME = "fixed";
+}
@@ -0,0 +1,181 @@
+package structure_types;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import structure_types.frozen_structure.FrozenChoice;
+import structure_types.frozen_structure.FrozenStructure;
+import structure_types.frozen_structure.FrozenUnion;
+import structure_types.frozen_structure.OffsetStructure;
+import structure_types.frozen_structure.OffsetStructureHolder;
+
+import zserio.runtime.Freezable;
+import zserio.runtime.ZserioError;
+import zserio.runtime.array.UnsignedByteArray;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ZserioIO;
+
+public class FrozenStructureTest
+{
+    @Test
+    public void notFrozen() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        assertFalse(frozenStructure.isFrozen());
+        assertNull(frozenStructure.getFrozenBytes());
+
+        frozenStructure.setId(2);
+        assertEquals(2, frozenStructure.getId());
+    }
+
+    @Test
+    public void freeze() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        final byte[] expectedBytes = ZserioIO.write(frozenStructure);
+        final int expectedBitSize = frozenStructure.bitSizeOf();
+        final int expectedHashCode = frozenStructure.hashCode();
+
+        frozenStructure.freeze();
+        assertTrue(frozenStructure.isFrozen());
+        assertArrayEquals(expectedBytes, frozenStructure.getFrozenBytes());
+        assertArrayEquals(expectedBytes, ZserioIO.write(frozenStructure));
+        assertEquals(expectedBitSize, frozenStructure.bitSizeOf());
+        assertEquals(expectedHashCode, frozenStructure.hashCode());
+
+        // freezing again keeps the cached state
+        frozenStructure.freeze();
+        assertArrayEquals(expectedBytes, frozenStructure.getFrozenBytes());
+    }
+
+    @Test
+    public void frozenBytesAreCopied() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        frozenStructure.freeze();
+
+        final byte[] frozenBytes = frozenStructure.getFrozenBytes();
+        frozenBytes[0] = (byte)~frozenBytes[0];
+        assertFalse(frozenBytes[0] == frozenStructure.getFrozenBytes()[0]);
+    }
+
+    @Test
+    public void frozenWriteIsNotCopied() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        frozenStructure.freeze();
+
+        assertSame(ZserioIO.write(frozenStructure), ZserioIO.write(frozenStructure));
+        assertArrayEquals(frozenStructure.getFrozenBytes(), ZserioIO.write(frozenStructure));
+    }
+
+    @Test
+    public void frozenEquals() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure1 = createStructure(1);
+        final FrozenStructure frozenStructure2 = createStructure(1);
+        final FrozenStructure frozenStructure3 = createStructure(2);
+        frozenStructure1.freeze();
+        frozenStructure2.freeze();
+        frozenStructure3.freeze();
+
+        assertEquals(frozenStructure1, frozenStructure2);
+        assertFalse(frozenStructure1.equals(frozenStructure3));
+
+        // comparison of frozen and not frozen objects falls back to field comparison
+        assertEquals(frozenStructure1, createStructure(1));
+        assertEquals(createStructure(1), frozenStructure1);
+    }
+
+    @Test
+    public void frozenRead() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        frozenStructure.freeze();
+
+        final FrozenStructure readStructure = new FrozenStructure(
+                new ByteArrayBitStreamReader(frozenStructure.getFrozenBytes()));
+        assertEquals(frozenStructure, readStructure);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void frozenSetter() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        frozenStructure.freeze();
+        frozenStructure.setName("modified");
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void frozenReadInto() throws IOException, ZserioError
+    {
+        final FrozenStructure frozenStructure = createStructure(1);
+        frozenStructure.freeze();
+        frozenStructure.readInto(new ByteArrayBitStreamReader(frozenStructure.getFrozenBytes()));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void frozenUnionSetter() throws IOException, ZserioError
+    {
+        final FrozenUnion frozenUnion = new FrozenUnion();
+        frozenUnion.setNumber(NUMBER);
+        frozenUnion.freeze();
+        assertArrayEquals(ZserioIO.write(createUnion()), frozenUnion.getFrozenBytes());
+        frozenUnion.setText(TEXT);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void frozenChoiceSetter() throws IOException, ZserioError
+    {
+        final FrozenChoice frozenChoice = createChoice();
+        frozenChoice.freeze();
+        assertEquals(createChoice(), frozenChoice);
+        assertEquals(createChoice().hashCode(), frozenChoice.hashCode());
+        frozenChoice.setNumber(NUMBER + 1);
+    }
+
+    @Test
+    public void typesWithOffsetsAreNotFreezable() throws IOException, ZserioError
+    {
+        assertFalse(Freezable.class.isAssignableFrom(OffsetStructure.class));
+        assertFalse(Freezable.class.isAssignableFrom(OffsetStructureHolder.class));
+
+        // offsets are initialized for the actual position of the child
+        final OffsetStructureHolder offsetStructureHolder = new OffsetStructureHolder((byte)1,
+                new OffsetStructure(0, TEXT));
+        final byte[] bytes = ZserioIO.write(offsetStructureHolder);
+        assertEquals(1 + 4, offsetStructureHolder.getOffsetStructure().getDataOffset());
+        assertEquals(offsetStructureHolder, ZserioIO.read(OffsetStructureHolder.class, bytes));
+    }
+
+    private static FrozenUnion createUnion()
+    {
+        final FrozenUnion frozenUnion = new FrozenUnion();
+        frozenUnion.setNumber(NUMBER);
+
+        return frozenUnion;
+    }
+
+    private static FrozenChoice createChoice()
+    {
+        final FrozenChoice frozenChoice = new FrozenChoice(true);
+        frozenChoice.setNumber(NUMBER);
+
+        return frozenChoice;
+    }
+
+    private static FrozenStructure createStructure(int id)
+    {
+        final UnsignedByteArray values = new UnsignedByteArray(3);
+        for (int i = 0; i < values.length(); ++i)
+            values.setElementAt((short)(id + i), i);
+
+        return new FrozenStructure(id, "name" + id, values, createUnion(), true, createChoice());
+    }
+
+    private static final long NUMBER = 0xCAFEL;
+    private static final String TEXT = "text";
+}
@@ -0,0 +1,130 @@
+package structure_types;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import structure_types.projection_structure.ProjectionItem;
+import structure_types.projection_structure.ProjectionStructure;
+
+import zserio.runtime.FieldMask;
+import zserio.runtime.ZserioError;
+import zserio.runtime.array.ShortArray;
+import zserio.runtime.io.BitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+
+public class ProjectionStructureTest
+{
+    @Test
+    public void fieldIndices()
+    {
+        assertEquals(0, ProjectionStructure.FIELD_numValues);
+        assertEquals(2, ProjectionStructure.FIELD_name);
+        assertEquals(10, ProjectionStructure.FIELD_trailer);
+    }
+
+    @Test
+    public void readAllFields() throws IOException, ZserioError
+    {
+        final ProjectionStructure projectionStructure = createProjectionStructure(true);
+        final FieldMask allFields = FieldMask.of(ProjectionStructure.FIELD_numValues,
+                ProjectionStructure.FIELD_numBits, ProjectionStructure.FIELD_name,
+                ProjectionStructure.FIELD_counter, ProjectionStructure.FIELD_values,
+                ProjectionStructure.FIELD_dynamicValue, ProjectionStructure.FIELD_hasDescription,
+                ProjectionStructure.FIELD_description, ProjectionStructure.FIELD_autoOptional,
+                ProjectionStructure.FIELD_item, ProjectionStructure.FIELD_trailer);
+        final ProjectionStructure readProjectionStructure =
+                new ProjectionStructure(createReader(projectionStructure), allFields);
+        assertEquals(projectionStructure, readProjectionStructure);
+    }
+
+    @Test
+    public void readTrailerOnly() throws IOException, ZserioError
+    {
+        final ProjectionStructure projectionStructure = createProjectionStructure(true);
+        final BitStreamReader reader = createReader(projectionStructure);
+        final ProjectionStructure readProjectionStructure =
+                new ProjectionStructure(reader, FieldMask.of(ProjectionStructure.FIELD_trailer));
+
+        assertEquals(TRAILER, readProjectionStructure.getTrailer());
+        assertEquals(projectionStructure.bitSizeOf(), reader.getBitPosition());
+
+        // fields needed to skip other fields are always read
+        assertEquals(NUM_VALUES, readProjectionStructure.getNumValues());
+        assertEquals(NUM_BITS, readProjectionStructure.getNumBits());
+        assertTrue(readProjectionStructure.getHasDescription());
+
+        // skipped fields
+        assertEquals(null, readProjectionStructure.getName());
+        assertEquals(0, readProjectionStructure.getCounter());
+        assertEquals(null, readProjectionStructure.getValues());
+        assertEquals(null, readProjectionStructure.getDynamicValue());
+        assertEquals(null, readProjectionStructure.getDescription());
+        assertEquals(null, readProjectionStructure.getAutoOptional());
+
+        // compound fields cannot be skipped without decoding
+        assertEquals(projectionStructure.getItem(), readProjectionStructure.getItem());
+    }
+
+    @Test
+    public void readStringsOnly() throws IOException, ZserioError
+    {
+        final ProjectionStructure projectionStructure = createProjectionStructure(false);
+        final FieldMask projection = FieldMask.of(ProjectionStructure.FIELD_name,
+                ProjectionStructure.FIELD_description);
+        final ProjectionStructure readProjectionStructure =
+                new ProjectionStructure(createReader(projectionStructure), projection);
+
+        assertEquals(NAME, readProjectionStructure.getName());
+        assertFalse(readProjectionStructure.getHasDescription());
+        assertEquals(null, readProjectionStructure.getDescription());
+        assertEquals(null, readProjectionStructure.getValues());
+        assertEquals(0, readProjectionStructure.getTrailer());
+    }
+
+    @Test(expected=IOException.class)
+    public void readTruncatedStream() throws IOException, ZserioError
+    {
+        final ProjectionStructure projectionStructure = createProjectionStructure(true);
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        projectionStructure.write(writer);
+        writer.close();
+        final byte[] data = writer.toByteArray();
+        final BitStreamReader reader = new ByteArrayBitStreamReader(Arrays.copyOf(data, 3));
+        new ProjectionStructure(reader, FieldMask.of(ProjectionStructure.FIELD_trailer));
+    }
+
+    private static ProjectionStructure createProjectionStructure(boolean hasDescription)
+    {
+        final ShortArray values = new ShortArray(NUM_VALUES);
+        for (int i = 0; i < NUM_VALUES; ++i)
+            values.setElementAt((short)(i * -3), i);
+
+        return new ProjectionStructure(NUM_VALUES, NUM_BITS, NAME, COUNTER, values, BigInteger.valueOf(0x3FF),
+                hasDescription, hasDescription ? DESCRIPTION : null, Long.valueOf(AUTO_OPTIONAL),
+                new ProjectionItem(NUM_BITS, 0xABCD, BigInteger.valueOf(0x155)), TRAILER);
+    }
+
+    private static BitStreamReader createReader(ProjectionStructure projectionStructure)
+            throws IOException, ZserioError
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        projectionStructure.write(writer);
+        writer.close();
+
+        return new ByteArrayBitStreamReader(writer.toByteArray());
+    }
+
+    private static final short NUM_VALUES = 5;
+    private static final short NUM_BITS = 11;
+    private static final String NAME = "projection";
+    private static final int COUNTER = 0x12345;
+    private static final String DESCRIPTION = "skipped unless requested";
+    private static final long AUTO_OPTIONAL = 0xDEADBEEFL;
+    private static final long TRAILER = 0xCAFEBABEL;
+}
@@ -0,0 +1,202 @@
+package structure_types;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import structure_types.read_into_structure.ReadIntoArrayChoice;
+import structure_types.read_into_structure.ReadIntoArrayUnion;
+import structure_types.read_into_structure.ReadIntoConditional;
+import structure_types.read_into_structure.ReadIntoItem;
+import structure_types.read_into_structure.ReadIntoLabel;
+import structure_types.read_into_structure.ReadIntoSelector;
+import structure_types.read_into_structure.ReadIntoStructure;
+import structure_types.read_into_structure.ReadIntoUnion;
+
+import zserio.runtime.ZserioError;
+import zserio.runtime.array.ObjectArray;
+import zserio.runtime.array.UnsignedShortArray;
+import zserio.runtime.io.BitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamReader;
+import zserio.runtime.io.ByteArrayBitStreamWriter;
+import zserio.runtime.io.Writer;
+
+public class ReadIntoStructureTest
+{
+    @Test
+    public void readInto() throws IOException, ZserioError
+    {
+        final ReadIntoStructure readIntoStructure = new ReadIntoStructure(createReader(createStructure(0, 3)));
+        final UnsignedShortArray values = readIntoStructure.getValues();
+        final ReadIntoItem firstItem = readIntoStructure.getItems().elementAt(0);
+        final ReadIntoItem header = readIntoStructure.getHeader();
+        final ReadIntoItem extra = readIntoStructure.getExtra();
+        final ReadIntoUnion value = readIntoStructure.getValue();
+
+        final ReadIntoStructure expectedStructure = createStructure(100, 3);
+        readIntoStructure.readInto(createReader(expectedStructure));
+        assertEquals(expectedStructure, readIntoStructure);
+
+        assertSame(values, readIntoStructure.getValues());
+        assertSame(firstItem, readIntoStructure.getItems().elementAt(0));
+        assertSame(header, readIntoStructure.getHeader());
+        assertSame(extra, readIntoStructure.getExtra());
+        assertSame(value, readIntoStructure.getValue());
+    }
+
+    @Test
+    public void readIntoDifferentLengths() throws IOException, ZserioError
+    {
+        final ReadIntoStructure readIntoStructure = new ReadIntoStructure(createReader(createStructure(0, 3)));
+        final ReadIntoItem firstItem = readIntoStructure.getItems().elementAt(0);
+
+        final ReadIntoStructure longerStructure = createStructure(10, 5);
+        readIntoStructure.readInto(createReader(longerStructure));
+        assertEquals(longerStructure, readIntoStructure);
+        assertSame(firstItem, readIntoStructure.getItems().elementAt(0));
+
+        final ReadIntoStructure shorterStructure = createStructure(20, 1);
+        readIntoStructure.readInto(createReader(shorterStructure));
+        assertEquals(shorterStructure, readIntoStructure);
+        assertEquals(1, readIntoStructure.getItems().length());
+    }
+
+    @Test
+    public void readIntoAbsentOptional() throws IOException, ZserioError
+    {
+        final ReadIntoStructure readIntoStructure = new ReadIntoStructure(createReader(createStructure(0, 2)));
+        assertTrue(readIntoStructure.hasExtra());
+
+        final ReadIntoStructure withoutExtra = createStructure(0, 2);
+        withoutExtra.setExtra(null);
+        readIntoStructure.readInto(createReader(withoutExtra));
+        assertFalse(readIntoStructure.hasExtra());
+        assertEquals(withoutExtra, readIntoStructure);
+    }
+
+    @Test
+    public void readIntoUnionChoiceChange() throws IOException, ZserioError
+    {
+        final ReadIntoStructure readIntoStructure = new ReadIntoStructure(createReader(createStructure(0, 2)));
+
+        final ReadIntoStructure numberStructure = createStructure(0, 2);
+        final ReadIntoUnion numberValue = new ReadIntoUnion();
+        numberValue.setNumber(0xDEADL);
+        numberStructure.setValue(numberValue);
+        readIntoStructure.readInto(createReader(numberStructure));
+        assertEquals(ReadIntoUnion.CHOICE_number, readIntoStructure.getValue().choiceTag());
+        assertEquals(0xDEADL, readIntoStructure.getValue().getNumber());
+    }
+
+    @Test
+    public void readIntoUnionArrayChoiceChange() throws IOException, ZserioError
+    {
+        final ReadIntoArrayUnion itemUnion = new ReadIntoArrayUnion();
+        itemUnion.setItemArray(createItems(2));
+        final ReadIntoArrayUnion readIntoUnion = new ReadIntoArrayUnion(createReader(itemUnion));
+
+        final ReadIntoArrayUnion labelUnion = new ReadIntoArrayUnion();
+        labelUnion.setLabelArray(createLabels(3));
+        readIntoUnion.readInto(createReader(labelUnion));
+        assertEquals(labelUnion, readIntoUnion);
+
+        readIntoUnion.readInto(createReader(itemUnion));
+        assertEquals(itemUnion, readIntoUnion);
+    }
+
+    @Test
+    public void readIntoChoiceArrayCaseChange() throws IOException, ZserioError
+    {
+        final ReadIntoSelector selector = new ReadIntoSelector((short)0);
+        final ReadIntoArrayChoice itemChoice = new ReadIntoArrayChoice(selector);
+        itemChoice.setItemArray(createItems(2));
+        final byte[] itemChoiceData = writeToBytes(itemChoice);
+
+        selector.setValue((short)1);
+        final ReadIntoArrayChoice labelChoice = new ReadIntoArrayChoice(selector);
+        labelChoice.setLabelArray(createLabels(3));
+        final byte[] labelChoiceData = writeToBytes(labelChoice);
+
+        selector.setValue((short)0);
+        final ReadIntoArrayChoice readIntoChoice = new ReadIntoArrayChoice(
+                new ByteArrayBitStreamReader(itemChoiceData), selector);
+        selector.setValue((short)1);
+        readIntoChoice.readInto(new ByteArrayBitStreamReader(labelChoiceData));
+        assertEquals(labelChoice.getLabelArray(), readIntoChoice.getLabelArray());
+
+        selector.setValue((short)2);
+        readIntoChoice.readInto(new ByteArrayBitStreamReader(new byte[0]));
+        assertNull(readIntoChoice.getItemArray());
+
+        selector.setValue((short)0);
+        readIntoChoice.readInto(new ByteArrayBitStreamReader(itemChoiceData));
+        assertEquals(itemChoice.getItemArray(), readIntoChoice.getItemArray());
+    }
+
+    @Test
+    public void readIntoFalseOptionalClause() throws IOException, ZserioError
+    {
+        final ReadIntoConditional withExtra = new ReadIntoConditional((short)1, new ReadIntoItem(1, "extra"));
+        final ReadIntoConditional readIntoConditional = new ReadIntoConditional(createReader(withExtra));
+        assertTrue(readIntoConditional.hasExtra());
+
+        final ReadIntoConditional withoutExtra = new ReadIntoConditional((short)0, null);
+        readIntoConditional.readInto(createReader(withoutExtra));
+        assertFalse(readIntoConditional.hasExtra());
+        assertNull(readIntoConditional.getExtra());
+        assertEquals(withoutExtra, readIntoConditional);
+    }
+
+    private static ObjectArray<ReadIntoItem> createItems(int numElements)
+    {
+        final List<ReadIntoItem> items = new ArrayList<ReadIntoItem>();
+        for (int i = 0; i < numElements; ++i)
+            items.add(new ReadIntoItem(i, "item" + i));
+
+        return new ObjectArray<ReadIntoItem>(items);
+    }
+
+    private static ObjectArray<ReadIntoLabel> createLabels(int numElements)
+    {
+        final List<ReadIntoLabel> labels = new ArrayList<ReadIntoLabel>();
+        for (int i = 0; i < numElements; ++i)
+            labels.add(new ReadIntoLabel("label" + i));
+
+        return new ObjectArray<ReadIntoLabel>(labels);
+    }
+
+    private static ReadIntoStructure createStructure(int base, int numElements)
+    {
+        final UnsignedShortArray values = new UnsignedShortArray(numElements);
+        final List<ReadIntoItem> items = new ArrayList<ReadIntoItem>();
+        for (int i = 0; i < numElements; ++i)
+        {
+            values.setElementAt(base + i, i);
+            items.add(new ReadIntoItem(base + i, "item" + (base + i)));
+        }
+
+        final ReadIntoUnion value = new ReadIntoUnion();
+        value.setItem(new ReadIntoItem(base, "union"));
+
+        return new ReadIntoStructure((short)numElements, values, new ObjectArray<ReadIntoItem>(items),
+                new ReadIntoItem(base, "header"), new ReadIntoItem(base + 1, "extra"), value);
+    }
+
+    private static BitStreamReader createReader(Writer writable) throws IOException, ZserioError
+    {
+        return new ByteArrayBitStreamReader(writeToBytes(writable));
+    }
+
+    private static byte[] writeToBytes(Writer writable) throws IOException, ZserioError
+    {
+        final ByteArrayBitStreamWriter writer = new ByteArrayBitStreamWriter();
+        writable.write(writer);
+        writer.close();
+
+        return writer.toByteArray();
+    }
+}